@@ -34,6 +34,7 @@ public class EventDissector
     private static final DataHeaderFlyweight DATA_HEADER = new DataHeaderFlyweight();
     private static final StatusMessageFlyweight SM_HEADER = new StatusMessageFlyweight();
     private static final NakFlyweight NAK_HEADER = new NakFlyweight();
+    private static final NakRangeListFlyweight NAK_RANGE_LIST_HEADER = new NakRangeListFlyweight();
     private static final SetupFlyweight SETUP_HEADER = new SetupFlyweight();
     private static final RttMeasurementFlyweight RTT_MEASUREMENT = new RttMeasurementFlyweight();
     private static final PublicationMessageFlyweight PUB_MSG = new PublicationMessageFlyweight();
@@ -83,6 +84,12 @@ public class EventDissector
                 builder.append(dissect(nakFrame));
                 break;
 
+            case HeaderFlyweight.HDR_TYPE_NAK_RANGE_LIST:
+                final NakRangeListFlyweight nakRangeListFrame = NAK_RANGE_LIST_HEADER;
+                nakRangeListFrame.wrap(buffer, frameOffset, buffer.capacity() - frameOffset);
+                builder.append(dissect(nakRangeListFrame));
+                break;
+
             case HeaderFlyweight.HDR_TYPE_SETUP:
                 final SetupFlyweight setupFrame = SETUP_HEADER;
                 setupFrame.wrap(buffer, frameOffset, buffer.capacity() - frameOffset);
@@ -339,6 +346,27 @@ public class EventDissector
             msg.length());
     }
 
+    private static String dissect(final NakRangeListFlyweight msg)
+    {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format(
+            "NAK 0x%x len %d %d:%d ranges %d",
+            msg.flags(),
+            msg.frameLength(),
+            msg.sessionId(),
+            msg.streamId(),
+            msg.rangeCount()));
+
+        final int maxRangeCount = (msg.frameLength() - NakRangeListFlyweight.HEADER_LENGTH) /
+            NakRangeListFlyweight.RANGE_LENGTH;
+        for (int i = 0, count = Math.min(msg.rangeCount(), maxRangeCount); i < count; i++)
+        {
+            builder.append(String.format(" %d@%x %d", msg.termId(i), msg.termOffset(i), msg.length(i)));
+        }
+
+        return builder.toString();
+    }
+
     private static String dissect(final SetupFlyweight msg)
     {
         return String.format(
@@ -39,6 +39,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -63,6 +64,7 @@ abstract class ArchiveConductor extends SessionWorker<Session> implements Availa
 
     private static final int CONTROL_TERM_LENGTH = AeronArchive.Configuration.controlTermBufferLength();
     private static final int CONTROL_MTU = AeronArchive.Configuration.controlMtuLength();
+    private static final String PURGED_SEGMENT_SUFFIX = ".purged";
 
     private final ArrayDeque<Runnable> taskQueue = new ArrayDeque<>();
     private final ChannelUriStringBuilder channelBuilder = new ChannelUriStringBuilder();
@@ -601,6 +603,76 @@ abstract class ArchiveConductor extends SessionWorker<Session> implements Availa
         }
     }
 
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    void purgeSegments(
+        final long correlationId,
+        final ControlSession controlSession,
+        final long recordingId,
+        final long newStartPosition)
+    {
+        final RecordingSummary summary = validatePurgePosition(
+            correlationId, controlSession, recordingId, newStartPosition);
+        if (null != summary)
+        {
+            final int segmentLength = summary.segmentFileLength;
+            final int purgeCount = segmentFileIndex(summary.startPosition, newStartPosition, segmentLength);
+
+            if (purgeCount > 0)
+            {
+                final ArrayList<File> sources = new ArrayList<>();
+                final ArrayList<File> targets = new ArrayList<>();
+                final File[] purgedFiles = new File[purgeCount];
+
+                for (int i = 0; i < purgeCount; i++)
+                {
+                    final File file = new File(archiveDir, segmentFileName(recordingId, i));
+                    purgedFiles[i] = new File(archiveDir, segmentFileName(recordingId, i) + PURGED_SEGMENT_SUFFIX);
+                    if (purgedFiles[i].exists())
+                    {
+                        final String msg = "purged segment file already exists " + purgedFiles[i];
+                        controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
+                        return;
+                    }
+
+                    if (file.exists())
+                    {
+                        sources.add(file);
+                        targets.add(purgedFiles[i]);
+                    }
+                }
+
+                for (int i = purgeCount; true; i++)
+                {
+                    final File file = new File(archiveDir, segmentFileName(recordingId, i));
+                    if (!file.exists())
+                    {
+                        break;
+                    }
+
+                    sources.add(file);
+                    targets.add(new File(archiveDir, segmentFileName(recordingId, i - purgeCount)));
+                }
+
+                final File failedFile = renameAll(sources, targets);
+                if (null != failedFile)
+                {
+                    final String msg = "failed to rename segment file " + failedFile;
+                    controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
+                    return;
+                }
+
+                catalog.recordingStarted(recordingId, newStartPosition);
+
+                for (final File purgedFile : purgedFiles)
+                {
+                    purgedFile.delete();
+                }
+            }
+
+            controlSession.sendOkResponse(correlationId, controlResponseProxy);
+        }
+    }
+
     ControlSession newControlSession(
         final long correlationId,
         final int streamId,
@@ -648,6 +720,35 @@ abstract class ArchiveConductor extends SessionWorker<Session> implements Availa
         closeSession(session);
     }
 
+    /**
+     * Rename each source file to its target in order. The purged segments are moved aside before the retained
+     * segments are shifted down, so each target is free by the time it is renamed to. If any rename fails then
+     * those already done are reversed so the recording is left as it was.
+     *
+     * @param sources files to be renamed in order.
+     * @param targets new names for the sources.
+     * @return null if all were renamed otherwise the source file which failed to be renamed.
+     */
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private static File renameAll(final ArrayList<File> sources, final ArrayList<File> targets)
+    {
+        for (int i = 0, size = sources.size(); i < size; i++)
+        {
+            final File source = sources.get(i);
+            if (targets.get(i).exists() || !source.renameTo(targets.get(i)))
+            {
+                for (int j = i - 1; j >= 0; j--)
+                {
+                    targets.get(j).renameTo(sources.get(j));
+                }
+
+                return source;
+            }
+        }
+
+        return null;
+    }
+
     private int runTasks(final ArrayDeque<Runnable> taskQueue)
     {
         int workCount = 0;
@@ -858,6 +959,58 @@ abstract class ArchiveConductor extends SessionWorker<Session> implements Availa
         return streamId + ":" + strippedChannel;
     }
 
+    private RecordingSummary validatePurgePosition(
+        final long correlationId,
+        final ControlSession controlSession,
+        final long recordingId,
+        final long newStartPosition)
+    {
+        if (!catalog.hasRecording(recordingId))
+        {
+            final String msg = "unknown recording " + recordingId;
+            controlSession.sendErrorResponse(correlationId, UNKNOWN_RECORDING, msg, controlResponseProxy);
+
+            return null;
+        }
+
+        for (final ReplaySession replaySession : replaySessionByIdMap.values())
+        {
+            if (replaySession.recordingId() == recordingId)
+            {
+                final String msg = "cannot purge recording with active replay " + recordingId;
+                controlSession.sendErrorResponse(correlationId, ACTIVE_RECORDING, msg, controlResponseProxy);
+
+                return null;
+            }
+        }
+
+        catalog.recordingSummary(recordingId, recordingSummary);
+        final long stopPosition = recordingSummary.stopPosition;
+        final long startPosition = recordingSummary.startPosition;
+
+        if (stopPosition == NULL_POSITION)
+        {
+            final String msg = "cannot purge active recording";
+            controlSession.sendErrorResponse(correlationId, ACTIVE_RECORDING, msg, controlResponseProxy);
+
+            return null;
+        }
+
+        final long startTermBasePosition = startPosition - (startPosition & (recordingSummary.termBufferLength - 1));
+        final int segmentLength = recordingSummary.segmentFileLength;
+        final long segmentOffset = (newStartPosition - startTermBasePosition) & (segmentLength - 1);
+
+        if (newStartPosition < startPosition || newStartPosition > stopPosition || 0 != segmentOffset)
+        {
+            final String msg = "invalid new start position " + newStartPosition;
+            controlSession.sendErrorResponse(correlationId, msg, controlResponseProxy);
+
+            return null;
+        }
+
+        return recordingSummary;
+    }
+
     private RecordingSummary validateFramePosition(
         final long correlationId, final ControlSession controlSession, final long recordingId, final long position)
     {
@@ -465,6 +465,17 @@ class Catalog implements AutoCloseable
     // Note: These methods are thread safe.
     /////////////////////////////////////////////////////////////
 
+    void recordingStarted(final long recordingId, final long position)
+    {
+        final int offset = recordingDescriptorOffset(recordingId) + RecordingDescriptorHeaderDecoder.BLOCK_LENGTH;
+        fieldAccessBuffer.putLong(offset + startPositionEncodingOffset(), position, BYTE_ORDER);
+
+        if (fileSyncLevel > 0)
+        {
+            catalogByteBuffer.force();
+        }
+    }
+
     void recordingStopped(final long recordingId, final long position, final long timestamp)
     {
         final int offset = recordingDescriptorOffset(recordingId) + RecordingDescriptorHeaderDecoder.BLOCK_LENGTH;
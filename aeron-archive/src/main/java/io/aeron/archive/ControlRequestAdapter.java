@@ -38,6 +38,7 @@ class ControlRequestAdapter implements FragmentHandler
         new RecordingPositionRequestDecoder();
     private final TruncateRecordingRequestDecoder truncateRecordingRequestDecoder =
         new TruncateRecordingRequestDecoder();
+    private final PurgeSegmentsRequestDecoder purgeSegmentsRequestDecoder = new PurgeSegmentsRequestDecoder();
     private final StopRecordingSubscriptionRequestDecoder stopRecordingSubscriptionRequestDecoder =
         new StopRecordingSubscriptionRequestDecoder();
 
@@ -235,6 +236,20 @@ class ControlRequestAdapter implements FragmentHandler
                     stopRecordingSubscriptionRequestDecoder.subscriptionId());
                 break;
 
+            case PurgeSegmentsRequestDecoder.TEMPLATE_ID:
+                purgeSegmentsRequestDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    headerDecoder.blockLength(),
+                    headerDecoder.version());
+
+                listener.onPurgeSegments(
+                    purgeSegmentsRequestDecoder.controlSessionId(),
+                    purgeSegmentsRequestDecoder.correlationId(),
+                    purgeSegmentsRequestDecoder.recordingId(),
+                    purgeSegmentsRequestDecoder.newStartPosition());
+                break;
+
             default:
                 throw new IllegalArgumentException("unexpected template id:" + templateId);
         }
@@ -207,6 +207,11 @@ class ControlSession implements Session
         conductor.truncateRecording(correlationId, this, recordingId, position);
     }
 
+    public void onPurgeSegments(final long correlationId, final long recordingId, final long newStartPosition)
+    {
+        conductor.purgeSegments(correlationId, this, recordingId, newStartPosition);
+    }
+
     void onListRecordingSessionClosed(final AbstractListRecordingsSession listRecordingsSession)
     {
         if (listRecordingsSession != activeListRecordingsSession)
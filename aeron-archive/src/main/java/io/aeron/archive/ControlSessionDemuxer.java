@@ -209,6 +209,14 @@ class ControlSessionDemuxer implements Session, ControlRequestListener
         controlSession.onTruncateRecording(correlationId, recordingId, position);
     }
 
+    public void onPurgeSegments(
+        final long controlSessionId, final long correlationId, final long recordingId, final long newStartPosition)
+    {
+        final ControlSession controlSession = getControlSession(controlSessionId);
+
+        controlSession.onPurgeSegments(correlationId, recordingId, newStartPosition);
+    }
+
     void removeControlSession(final ControlSession controlSession)
     {
         controlSessionByIdMap.remove(controlSession.sessionId());
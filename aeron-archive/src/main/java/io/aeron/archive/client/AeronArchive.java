@@ -874,6 +874,34 @@ public class AeronArchive implements AutoCloseable
         }
     }
 
+    /**
+     * Purge the whole segment files of a stopped recording which precede a new start position so the disk space
+     * can be reclaimed. The new start position must be on a segment file boundary and the recording cannot be
+     * replayed from before it afterwards.
+     *
+     * @param recordingId      of the stopped recording to be purged.
+     * @param newStartPosition for the recording after the segments before it have been purged.
+     */
+    public void purgeSegments(final long recordingId, final long newStartPosition)
+    {
+        lock.lock();
+        try
+        {
+            final long correlationId = aeron.nextCorrelationId();
+
+            if (!archiveProxy.purgeSegments(recordingId, newStartPosition, correlationId, controlSessionId))
+            {
+                throw new ArchiveException("failed to send purge segments request");
+            }
+
+            pollForResponse(correlationId);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     private long awaitSessionOpened(final long correlationId)
     {
         final long deadlineNs = nanoClock.nanoTime() + messageTimeoutNs;
@@ -58,6 +58,7 @@ public class ArchiveProxy
         new RecordingPositionRequestEncoder();
     private final TruncateRecordingRequestEncoder truncateRecordingRequestEncoder =
         new TruncateRecordingRequestEncoder();
+    private final PurgeSegmentsRequestEncoder purgeSegmentsRequestEncoder = new PurgeSegmentsRequestEncoder();
 
     /**
      * Create a proxy with a {@link Publication} for sending control message requests.
@@ -470,6 +471,29 @@ public class ArchiveProxy
         return offer(truncateRecordingRequestEncoder.encodedLength());
     }
 
+    /**
+     * Purge the whole segment files of a stopped recording which precede a new start position. The new start
+     * position must be on a segment file boundary.
+     *
+     * @param recordingId      of the stopped recording to be purged.
+     * @param newStartPosition for the recording after the segments before it have been purged.
+     * @param correlationId    for this request.
+     * @param controlSessionId for this request.
+     * @return true if successfully offered otherwise false.
+     */
+    public boolean purgeSegments(
+        final long recordingId, final long newStartPosition, final long correlationId, final long controlSessionId)
+    {
+        purgeSegmentsRequestEncoder
+            .wrapAndApplyHeader(buffer, 0, messageHeaderEncoder)
+            .controlSessionId(controlSessionId)
+            .correlationId(correlationId)
+            .recordingId(recordingId)
+            .newStartPosition(newStartPosition);
+
+        return offer(purgeSegmentsRequestEncoder.encodedLength());
+    }
+
     private boolean offer(final int length)
     {
         retryIdleStrategy.reset();
@@ -26,6 +26,8 @@
  *     <li><b>Query:</b> the catalog for existing recordings and the recorded position of an active recording.</li>
  *     <li><b>Truncate:</b> allows a stopped recording to have its length truncated, and if truncated to the start
  *     position then it is effectively deleted.</li>
+ *     <li><b>Purge:</b> allows whole segment files at the beginning of a stopped recording to be deleted so the
+ *     recording starts at a later position.</li>
  * </ul>
  */
 package io.aeron.archive;
\ No newline at end of file
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_SHORT;
+
+/**
+ * Wraps an {@link ExclusivePublication} to pack many small messages into a single frame so the cost of the frame
+ * header and alignment is shared between them, in the manner of Nagle's algorithm.
+ * <p>
+ * Each message is appended to an aggregation buffer prefixed with its length as a little endian unsigned short. The
+ * buffer is published as one message when it reaches the flush threshold, when the next message will not fit, when
+ * {@link #flush()} is called, or from {@link #doWork()} once the oldest message has waited for the maximum delay. The
+ * aggregated messages are unpacked on the subscriber side by a {@link DeaggregatingFragmentHandler}.
+ * <p>
+ * An aggregate is never longer than {@link Publication#maxPayloadLength()} so is published without fragmentation.
+ * <p>
+ * <b>Note:</b> Instances are NOT threadsafe.
+ *
+ * @see DeaggregatingFragmentHandler
+ */
+public class AggregatingPublication
+{
+    /**
+     * Length of the prefix which precedes each message in an aggregate.
+     */
+    public static final int LENGTH_PREFIX_LENGTH = SIZE_OF_SHORT;
+
+    /**
+     * Maximum length of a single message which can be aggregated.
+     */
+    public static final int MAX_LENGTH = 0xFFFF;
+
+    private final long maxDelayNs;
+    private final int flushThresholdLength;
+    private final int maxMessageLength;
+    private long firstMessageTimeNs;
+    private int pendingLength;
+    private final ExclusivePublication publication;
+    private final NanoClock nanoClock;
+    private final UnsafeBuffer aggregateBuffer;
+
+    /**
+     * Construct a new aggregating publication using the system clock to track the delay of pending messages.
+     *
+     * @param publication          to which aggregates are offered.
+     * @param flushThresholdLength of pending messages, including prefixes, at which an aggregate is published.
+     * @param maxDelayNs           for which a message can be pending before {@link #doWork()} publishes it.
+     */
+    public AggregatingPublication(
+        final ExclusivePublication publication, final int flushThresholdLength, final long maxDelayNs)
+    {
+        this(publication, flushThresholdLength, maxDelayNs, new SystemNanoClock());
+    }
+
+    /**
+     * Construct a new aggregating publication.
+     *
+     * @param publication          to which aggregates are offered.
+     * @param flushThresholdLength of pending messages, including prefixes, at which an aggregate is published.
+     * @param maxDelayNs           for which a message can be pending before {@link #doWork()} publishes it.
+     * @param nanoClock            to track the delay of pending messages.
+     */
+    public AggregatingPublication(
+        final ExclusivePublication publication,
+        final int flushThresholdLength,
+        final long maxDelayNs,
+        final NanoClock nanoClock)
+    {
+        final int capacity = publication.maxPayloadLength();
+        if (flushThresholdLength <= 0 || flushThresholdLength > capacity)
+        {
+            throw new IllegalArgumentException(
+                "flushThresholdLength=" + flushThresholdLength + " must be in range 1-" + capacity);
+        }
+
+        this.publication = publication;
+        this.flushThresholdLength = flushThresholdLength;
+        this.maxDelayNs = maxDelayNs;
+        this.nanoClock = nanoClock;
+        this.maxMessageLength = Math.min(capacity - LENGTH_PREFIX_LENGTH, MAX_LENGTH);
+        this.aggregateBuffer = new UnsafeBuffer(allocateDirect(capacity));
+    }
+
+    /**
+     * The {@link ExclusivePublication} to which aggregates are offered.
+     *
+     * @return the {@link ExclusivePublication} to which aggregates are offered.
+     */
+    public ExclusivePublication publication()
+    {
+        return publication;
+    }
+
+    /**
+     * Maximum length of a message which can be offered.
+     *
+     * @return maximum length of a message which can be offered.
+     */
+    public int maxMessageLength()
+    {
+        return maxMessageLength;
+    }
+
+    /**
+     * Length of the pending messages, including their prefixes, which are yet to be published.
+     *
+     * @return length of the pending messages which are yet to be published.
+     */
+    public int pendingLength()
+    {
+        return pendingLength;
+    }
+
+    /**
+     * Append a message to the pending aggregate, first publishing the pending messages if the message will not fit.
+     *
+     * @param buffer containing message.
+     * @param offset offset in the buffer at which the encoded message begins.
+     * @param length in bytes of the encoded message.
+     * @return true if the message has been accepted or false if the pending messages had to be published to make
+     * room and the publication did not accept them, in which case the offer should be retried.
+     * @throws IllegalArgumentException if the message is longer than {@link #maxMessageLength()}.
+     */
+    public boolean offer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (length > maxMessageLength)
+        {
+            throw new IllegalArgumentException(
+                "message exceeds maxMessageLength of " + maxMessageLength + ", length=" + length);
+        }
+
+        if (pendingLength + LENGTH_PREFIX_LENGTH + length > aggregateBuffer.capacity() && flush() < 0)
+        {
+            return false;
+        }
+
+        if (0 == pendingLength)
+        {
+            firstMessageTimeNs = nanoClock.nanoTime();
+        }
+
+        aggregateBuffer.putShort(pendingLength, (short)length, LITTLE_ENDIAN);
+        aggregateBuffer.putBytes(pendingLength + LENGTH_PREFIX_LENGTH, buffer, offset, length);
+        pendingLength += LENGTH_PREFIX_LENGTH + length;
+
+        if (pendingLength >= flushThresholdLength)
+        {
+            flush();
+        }
+
+        return true;
+    }
+
+    /**
+     * Publish the pending messages as a single aggregate.
+     *
+     * @return the new stream position, 0 if there are no pending messages, otherwise the negative error value from
+     * {@link Publication#offer(DirectBuffer, int, int)} in which case the messages remain pending.
+     */
+    public long flush()
+    {
+        if (0 == pendingLength)
+        {
+            return 0;
+        }
+
+        final long result = publication.offer(aggregateBuffer, 0, pendingLength);
+        if (result > 0)
+        {
+            pendingLength = 0;
+        }
+
+        return result;
+    }
+
+    /**
+     * Publish the pending messages if the oldest has been pending for the maximum delay. This should be called
+     * regularly by the thread which offers messages, for example from its duty cycle.
+     *
+     * @return 1 if pending messages were published otherwise 0.
+     */
+    public int doWork()
+    {
+        if (pendingLength > 0 && nanoClock.nanoTime() - firstMessageTimeNs >= maxDelayNs && flush() > 0)
+        {
+            return 1;
+        }
+
+        return 0;
+    }
+}
@@ -51,6 +51,9 @@ public class ChannelUriStringBuilder
     private Integer termOffset;
     private Integer sessionId;
     private Integer linger;
+    private String pacingRate;
+    private Integer fecGroupSize;
+    private Boolean receiveZeroCopy;
     private boolean isSessionIdTagged;
 
     /**
@@ -75,6 +78,9 @@ public class ChannelUriStringBuilder
         termId = null;
         termOffset = null;
         sessionId = null;
+        pacingRate = null;
+        fecGroupSize = null;
+        receiveZeroCopy = null;
         isSessionIdTagged = false;
 
         return this;
@@ -546,6 +552,84 @@ public class ChannelUriStringBuilder
         return linger;
     }
 
+    /**
+     * Set the rate in bytes per second at which a network publication paces sending data, or
+     * {@link CommonContext#PACING_RATE_AUTO} to derive the rate from the receiver window and RTT.
+     *
+     * @param pacingRate in bytes per second, which may have a k, m, or g suffix, or auto.
+     * @return this for a fluent API.
+     * @see CommonContext#PACING_RATE_PARAM_NAME
+     */
+    public ChannelUriStringBuilder pacingRate(final String pacingRate)
+    {
+        this.pacingRate = pacingRate;
+        return this;
+    }
+
+    /**
+     * Get the rate in bytes per second at which a network publication paces sending data.
+     *
+     * @return the rate at which a network publication paces sending data.
+     * @see CommonContext#PACING_RATE_PARAM_NAME
+     */
+    public String pacingRate()
+    {
+        return pacingRate;
+    }
+
+    /**
+     * Set the number of datagrams a network publication covers with each parity frame for forward error correction.
+     *
+     * @param fecGroupSize number of datagrams covered by each parity frame.
+     * @return this for a fluent API.
+     * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+     */
+    public ChannelUriStringBuilder fecGroupSize(final Integer fecGroupSize)
+    {
+        if (null != fecGroupSize && fecGroupSize < 1)
+        {
+            throw new IllegalArgumentException("FEC group size must be at least 1: " + fecGroupSize);
+        }
+
+        this.fecGroupSize = fecGroupSize;
+        return this;
+    }
+
+    /**
+     * Get the number of datagrams a network publication covers with each parity frame for forward error correction.
+     *
+     * @return the number of datagrams covered by each parity frame.
+     * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+     */
+    public Integer fecGroupSize()
+    {
+        return fecGroupSize;
+    }
+
+    /**
+     * Set if a unicast subscription with a single publication should receive data directly into the term buffer.
+     *
+     * @param receiveZeroCopy true if data should be received directly into the term buffer.
+     * @return this for a fluent API.
+     * @see CommonContext#RECEIVE_ZERO_COPY_PARAM_NAME
+     */
+    public ChannelUriStringBuilder receiveZeroCopy(final Boolean receiveZeroCopy)
+    {
+        this.receiveZeroCopy = receiveZeroCopy;
+        return this;
+    }
+
+    /**
+     * Get if a unicast subscription with a single publication should receive data directly into the term buffer.
+     *
+     * @return true if data should be received directly into the term buffer.
+     * @see CommonContext#RECEIVE_ZERO_COPY_PARAM_NAME
+     */
+    public Boolean receiveZeroCopy()
+    {
+        return receiveZeroCopy;
+    }
+
     /**
      * Set the tags for a channel, and/or publication or subscription.
      *
@@ -698,6 +782,8 @@ public class ChannelUriStringBuilder
             sb.append(LINGER_PARAM_NAME).append('=').append(linger.intValue()).append('|');
         }
 
+        appendTransportTuningParams();
+
         final char lastChar = sb.charAt(sb.length() - 1);
         if (lastChar == '|' || lastChar == '?')
         {
@@ -707,6 +793,24 @@ public class ChannelUriStringBuilder
         return sb.toString();
     }
 
+    private void appendTransportTuningParams()
+    {
+        if (null != pacingRate)
+        {
+            sb.append(PACING_RATE_PARAM_NAME).append('=').append(pacingRate).append('|');
+        }
+
+        if (null != fecGroupSize)
+        {
+            sb.append(FEC_GROUP_SIZE_PARAM_NAME).append('=').append(fecGroupSize.intValue()).append('|');
+        }
+
+        if (null != receiveZeroCopy)
+        {
+            sb.append(RECEIVE_ZERO_COPY_PARAM_NAME).append('=').append(receiveZeroCopy).append('|');
+        }
+    }
+
     /**
      * Call {@link Integer#valueOf(String)} only if the value param is not null. Else pass null on.
      *
@@ -165,6 +165,29 @@ public class CommonContext implements AutoCloseable, Cloneable
      */
     public static final String LINGER_PARAM_NAME = "linger";
 
+    /**
+     * Key for the rate in bytes per second at which a network publication paces sending data to smooth bursts. Value
+     * is a size which may have a k, m, or g suffix, or {@link #PACING_RATE_AUTO} to derive it from the receiver window.
+     */
+    public static final String PACING_RATE_PARAM_NAME = "pacing-rate";
+
+    /**
+     * Key for the number of datagrams a network publication covers with each XOR parity frame for forward error
+     * correction so a single loss in the group can be recovered by receivers without a NAK.
+     */
+    public static final String FEC_GROUP_SIZE_PARAM_NAME = "fec";
+
+    /**
+     * Key for enabling receive of data directly into the term buffer of the image on a unicast subscription channel
+     * with a single publication rather than copying from a receive buffer. Value is boolean.
+     */
+    public static final String RECEIVE_ZERO_COPY_PARAM_NAME = "rcv-zero-copy";
+
+    /**
+     * Valid value for {@link #PACING_RATE_PARAM_NAME} to derive the pacing rate from the receiver window and RTT.
+     */
+    public static final String PACING_RATE_AUTO = "auto";
+
     /**
      * Valid value for {@link #MDC_CONTROL_MODE_PARAM_NAME} when manual control is desired.
      */
@@ -182,6 +182,52 @@ public class ConcurrentPublication extends Publication
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages, one per vector, with the space for the whole batch reserved in a
+     * single operation so the cost of claiming the log is paid once rather than for each message.
+     *
+     * @param messages              to be published in order, one per vector.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} called for each frame.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if the batch is empty or a message or the batch is too long.
+     */
+    public long offerBatch(final DirectBufferVector[] messages, final ReservedValueSupplier reservedValueSupplier)
+    {
+        final int batchLength = validateAndComputeBatchLength(messages);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final int termCount = activeTermCount(logMetaDataBuffer);
+            final TermAppender termAppender = termAppenders[indexByTermCount(termCount)];
+            final long rawTail = termAppender.rawTailVolatile();
+            final long termOffset = rawTail & 0xFFFF_FFFFL;
+            final int termId = termId(rawTail);
+            final long position = computeTermBeginPosition(termId, positionBitsToShift, initialTermId) + termOffset;
+
+            if (termCount != (termId - initialTermId))
+            {
+                return ADMIN_ACTION;
+            }
+
+            if (position < limit)
+            {
+                final int resultingOffset = termAppender.appendUnfragmentedBatch(
+                    headerWriter, messages, batchLength, reservedValueSupplier, termId);
+
+                newPosition = newPosition(termCount, (int)termOffset, termId, position, resultingOffset);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, batchLength);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.exceptions.AeronException;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+import static io.aeron.AggregatingPublication.LENGTH_PREFIX_LENGTH;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that unpacks the messages aggregated by an
+ * {@link AggregatingPublication} so the next handler in the chain sees each message in turn.
+ * <p>
+ * Messages are delegated without copy and with the {@link Header} of the frame which carried them. If a length
+ * prefix runs past the end of the fragment, because it is corrupt or was not published by an
+ * {@link AggregatingPublication}, an {@link AeronException} is thrown after the preceding messages have been
+ * delegated so the error is reported to the error handler of the {@link Image} being polled.
+ *
+ * @see AggregatingPublication
+ */
+public class DeaggregatingFragmentHandler implements FragmentHandler
+{
+    private final FragmentHandler delegate;
+
+    /**
+     * Construct an adapter to unpack aggregated messages and delegate on each message.
+     *
+     * @param delegate onto which each message is forwarded.
+     */
+    public DeaggregatingFragmentHandler(final FragmentHandler delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Get the delegate unto which each message is forwarded.
+     *
+     * @return the delegate unto which each message is forwarded.
+     */
+    public FragmentHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that unpacks aggregated messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     * @throws AeronException if a message length runs past the end of the fragment.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final int limit = offset + length;
+        int messageOffset = offset;
+
+        while (messageOffset + LENGTH_PREFIX_LENGTH <= limit)
+        {
+            final int messageLength = buffer.getShort(messageOffset, LITTLE_ENDIAN) & 0xFFFF;
+            messageOffset += LENGTH_PREFIX_LENGTH;
+
+            if (messageOffset + messageLength > limit)
+            {
+                throw new AeronException(
+                    "aggregated message length exceeds fragment: length=" + messageLength +
+                    " remaining=" + (limit - messageOffset));
+            }
+
+            delegate.onFragment(buffer, messageOffset, messageLength, header);
+            messageOffset += messageLength;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+import java.util.function.ToIntFunction;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+
+/**
+ * Polls the {@link Image}s of a {@link Subscription} with a deficit round-robin scheduler so each {@link Image} gets
+ * a share of the bytes consumed in proportion to its quantum, rather than the equal turns of
+ * {@link Subscription#poll(FragmentHandler, int)} which let a high rate publisher consume most of each poll.
+ * <p>
+ * Each time an {@link Image} is visited its deficit is increased by its quantum in bytes and it is polled for
+ * fragments while their frame length fits within the deficit. Unused deficit carries over to the next visit while
+ * the {@link Image} has fragments available and is reset when it has none, so an idle {@link Image} cannot save up a
+ * burst. A poll resumes from the {@link Image} at which the previous poll ran out of its fragment limit, so the wait
+ * for any {@link Image} with fragments available is bounded by the quanta of the others regardless of their load.
+ * <p>
+ * Quanta are assigned by a function of the {@link Image}, for example its session id or source identity, when the
+ * set of {@link Image}s changes. Deficits are reset at the same time and are held as longs so a quantum up to
+ * {@link Integer#MAX_VALUE} cannot overflow when added to the deficit carried over.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe and must be polled from the same thread as the {@link Subscription}.
+ */
+public class DeficitRoundRobinPoller
+{
+    private final Subscription subscription;
+    private final ToIntFunction<Image> quantumFunction;
+    private final ControlledFragmentHandler deficitHandler = this::onFragment;
+    private Image[] images = Subscription.EMPTY_ARRAY;
+    private int[] quanta = new int[0];
+    private long[] deficits = new long[0];
+    private int index;
+    private boolean isMidVisit;
+    private boolean isDeficitExhausted;
+    private long deficit;
+    private FragmentHandler fragmentHandler;
+
+    /**
+     * Construct a poller over the {@link Image}s of a {@link Subscription}.
+     *
+     * @param subscription    whose {@link Image}s are polled.
+     * @param quantumFunction giving the number of bytes of frames an {@link Image} may consume on each visit.
+     */
+    public DeficitRoundRobinPoller(final Subscription subscription, final ToIntFunction<Image> quantumFunction)
+    {
+        this.subscription = subscription;
+        this.quantumFunction = quantumFunction;
+    }
+
+    /**
+     * The {@link Subscription} whose {@link Image}s are polled.
+     *
+     * @return the {@link Subscription} whose {@link Image}s are polled.
+     */
+    public Subscription subscription()
+    {
+        return subscription;
+    }
+
+    /**
+     * Poll the {@link Image}s under the subscription for available message fragments in proportion to their quanta.
+     *
+     * @param fragmentHandler callback for handling each message fragment as it is read.
+     * @param fragmentLimit   number of message fragments to limit for the poll operation across multiple {@link Image}s.
+     * @return the number of fragments received.
+     * @throws IllegalArgumentException if the quantum for an {@link Image} is not positive.
+     */
+    public int poll(final FragmentHandler fragmentHandler, final int fragmentLimit)
+    {
+        final Image[] images = subscription.images;
+        if (images != this.images)
+        {
+            onImagesChanged(images);
+        }
+
+        final int length = images.length;
+        int fragmentsRead = 0;
+        int idleCount = 0;
+        this.fragmentHandler = fragmentHandler;
+
+        try
+        {
+            while (idleCount < length && fragmentsRead < fragmentLimit)
+            {
+                deficit = isMidVisit ? deficits[index] : deficits[index] + quanta[index];
+                isDeficitExhausted = false;
+
+                final int remaining = fragmentLimit - fragmentsRead;
+                final int count = images[index].controlledPoll(deficitHandler, remaining);
+                fragmentsRead += count;
+
+                if (isDeficitExhausted)
+                {
+                    deficits[index] = deficit;
+                    idleCount = 0;
+                    nextImage(length);
+                }
+                else if (count == remaining)
+                {
+                    deficits[index] = deficit;
+                    isMidVisit = true;
+                }
+                else
+                {
+                    deficits[index] = 0;
+                    idleCount = 0 == count ? idleCount + 1 : 0;
+                    nextImage(length);
+                }
+            }
+        }
+        finally
+        {
+            this.fragmentHandler = null;
+        }
+
+        return fragmentsRead;
+    }
+
+    private ControlledFragmentHandler.Action onFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final int frameLength = length + HEADER_LENGTH;
+        if (frameLength > deficit)
+        {
+            isDeficitExhausted = true;
+            return ABORT;
+        }
+
+        deficit -= frameLength;
+        fragmentHandler.onFragment(buffer, offset, length, header);
+
+        return CONTINUE;
+    }
+
+    private void nextImage(final int length)
+    {
+        isMidVisit = false;
+        if (++index >= length)
+        {
+            index = 0;
+        }
+    }
+
+    private void onImagesChanged(final Image[] images)
+    {
+        final int length = images.length;
+        final int[] quanta = new int[length];
+        for (int i = 0; i < length; i++)
+        {
+            final int quantum = quantumFunction.applyAsInt(images[i]);
+            if (quantum <= 0)
+            {
+                throw new IllegalArgumentException(
+                    "quantum must be positive: sessionId=" + images[i].sessionId() + " quantum=" + quantum);
+            }
+
+            quanta[i] = quantum;
+        }
+
+        this.images = images;
+        this.quanta = quanta;
+        this.deficits = new long[length];
+        this.index = 0;
+        this.isMidVisit = false;
+    }
+}
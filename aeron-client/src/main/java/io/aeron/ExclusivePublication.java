@@ -200,6 +200,43 @@ public class ExclusivePublication extends Publication
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages, one per vector, with the space for the whole batch reserved in a
+     * single operation so the tail of the log is advanced once rather than for each message.
+     *
+     * @param messages              to be published in order, one per vector.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} called for each frame.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if the batch is empty or a message or the batch is too long.
+     */
+    public long offerBatch(final DirectBufferVector[] messages, final ReservedValueSupplier reservedValueSupplier)
+    {
+        final int batchLength = validateAndComputeBatchLength(messages);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            final long position = termBeginPosition + termOffset;
+
+            if (position < limit)
+            {
+                final int result = termAppender.appendUnfragmentedBatch(
+                    termId, termOffset, headerWriter, messages, batchLength, reservedValueSupplier);
+
+                newPosition = newPosition(result);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, batchLength);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link ExclusiveBufferClaim#commit()} should be called thus making it
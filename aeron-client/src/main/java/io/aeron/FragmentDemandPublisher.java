@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapter which presents an {@link Image} or {@link Subscription} as a demand driven publisher in the style of
+ * reactive streams so that a downstream consumer is never delivered more fragments than it has requested.
+ * <p>
+ * Demand is signalled via {@link #request(long)}, which is safe to call from any thread, and is expressed in
+ * fragments. The polling thread calls {@link #poll(int)} which maps the outstanding demand onto the fragment limit of
+ * a controlled poll so back pressure from the consumer is applied to the log without buffering or allocation. A
+ * consumer which cannot accept a fragment it has requested can still return
+ * {@link ControlledFragmentHandler.Action#ABORT} to have it redelivered on the next poll.
+ * <p>
+ * To bridge to {@code java.util.concurrent.Flow} the {@code Flow.Subscription} given to the subscriber should
+ * forward {@code request(n)} and {@code cancel()} to this adapter.
+ */
+public class FragmentDemandPublisher
+{
+    private final AtomicLong demand = new AtomicLong();
+    private final Image image;
+    private final Subscription subscription;
+    private final ControlledFragmentHandler fragmentHandler;
+    private volatile boolean isCancelled;
+
+    /**
+     * Construct a publisher of the fragments of a single {@link Image}.
+     *
+     * @param image           from which fragments are polled.
+     * @param fragmentHandler to which requested fragments are delivered.
+     */
+    public FragmentDemandPublisher(final Image image, final ControlledFragmentHandler fragmentHandler)
+    {
+        this.image = image;
+        this.subscription = null;
+        this.fragmentHandler = fragmentHandler;
+    }
+
+    /**
+     * Construct a publisher of the fragments of all {@link Image}s under a {@link Subscription}.
+     *
+     * @param subscription    from which fragments are polled.
+     * @param fragmentHandler to which requested fragments are delivered.
+     */
+    public FragmentDemandPublisher(final Subscription subscription, final ControlledFragmentHandler fragmentHandler)
+    {
+        this.image = null;
+        this.subscription = subscription;
+        this.fragmentHandler = fragmentHandler;
+    }
+
+    /**
+     * Add to the number of fragments the consumer is prepared to receive. A request of {@link Long#MAX_VALUE}, or
+     * requests which accumulate to it, signal unbounded demand.
+     *
+     * @param n number of additional fragments requested.
+     * @throws IllegalArgumentException if n is not positive.
+     */
+    public void request(final long n)
+    {
+        if (n <= 0)
+        {
+            throw new IllegalArgumentException("request must be positive: " + n);
+        }
+
+        if (isCancelled)
+        {
+            return;
+        }
+
+        long current;
+        long next;
+        do
+        {
+            current = demand.get();
+            if (Long.MAX_VALUE == current)
+            {
+                return;
+            }
+
+            next = current + n;
+            if (next < 0)
+            {
+                next = Long.MAX_VALUE;
+            }
+        }
+        while (!demand.compareAndSet(current, next));
+    }
+
+    /**
+     * Cancel the demand so no further fragments are delivered.
+     */
+    public void cancel()
+    {
+        isCancelled = true;
+        demand.set(0);
+    }
+
+    /**
+     * Has the consumer cancelled its demand?
+     *
+     * @return true if the consumer has cancelled its demand.
+     */
+    public boolean isCancelled()
+    {
+        return isCancelled;
+    }
+
+    /**
+     * The number of fragments requested which are yet to be delivered.
+     *
+     * @return the number of fragments requested which are yet to be delivered.
+     */
+    public long demand()
+    {
+        return demand.get();
+    }
+
+    /**
+     * Poll for fragments up to the lesser of the outstanding demand and the fragment limit.
+     *
+     * @param fragmentLimit for the number of fragments to be consumed during one polling operation.
+     * @return the number of fragments delivered.
+     */
+    public int poll(final int fragmentLimit)
+    {
+        final long demand = this.demand.get();
+        if (demand <= 0 || isCancelled)
+        {
+            return 0;
+        }
+
+        final int limit = (int)Math.min(demand, fragmentLimit);
+        final int fragmentsRead = null != image ?
+            image.controlledPoll(fragmentHandler, limit) : subscription.controlledPoll(fragmentHandler, limit);
+
+        if (fragmentsRead > 0)
+        {
+            consumeDemand(fragmentsRead);
+        }
+
+        return fragmentsRead;
+    }
+
+    private void consumeDemand(final int fragmentsRead)
+    {
+        long current;
+        long next;
+        do
+        {
+            current = demand.get();
+            if (Long.MAX_VALUE == current || current <= 0 || isCancelled)
+            {
+                return;
+            }
+
+            next = Math.max(0, current - fragmentsRead);
+        }
+        while (!demand.compareAndSet(current, next));
+    }
+}
@@ -525,6 +525,9 @@ public class Image
 
                 if (isPaddingFrame(termBuffer, frameOffset))
                 {
+                    position += (offset - initialOffset);
+                    initialOffset = offset;
+                    resultingPosition = position;
                     continue;
                 }
 
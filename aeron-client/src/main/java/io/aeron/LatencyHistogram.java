@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies in nanoseconds with buckets of constant relative width so values from nanoseconds to
+ * seconds are recorded to within 1/16th of their magnitude in a fixed array without allocation.
+ * <p>
+ * Values less than 16 have a bucket each. Above that each power of two is split into 16 linear sub-buckets.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+
+    /**
+     * Record a value, with negative values such as those due to clock skew recorded as 0.
+     *
+     * @param value to be recorded.
+     */
+    void recordValue(final long value)
+    {
+        final long v = Math.max(0, value);
+        counts[bucketIndex(v)]++;
+        totalCount++;
+        if (v > maxValue)
+        {
+            maxValue = v;
+        }
+    }
+
+    /**
+     * Number of values recorded since the last reset.
+     *
+     * @return number of values recorded since the last reset.
+     */
+    long totalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Maximum value recorded since the last reset.
+     *
+     * @return maximum value recorded since the last reset.
+     */
+    long maxValue()
+    {
+        return maxValue;
+    }
+
+    /**
+     * Value at a given percentile, reported as the upper bound of the bucket which contains it and no greater than
+     * the maximum recorded.
+     *
+     * @param percentile in the range 0 to 100.
+     * @return value at the percentile or 0 if no values have been recorded.
+     */
+    long valueAtPercentile(final double percentile)
+    {
+        if (0 == totalCount)
+        {
+            return 0;
+        }
+
+        final long countAtPercentile = Math.max(1, (long)Math.ceil((percentile / 100.0) * totalCount));
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            count += counts[i];
+            if (count >= countAtPercentile)
+            {
+                return Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+
+        return maxValue;
+    }
+
+    /**
+     * Reset to having no values recorded.
+     */
+    void reset()
+    {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    static int bucketIndex(final long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int)value;
+        }
+
+        final int magnitude = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int)(value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+        return ((magnitude - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long bucketUpperBound(final int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        final int shift = (index >> SUB_BUCKET_BITS) - 1;
+        final long subBucket = SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1));
+
+        final long upperBound = ((subBucket + 1) << shift) - 1;
+
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
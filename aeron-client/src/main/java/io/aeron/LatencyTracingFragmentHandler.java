@@ -0,0 +1,185 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that records the latency of each fragment
+ * from the timestamp in its reserved value, as stamped by a {@link TimestampReservedValueSupplier}, to the time it is
+ * polled.
+ * <p>
+ * Fragments with a reserved value of 0, such as those from publications which do not stamp frames, are delegated
+ * without recording a latency. The latencies are only meaningful when the publisher stamps frames with a clock which
+ * is comparable to the one given here, which for the default {@link SystemNanoClock} means the publisher and
+ * subscriber must be on the same host.
+ * <p>
+ * Latencies are recorded in a histogram without allocation. Each time {@link #doWork()} is called after the report
+ * interval has elapsed the p50, p99, p99.9 and max latencies for the interval are written to counters, which can be
+ * read with AeronStat, and the histogram is reset.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe and must be used from the thread which polls.
+ *
+ * @see TimestampReservedValueSupplier
+ */
+public class LatencyTracingFragmentHandler implements FragmentHandler, AutoCloseable
+{
+    /**
+     * Type id of the counters to which latency percentiles are reported.
+     */
+    public static final int LATENCY_TRACING_TYPE_ID = 14;
+
+    /**
+     * Default interval at which latency percentiles are reported.
+     */
+    public static final long DEFAULT_REPORT_INTERVAL_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long reportIntervalNs;
+    private long reportDeadlineNs;
+    private final FragmentHandler delegate;
+    private final NanoClock nanoClock;
+    private final AtomicCounter p50;
+    private final AtomicCounter p99;
+    private final AtomicCounter p999;
+    private final AtomicCounter max;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Construct a handler which records latencies to counters reported at a given interval.
+     *
+     * @param delegate         onto which fragments are forwarded.
+     * @param nanoClock        for the time at which fragments are polled, comparable with that used to stamp them.
+     * @param reportIntervalNs at which latency percentiles are written to the counters.
+     * @param p50              counter for the 50th percentile latency in nanoseconds.
+     * @param p99              counter for the 99th percentile latency in nanoseconds.
+     * @param p999             counter for the 99.9th percentile latency in nanoseconds.
+     * @param max              counter for the max latency in nanoseconds.
+     */
+    public LatencyTracingFragmentHandler(
+        final FragmentHandler delegate,
+        final NanoClock nanoClock,
+        final long reportIntervalNs,
+        final AtomicCounter p50,
+        final AtomicCounter p99,
+        final AtomicCounter p999,
+        final AtomicCounter max)
+    {
+        this.delegate = delegate;
+        this.nanoClock = nanoClock;
+        this.reportIntervalNs = reportIntervalNs;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.reportDeadlineNs = nanoClock.nanoTime() + reportIntervalNs;
+    }
+
+    /**
+     * Allocate latency counters for a {@link Subscription} and construct a handler to record to them at the
+     * {@link #DEFAULT_REPORT_INTERVAL_NS}.
+     *
+     * @param aeron        client with which to allocate the counters.
+     * @param subscription for which latency is traced and which labels the counters.
+     * @param delegate     onto which fragments are forwarded.
+     * @return a new handler which should be closed to free the counters.
+     */
+    public static LatencyTracingFragmentHandler newInstance(
+        final Aeron aeron, final Subscription subscription, final FragmentHandler delegate)
+    {
+        final String suffix = ": " + subscription.streamId() + " " + subscription.channel();
+
+        return new LatencyTracingFragmentHandler(
+            delegate,
+            new SystemNanoClock(),
+            DEFAULT_REPORT_INTERVAL_NS,
+            aeron.addCounter(LATENCY_TRACING_TYPE_ID, "latency-p50-ns" + suffix),
+            aeron.addCounter(LATENCY_TRACING_TYPE_ID, "latency-p99-ns" + suffix),
+            aeron.addCounter(LATENCY_TRACING_TYPE_ID, "latency-p99.9-ns" + suffix),
+            aeron.addCounter(LATENCY_TRACING_TYPE_ID, "latency-max-ns" + suffix));
+    }
+
+    /**
+     * Get the delegate unto which fragments are forwarded.
+     *
+     * @return the delegate unto which fragments are forwarded.
+     */
+    public FragmentHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that records the latency of a stamped fragment before forwarding
+     * it.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final long timestampNs = header.reservedValue();
+        if (0 != timestampNs)
+        {
+            histogram.recordValue(nanoClock.nanoTime() - timestampNs);
+        }
+
+        delegate.onFragment(buffer, offset, length, header);
+    }
+
+    /**
+     * Report the latency percentiles to the counters if the report interval has elapsed.
+     *
+     * @return 1 if the counters were updated otherwise 0.
+     */
+    public int doWork()
+    {
+        final long nowNs = nanoClock.nanoTime();
+        if (nowNs - reportDeadlineNs < 0)
+        {
+            return 0;
+        }
+
+        reportDeadlineNs = nowNs + reportIntervalNs;
+        p50.setOrdered(histogram.valueAtPercentile(50.0));
+        p99.setOrdered(histogram.valueAtPercentile(99.0));
+        p999.setOrdered(histogram.valueAtPercentile(99.9));
+        max.setOrdered(histogram.maxValue());
+        histogram.reset();
+
+        return 1;
+    }
+
+    /**
+     * Close the counters.
+     */
+    public void close()
+    {
+        CloseHelper.close(p50);
+        CloseHelper.close(p99);
+        CloseHelper.close(p999);
+        CloseHelper.close(max);
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.BREAK;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static io.aeron.logbuffer.FrameDescriptor.END_FRAG_FLAG;
+
+/**
+ * Merges the {@link Image}s of a {@link Subscription} so that messages are delivered in order of a key extracted
+ * from each message, such as an application timestamp or the reserved value, rather than in the order they are
+ * polled from each {@link Image}.
+ * <p>
+ * On each poll the next complete message of each {@link Image} is found with
+ * {@link Image#controlledPeek(long, ControlledFragmentHandler, long)} and its key extracted from the first fragment.
+ * The heads are kept in a primitive min-heap and messages are delivered in key order directly from the log buffers
+ * without copy. An {@link Image} is only consumed past a message once it has been delivered. Equal keys are ordered
+ * by session id so the merge is deterministic for a given set of available messages.
+ * <p>
+ * Ordering is only across messages which are available at the time of the poll. Fragments of a message are
+ * delivered consecutively but a message is only delivered once all of its fragments are available.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe and must be polled from the same thread as the {@link Subscription}.
+ */
+public class OrderedImageMerger
+{
+    /**
+     * Extracts the key by which messages are ordered from the first fragment of a message.
+     */
+    @FunctionalInterface
+    public interface KeyExtractor
+    {
+        /**
+         * Extract the key for a message from its first fragment.
+         *
+         * @param buffer containing the fragment.
+         * @param offset at which the fragment payload begins.
+         * @param length of the fragment payload.
+         * @param header representing the meta data for the fragment.
+         * @return the key by which the message is ordered.
+         */
+        long key(DirectBuffer buffer, int offset, int length, Header header);
+    }
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Subscription subscription;
+    private final KeyExtractor keyExtractor;
+    private final ControlledFragmentHandler keyHandler = this::onKeyFragment;
+    private final ControlledFragmentHandler deliveryHandler = this::onDeliveryFragment;
+    private Image[] images = Subscription.EMPTY_ARRAY;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] endPositions = new long[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int heapSize;
+    private boolean isKeyFound;
+    private long key;
+    private FragmentHandler fragmentHandler;
+
+    /**
+     * Construct a merger over the {@link Image}s of a {@link Subscription}.
+     *
+     * @param subscription whose {@link Image}s are merged.
+     * @param keyExtractor by which messages are ordered.
+     */
+    public OrderedImageMerger(final Subscription subscription, final KeyExtractor keyExtractor)
+    {
+        this.subscription = subscription;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * The {@link Subscription} whose {@link Image}s are merged.
+     *
+     * @return the {@link Subscription} whose {@link Image}s are merged.
+     */
+    public Subscription subscription()
+    {
+        return subscription;
+    }
+
+    /**
+     * Poll the {@link Image}s for available messages and deliver them in order of their keys.
+     *
+     * @param fragmentHandler to which the fragments of each message are delivered.
+     * @param messageLimit    number of messages to limit for the poll operation across all {@link Image}s.
+     * @return the number of messages delivered.
+     */
+    public int poll(final FragmentHandler fragmentHandler, final int messageLimit)
+    {
+        final Image[] images = subscription.images;
+        final int length = images.length;
+        this.images = images;
+        ensureCapacity(length);
+
+        heapSize = 0;
+        for (int i = 0; i < length; i++)
+        {
+            if (findHead(images[i], i))
+            {
+                heapPush(i);
+            }
+        }
+
+        this.fragmentHandler = fragmentHandler;
+        int messagesRead = 0;
+
+        try
+        {
+            while (heapSize > 0 && messagesRead < messageLimit)
+            {
+                final int index = heapPop();
+                final Image image = images[index];
+                final long endPosition = endPositions[index];
+                if (image.isClosed())
+                {
+                    continue;
+                }
+
+                image.controlledPeek(image.position(), deliveryHandler, endPosition);
+                image.position(endPosition);
+                messagesRead++;
+
+                if (findHead(image, index))
+                {
+                    heapPush(index);
+                }
+            }
+        }
+        finally
+        {
+            this.fragmentHandler = null;
+        }
+
+        return messagesRead;
+    }
+
+    private boolean findHead(final Image image, final int index)
+    {
+        while (!image.isClosed())
+        {
+            final long position = image.position();
+            isKeyFound = false;
+
+            final long endPosition = image.controlledPeek(position, keyHandler, Long.MAX_VALUE);
+            if (endPosition <= position)
+            {
+                break;
+            }
+
+            if (!isKeyFound)
+            {
+                image.position(endPosition);
+                continue;
+            }
+
+            keys[index] = key;
+            endPositions[index] = endPosition;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private ControlledFragmentHandler.Action onKeyFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        if (!isKeyFound)
+        {
+            key = keyExtractor.key(buffer, offset, length, header);
+            isKeyFound = true;
+        }
+
+        return (header.flags() & END_FRAG_FLAG) == END_FRAG_FLAG ? BREAK : CONTINUE;
+    }
+
+    private ControlledFragmentHandler.Action onDeliveryFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        fragmentHandler.onFragment(buffer, offset, length, header);
+
+        return CONTINUE;
+    }
+
+    private void ensureCapacity(final int length)
+    {
+        if (length > heap.length)
+        {
+            keys = new long[length];
+            endPositions = new long[length];
+            heap = new int[length];
+        }
+    }
+
+    private boolean isBefore(final int a, final int b)
+    {
+        final long keyA = keys[a];
+        final long keyB = keys[b];
+
+        return keyA < keyB || (keyA == keyB && images[a].sessionId() < images[b].sessionId());
+    }
+
+    private void heapPush(final int index)
+    {
+        int child = heapSize++;
+        while (child > 0)
+        {
+            final int parent = (child - 1) >> 1;
+            if (!isBefore(index, heap[parent]))
+            {
+                break;
+            }
+
+            heap[child] = heap[parent];
+            child = parent;
+        }
+
+        heap[child] = index;
+    }
+
+    private int heapPop()
+    {
+        final int top = heap[0];
+        final int last = heap[--heapSize];
+        int parent = 0;
+
+        while (true)
+        {
+            int child = (parent << 1) + 1;
+            if (child >= heapSize)
+            {
+                break;
+            }
+
+            if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child]))
+            {
+                child++;
+            }
+
+            if (!isBefore(heap[child], last))
+            {
+                break;
+            }
+
+            heap[parent] = heap[child];
+            parent = child;
+        }
+
+        heap[parent] = last;
+
+        return top;
+    }
+}
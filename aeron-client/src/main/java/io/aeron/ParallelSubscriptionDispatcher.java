@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.collections.ArrayUtil;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.IdleStrategy;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches the {@link Image}s of a {@link Subscription} across a number of worker threads so a subscription with
+ * many publishers can be consumed in parallel.
+ * <p>
+ * Each {@link Image} is pinned to a worker by a hash of its session id, see {@link #workerIndex(int, int)}, so the
+ * fragments of a session are always delivered in order by the same thread, even if its {@link Image} is replaced.
+ * Each worker has its own {@link FragmentHandler}, so single threaded handlers such as {@link FragmentAssembler}s
+ * can be used without synchronisation, and polls its {@link Image}s up to its own fragment limit per duty cycle.
+ * <p>
+ * {@link Image}s are added and removed by the {@link ClientConductor} publishing a new copy of the array of
+ * {@link Image}s for the subscription. Each worker rebuilds its own subset of {@link Image}s only when it observes a
+ * new array, so handoff needs no further coordination and the duty cycle does not allocate. A removed
+ * {@link Image} is closed and its log buffers linger before being released, as for any {@link Subscription} polled
+ * from a thread other than the conductor, so a worker still holding it polls nothing.
+ * <p>
+ * The {@link Subscription} must not be polled by any other thread while the dispatcher is running.
+ */
+public class ParallelSubscriptionDispatcher implements AutoCloseable
+{
+    private final Subscription subscription;
+    private final AgentRunner[] runners;
+
+    /**
+     * Construct a dispatcher and start its worker threads.
+     *
+     * @param subscription          whose {@link Image}s are dispatched.
+     * @param workerCount           number of worker threads.
+     * @param fragmentLimit         for each poll of the {@link Image}s of a worker.
+     * @param handlerFactory        which supplies the {@link FragmentHandler} for each worker index.
+     * @param idleStrategySupplier  which supplies the {@link IdleStrategy} for each worker.
+     * @param errorHandler          for errors thrown by the workers.
+     * @param threadFactory         to construct the worker threads.
+     */
+    public ParallelSubscriptionDispatcher(
+        final Subscription subscription,
+        final int workerCount,
+        final int fragmentLimit,
+        final IntFunction<FragmentHandler> handlerFactory,
+        final Supplier<IdleStrategy> idleStrategySupplier,
+        final ErrorHandler errorHandler,
+        final ThreadFactory threadFactory)
+    {
+        if (workerCount < 1)
+        {
+            throw new IllegalArgumentException("workerCount must be positive: " + workerCount);
+        }
+
+        this.subscription = subscription;
+        this.runners = new AgentRunner[workerCount];
+
+        for (int i = 0; i < workerCount; i++)
+        {
+            final Worker worker = new Worker(i, workerCount, fragmentLimit, handlerFactory.apply(i));
+            runners[i] = new AgentRunner(idleStrategySupplier.get(), errorHandler, null, worker);
+        }
+
+        for (final AgentRunner runner : runners)
+        {
+            AgentRunner.startOnThread(runner, threadFactory);
+        }
+    }
+
+    /**
+     * The index of the worker to which the {@link Image} for a session is pinned.
+     *
+     * @param sessionId   of the {@link Image}.
+     * @param workerCount number of workers over which {@link Image}s are spread.
+     * @return the index of the worker in the range 0 to workerCount - 1.
+     */
+    public static int workerIndex(final int sessionId, final int workerCount)
+    {
+        int hash = sessionId * 0x9E3779B9;
+        hash ^= (hash >>> 16);
+
+        return (hash & Integer.MAX_VALUE) % workerCount;
+    }
+
+    /**
+     * The {@link Subscription} whose {@link Image}s are dispatched.
+     *
+     * @return the {@link Subscription} whose {@link Image}s are dispatched.
+     */
+    public Subscription subscription()
+    {
+        return subscription;
+    }
+
+    /**
+     * Number of worker threads.
+     *
+     * @return number of worker threads.
+     */
+    public int workerCount()
+    {
+        return runners.length;
+    }
+
+    /**
+     * Stop the worker threads, waiting for them to complete their current duty cycle. The {@link Subscription} is
+     * not closed.
+     */
+    public void close()
+    {
+        for (final AgentRunner runner : runners)
+        {
+            CloseHelper.close(runner);
+        }
+    }
+
+    final class Worker implements Agent
+    {
+        private final int workerIndex;
+        private final int workerCount;
+        private final int fragmentLimit;
+        private final FragmentHandler fragmentHandler;
+        private Image[] subscriptionImages = Subscription.EMPTY_ARRAY;
+        private Image[] images = Subscription.EMPTY_ARRAY;
+        private int roundRobinIndex = 0;
+
+        Worker(final int workerIndex, final int workerCount, final int fragmentLimit, final FragmentHandler handler)
+        {
+            this.workerIndex = workerIndex;
+            this.workerCount = workerCount;
+            this.fragmentLimit = fragmentLimit;
+            this.fragmentHandler = handler;
+        }
+
+        public int doWork()
+        {
+            final Image[] subscriptionImages = subscription.images;
+            if (subscriptionImages != this.subscriptionImages)
+            {
+                onImagesChanged(subscriptionImages);
+            }
+
+            final Image[] images = this.images;
+            final int length = images.length;
+            int fragmentsRead = 0;
+
+            int startingIndex = roundRobinIndex++;
+            if (startingIndex >= length)
+            {
+                roundRobinIndex = startingIndex = 0;
+            }
+
+            for (int i = startingIndex; i < length && fragmentsRead < fragmentLimit; i++)
+            {
+                fragmentsRead += images[i].poll(fragmentHandler, fragmentLimit - fragmentsRead);
+            }
+
+            for (int i = 0; i < startingIndex && fragmentsRead < fragmentLimit; i++)
+            {
+                fragmentsRead += images[i].poll(fragmentHandler, fragmentLimit - fragmentsRead);
+            }
+
+            return fragmentsRead;
+        }
+
+        public String roleName()
+        {
+            return "subscription-dispatcher-" + workerIndex + ": " + subscription.streamId();
+        }
+
+        private void onImagesChanged(final Image[] subscriptionImages)
+        {
+            Image[] images = Subscription.EMPTY_ARRAY;
+            for (final Image image : subscriptionImages)
+            {
+                if (workerIndex(image.sessionId(), workerCount) == workerIndex)
+                {
+                    images = ArrayUtil.add(images, image);
+                }
+            }
+
+            this.subscriptionImages = subscriptionImages;
+            this.images = images;
+        }
+    }
+}
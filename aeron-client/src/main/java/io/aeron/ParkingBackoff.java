@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parking backoff used by the blocking variants of offer and poll so that a thread waiting on a stream gives up its
+ * core rather than spinning. Each park period doubles from {@link #MIN_PARK_PERIOD_NS} up to
+ * {@link #MAX_PARK_PERIOD_NS} and is reset by the caller whenever the stream makes progress.
+ */
+final class ParkingBackoff
+{
+    /**
+     * Initial period for which a thread is parked after a stream fails to make progress.
+     */
+    static final long MIN_PARK_PERIOD_NS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    /**
+     * Upper bound on the period for which a thread is parked, and so the worst case added latency once the stream
+     * makes progress again.
+     */
+    static final long MAX_PARK_PERIOD_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private ParkingBackoff()
+    {
+    }
+
+    /**
+     * Park the current thread for the given period or until the deadline, whichever comes first.
+     *
+     * @param parkPeriodNs for which to park.
+     * @param deadlineNs   in {@link System#nanoTime()} after which no parking should take place.
+     * @return the period for the next park, or 0 if the deadline has been reached or the thread is interrupted.
+     */
+    static long park(final long parkPeriodNs, final long deadlineNs)
+    {
+        final long remainingNs = deadlineNs - System.nanoTime();
+        if (remainingNs <= 0 || Thread.currentThread().isInterrupted())
+        {
+            return 0;
+        }
+
+        LockSupport.parkNanos(Math.min(parkPeriodNs, remainingNs));
+
+        return Math.min(parkPeriodNs << 1, MAX_PARK_PERIOD_NS);
+    }
+}
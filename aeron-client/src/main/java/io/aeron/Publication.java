@@ -22,8 +22,10 @@ import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.ReadablePosition;
 
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.align;
 
 /**
  * Aeron publisher API for sending messages to subscribers of a given channel and streamId pair. {@link Publication}s
@@ -388,6 +390,55 @@ public abstract class Publication implements AutoCloseable
     public abstract long offer(
         DirectBuffer buffer, int offset, int length, ReservedValueSupplier reservedValueSupplier);
 
+    /**
+     * Blocking publish of a partial buffer containing a message which parks the calling thread, rather than spinning,
+     * while the publication is back pressured or not connected.
+     * <p>
+     * The publication limit is checked after each failed attempt so the offer is retried as soon as it is seen to
+     * advance, otherwise the thread is parked with a period which backs off up to 1ms. This makes it suitable for
+     * services which dedicate a thread to each of many low rate streams.
+     *
+     * @param buffer    containing message.
+     * @param offset    offset in the buffer at which the encoded message begins.
+     * @param length    in bytes of the encoded message.
+     * @param timeoutNs to wait for the message to be accepted before giving up.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED} as returned
+     * by the last attempt when the timeout expires or the thread is interrupted.
+     */
+    public final long offerBlocking(final DirectBuffer buffer, final int offset, final int length, final long timeoutNs)
+    {
+        final long deadlineNs = System.nanoTime() + timeoutNs;
+        long parkPeriodNs = ParkingBackoff.MIN_PARK_PERIOD_NS;
+        long lastPositionLimit = positionLimit.getVolatile();
+
+        while (true)
+        {
+            final long result = offer(buffer, offset, length, null);
+            if (result > 0 || CLOSED == result || MAX_POSITION_EXCEEDED == result)
+            {
+                return result;
+            }
+
+            final long positionLimit = this.positionLimit.getVolatile();
+            if (positionLimit != lastPositionLimit || ADMIN_ACTION == result)
+            {
+                lastPositionLimit = positionLimit;
+                parkPeriodNs = ParkingBackoff.MIN_PARK_PERIOD_NS;
+                if (System.nanoTime() - deadlineNs < 0)
+                {
+                    continue;
+                }
+            }
+
+            parkPeriodNs = ParkingBackoff.park(parkPeriodNs, deadlineNs);
+            if (0 == parkPeriodNs)
+            {
+                return result;
+            }
+        }
+    }
+
     /**
      * Non-blocking publish by gathering buffer vectors into a message.
      *
@@ -410,6 +461,40 @@ public abstract class Publication implements AutoCloseable
      */
     public abstract long offer(DirectBufferVector[] vectors, ReservedValueSupplier reservedValueSupplier);
 
+    /**
+     * Non-blocking publish of a batch of messages, one per vector, with the space for the whole batch reserved in a
+     * single operation so the cost of claiming the log is paid once rather than for each message.
+     * <p>
+     * Each message is written to its own frame so must not be longer than {@link #maxPayloadLength()}. The batch is
+     * appended as a whole or not at all and the aligned length of all its frames cannot exceed
+     * {@link #maxMessageLength()}.
+     *
+     * @param messages to be published in order, one per vector.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if the batch is empty or a message or the batch is too long.
+     */
+    public final long offerBatch(final DirectBufferVector[] messages)
+    {
+        return offerBatch(messages, null);
+    }
+
+    /**
+     * Non-blocking publish of a batch of messages, one per vector, with the space for the whole batch reserved in a
+     * single operation so the cost of claiming the log is paid once rather than for each message.
+     * <p>
+     * Each message is written to its own frame so must not be longer than {@link #maxPayloadLength()}. The batch is
+     * appended as a whole or not at all and the aligned length of all its frames cannot exceed
+     * {@link #maxMessageLength()}.
+     *
+     * @param messages              to be published in order, one per vector.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} called for each frame.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if the batch is empty or a message or the batch is too long.
+     */
+    public abstract long offerBatch(DirectBufferVector[] messages, ReservedValueSupplier reservedValueSupplier);
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
@@ -519,4 +604,33 @@ public abstract class Publication implements AutoCloseable
                 "Message exceeds maxMessageLength of " + maxMessageLength + ", length=" + length);
         }
     }
+
+    final int validateAndComputeBatchLength(final DirectBufferVector[] messages)
+    {
+        if (0 == messages.length)
+        {
+            throw new IllegalArgumentException("batch must contain at least one message");
+        }
+
+        long batchLength = 0;
+        for (final DirectBufferVector message : messages)
+        {
+            message.validate();
+            if (message.length > maxPayloadLength)
+            {
+                throw new IllegalArgumentException(
+                    "Batched message exceeds maxPayloadLength of " + maxPayloadLength + ", length=" + message.length);
+            }
+
+            batchLength += align(message.length + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        if (batchLength > maxMessageLength)
+        {
+            throw new IllegalArgumentException(
+                "Batch exceeds maxMessageLength of " + maxMessageLength + ", length=" + batchLength);
+        }
+
+        return (int)batchLength;
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+import java.util.function.LongConsumer;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+/**
+ * Adapter which presents a {@link Publication} as a demand driven subscriber in the style of reactive streams so
+ * an upstream producer is only asked for as many messages as the publication is currently able to accept.
+ * <p>
+ * Demand is requested from upstream in a window which grows by one message for each message offered without
+ * back pressure, up to a maximum, and halves each time the publication is back pressured. Messages which arrive
+ * while the publication is back pressured, because they were requested before the back pressure was seen, are
+ * copied to a retained buffer and offered in order by {@link #doWork()} before any more demand is requested. The
+ * buffer only grows while it is filling up, so the adapter does not allocate once it has warmed up.
+ * <p>
+ * To bridge to {@code java.util.concurrent.Flow} the {@code Flow.Subscriber} should pass
+ * {@code subscription::request} to {@link #onSubscribe(LongConsumer)} and forward each item to
+ * {@link #onNext(DirectBuffer, int, int)}.
+ */
+public class PublicationDemandSubscriber
+{
+    private final int maxDemand;
+    private int demandWindow;
+    private long outstandingDemand;
+    private int pendingHead;
+    private int pendingTail;
+    private LongConsumer requester;
+    private final Publication publication;
+    private final ExpandableArrayBuffer pendingBuffer = new ExpandableArrayBuffer();
+
+    /**
+     * Construct an adapter to offer messages to a publication on demand.
+     *
+     * @param publication   to which messages are offered.
+     * @param initialDemand for the window of messages requested from upstream.
+     * @param maxDemand     to which the window of messages requested from upstream can grow.
+     */
+    public PublicationDemandSubscriber(final Publication publication, final int initialDemand, final int maxDemand)
+    {
+        if (initialDemand < 1 || maxDemand < initialDemand)
+        {
+            throw new IllegalArgumentException(
+                "invalid demand: initialDemand=" + initialDemand + " maxDemand=" + maxDemand);
+        }
+
+        this.publication = publication;
+        this.demandWindow = initialDemand;
+        this.maxDemand = maxDemand;
+    }
+
+    /**
+     * Begin requesting messages from upstream.
+     *
+     * @param requester to which requests for more messages are made.
+     */
+    public void onSubscribe(final LongConsumer requester)
+    {
+        this.requester = requester;
+        requestMore();
+    }
+
+    /**
+     * Offer a message delivered from upstream to the publication, or retain it for {@link #doWork()} if the
+     * publication is back pressured.
+     *
+     * @param buffer containing message.
+     * @param offset offset in the buffer at which the encoded message begins.
+     * @param length in bytes of the encoded message.
+     * @return the new stream position, 0 if the message has been retained, or {@link Publication#CLOSED} or
+     * {@link Publication#MAX_POSITION_EXCEEDED} if the message cannot be published.
+     */
+    public long onNext(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (outstandingDemand > 0)
+        {
+            outstandingDemand--;
+        }
+
+        if (pendingHead == pendingTail)
+        {
+            final long result = publication.offer(buffer, offset, length);
+            if (result > 0)
+            {
+                onOfferSuccess();
+                requestMore();
+
+                return result;
+            }
+
+            if (Publication.CLOSED == result || Publication.MAX_POSITION_EXCEEDED == result)
+            {
+                return result;
+            }
+
+            onBackPressure();
+        }
+
+        pendingBuffer.putInt(pendingTail, length);
+        pendingBuffer.putBytes(pendingTail + SIZE_OF_INT, buffer, offset, length);
+        pendingTail += SIZE_OF_INT + length;
+
+        return 0;
+    }
+
+    /**
+     * Offer retained messages in order and request more from upstream once they have all been published. Retained
+     * messages which can no longer be published, because the publication is closed, are discarded.
+     *
+     * @return the number of retained messages published or discarded.
+     */
+    public int doWork()
+    {
+        int workCount = 0;
+
+        while (pendingHead < pendingTail)
+        {
+            final int length = pendingBuffer.getInt(pendingHead);
+            final long result = publication.offer(pendingBuffer, pendingHead + SIZE_OF_INT, length);
+            if (result < 0)
+            {
+                if (Publication.CLOSED != result && Publication.MAX_POSITION_EXCEEDED != result)
+                {
+                    onBackPressure();
+                    return workCount;
+                }
+            }
+            else
+            {
+                onOfferSuccess();
+            }
+
+            pendingHead += SIZE_OF_INT + length;
+            workCount++;
+        }
+
+        pendingHead = 0;
+        pendingTail = 0;
+        requestMore();
+
+        return workCount;
+    }
+
+    /**
+     * The current window of messages requested from upstream.
+     *
+     * @return the current window of messages requested from upstream.
+     */
+    public int demandWindow()
+    {
+        return demandWindow;
+    }
+
+    /**
+     * Are there messages retained while the publication is back pressured which are yet to be published?
+     *
+     * @return true if there are messages retained while the publication is back pressured.
+     */
+    public boolean hasPendingMessages()
+    {
+        return pendingHead < pendingTail;
+    }
+
+    private void onOfferSuccess()
+    {
+        if (demandWindow < maxDemand)
+        {
+            demandWindow++;
+        }
+    }
+
+    private void onBackPressure()
+    {
+        demandWindow = Math.max(1, demandWindow >> 1);
+    }
+
+    private void requestMore()
+    {
+        if (null != requester && pendingHead == pendingTail && outstandingDemand <= (demandWindow >> 1))
+        {
+            final long n = demandWindow - outstandingDemand;
+            if (n > 0)
+            {
+                outstandingDemand += n;
+                requester.accept(n);
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.ScatteredMessage;
+import io.aeron.logbuffer.ScatteredMessageHandler;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.align;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that reassembles fragmented messages
+ * so that the next handler in the chain only sees whole messages, without copying them when possible.
+ * <p>
+ * Unfragmented messages are delegated without copy. When the first fragment of a fragmented message is seen and
+ * all the remaining fragments have already been appended after it in the term then the message is delegated as a
+ * {@link ScatteredMessage} view over the fragments in place, and the remaining fragments are skipped as they are
+ * polled. This is safe as the fragments cannot be reclaimed until the subscriber position moves past them. Otherwise
+ * the fragments are copied to a session based buffer for reassembly as done by {@link FragmentAssembler}.
+ * <p>
+ * The {@link Header} passed to the delegate on assembling a message will be that of the last fragment.
+ * <p>
+ * When sessions go inactive see {@link UnavailableImageHandler}, it is possible to free the state held by calling
+ * {@link #freeSessionBuffer(int)}.
+ *
+ * @see Subscription#poll(FragmentHandler, int)
+ * @see Image#poll(FragmentHandler, int)
+ */
+public class ScatteredFragmentAssembler implements FragmentHandler
+{
+    private final int initialBufferLength;
+    private final ScatteredMessageHandler delegate;
+    private final ScatteredMessage message = new ScatteredMessage();
+    private final Int2ObjectHashMap<BufferBuilder> builderBySessionIdMap = new Int2ObjectHashMap<>();
+    private final Long2LongHashMap skipPositionBySessionIdMap = new Long2LongHashMap(Aeron.NULL_VALUE);
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public ScatteredFragmentAssembler(final ScatteredMessageHandler delegate)
+    {
+        this(delegate, 0);
+    }
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate            onto which whole messages are forwarded.
+     * @param initialBufferLength to be used for each session when messages need to be copied.
+     */
+    public ScatteredFragmentAssembler(final ScatteredMessageHandler delegate, final int initialBufferLength)
+    {
+        this.initialBufferLength = initialBufferLength;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Get the delegate unto which assembled messages are delegated.
+     *
+     * @return the delegate unto which assembled messages are delegated.
+     */
+    public ScatteredMessageHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            delegate.onMessage(message.wrap(buffer, offset, length), header);
+        }
+        else
+        {
+            handleFragment(buffer, offset, length, header, flags);
+        }
+    }
+
+    /**
+     * Free an existing session buffer to reduce memory pressure when an image goes inactive or no more
+     * large messages are expected.
+     *
+     * @param sessionId to have its buffer freed
+     * @return true if a buffer has been freed otherwise false.
+     */
+    public boolean freeSessionBuffer(final int sessionId)
+    {
+        skipPositionBySessionIdMap.remove(sessionId);
+
+        return null != builderBySessionIdMap.remove(sessionId);
+    }
+
+    /**
+     * Clear down the cache of buffers by session for reassembling messages.
+     */
+    public void clear()
+    {
+        builderBySessionIdMap.clear();
+        skipPositionBySessionIdMap.clear();
+    }
+
+    private void handleFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header, final byte flags)
+    {
+        final int sessionId = header.sessionId();
+
+        if ((flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+        {
+            if (delegateInPlace(buffer, offset, length, header))
+            {
+                final BufferBuilder builder = builderBySessionIdMap.get(sessionId);
+                if (null != builder)
+                {
+                    builder.reset();
+                }
+            }
+            else
+            {
+                getBufferBuilder(sessionId).reset().append(buffer, offset, length);
+            }
+        }
+        else if (header.position() > skipPositionBySessionIdMap.get(sessionId))
+        {
+            final BufferBuilder builder = builderBySessionIdMap.get(sessionId);
+            if (null != builder && builder.limit() != 0)
+            {
+                builder.append(buffer, offset, length);
+
+                if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+                {
+                    final int msgLength = builder.limit();
+                    delegate.onMessage(message.wrap(builder.buffer(), 0, msgLength), header);
+                    builder.reset();
+                }
+            }
+        }
+    }
+
+    private boolean delegateInPlace(
+        final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final int frameOffset = header.offset();
+        final int fragmentStride = length + HEADER_LENGTH;
+        if (!(buffer instanceof UnsafeBuffer) || buffer != header.buffer() ||
+            (fragmentStride & (FRAME_ALIGNMENT - 1)) != 0)
+        {
+            return false;
+        }
+
+        final UnsafeBuffer termBuffer = (UnsafeBuffer)buffer;
+        final int capacity = termBuffer.capacity();
+        int fragmentCount = 1;
+        int msgLength = length;
+
+        for (int nextOffset = frameOffset + fragmentStride; nextOffset < capacity; nextOffset += fragmentStride)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, nextOffset);
+            if (frameLength < HEADER_LENGTH || isPaddingFrame(termBuffer, nextOffset))
+            {
+                break;
+            }
+
+            final byte flags = frameFlags(termBuffer, nextOffset);
+            fragmentCount++;
+            msgLength += frameLength - HEADER_LENGTH;
+
+            if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+            {
+                final long skipPosition = header.position() + (nextOffset - frameOffset) +
+                    align(frameLength, FRAME_ALIGNMENT) - fragmentStride;
+                skipPositionBySessionIdMap.put(header.sessionId(), skipPosition);
+
+                message.wrap(buffer, offset, msgLength, length, fragmentStride, fragmentCount);
+                header.offset(nextOffset);
+                try
+                {
+                    delegate.onMessage(message, header);
+                }
+                finally
+                {
+                    header.offset(frameOffset);
+                }
+
+                return true;
+            }
+
+            if (frameLength != fragmentStride || (flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+            {
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    private BufferBuilder getBufferBuilder(final int sessionId)
+    {
+        BufferBuilder bufferBuilder = builderBySessionIdMap.get(sessionId);
+
+        if (null == bufferBuilder)
+        {
+            bufferBuilder = new BufferBuilder(initialBufferLength, false);
+            builderBySessionIdMap.put(sessionId, bufferBuilder);
+        }
+
+        return bufferBuilder;
+    }
+}
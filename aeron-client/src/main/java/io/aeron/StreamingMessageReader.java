@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+import static io.aeron.StreamingMessageWriter.CHUNK_HEADER_LENGTH;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.*;
+import static io.aeron.logbuffer.FrameDescriptor.BEGIN_FRAG_FLAG;
+import static io.aeron.logbuffer.FrameDescriptor.END_FRAG_FLAG;
+
+/**
+ * Reads the messages written by a {@link StreamingMessageWriter} from an {@link Image} incrementally as a
+ * non-blocking {@link ReadableByteChannel} so a message of any length can be consumed without being reassembled in
+ * memory.
+ * <p>
+ * Bytes are copied from the log buffer straight into the destination of each {@link #read(ByteBuffer)}. A chunk
+ * which does not fit in the destination is only partially consumed and the {@link Image} position does not move past
+ * it until the rest has been read. A read returns 0 when no more of the message is available yet and -1 once the
+ * whole message has been read, after which {@link #nextMessage()} moves on to the following message. Chunks which
+ * precede the beginning of the first message, such as when joining a stream part way through a message, are skipped.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe and must be used from the thread which polls the {@link Image}.
+ *
+ * @see StreamingMessageWriter
+ */
+public class StreamingMessageReader implements ReadableByteChannel
+{
+    private boolean isOpen = true;
+    private boolean isInMessage;
+    private boolean isEndOfMessage;
+    private int chunkPayloadOffset;
+    private long messageBytesRead;
+    private ByteBuffer dst;
+    private final Image image;
+    private final ControlledFragmentHandler chunkHandler = this::onChunk;
+
+    /**
+     * Construct a reader of streamed messages from an {@link Image}.
+     *
+     * @param image from which the chunks of messages are polled.
+     */
+    public StreamingMessageReader(final Image image)
+    {
+        this.image = image;
+    }
+
+    /**
+     * The {@link Image} from which the chunks of messages are polled.
+     *
+     * @return the {@link Image} from which the chunks of messages are polled.
+     */
+    public Image image()
+    {
+        return image;
+    }
+
+    /**
+     * Has the whole of the current message been read?
+     *
+     * @return true if the whole of the current message has been read.
+     */
+    public boolean isEndOfMessage()
+    {
+        return isEndOfMessage;
+    }
+
+    /**
+     * Number of bytes of the current message which have been read.
+     *
+     * @return number of bytes of the current message which have been read.
+     */
+    public long messageBytesRead()
+    {
+        return messageBytesRead;
+    }
+
+    /**
+     * Move on to reading the next message once the whole of the current message has been read.
+     *
+     * @throws IllegalStateException if the current message has not been fully read.
+     */
+    public void nextMessage()
+    {
+        if (isInMessage && !isEndOfMessage)
+        {
+            throw new IllegalStateException("current message has not been fully read");
+        }
+
+        isInMessage = false;
+        isEndOfMessage = false;
+        messageBytesRead = 0;
+    }
+
+    /**
+     * Read available bytes of the current message into the destination without blocking.
+     *
+     * @param dst into which bytes are read.
+     * @return the number of bytes read, possibly 0, or -1 if the whole of the current message has been read.
+     * @throws ClosedChannelException if the reader has been closed.
+     */
+    public int read(final ByteBuffer dst) throws ClosedChannelException
+    {
+        if (!isOpen)
+        {
+            throw new ClosedChannelException();
+        }
+
+        if (isEndOfMessage)
+        {
+            return -1;
+        }
+
+        final int initialPosition = dst.position();
+        this.dst = dst;
+        try
+        {
+            image.controlledPoll(chunkHandler, Integer.MAX_VALUE);
+        }
+        finally
+        {
+            this.dst = null;
+        }
+
+        final int bytesRead = dst.position() - initialPosition;
+        messageBytesRead += bytesRead;
+
+        return 0 == bytesRead && isEndOfMessage ? -1 : bytesRead;
+    }
+
+    public boolean isOpen()
+    {
+        return isOpen;
+    }
+
+    /**
+     * Close the reader. The {@link Image} is not affected.
+     */
+    public void close()
+    {
+        isOpen = false;
+    }
+
+    private ControlledFragmentHandler.Action onChunk(
+        final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = buffer.getByte(offset);
+        if (!isInMessage)
+        {
+            if ((flags & BEGIN_FRAG_FLAG) != BEGIN_FRAG_FLAG)
+            {
+                return CONTINUE;
+            }
+
+            isInMessage = true;
+        }
+
+        if (isEndOfMessage || !dst.hasRemaining() && length > CHUNK_HEADER_LENGTH)
+        {
+            return ABORT;
+        }
+
+        final int payloadLength = length - CHUNK_HEADER_LENGTH;
+        final int bytesToCopy = Math.min(payloadLength - chunkPayloadOffset, dst.remaining());
+        final int srcOffset = offset + CHUNK_HEADER_LENGTH + chunkPayloadOffset;
+
+        buffer.getBytes(srcOffset, dst, dst.position(), bytesToCopy);
+        dst.position(dst.position() + bytesToCopy);
+        chunkPayloadOffset += bytesToCopy;
+
+        if (chunkPayloadOffset < payloadLength)
+        {
+            return ABORT;
+        }
+
+        chunkPayloadOffset = 0;
+        if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+        {
+            isEndOfMessage = true;
+            return BREAK;
+        }
+
+        return CONTINUE;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.BEGIN_FRAG_FLAG;
+import static io.aeron.logbuffer.FrameDescriptor.END_FRAG_FLAG;
+
+/**
+ * Writes a message of any length to an {@link ExclusivePublication} as a stream of chunks so it is not limited by
+ * {@link Publication#maxMessageLength()} and does not need to be held in memory in full. The message is read
+ * incrementally by a {@link StreamingMessageReader}.
+ * <p>
+ * A message is written with {@link #begin()}, any number of calls to {@link #write(DirectBuffer, int, int)}, and
+ * {@link #end()}. Each chunk is published as an unfragmented message of up to {@link Publication#maxPayloadLength()}
+ * made up of a one byte header, which flags the chunks that begin and end the message, followed by the payload
+ * gathered directly from the source buffer into the log. As each chunk is a message of its own a streamed message
+ * can span many terms.
+ * <p>
+ * <b>Note:</b> Instances are NOT threadsafe.
+ *
+ * @see StreamingMessageReader
+ */
+public class StreamingMessageWriter
+{
+    /**
+     * Length of the header which precedes the payload of each chunk.
+     */
+    public static final int CHUNK_HEADER_LENGTH = 1;
+
+    private boolean isInMessage;
+    private byte nextChunkFlags;
+    private final int maxChunkPayloadLength;
+    private final ExclusivePublication publication;
+    private final UnsafeBuffer chunkHeaderBuffer = new UnsafeBuffer(new byte[CHUNK_HEADER_LENGTH]);
+    private final DirectBufferVector[] headerOnlyVectors;
+    private final DirectBufferVector[] headerAndPayloadVectors;
+
+    /**
+     * Construct a writer of streamed messages to a publication.
+     *
+     * @param publication to which the chunks of messages are offered.
+     */
+    public StreamingMessageWriter(final ExclusivePublication publication)
+    {
+        this.publication = publication;
+        this.maxChunkPayloadLength = publication.maxPayloadLength() - CHUNK_HEADER_LENGTH;
+
+        final DirectBufferVector headerVector = new DirectBufferVector(chunkHeaderBuffer, 0, CHUNK_HEADER_LENGTH);
+        headerOnlyVectors = new DirectBufferVector[]{ headerVector };
+        headerAndPayloadVectors = new DirectBufferVector[]{ headerVector, new DirectBufferVector() };
+    }
+
+    /**
+     * The {@link ExclusivePublication} to which the chunks of messages are offered.
+     *
+     * @return the {@link ExclusivePublication} to which the chunks of messages are offered.
+     */
+    public ExclusivePublication publication()
+    {
+        return publication;
+    }
+
+    /**
+     * Is a message in the process of being written.
+     *
+     * @return true if {@link #begin()} has been called without a successful {@link #end()}.
+     */
+    public boolean isInMessage()
+    {
+        return isInMessage;
+    }
+
+    /**
+     * Begin a new message so the next chunk written is flagged as its first.
+     *
+     * @throws IllegalStateException if the previous message has not been ended.
+     */
+    public void begin()
+    {
+        if (isInMessage)
+        {
+            throw new IllegalStateException("previous message has not been ended");
+        }
+
+        isInMessage = true;
+        nextChunkFlags = BEGIN_FRAG_FLAG;
+    }
+
+    /**
+     * Write part of the message as one or more chunks without blocking. If the publication is back pressured the
+     * remainder should be written with a subsequent call.
+     *
+     * @param buffer containing the part of the message.
+     * @param offset in the buffer at which the part begins.
+     * @param length of the part in bytes.
+     * @return the number of bytes written, which may be less than length, otherwise a negative error value from
+     * {@link Publication#offer(DirectBufferVector[])} if none could be written.
+     * @throws IllegalStateException if a message has not been begun.
+     */
+    public long write(final DirectBuffer buffer, final int offset, final int length)
+    {
+        validateInMessage();
+
+        int bytesWritten = 0;
+        while (bytesWritten < length)
+        {
+            final int chunkLength = Math.min(length - bytesWritten, maxChunkPayloadLength);
+            chunkHeaderBuffer.putByte(0, nextChunkFlags);
+            headerAndPayloadVectors[1].reset(buffer, offset + bytesWritten, chunkLength);
+
+            final long result = publication.offer(headerAndPayloadVectors);
+            if (result < 0)
+            {
+                return 0 == bytesWritten ? result : bytesWritten;
+            }
+
+            nextChunkFlags = 0;
+            bytesWritten += chunkLength;
+        }
+
+        return bytesWritten;
+    }
+
+    /**
+     * End the message by writing an empty chunk flagged as its last.
+     *
+     * @return the new stream position, otherwise a negative error value from
+     * {@link Publication#offer(DirectBufferVector[])} in which case the end should be retried.
+     * @throws IllegalStateException if a message has not been begun.
+     */
+    public long end()
+    {
+        validateInMessage();
+
+        chunkHeaderBuffer.putByte(0, (byte)(nextChunkFlags | END_FRAG_FLAG));
+
+        final long result = publication.offer(headerOnlyVectors);
+        if (result > 0)
+        {
+            isInMessage = false;
+        }
+
+        return result;
+    }
+
+    private void validateInMessage()
+    {
+        if (!isInMessage)
+        {
+            throw new IllegalStateException("message has not been begun");
+        }
+    }
+}
@@ -215,6 +215,42 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
         return fragmentsRead;
     }
 
+    /**
+     * Poll the {@link Image}s under the subscription for available message fragments, parking the calling thread
+     * rather than spinning until at least one fragment is read or the timeout expires.
+     * <p>
+     * The images are polled again after each park, the period of which backs off up to 1ms while no fragments
+     * arrive. This makes it suitable for services which dedicate a thread to each of many low rate streams.
+     *
+     * @param fragmentHandler callback for handling each message fragment as it is read.
+     * @param fragmentLimit   number of message fragments to limit for the poll operation across multiple {@link Image}s.
+     * @param timeoutNs       to wait for fragments to arrive before giving up.
+     * @return the number of fragments received, which is 0 if the timeout expired, the subscription is closed, or the
+     * thread is interrupted.
+     */
+    public int pollBlocking(final FragmentHandler fragmentHandler, final int fragmentLimit, final long timeoutNs)
+    {
+        final long deadlineNs = System.nanoTime() + timeoutNs;
+        long parkPeriodNs = ParkingBackoff.MIN_PARK_PERIOD_NS;
+
+        while (!isClosed)
+        {
+            final int fragmentsRead = poll(fragmentHandler, fragmentLimit);
+            if (fragmentsRead > 0)
+            {
+                return fragmentsRead;
+            }
+
+            parkPeriodNs = ParkingBackoff.park(parkPeriodNs, deadlineNs);
+            if (0 == parkPeriodNs)
+            {
+                break;
+            }
+        }
+
+        return 0;
+    }
+
     /**
      * Poll in a controlled manner the {@link Image}s under the subscription for available message fragments.
      * Control is applied to fragments in the stream. If more fragments can be read on another stream
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+
+/**
+ * {@link ReservedValueSupplier} which stamps each frame with the time in nanoseconds at which it is published so the
+ * latency from publication to poll can be traced with a {@link LatencyTracingFragmentHandler}.
+ * <p>
+ * The default {@link SystemNanoClock} is only comparable between processes on the same host. To trace between hosts
+ * supply a {@link NanoClock} which is synchronised between them.
+ *
+ * @see LatencyTracingFragmentHandler
+ */
+public class TimestampReservedValueSupplier implements ReservedValueSupplier
+{
+    private final NanoClock nanoClock;
+
+    /**
+     * Construct a supplier which stamps frames with {@link System#nanoTime()}.
+     */
+    public TimestampReservedValueSupplier()
+    {
+        this(new SystemNanoClock());
+    }
+
+    /**
+     * Construct a supplier which stamps frames with the time from a given clock.
+     *
+     * @param nanoClock from which the time is read.
+     */
+    public TimestampReservedValueSupplier(final NanoClock nanoClock)
+    {
+        this.nanoClock = nanoClock;
+    }
+
+    public long get(final DirectBuffer termBuffer, final int termOffset, final int frameLength)
+    {
+        return nanoClock.nanoTime();
+    }
+}
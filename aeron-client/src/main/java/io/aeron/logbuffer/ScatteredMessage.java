@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Read only view over the payload of a message which may be scattered across fragments in a buffer with the frame
+ * headers in between. All but the last fragment are of equal length and at a fixed stride apart as they are laid
+ * out by a publication in a term.
+ * <p>
+ * Indexes are relative to the start of the message payload with the fragment headers skipped.
+ * <p>
+ * <b>Note:</b> The view is reused and only valid for the duration of the callback to which it is passed.
+ */
+public class ScatteredMessage
+{
+    private DirectBuffer buffer;
+    private int offset;
+    private int length;
+    private int fragmentLength;
+    private int fragmentStride;
+    private int fragmentCount;
+
+    /**
+     * Wrap a message which is contiguous in a buffer.
+     *
+     * @param buffer containing the message.
+     * @param offset at which the message begins.
+     * @param length of the message in bytes.
+     * @return this for a fluent API.
+     */
+    public ScatteredMessage wrap(final DirectBuffer buffer, final int offset, final int length)
+    {
+        return wrap(buffer, offset, length, Integer.MAX_VALUE, 0, 1);
+    }
+
+    /**
+     * Wrap a message which is scattered across fragments in a buffer.
+     *
+     * @param buffer         containing the fragments.
+     * @param offset         at which the payload of the first fragment begins.
+     * @param length         of the message payload in bytes across all fragments.
+     * @param fragmentLength of the payload in each fragment other than the last.
+     * @param fragmentStride between the payloads of consecutive fragments.
+     * @param fragmentCount  making up the message.
+     * @return this for a fluent API.
+     */
+    public ScatteredMessage wrap(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final int fragmentLength,
+        final int fragmentStride,
+        final int fragmentCount)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.fragmentLength = fragmentLength;
+        this.fragmentStride = fragmentStride;
+        this.fragmentCount = fragmentCount;
+
+        return this;
+    }
+
+    /**
+     * The buffer in which the fragments of the message are stored.
+     *
+     * @return the buffer in which the fragments of the message are stored.
+     */
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Length of the message payload in bytes across all fragments.
+     *
+     * @return length of the message payload in bytes across all fragments.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Number of fragments the message is scattered across.
+     *
+     * @return number of fragments the message is scattered across.
+     */
+    public int fragmentCount()
+    {
+        return fragmentCount;
+    }
+
+    /**
+     * Offset in {@link #buffer()} at which the payload of a fragment begins.
+     *
+     * @param fragmentIndex of the fragment in the message.
+     * @return offset in {@link #buffer()} at which the payload of a fragment begins.
+     */
+    public int fragmentOffset(final int fragmentIndex)
+    {
+        return offset + (fragmentIndex * fragmentStride);
+    }
+
+    /**
+     * Length of the payload in a fragment.
+     *
+     * @param fragmentIndex of the fragment in the message.
+     * @return length of the payload in a fragment.
+     */
+    public int fragmentLength(final int fragmentIndex)
+    {
+        return fragmentIndex < (fragmentCount - 1) ? fragmentLength : length - (fragmentIndex * fragmentLength);
+    }
+
+    /**
+     * Get a byte of the message payload.
+     *
+     * @param index in the message payload.
+     * @return the byte at the index.
+     */
+    public byte getByte(final int index)
+    {
+        return buffer.getByte(offset + ((index / fragmentLength) * fragmentStride) + (index % fragmentLength));
+    }
+
+    /**
+     * Copy a range of the message payload to a destination buffer.
+     *
+     * @param index     in the message payload at which the range begins.
+     * @param dstBuffer to which the bytes are copied.
+     * @param dstIndex  in the destination buffer at which the copy begins.
+     * @param length    of the range in bytes.
+     */
+    public void getBytes(final int index, final MutableDirectBuffer dstBuffer, final int dstIndex, final int length)
+    {
+        int fragmentIndex = index / fragmentLength;
+        int fragmentPosition = index % fragmentLength;
+        int dstPosition = dstIndex;
+        int remaining = length;
+
+        while (remaining > 0)
+        {
+            final int bytesToCopy = Math.min(remaining, fragmentLength - fragmentPosition);
+            dstBuffer.putBytes(
+                dstPosition, buffer, offset + (fragmentIndex * fragmentStride) + fragmentPosition, bytesToCopy);
+
+            dstPosition += bytesToCopy;
+            remaining -= bytesToCopy;
+            fragmentIndex++;
+            fragmentPosition = 0;
+        }
+    }
+}
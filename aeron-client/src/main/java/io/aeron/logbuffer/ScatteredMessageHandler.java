@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+/**
+ * Handler for whole messages which are presented as a {@link ScatteredMessage} view over the fragments in which they
+ * are stored so they can be read without first being copied into a contiguous buffer.
+ *
+ * @see io.aeron.ScatteredFragmentAssembler
+ */
+@FunctionalInterface
+public interface ScatteredMessageHandler
+{
+    /**
+     * Callback for handling a whole message. The view is only valid for the duration of the callback.
+     *
+     * @param message view over the payload of the message across its fragments.
+     * @param header  representing the meta data for the last fragment of the message.
+     */
+    void onMessage(ScatteredMessage message, Header header);
+}
@@ -235,6 +235,60 @@ public class TermAppender
         return (int)resultingOffset;
     }
 
+    /**
+     * Append a batch of unfragmented messages, one per vector, to the term buffer with a single claim of the tail
+     * for the whole batch. If the batch does not fit in the remainder of the term then none of it is appended.
+     *
+     * @param header                for writing the default header.
+     * @param messages              to be appended in order, one per vector.
+     * @param batchLength           of the frames for the messages including headers and alignment.
+     * @param reservedValueSupplier {@link ReservedValueSupplier} for each frame.
+     * @param activeTermId          used for flow control.
+     * @return the resulting offset of the term after the append on success otherwise {@link #FAILED}.
+     */
+    public int appendUnfragmentedBatch(
+        final HeaderWriter header,
+        final DirectBufferVector[] messages,
+        final int batchLength,
+        final ReservedValueSupplier reservedValueSupplier,
+        final int activeTermId)
+    {
+        final long rawTail = getAndAddRawTail(batchLength);
+        final int termId = termId(rawTail);
+        final long termOffset = rawTail & 0xFFFF_FFFFL;
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        checkTerm(activeTermId, termId);
+
+        long resultingOffset = termOffset + batchLength;
+        if (resultingOffset > termLength)
+        {
+            resultingOffset = handleEndOfLogCondition(termBuffer, termOffset, header, termLength, termId);
+        }
+        else
+        {
+            int frameOffset = (int)termOffset;
+            for (final DirectBufferVector message : messages)
+            {
+                final int frameLength = message.length + HEADER_LENGTH;
+                header.write(termBuffer, frameOffset, frameLength, termId);
+                termBuffer.putBytes(frameOffset + HEADER_LENGTH, message.buffer, message.offset, message.length);
+
+                if (null != reservedValueSupplier)
+                {
+                    final long reservedValue = reservedValueSupplier.get(termBuffer, frameOffset, frameLength);
+                    termBuffer.putLong(frameOffset + RESERVED_VALUE_OFFSET, reservedValue, LITTLE_ENDIAN);
+                }
+
+                frameLengthOrdered(termBuffer, frameOffset, frameLength);
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+        }
+
+        return (int)resultingOffset;
+    }
+
     /**
      * Append a fragmented message to the the term buffer.
      * The message will be split up into fragments of MTU length minus header.
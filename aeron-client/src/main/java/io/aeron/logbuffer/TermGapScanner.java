@@ -82,22 +82,86 @@ public class TermGapScanner
         final int gapBeginOffset = offset;
         if (offset < limitOffset)
         {
-            final int limit = limitOffset - ALIGNED_HEADER_LENGTH;
-            while (offset < limit)
+            handler.onGap(termId, gapBeginOffset, gapLength(termBuffer, gapBeginOffset, limitOffset));
+        }
+
+        return gapBeginOffset;
+    }
+
+    /**
+     * Scan for up to a maximum number of gaps from the scanOffset up to a limit offset. Each gap will be reported to
+     * the {@link GapHandler} in order so that loss in a burst can be reported in a single pass rather than the first
+     * gap only.
+     *
+     * @param termBuffer  to be scanned for gaps.
+     * @param termId      of the current term buffer.
+     * @param termOffset  at which to start scanning.
+     * @param limitOffset at which to stop scanning.
+     * @param maxGaps     to be reported to the handler.
+     * @param handler     to call for each gap found.
+     * @return offset of last contiguous frame
+     */
+    public static int scanForGaps(
+        final UnsafeBuffer termBuffer,
+        final int termId,
+        final int termOffset,
+        final int limitOffset,
+        final int maxGaps,
+        final GapHandler handler)
+    {
+        final int gapBeginOffset = scanForGap(termBuffer, termId, termOffset, limitOffset, handler);
+
+        int offset = gapBeginOffset;
+        int gapCount = offset < limitOffset ? 1 : 0;
+        while (gapCount > 0 && gapCount < maxGaps)
+        {
+            offset += gapLength(termBuffer, offset, limitOffset);
+            if (offset >= limitOffset)
             {
-                offset += FRAME_ALIGNMENT;
+                break;
+            }
 
-                if (0 != termBuffer.getIntVolatile(offset))
+            do
+            {
+                final int frameLength = frameLengthVolatile(termBuffer, offset);
+                if (frameLength <= 0)
                 {
-                    offset -= ALIGNED_HEADER_LENGTH;
                     break;
                 }
+
+                offset += align(frameLength, FRAME_ALIGNMENT);
             }
+            while (offset < limitOffset);
 
-            final int gapLength = (offset - gapBeginOffset) + ALIGNED_HEADER_LENGTH;
-            handler.onGap(termId, gapBeginOffset, gapLength);
+            if (offset < limitOffset)
+            {
+                handler.onGap(termId, offset, gapLength(termBuffer, offset, limitOffset));
+                gapCount++;
+            }
+            else
+            {
+                break;
+            }
         }
 
         return gapBeginOffset;
     }
+
+    private static int gapLength(final UnsafeBuffer termBuffer, final int gapBeginOffset, final int limitOffset)
+    {
+        int offset = gapBeginOffset;
+        final int limit = limitOffset - ALIGNED_HEADER_LENGTH;
+        while (offset < limit)
+        {
+            offset += FRAME_ALIGNMENT;
+
+            if (0 != termBuffer.getIntVolatile(offset))
+            {
+                offset -= ALIGNED_HEADER_LENGTH;
+                break;
+            }
+        }
+
+        return (offset - gapBeginOffset) + ALIGNED_HEADER_LENGTH;
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.protocol;
+
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Flyweight for a Forward Error Correction Frame which carries the XOR parity of a group of data sent in a term.
+ * <p>
+ * The group is split into stripes of stripe length and the parity is the XOR of the stripes so any single contiguous
+ * loss within the group of no more than stripe length can be reconstructed by a receiver without a NAK.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                          Frame Length                         |
+ *  +---------------+---------------+-------------------------------+
+ *  |    Version    |     Flags     |               Type            |
+ *  +---------------+---------------+-------------------------------+
+ *  |                          Session ID                           |
+ *  +---------------------------------------------------------------+
+ *  |                           Stream ID                           |
+ *  +---------------------------------------------------------------+
+ *  |                            Term ID                            |
+ *  +---------------------------------------------------------------+
+ *  |                          Term Offset                          |
+ *  +---------------------------------------------------------------+
+ *  |                          Group Length                         |
+ *  +---------------------------------------------------------------+
+ *  |                          Stripe Length                        |
+ *  +---------------------------------------------------------------+
+ *  |                            Parity                            ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public class FecFlyweight extends HeaderFlyweight
+{
+    public static final int HEADER_LENGTH = 32;
+
+    private static final int SESSION_ID_FIELD_OFFSET = 8;
+    private static final int STREAM_ID_FIELD_OFFSET = 12;
+    private static final int TERM_ID_FIELD_OFFSET = 16;
+    private static final int TERM_OFFSET_FIELD_OFFSET = 20;
+    private static final int GROUP_LENGTH_FIELD_OFFSET = 24;
+    private static final int STRIPE_LENGTH_FIELD_OFFSET = 28;
+
+    public FecFlyweight()
+    {
+    }
+
+    public FecFlyweight(final ByteBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    public FecFlyweight(final UnsafeBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    /**
+     * Length of the parity for a group which is the stripe length unless the group is shorter.
+     *
+     * @param groupLength  of the data covered by the parity.
+     * @param stripeLength the group is split into.
+     * @return length of the parity in bytes.
+     */
+    public static int parityLength(final int groupLength, final int stripeLength)
+    {
+        return Math.min(groupLength, stripeLength);
+    }
+
+    /**
+     * return session id field
+     *
+     * @return session id field
+     */
+    public int sessionId()
+    {
+        return getInt(SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set session id field
+     *
+     * @param sessionId field value
+     * @return flyweight
+     */
+    public FecFlyweight sessionId(final int sessionId)
+    {
+        putInt(SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stream id field
+     *
+     * @return stream id field
+     */
+    public int streamId()
+    {
+        return getInt(STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stream id field
+     *
+     * @param streamId field value
+     * @return flyweight
+     */
+    public FecFlyweight streamId(final int streamId)
+    {
+        putInt(STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return term id field
+     *
+     * @return term id field
+     */
+    public int termId()
+    {
+        return getInt(TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term id field
+     *
+     * @param termId field value
+     * @return flyweight
+     */
+    public FecFlyweight termId(final int termId)
+    {
+        putInt(TERM_ID_FIELD_OFFSET, termId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return term offset field of the start of the group
+     *
+     * @return term offset field
+     */
+    public int termOffset()
+    {
+        return getInt(TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term offset field of the start of the group
+     *
+     * @param termOffset field value
+     * @return flyweight
+     */
+    public FecFlyweight termOffset(final int termOffset)
+    {
+        putInt(TERM_OFFSET_FIELD_OFFSET, termOffset, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return group length field
+     *
+     * @return group length field
+     */
+    public int groupLength()
+    {
+        return getInt(GROUP_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set group length field
+     *
+     * @param groupLength field value
+     * @return flyweight
+     */
+    public FecFlyweight groupLength(final int groupLength)
+    {
+        putInt(GROUP_LENGTH_FIELD_OFFSET, groupLength, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stripe length field
+     *
+     * @return stripe length field
+     */
+    public int stripeLength()
+    {
+        return getInt(STRIPE_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stripe length field
+     *
+     * @param stripeLength field value
+     * @return flyweight
+     */
+    public FecFlyweight stripeLength(final int stripeLength)
+    {
+        putInt(STRIPE_LENGTH_FIELD_OFFSET, stripeLength, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    public String toString()
+    {
+        final StringBuilder sb = new StringBuilder();
+        final String formattedFlags = String.format("%1$8s", Integer.toBinaryString(flags())).replace(' ', '0');
+
+        sb.append("FEC Message{")
+            .append("frame_length=").append(frameLength())
+            .append(" version=").append(version())
+            .append(" flags=").append(formattedFlags)
+            .append(" type=").append(headerType())
+            .append(" session_id=").append(sessionId())
+            .append(" stream_id=").append(streamId())
+            .append(" term_id=").append(termId())
+            .append(" term_offset=").append(termOffset())
+            .append(" group_length=").append(groupLength())
+            .append(" stripe_length=").append(stripeLength())
+            .append("}");
+
+        return sb.toString();
+    }
+}
@@ -71,6 +71,16 @@ public class HeaderFlyweight extends UnsafeBuffer
      */
     public static final int HDR_TYPE_RTTM = 0x06;
 
+    /**
+     * header type NAK with a list of ranges
+     */
+    public static final int HDR_TYPE_NAK_RANGE_LIST = 0x07;
+
+    /**
+     * header type FEC parity
+     */
+    public static final int HDR_TYPE_FEC = 0x08;
+
     /**
      * header type EXT
      */
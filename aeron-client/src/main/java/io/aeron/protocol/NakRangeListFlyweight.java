@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.protocol;
+
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Flyweight for a NAK Message Frame which carries a list of ranges so a receiver can request the retransmit of
+ * multiple gaps in a stream in a single message.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                          Frame Length                         |
+ *  +---------------+---------------+-------------------------------+
+ *  |    Version    |     Flags     |               Type            |
+ *  +---------------+---------------+-------------------------------+
+ *  |                          Session ID                           |
+ *  +---------------------------------------------------------------+
+ *  |                           Stream ID                           |
+ *  +---------------------------------------------------------------+
+ *  |                          Range Count                          |
+ *  +---------------------------------------------------------------+
+ *  |                            Term ID                            |
+ *  +---------------------------------------------------------------+
+ *  |                          Term Offset                          |
+ *  +---------------------------------------------------------------+
+ *  |                            Length                             |
+ *  +---------------------------------------------------------------+
+ *  |                 Term ID, Offset, Length repeats              ...
+ * ...                       Range Count times                      |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public class NakRangeListFlyweight extends HeaderFlyweight
+{
+    public static final int HEADER_LENGTH = 20;
+    public static final int RANGE_LENGTH = 12;
+
+    /**
+     * Maximum number of ranges which can be carried in a single frame.
+     */
+    public static final int MAX_RANGE_COUNT = 64;
+
+    private static final int SESSION_ID_FIELD_OFFSET = 8;
+    private static final int STREAM_ID_FIELD_OFFSET = 12;
+    private static final int RANGE_COUNT_FIELD_OFFSET = 16;
+    private static final int TERM_ID_RANGE_OFFSET = 0;
+    private static final int TERM_OFFSET_RANGE_OFFSET = 4;
+    private static final int LENGTH_RANGE_OFFSET = 8;
+
+    public NakRangeListFlyweight()
+    {
+    }
+
+    public NakRangeListFlyweight(final ByteBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    public NakRangeListFlyweight(final UnsafeBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    /**
+     * Length of a frame carrying a given number of ranges.
+     *
+     * @param rangeCount carried in the frame.
+     * @return length of the frame in bytes.
+     */
+    public static int computeFrameLength(final int rangeCount)
+    {
+        return HEADER_LENGTH + (rangeCount * RANGE_LENGTH);
+    }
+
+    /**
+     * return session id field
+     *
+     * @return session id field
+     */
+    public int sessionId()
+    {
+        return getInt(SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set session id field
+     *
+     * @param sessionId field value
+     * @return flyweight
+     */
+    public NakRangeListFlyweight sessionId(final int sessionId)
+    {
+        putInt(SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stream id field
+     *
+     * @return stream id field
+     */
+    public int streamId()
+    {
+        return getInt(STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stream id field
+     *
+     * @param streamId field value
+     * @return flyweight
+     */
+    public NakRangeListFlyweight streamId(final int streamId)
+    {
+        putInt(STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return range count field
+     *
+     * @return range count field
+     */
+    public int rangeCount()
+    {
+        return getInt(RANGE_COUNT_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set range count field and the frame length to match.
+     *
+     * @param rangeCount field value
+     * @return flyweight
+     */
+    public NakRangeListFlyweight rangeCount(final int rangeCount)
+    {
+        putInt(RANGE_COUNT_FIELD_OFFSET, rangeCount, LITTLE_ENDIAN);
+        frameLength(computeFrameLength(rangeCount));
+
+        return this;
+    }
+
+    /**
+     * return term id field for a range
+     *
+     * @param index of the range
+     * @return term id field for a range
+     */
+    public int termId(final int index)
+    {
+        return getInt(rangeOffset(index) + TERM_ID_RANGE_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * return term offset field for a range
+     *
+     * @param index of the range
+     * @return term offset field for a range
+     */
+    public int termOffset(final int index)
+    {
+        return getInt(rangeOffset(index) + TERM_OFFSET_RANGE_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * return length field for a range
+     *
+     * @param index of the range
+     * @return length field for a range
+     */
+    public int length(final int index)
+    {
+        return getInt(rangeOffset(index) + LENGTH_RANGE_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set the fields of a range
+     *
+     * @param index      of the range
+     * @param termId     field value
+     * @param termOffset field value
+     * @param length     field value
+     * @return flyweight
+     */
+    public NakRangeListFlyweight range(final int index, final int termId, final int termOffset, final int length)
+    {
+        final int offset = rangeOffset(index);
+        putInt(offset + TERM_ID_RANGE_OFFSET, termId, LITTLE_ENDIAN);
+        putInt(offset + TERM_OFFSET_RANGE_OFFSET, termOffset, LITTLE_ENDIAN);
+        putInt(offset + LENGTH_RANGE_OFFSET, length, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    public String toString()
+    {
+        final StringBuilder sb = new StringBuilder();
+        final String formattedFlags = String.format("%1$8s", Integer.toBinaryString(flags())).replace(' ', '0');
+
+        sb.append("NAK Range List Message{")
+            .append("frame_length=").append(frameLength())
+            .append(" version=").append(version())
+            .append(" flags=").append(formattedFlags)
+            .append(" type=").append(headerType())
+            .append(" session_id=").append(sessionId())
+            .append(" stream_id=").append(streamId())
+            .append(" range_count=").append(rangeCount())
+            .append(" ranges=[");
+
+        for (int i = 0, count = Math.min(rangeCount(), MAX_RANGE_COUNT); i < count; i++)
+        {
+            sb.append(i > 0 ? " " : "")
+                .append(termId(i)).append(':')
+                .append(termOffset(i)).append(':')
+                .append(length(i));
+        }
+
+        sb.append("]}");
+
+        return sb.toString();
+    }
+
+    private static int rangeOffset(final int index)
+    {
+        return HEADER_LENGTH + (index * RANGE_LENGTH);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.exceptions.AeronException;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.AggregatingPublication.LENGTH_PREFIX_LENGTH;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class AggregatingPublicationTest
+{
+    private static final int MAX_PAYLOAD_LENGTH = 64;
+    private static final long MAX_DELAY_NS = 1000;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[MAX_PAYLOAD_LENGTH]);
+    private final ExclusivePublication publication = mock(ExclusivePublication.class);
+    private final List<byte[]> aggregates = new ArrayList<>();
+    private long nanoTime;
+    private long offerResult = 1024;
+    private AggregatingPublication aggregatingPublication;
+
+    @Before
+    public void setUp()
+    {
+        when(publication.maxPayloadLength()).thenReturn(MAX_PAYLOAD_LENGTH);
+        when(publication.offer(any(DirectBuffer.class), anyInt(), anyInt(), isNull())).then(
+            (invocation) ->
+            {
+                if (offerResult > 0)
+                {
+                    final DirectBuffer buffer = invocation.getArgument(0);
+                    final byte[] aggregate = new byte[(int)invocation.getArgument(2)];
+                    buffer.getBytes(invocation.getArgument(1), aggregate);
+                    aggregates.add(aggregate);
+                }
+
+                return offerResult;
+            });
+
+        aggregatingPublication = new AggregatingPublication(publication, 48, MAX_DELAY_NS, () -> nanoTime);
+
+        for (int i = 0; i < MAX_PAYLOAD_LENGTH; i++)
+        {
+            srcBuffer.putByte(i, (byte)i);
+        }
+    }
+
+    @Test
+    public void shouldAggregateUntilThresholdIsReached()
+    {
+        assertTrue(aggregatingPublication.offer(srcBuffer, 0, 10));
+        assertTrue(aggregatingPublication.offer(srcBuffer, 10, 20));
+        assertThat(aggregates.size(), is(0));
+        assertThat(aggregatingPublication.pendingLength(), is(34));
+
+        assertTrue(aggregatingPublication.offer(srcBuffer, 30, 12));
+
+        assertThat(aggregates.size(), is(1));
+        assertThat(aggregatingPublication.pendingLength(), is(0));
+        assertMessages(aggregates.get(0), 0, 10, 10, 20, 30, 12);
+    }
+
+    @Test
+    public void shouldFlushPendingMessagesWhenNextWillNotFit()
+    {
+        aggregatingPublication = new AggregatingPublication(publication, MAX_PAYLOAD_LENGTH, MAX_DELAY_NS);
+
+        assertTrue(aggregatingPublication.offer(srcBuffer, 0, 40));
+        assertTrue(aggregatingPublication.offer(srcBuffer, 40, 23));
+
+        assertThat(aggregates.size(), is(1));
+        assertMessages(aggregates.get(0), 0, 40);
+        assertThat(aggregatingPublication.pendingLength(), is(25));
+    }
+
+    @Test
+    public void shouldRejectOfferWhenFlushIsBackPressured()
+    {
+        aggregatingPublication = new AggregatingPublication(publication, MAX_PAYLOAD_LENGTH, MAX_DELAY_NS);
+        offerResult = Publication.BACK_PRESSURED;
+
+        assertTrue(aggregatingPublication.offer(srcBuffer, 0, 40));
+        assertFalse(aggregatingPublication.offer(srcBuffer, 40, 23));
+        assertThat(aggregatingPublication.pendingLength(), is(42));
+
+        offerResult = 1024;
+
+        assertTrue(aggregatingPublication.offer(srcBuffer, 40, 23));
+        assertMessages(aggregates.get(0), 0, 40);
+    }
+
+    @Test
+    public void shouldFlushOnceMaxDelayHasPassed()
+    {
+        nanoTime = 100;
+        assertTrue(aggregatingPublication.offer(srcBuffer, 0, 8));
+
+        nanoTime += MAX_DELAY_NS - 1;
+        assertThat(aggregatingPublication.doWork(), is(0));
+
+        nanoTime += 1;
+        assertThat(aggregatingPublication.doWork(), is(1));
+        assertMessages(aggregates.get(0), 0, 8);
+        assertThat(aggregatingPublication.doWork(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMessageLongerThanMaxMessageLength()
+    {
+        aggregatingPublication.offer(srcBuffer, 0, MAX_PAYLOAD_LENGTH - 1);
+    }
+
+    @Test
+    public void shouldRejectAggregatedMessageWhichRunsPastEndOfFragment()
+    {
+        final UnsafeBuffer aggregate = new UnsafeBuffer(new byte[16]);
+        aggregate.putShort(0, (short)4, LITTLE_ENDIAN);
+        aggregate.putShort(6, (short)100, LITTLE_ENDIAN);
+        final FragmentHandler delegate = mock(FragmentHandler.class);
+        final Header header = mock(Header.class);
+
+        try
+        {
+            new DeaggregatingFragmentHandler(delegate).onFragment(aggregate, 0, aggregate.capacity(), header);
+            fail("expected exception");
+        }
+        catch (final AeronException ex)
+        {
+            verify(delegate).onFragment(aggregate, LENGTH_PREFIX_LENGTH, 4, header);
+            verifyNoMoreInteractions(delegate);
+        }
+    }
+
+    private void assertMessages(final byte[] aggregate, final int... offsetAndLengths)
+    {
+        final List<Integer> lengths = new ArrayList<>();
+        final FragmentHandler handler = new DeaggregatingFragmentHandler(
+            (buffer, offset, length, header) ->
+            {
+                final int srcOffset = offsetAndLengths[lengths.size() * 2];
+                for (int i = 0; i < length; i++)
+                {
+                    assertThat(buffer.getByte(offset + i), is(srcBuffer.getByte(srcOffset + i)));
+                }
+
+                lengths.add(length);
+            });
+
+        handler.onFragment(new UnsafeBuffer(aggregate), 0, aggregate.length, mock(Header.class));
+
+        assertThat(lengths.size(), is(offsetAndLengths.length / 2));
+        for (int i = 0; i < lengths.size(); i++)
+        {
+            assertThat(lengths.get(i), is(offsetAndLengths[i * 2 + 1]));
+        }
+    }
+}
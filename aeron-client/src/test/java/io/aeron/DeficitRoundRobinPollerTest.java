@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.function.ToIntFunction;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.align;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DeficitRoundRobinPollerTest
+{
+    private static final int STREAM_ID = 1001;
+    private static final int SESSION_ID_A = 1;
+    private static final int SESSION_ID_B = 2;
+    private static final int PAYLOAD_LENGTH = 32;
+    private static final int FRAME_LENGTH = HEADER_LENGTH + PAYLOAD_LENGTH;
+    private static final int ALIGNED_FRAME_LENGTH = align(FRAME_LENGTH, FRAME_ALIGNMENT);
+    private static final int MESSAGE_COUNT = 8;
+
+    private final StringBuilder received = new StringBuilder();
+    private final FragmentHandler fragmentHandler =
+        (buffer, offset, length, header) -> received.append(header.sessionId() == SESSION_ID_A ? 'A' : 'B');
+
+    private Subscription subscription;
+
+    @Before
+    public void setUp()
+    {
+        subscription = new Subscription(mock(ClientConductor.class), "aeron:ipc", STREAM_ID, 1, null, null);
+        subscription.addImage(newImage(SESSION_ID_A, 1));
+        subscription.addImage(newImage(SESSION_ID_B, 2));
+    }
+
+    @Test
+    public void shouldShareFragmentLimitEquallyForEqualQuanta()
+    {
+        final DeficitRoundRobinPoller poller = newPoller(FRAME_LENGTH, FRAME_LENGTH);
+
+        assertThat(subscription.poll(fragmentHandler, 4), is(4));
+        assertThat(received.toString(), is("AAAA"));
+
+        received.setLength(0);
+        assertThat(poller.poll(fragmentHandler, 4), is(4));
+        assertThat(received.toString(), is("ABAB"));
+    }
+
+    @Test
+    public void shouldShareInProportionToQuanta()
+    {
+        final DeficitRoundRobinPoller poller = newPoller(2 * FRAME_LENGTH, FRAME_LENGTH);
+
+        assertThat(poller.poll(fragmentHandler, 6), is(6));
+        assertThat(received.toString(), is("AABAAB"));
+    }
+
+    @Test
+    public void shouldResumeVisitWhenFragmentLimitIsReached()
+    {
+        final DeficitRoundRobinPoller poller = newPoller(2 * FRAME_LENGTH, FRAME_LENGTH);
+
+        for (int i = 0; i < 6; i++)
+        {
+            assertThat(poller.poll(fragmentHandler, 1), is(1));
+        }
+
+        assertThat(received.toString(), is("AABAAB"));
+    }
+
+    @Test
+    public void shouldCarryDeficitWhenFrameIsLargerThanQuantum()
+    {
+        final DeficitRoundRobinPoller poller = newPoller(FRAME_LENGTH / 2, FRAME_LENGTH);
+
+        assertThat(poller.poll(fragmentHandler, 3), is(3));
+        assertThat(received.toString(), is("BAB"));
+    }
+
+    @Test
+    public void shouldDrainRemainingImageOnceOthersAreIdle()
+    {
+        final DeficitRoundRobinPoller poller = newPoller(FRAME_LENGTH, FRAME_LENGTH);
+
+        assertThat(poller.poll(fragmentHandler, 2 * MESSAGE_COUNT), is(2 * MESSAGE_COUNT));
+        assertThat(poller.poll(fragmentHandler, 1), is(0));
+    }
+
+    @Test
+    public void shouldAcceptMaxQuantumWithoutOverflowingDeficit()
+    {
+        final DeficitRoundRobinPoller poller = newPoller(Integer.MAX_VALUE, FRAME_LENGTH);
+
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+        {
+            assertThat(poller.poll(fragmentHandler, 1), is(1));
+        }
+
+        assertThat(poller.poll(fragmentHandler, 2 * MESSAGE_COUNT), is(MESSAGE_COUNT));
+        assertThat(received.toString(), is("AAAAAAAABBBBBBBB"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveQuantum()
+    {
+        newPoller(0, FRAME_LENGTH).poll(fragmentHandler, 1);
+    }
+
+    private DeficitRoundRobinPoller newPoller(final int quantumA, final int quantumB)
+    {
+        final ToIntFunction<Image> quantumFunction =
+            (image) -> image.sessionId() == SESSION_ID_A ? quantumA : quantumB;
+
+        return new DeficitRoundRobinPoller(subscription, quantumFunction);
+    }
+
+    private static Image newImage(final int sessionId, final long correlationId)
+    {
+        final UnsafeBuffer termBuffer = TestUtil.newTermBuffer();
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+        {
+            TestUtil.writeDataHeader(
+                termBuffer,
+                i * ALIGNED_FRAME_LENGTH,
+                STREAM_ID,
+                sessionId,
+                PAYLOAD_LENGTH,
+                DataHeaderFlyweight.BEGIN_AND_END_FLAGS);
+        }
+
+        return TestUtil.newImage(sessionId, correlationId, termBuffer);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class FragmentDemandPublisherTest
+{
+    private static final int FRAGMENT_LIMIT = 10;
+
+    private final Image image = mock(Image.class);
+    private final ControlledFragmentHandler fragmentHandler = mock(ControlledFragmentHandler.class);
+    private final FragmentDemandPublisher publisher = new FragmentDemandPublisher(image, fragmentHandler);
+
+    @Test
+    public void shouldNotPollWithoutDemand()
+    {
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(0));
+
+        verifyZeroInteractions(image);
+    }
+
+    @Test
+    public void shouldLimitPollToOutstandingDemand()
+    {
+        when(image.controlledPoll(fragmentHandler, 3)).thenReturn(2);
+        when(image.controlledPoll(fragmentHandler, 1)).thenReturn(1);
+
+        publisher.request(3);
+
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(2));
+        assertThat(publisher.demand(), is(1L));
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(1));
+        assertThat(publisher.demand(), is(0L));
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(0));
+
+        verify(image, times(2)).controlledPoll(eq(fragmentHandler), anyInt());
+    }
+
+    @Test
+    public void shouldNotConsumeUnboundedDemand()
+    {
+        when(image.controlledPoll(fragmentHandler, FRAGMENT_LIMIT)).thenReturn(FRAGMENT_LIMIT);
+
+        publisher.request(Long.MAX_VALUE);
+        publisher.request(1);
+
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(FRAGMENT_LIMIT));
+        assertThat(publisher.demand(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldKeepUnboundedDemandRequestedDuringPoll()
+    {
+        when(image.controlledPoll(fragmentHandler, 2)).then(
+            (invocation) ->
+            {
+                publisher.request(Long.MAX_VALUE);
+                return 2;
+            });
+
+        publisher.request(2);
+
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(2));
+        assertThat(publisher.demand(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldNotMakeDemandNegativeWhenCancelledDuringPoll()
+    {
+        when(image.controlledPoll(fragmentHandler, 2)).then(
+            (invocation) ->
+            {
+                publisher.cancel();
+                return 2;
+            });
+
+        publisher.request(2);
+
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(2));
+        assertThat(publisher.demand(), is(0L));
+    }
+
+    @Test
+    public void shouldNotPollOnceCancelled()
+    {
+        publisher.request(5);
+        publisher.cancel();
+        publisher.request(5);
+
+        assertThat(publisher.poll(FRAGMENT_LIMIT), is(0));
+
+        verifyZeroInteractions(image);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveRequest()
+    {
+        publisher.request(0);
+    }
+}
@@ -533,6 +533,29 @@ public class ImageTest
         inOrder.verify(position).setOrdered(TERM_BUFFER_LENGTH);
     }
 
+    @Test
+    public void shouldPeekPastPaddingFrameAtEndOfTerm()
+    {
+        final int initialOffset = TERM_BUFFER_LENGTH - (ALIGNED_FRAME_LENGTH * 2);
+        final long initialPosition =
+            computePosition(INITIAL_TERM_ID, initialOffset, POSITION_BITS_TO_SHIFT, INITIAL_TERM_ID);
+        position.setOrdered(initialPosition);
+        final Image image = createImage();
+
+        insertDataFrame(INITIAL_TERM_ID, initialOffset);
+        insertPaddingFrame(INITIAL_TERM_ID, initialOffset + ALIGNED_FRAME_LENGTH);
+
+        when(mockControlledFragmentHandler.onFragment(any(DirectBuffer.class), anyInt(), anyInt(), any(Header.class)))
+            .thenReturn(Action.CONTINUE);
+
+        final long resultingPosition = image.controlledPeek(
+            initialPosition, mockControlledFragmentHandler, Long.MAX_VALUE);
+
+        assertThat(resultingPosition, is((long)TERM_BUFFER_LENGTH));
+        verify(mockControlledFragmentHandler).onFragment(
+            any(UnsafeBuffer.class), eq(initialOffset + HEADER_LENGTH), eq(DATA.length), any(Header.class));
+    }
+
     private Image createImage()
     {
         return new Image(subscription, SESSION_ID, position, logBuffers, errorHandler, SOURCE_IDENTITY, CORRELATION_ID);
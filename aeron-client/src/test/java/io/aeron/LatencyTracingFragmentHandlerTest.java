@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class LatencyTracingFragmentHandlerTest
+{
+    private static final long REPORT_INTERVAL_NS = 1000;
+
+    private final UnsafeBuffer valuesBuffer = new UnsafeBuffer(new byte[4 * CountersReader.COUNTER_LENGTH]);
+    private final AtomicCounter p50 = new AtomicCounter(valuesBuffer, 0);
+    private final AtomicCounter p99 = new AtomicCounter(valuesBuffer, 1);
+    private final AtomicCounter p999 = new AtomicCounter(valuesBuffer, 2);
+    private final AtomicCounter max = new AtomicCounter(valuesBuffer, 3);
+    private final FragmentHandler delegate = mock(FragmentHandler.class);
+    private final Header header = mock(Header.class);
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[64]);
+    private long nanoTime;
+
+    private final LatencyTracingFragmentHandler handler = new LatencyTracingFragmentHandler(
+        delegate, () -> nanoTime, REPORT_INTERVAL_NS, p50, p99, p999, max);
+
+    @Test
+    public void shouldRecordLatencyFromReservedValueAndDelegate()
+    {
+        nanoTime = 10_000;
+        when(header.reservedValue()).thenReturn(9_900L);
+
+        handler.onFragment(buffer, 0, 8, header);
+
+        verify(delegate).onFragment(buffer, 0, 8, header);
+
+        nanoTime += REPORT_INTERVAL_NS;
+        assertThat(handler.doWork(), is(1));
+        assertThat(p50.get(), is(100L));
+        assertThat(max.get(), is(100L));
+    }
+
+    @Test
+    public void shouldNotRecordLatencyForFramesWhichAreNotStamped()
+    {
+        nanoTime = 10_000;
+        when(header.reservedValue()).thenReturn(9_990L);
+        handler.onFragment(buffer, 0, 8, header);
+
+        when(header.reservedValue()).thenReturn(0L);
+        handler.onFragment(buffer, 0, 8, header);
+
+        verify(delegate, times(2)).onFragment(buffer, 0, 8, header);
+
+        nanoTime += REPORT_INTERVAL_NS;
+        assertThat(handler.doWork(), is(1));
+        assertThat(p999.get(), is(10L));
+        assertThat(max.get(), is(10L));
+    }
+
+    @Test
+    public void shouldReportPercentilesOnceIntervalHasElapsedAndReset()
+    {
+        for (int i = 1; i <= 1000; i++)
+        {
+            nanoTime = i * 1000L;
+            when(header.reservedValue()).thenReturn(nanoTime - i);
+            handler.onFragment(buffer, 0, 8, header);
+        }
+
+        nanoTime = REPORT_INTERVAL_NS - 1;
+        assertThat(handler.doWork(), is(0));
+        assertThat(p50.get(), is(0L));
+
+        nanoTime = REPORT_INTERVAL_NS;
+        assertThat(handler.doWork(), is(1));
+        assertThat(p50.get(), allOf(greaterThanOrEqualTo(500L), lessThanOrEqualTo(500L + 500L / 16)));
+        assertThat(p99.get(), allOf(greaterThanOrEqualTo(990L), lessThanOrEqualTo(990L + 990L / 16)));
+        assertThat(p999.get(), allOf(greaterThanOrEqualTo(999L), lessThanOrEqualTo(1000L)));
+        assertThat(max.get(), is(1000L));
+
+        nanoTime += REPORT_INTERVAL_NS;
+        assertThat(handler.doWork(), is(1));
+        assertThat(p50.get(), is(0L));
+        assertThat(max.get(), is(0L));
+    }
+
+    @Test
+    public void shouldMapValuesToBucketsWithinRelativeError()
+    {
+        for (long value = 0; value < 1_000_000; value += 7)
+        {
+            final long upperBound = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            assertThat(upperBound, greaterThanOrEqualTo(value));
+            assertThat(upperBound - value, lessThanOrEqualTo(value / 16));
+        }
+
+        assertThat(
+            LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)), is(Long.MAX_VALUE));
+    }
+}
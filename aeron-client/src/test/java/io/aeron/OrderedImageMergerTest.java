@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.collections.MutableInteger;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class OrderedImageMergerTest
+{
+    private static final int STREAM_ID = 1001;
+    private static final int SESSION_ID_A = 7;
+    private static final int SESSION_ID_B = 3;
+    private static final int ALIGNED_FRAME_LENGTH = align(HEADER_LENGTH + SIZE_OF_LONG, FRAME_ALIGNMENT);
+
+    private final long[] receivedKeys = new long[16];
+    private final MutableInteger receivedCount = new MutableInteger();
+    private final FragmentHandler fragmentHandler =
+        (buffer, offset, length, header) -> receivedKeys[receivedCount.value++] = buffer.getLong(offset);
+
+    private Subscription subscription;
+    private UnsafeBuffer termBufferA;
+    private UnsafeBuffer termBufferB;
+    private Image imageA;
+    private Image imageB;
+    private OrderedImageMerger merger;
+
+    @Before
+    public void setUp()
+    {
+        subscription = new Subscription(mock(ClientConductor.class), "aeron:ipc", STREAM_ID, 1, null, null);
+
+        termBufferA = TestUtil.newTermBuffer();
+        termBufferB = TestUtil.newTermBuffer();
+        imageA = TestUtil.newImage(SESSION_ID_A, 1, termBufferA);
+        imageB = TestUtil.newImage(SESSION_ID_B, 2, termBufferB);
+        subscription.addImage(imageA);
+        subscription.addImage(imageB);
+
+        merger = new OrderedImageMerger(subscription, (buffer, offset, length, header) -> buffer.getLong(offset));
+    }
+
+    @Test
+    public void shouldDeliverMessagesInKeyOrderAcrossImages()
+    {
+        appendMessages(termBufferA, SESSION_ID_A, 1, 4, 5);
+        appendMessages(termBufferB, SESSION_ID_B, 2, 3, 6);
+
+        assertThat(merger.poll(fragmentHandler, 10), is(6));
+
+        assertReceived(1, 2, 3, 4, 5, 6);
+        assertThat(imageA.position(), is(3L * ALIGNED_FRAME_LENGTH));
+        assertThat(imageB.position(), is(3L * ALIGNED_FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldOnlyConsumeDeliveredMessagesWhenLimited()
+    {
+        appendMessages(termBufferA, SESSION_ID_A, 1, 4);
+        appendMessages(termBufferB, SESSION_ID_B, 2, 3);
+
+        assertThat(merger.poll(fragmentHandler, 3), is(3));
+
+        assertReceived(1, 2, 3);
+        assertThat(imageA.position(), is((long)ALIGNED_FRAME_LENGTH));
+        assertThat(imageB.position(), is(2L * ALIGNED_FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldOrderEqualKeysBySessionId()
+    {
+        appendMessages(termBufferA, SESSION_ID_A, 5);
+        appendMessages(termBufferB, SESSION_ID_B, 5);
+
+        assertThat(merger.poll(fragmentHandler, 10), is(2));
+
+        assertReceived(5, 5);
+        assertThat(imageB.position(), is((long)ALIGNED_FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldNotDeliverMessageUntilAllFragmentsAreAvailable()
+    {
+        appendFrame(termBufferA, SESSION_ID_A, 0, 1, DataHeaderFlyweight.BEGIN_FLAG);
+        appendMessages(termBufferB, SESSION_ID_B, 2);
+
+        assertThat(merger.poll(fragmentHandler, 10), is(1));
+        assertReceived(2);
+        assertThat(imageA.position(), is(0L));
+
+        appendFrame(termBufferA, SESSION_ID_A, ALIGNED_FRAME_LENGTH, 9, DataHeaderFlyweight.END_FLAG);
+
+        assertThat(merger.poll(fragmentHandler, 10), is(1));
+        assertReceived(2, 1, 9);
+        assertThat(imageA.position(), is(2L * ALIGNED_FRAME_LENGTH));
+    }
+
+    private void assertReceived(final long... keys)
+    {
+        assertThat(receivedCount.value, is(keys.length));
+        for (int i = 0; i < keys.length; i++)
+        {
+            assertThat(receivedKeys[i], is(keys[i]));
+        }
+    }
+
+    private void appendMessages(final UnsafeBuffer termBuffer, final int sessionId, final long... keys)
+    {
+        for (int i = 0; i < keys.length; i++)
+        {
+            appendFrame(
+                termBuffer, sessionId, i * ALIGNED_FRAME_LENGTH, keys[i], DataHeaderFlyweight.BEGIN_AND_END_FLAGS);
+        }
+    }
+
+    private void appendFrame(
+        final UnsafeBuffer termBuffer, final int sessionId, final int termOffset, final long key, final short flags)
+    {
+        termBuffer.putLong(termOffset + HEADER_LENGTH, key);
+        TestUtil.writeDataHeader(termBuffer, termOffset, STREAM_ID, sessionId, SIZE_OF_LONG, flags);
+    }
+}
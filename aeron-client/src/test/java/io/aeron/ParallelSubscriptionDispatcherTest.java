@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.align;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ParallelSubscriptionDispatcherTest
+{
+    private static final int STREAM_ID = 1001;
+    private static final int WORKER_COUNT = 3;
+    private static final int SESSION_COUNT = 12;
+    private static final int MESSAGE_COUNT = 100;
+    private static final int FRAME_LENGTH = HEADER_LENGTH + SIZE_OF_INT;
+    private static final int ALIGNED_FRAME_LENGTH = align(FRAME_LENGTH, FRAME_ALIGNMENT);
+
+    private final Map<Integer, Thread> threadBySessionId = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> workerBySessionId = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> lastSequenceBySessionId = new ConcurrentHashMap<>();
+    private final AtomicInteger receivedCount = new AtomicInteger();
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    private Subscription subscription;
+    private ParallelSubscriptionDispatcher dispatcher;
+
+    @Before
+    public void setUp()
+    {
+        subscription = new Subscription(mock(ClientConductor.class), "aeron:ipc", STREAM_ID, 1, null, null);
+    }
+
+    @After
+    public void after()
+    {
+        if (null != dispatcher)
+        {
+            dispatcher.close();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldConsumeEachSessionInOrderOnItsPinnedWorker() throws Exception
+    {
+        for (int i = 0; i < SESSION_COUNT / 2; i++)
+        {
+            subscription.addImage(newImage(i, i));
+        }
+
+        dispatcher = new ParallelSubscriptionDispatcher(
+            subscription,
+            WORKER_COUNT,
+            10,
+            this::newHandler,
+            YieldingIdleStrategy::new,
+            (ex) -> errorCount.incrementAndGet(),
+            Thread::new);
+
+        for (int i = SESSION_COUNT / 2; i < SESSION_COUNT; i++)
+        {
+            subscription.addImage(newImage(i, i));
+        }
+
+        while (receivedCount.get() < SESSION_COUNT * MESSAGE_COUNT)
+        {
+            Thread.sleep(1);
+        }
+
+        dispatcher.close();
+
+        assertThat(errorCount.get(), is(0));
+        assertThat(lastSequenceBySessionId.size(), is(SESSION_COUNT));
+        for (int sessionId = 0; sessionId < SESSION_COUNT; sessionId++)
+        {
+            assertThat(lastSequenceBySessionId.get(sessionId), is(MESSAGE_COUNT - 1));
+            final int expectedWorkerIndex = ParallelSubscriptionDispatcher.workerIndex(sessionId, WORKER_COUNT);
+            assertThat(workerBySessionId.get(sessionId), is(expectedWorkerIndex));
+        }
+
+        assertThat(threadBySessionId.values().stream().distinct().count(), greaterThan(1L));
+    }
+
+    @Test
+    public void shouldSpreadSessionsAcrossWorkers()
+    {
+        final int[] counts = new int[WORKER_COUNT];
+        for (int sessionId = 0; sessionId < 3000; sessionId++)
+        {
+            final int workerIndex = ParallelSubscriptionDispatcher.workerIndex(sessionId, WORKER_COUNT);
+            assertTrue(workerIndex >= 0 && workerIndex < WORKER_COUNT);
+            counts[workerIndex]++;
+        }
+
+        for (final int count : counts)
+        {
+            assertThat(count, greaterThan(800));
+        }
+    }
+
+    private FragmentHandler newHandler(final int workerIndex)
+    {
+        final Thread[] thread = new Thread[1];
+
+        return (buffer, offset, length, header) ->
+        {
+            if (null == thread[0])
+            {
+                thread[0] = Thread.currentThread();
+            }
+
+            final int sessionId = header.sessionId();
+            final int sequence = buffer.getInt(offset);
+            final Integer lastSequence = lastSequenceBySessionId.put(sessionId, sequence);
+            final Thread previousThread = threadBySessionId.put(sessionId, thread[0]);
+            workerBySessionId.put(sessionId, workerIndex);
+
+            if ((null == lastSequence ? -1 : lastSequence) != sequence - 1 ||
+                (null != previousThread && previousThread != Thread.currentThread()))
+            {
+                errorCount.incrementAndGet();
+            }
+
+            receivedCount.incrementAndGet();
+        };
+    }
+
+    private static Image newImage(final int sessionId, final long correlationId)
+    {
+        final UnsafeBuffer termBuffer = TestUtil.newTermBuffer();
+        for (int i = 0; i < MESSAGE_COUNT; i++)
+        {
+            final int termOffset = i * ALIGNED_FRAME_LENGTH;
+            termBuffer.putInt(termOffset + HEADER_LENGTH, i);
+            TestUtil.writeDataHeader(
+                termBuffer, termOffset, STREAM_ID, sessionId, SIZE_OF_INT, DataHeaderFlyweight.BEGIN_AND_END_FLAGS);
+        }
+
+        return TestUtil.newImage(sessionId, correlationId, termBuffer);
+    }
+}
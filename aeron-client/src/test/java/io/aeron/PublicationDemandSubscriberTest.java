@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.util.function.LongConsumer;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class PublicationDemandSubscriberTest
+{
+    private static final int MESSAGE_LENGTH = 32;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+    private final Publication publication = mock(Publication.class);
+    private final LongConsumer requester = mock(LongConsumer.class);
+    private final PublicationDemandSubscriber subscriber = new PublicationDemandSubscriber(publication, 8, 16);
+
+    @Test
+    public void shouldRequestInitialDemandOnSubscribe()
+    {
+        subscriber.onSubscribe(requester);
+
+        verify(requester).accept(8L);
+    }
+
+    @Test
+    public void shouldRequestMoreOnceHalfOfDemandIsPublished()
+    {
+        whenOffered().thenReturn(64L);
+        subscriber.onSubscribe(requester);
+
+        assertThat(subscriber.onNext(buffer, 0, MESSAGE_LENGTH), is(64L));
+        assertThat(subscriber.onNext(buffer, 0, MESSAGE_LENGTH), is(64L));
+        verify(requester, times(1)).accept(anyLong());
+
+        assertThat(subscriber.onNext(buffer, 0, MESSAGE_LENGTH), is(64L));
+
+        assertThat(subscriber.demandWindow(), is(11));
+        verify(requester).accept(8L);
+        verify(requester).accept(11L - 5L);
+    }
+
+    @Test
+    public void shouldRetainMessageAndReduceDemandWhenBackPressured()
+    {
+        whenOffered().thenReturn(Publication.BACK_PRESSURED);
+        subscriber.onSubscribe(requester);
+
+        assertThat(subscriber.onNext(buffer, 0, MESSAGE_LENGTH), is(0L));
+        assertThat(subscriber.onNext(buffer, 0, MESSAGE_LENGTH), is(0L));
+
+        assertTrue(subscriber.hasPendingMessages());
+        assertThat(subscriber.demandWindow(), is(4));
+        verify(publication, times(1)).offer(any(DirectBuffer.class), anyInt(), anyInt(), isNull());
+
+        assertThat(subscriber.doWork(), is(0));
+        assertThat(subscriber.demandWindow(), is(2));
+        verify(requester, times(1)).accept(anyLong());
+
+        whenOffered().thenReturn(64L);
+
+        assertThat(subscriber.doWork(), is(2));
+        assertFalse(subscriber.hasPendingMessages());
+        assertThat(subscriber.demandWindow(), is(4));
+        verify(requester, times(1)).accept(anyLong());
+    }
+
+    private org.mockito.stubbing.OngoingStubbing<Long> whenOffered()
+    {
+        return when(publication.offer(any(DirectBuffer.class), anyInt(), anyInt(), isNull()));
+    }
+}
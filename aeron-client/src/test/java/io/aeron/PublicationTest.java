@@ -24,9 +24,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
 
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
 import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.align;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -118,6 +122,49 @@ public class PublicationTest
         assertThat(publication.tryClaim(SEND_BUFFER_CAPACITY, bufferClaim), is(Publication.CLOSED));
     }
 
+    @Test
+    public void shouldOfferBatchWithPositionAfterLastFrame()
+    {
+        final DirectBufferVector[] messages = new DirectBufferVector[]
+        {
+            new DirectBufferVector(atomicSendBuffer, 0, 100),
+            new DirectBufferVector(atomicSendBuffer, 100, 200),
+        };
+        final long expectedPosition =
+            align(100 + HEADER_LENGTH, FRAME_ALIGNMENT) + align(200 + HEADER_LENGTH, FRAME_ALIGNMENT);
+
+        assertThat(publication.offerBatch(messages), is(expectedPosition));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptyBatch()
+    {
+        publication.offerBatch(new DirectBufferVector[0]);
+    }
+
+    @Test
+    public void shouldOfferBlockingOncePositionLimitAdvances()
+    {
+        isConnected(logMetaDataBuffer, true);
+        when(publicationLimit.getVolatile()).thenReturn(0L, 0L, 0L, 2L * SEND_BUFFER_CAPACITY);
+
+        final long expectedPosition = align(SEND_BUFFER_CAPACITY + HEADER_LENGTH, FRAME_ALIGNMENT);
+        assertThat(
+            publication.offerBlocking(atomicSendBuffer, 0, SEND_BUFFER_CAPACITY, TimeUnit.SECONDS.toNanos(5)),
+            is(expectedPosition));
+    }
+
+    @Test
+    public void shouldReturnBackPressureFromOfferBlockingWhenTimeoutExpires()
+    {
+        isConnected(logMetaDataBuffer, true);
+        when(publicationLimit.getVolatile()).thenReturn(0L);
+
+        assertThat(
+            publication.offerBlocking(atomicSendBuffer, 0, SEND_BUFFER_CAPACITY, TimeUnit.MILLISECONDS.toNanos(10)),
+            is(Publication.BACK_PRESSURED));
+    }
+
     @Test
     public void shouldReportThatPublicationHasNotBeenConnectedYet()
     {
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.*;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTERS_OFFSET;
+import static io.aeron.logbuffer.LogBufferDescriptor.packTail;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.createDefaultHeader;
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ScatteredFragmentAssemblerTest
+{
+    private static final int SESSION_ID = 777;
+    private static final int STREAM_ID = 1003;
+    private static final int TERM_ID = 3;
+    private static final int MTU_LENGTH = 1024;
+    private static final int MAX_PAYLOAD_LENGTH = MTU_LENGTH - HEADER_LENGTH;
+    private static final int MESSAGE_LENGTH = (MAX_PAYLOAD_LENGTH * 2) + 100;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirect(TERM_MIN_LENGTH));
+    private final UnsafeBuffer metaDataBuffer = new UnsafeBuffer(
+        allocateDirect(LogBufferDescriptor.LOG_META_DATA_LENGTH));
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+    private final UnsafeBuffer dstBuffer = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+    private final Header header = new Header(TERM_ID, TERM_MIN_LENGTH);
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+
+    private int messageCount;
+    private int lastFragmentCount;
+    private byte lastFlags;
+    private ScatteredMessage lastMessage;
+    private final ScatteredFragmentAssembler assembler = new ScatteredFragmentAssembler(
+        (message, header) ->
+        {
+            messageCount++;
+            lastMessage = message;
+            lastFragmentCount = message.fragmentCount();
+            lastFlags = header.flags();
+            message.getBytes(0, dstBuffer, 0, message.length());
+        });
+
+    @Before
+    public void setUp()
+    {
+        for (int i = 0; i < MESSAGE_LENGTH; i++)
+        {
+            srcBuffer.putByte(i, (byte)i);
+        }
+
+        metaDataBuffer.putLong(TERM_TAIL_COUNTERS_OFFSET, packTail(TERM_ID, 0));
+        final TermAppender termAppender = new TermAppender(termBuffer, metaDataBuffer, 0);
+        final HeaderWriter headerWriter = HeaderWriter.newInstance(createDefaultHeader(SESSION_ID, STREAM_ID, TERM_ID));
+
+        termAppender.appendFragmentedMessage(
+            headerWriter, srcBuffer, 0, MESSAGE_LENGTH, MAX_PAYLOAD_LENGTH, null, TERM_ID);
+    }
+
+    @Test
+    public void shouldDelegateMessageInPlaceWhenAllFragmentsAreAvailable()
+    {
+        final long outcome = TermReader.read(termBuffer, 0, assembler, 10, header, errorHandler);
+
+        assertThat(TermReader.fragmentsRead(outcome), is(3));
+        assertThat(messageCount, is(1));
+        assertThat(lastFragmentCount, is(3));
+        assertThat(lastMessage.buffer(), sameInstance(termBuffer));
+        assertThat(lastMessage.length(), is(MESSAGE_LENGTH));
+        assertThat(lastMessage.getByte(MAX_PAYLOAD_LENGTH + 1), is(srcBuffer.getByte(MAX_PAYLOAD_LENGTH + 1)));
+        assertThat(lastFlags, is(FrameDescriptor.END_FRAG_FLAG));
+        assertThat(dstBuffer.compareTo(srcBuffer), is(0));
+    }
+
+    @Test
+    public void shouldSkipRemainingFragmentsAcrossPollsAfterDelegatingInPlace()
+    {
+        int offset = 0;
+        for (int i = 0; i < 3; i++)
+        {
+            final long outcome = TermReader.read(termBuffer, offset, assembler, 1, header, errorHandler);
+            offset = TermReader.offset(outcome);
+        }
+
+        assertThat(messageCount, is(1));
+        assertThat(lastFragmentCount, is(3));
+        assertThat(dstBuffer.compareTo(srcBuffer), is(0));
+    }
+
+    @Test
+    public void shouldCopyMessageWhenLastFragmentIsNotYetAvailable()
+    {
+        final int lastFrameOffset = MTU_LENGTH * 2;
+        final int lastFrameLength = FrameDescriptor.frameLength(termBuffer, lastFrameOffset);
+        FrameDescriptor.frameLengthOrdered(termBuffer, lastFrameOffset, 0);
+
+        long outcome = TermReader.read(termBuffer, 0, assembler, 10, header, errorHandler);
+        assertThat(TermReader.fragmentsRead(outcome), is(2));
+        assertThat(messageCount, is(0));
+
+        FrameDescriptor.frameLengthOrdered(termBuffer, lastFrameOffset, lastFrameLength);
+        outcome = TermReader.read(termBuffer, TermReader.offset(outcome), assembler, 10, header, errorHandler);
+
+        assertThat(TermReader.fragmentsRead(outcome), is(1));
+        assertThat(messageCount, is(1));
+        assertThat(lastFragmentCount, is(1));
+        assertThat(lastFlags, is(FrameDescriptor.END_FRAG_FLAG));
+        assertThat(dstBuffer.compareTo(srcBuffer), is(0));
+    }
+}
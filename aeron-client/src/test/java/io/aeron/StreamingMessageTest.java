@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class StreamingMessageTest
+{
+    private static final int MAX_PAYLOAD_LENGTH = 100;
+    private static final int MESSAGE_LENGTH = 1000;
+    private static final int SESSION_ID = 5;
+    private static final int STREAM_ID = 1001;
+
+    private final UnsafeBuffer termBuffer = TestUtil.newTermBuffer();
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+    private final ExclusivePublication publication = mock(ExclusivePublication.class);
+    private int termOffset;
+    private int chunksUntilBackPressure = Integer.MAX_VALUE;
+    private StreamingMessageWriter writer;
+    private StreamingMessageReader reader;
+
+    @Before
+    public void setUp()
+    {
+        for (int i = 0; i < MESSAGE_LENGTH; i++)
+        {
+            message.putByte(i, (byte)i);
+        }
+
+        when(publication.maxPayloadLength()).thenReturn(MAX_PAYLOAD_LENGTH);
+        when(publication.offer(any(DirectBufferVector[].class), isNull())).then(
+            (invocation) ->
+            {
+                if (0 == chunksUntilBackPressure)
+                {
+                    return Publication.BACK_PRESSURED;
+                }
+
+                chunksUntilBackPressure--;
+                appendFrame(invocation.getArgument(0));
+
+                return (long)termOffset;
+            });
+
+        writer = new StreamingMessageWriter(publication);
+        reader = new StreamingMessageReader(TestUtil.newImage(SESSION_ID, 1, termBuffer));
+    }
+
+    @Test
+    public void shouldReadMessageIncrementallyIntoSmallDestination() throws Exception
+    {
+        writeMessage();
+
+        final ByteBuffer dst = ByteBuffer.allocate(37);
+        int received = 0;
+        int bytesRead;
+        while ((bytesRead = reader.read(dst)) >= 0)
+        {
+            for (int i = 0; i < bytesRead; i++)
+            {
+                assertThat(dst.get(i), is(message.getByte(received + i)));
+            }
+
+            received += bytesRead;
+            dst.clear();
+        }
+
+        assertThat(received, is(MESSAGE_LENGTH));
+        assertThat(reader.messageBytesRead(), is((long)MESSAGE_LENGTH));
+        assertThat(reader.read(dst), is(-1));
+    }
+
+    @Test
+    public void shouldReturnZeroUntilMoreOfMessageIsAvailable() throws Exception
+    {
+        final ByteBuffer dst = ByteBuffer.allocate(MESSAGE_LENGTH);
+
+        writer.begin();
+        assertThat(writer.write(message, 0, 150), is(150L));
+
+        assertThat(reader.read(dst), is(150));
+        assertThat(reader.read(dst), is(0));
+
+        assertThat(writer.write(message, 150, MESSAGE_LENGTH - 150), is((long)MESSAGE_LENGTH - 150));
+        assertThat(writer.end() > 0, is(true));
+
+        assertThat(reader.read(dst), is(MESSAGE_LENGTH - 150));
+        assertThat(reader.read(dst), is(-1));
+        assertThat(dst.position(), is(MESSAGE_LENGTH));
+    }
+
+    @Test
+    public void shouldWritePartOfMessageWhenBackPressured()
+    {
+        final int maxChunkPayloadLength = MAX_PAYLOAD_LENGTH - StreamingMessageWriter.CHUNK_HEADER_LENGTH;
+        chunksUntilBackPressure = 2;
+
+        writer.begin();
+        assertThat(writer.write(message, 0, MESSAGE_LENGTH), is(2L * maxChunkPayloadLength));
+        assertThat(writer.write(message, 0, MESSAGE_LENGTH), is(Publication.BACK_PRESSURED));
+        assertThat(writer.end(), is(Publication.BACK_PRESSURED));
+        assertThat(writer.isInMessage(), is(true));
+    }
+
+    @Test
+    public void shouldReadConsecutiveMessagesAndSkipToFirstBeginning() throws Exception
+    {
+        writer.begin();
+        writer.write(message, 0, 250);
+        termOffset = 0;
+        termBuffer.setMemory(0, termBuffer.capacity(), (byte)0);
+        writer.write(message, 250, 250);
+        writer.end();
+        writeMessage();
+
+        final ByteBuffer dst = ByteBuffer.allocate(MESSAGE_LENGTH);
+        assertThat(reader.read(dst), is(MESSAGE_LENGTH));
+        assertThat(reader.read(dst), is(-1));
+
+        reader.nextMessage();
+        dst.clear();
+        assertThat(reader.read(dst), is(0));
+    }
+
+    private void writeMessage()
+    {
+        writer.begin();
+        assertThat(writer.write(message, 0, MESSAGE_LENGTH), is((long)MESSAGE_LENGTH));
+        assertThat(writer.end() > 0, is(true));
+    }
+
+    private void appendFrame(final DirectBufferVector[] vectors)
+    {
+        int payloadLength = 0;
+        for (final DirectBufferVector vector : vectors)
+        {
+            final int offset = termOffset + HEADER_LENGTH + payloadLength;
+            termBuffer.putBytes(offset, vector.buffer(), vector.offset(), vector.length());
+            payloadLength += vector.length();
+        }
+
+        termOffset += TestUtil.writeDataHeader(
+            termBuffer, termOffset, STREAM_ID, SESSION_ID, payloadLength, DataHeaderFlyweight.BEGIN_AND_END_FLAGS);
+    }
+}
@@ -24,6 +24,7 @@ import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
@@ -146,4 +147,24 @@ public class SubscriptionTest
 
         assertThat(subscription.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT), is(2));
     }
+
+    @Test
+    public void shouldPollBlockingUntilDataArrives()
+    {
+        subscription.addImage(imageOneMock);
+
+        when(imageOneMock.poll(any(FragmentHandler.class), anyInt())).thenReturn(0, 0, 1);
+
+        final long timeoutNs = TimeUnit.SECONDS.toNanos(5);
+        assertThat(subscription.pollBlocking(fragmentHandler, FRAGMENT_COUNT_LIMIT, timeoutNs), is(1));
+        verify(imageOneMock, times(3)).poll(fragmentHandler, FRAGMENT_COUNT_LIMIT);
+    }
+
+    @Test
+    public void shouldReadNothingFromPollBlockingWhenTimeoutExpires()
+    {
+        subscription.addImage(imageOneMock);
+
+        assertThat(subscription.pollBlocking(fragmentHandler, 1, TimeUnit.MILLISECONDS.toNanos(10)), is(0));
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicLongPosition;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.LogBufferDescriptor.LOG_META_DATA_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.align;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestUtil
+{
+    public static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+
+    /**
+     * Create an {@link Image} at position 0 over mocked {@link LogBuffers} of {@link #TERM_BUFFER_LENGTH} terms.
+     *
+     * @param sessionId        for the image.
+     * @param correlationId    for the image.
+     * @param activeTermBuffer to be used for the first term, into which test frames are written.
+     * @return the new image.
+     */
+    public static Image newImage(final int sessionId, final long correlationId, final UnsafeBuffer activeTermBuffer)
+    {
+        final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
+        termBuffers[0] = activeTermBuffer;
+        for (int i = 1; i < PARTITION_COUNT; i++)
+        {
+            termBuffers[i] = new UnsafeBuffer(allocateDirect(TERM_BUFFER_LENGTH));
+        }
+
+        final LogBuffers logBuffers = mock(LogBuffers.class);
+        when(logBuffers.duplicateTermBuffers()).thenReturn(termBuffers);
+        when(logBuffers.termLength()).thenReturn(TERM_BUFFER_LENGTH);
+        when(logBuffers.metaDataBuffer()).thenReturn(new UnsafeBuffer(allocateDirect(LOG_META_DATA_LENGTH)));
+
+        return new Image(
+            mock(Subscription.class),
+            sessionId,
+            new AtomicLongPosition(),
+            logBuffers,
+            mock(ErrorHandler.class),
+            "ipc",
+            correlationId);
+    }
+
+    /**
+     * Create a term buffer of {@link #TERM_BUFFER_LENGTH}.
+     *
+     * @return the new term buffer.
+     */
+    public static UnsafeBuffer newTermBuffer()
+    {
+        return new UnsafeBuffer(allocateDirect(TERM_BUFFER_LENGTH));
+    }
+
+    /**
+     * Write the header of a data frame in term 0 whose payload has already been written, with the frame length
+     * written last so the frame is published to readers.
+     *
+     * @param termBuffer    into which the header is written.
+     * @param termOffset    at which the frame begins.
+     * @param streamId      for the frame.
+     * @param sessionId     for the frame.
+     * @param payloadLength of the frame.
+     * @param flags         for the frame.
+     * @return the aligned length of the frame.
+     */
+    public static int writeDataHeader(
+        final UnsafeBuffer termBuffer,
+        final int termOffset,
+        final int streamId,
+        final int sessionId,
+        final int payloadLength,
+        final short flags)
+    {
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        dataHeader.wrap(termBuffer, termOffset, HEADER_LENGTH);
+        dataHeader
+            .termId(0)
+            .streamId(streamId)
+            .sessionId(sessionId)
+            .termOffset(termOffset)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .flags(flags)
+            .version(HeaderFlyweight.CURRENT_VERSION);
+
+        dataHeader.frameLength(HEADER_LENGTH + payloadLength);
+
+        return align(HEADER_LENGTH + payloadLength, FRAME_ALIGNMENT);
+    }
+}
@@ -335,6 +335,67 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameTwoLength);
     }
 
+    @Test
+    public void shouldAppendBatchOfFramesWithSingleTailIncrement()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgOneLength = 20;
+        final int msgTwoLength = 64;
+        final int frameOneLength = msgOneLength + HEADER_LENGTH;
+        final int frameTwoLength = msgTwoLength + HEADER_LENGTH;
+        final int batchLength = align(frameOneLength, FRAME_ALIGNMENT) + align(frameTwoLength, FRAME_ALIGNMENT);
+        final DirectBufferVector[] messages = new DirectBufferVector[]
+        {
+            new DirectBufferVector(buffer, 0, msgOneLength),
+            new DirectBufferVector(buffer, msgOneLength, msgTwoLength),
+        };
+        final int tail = 0;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(termAppender.appendUnfragmentedBatch(headerWriter, messages, batchLength, RVS, TERM_ID),
+            is(batchLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, tail + batchLength)));
+
+        final int frameTwoOffset = tail + align(frameOneLength, FRAME_ALIGNMENT);
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tail, frameOneLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + HEADER_LENGTH, buffer, 0, msgOneLength);
+        inOrder.verify(termBuffer, times(1)).putLong(tail + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameOneLength);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, frameTwoOffset, frameTwoLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1))
+            .putBytes(frameTwoOffset + HEADER_LENGTH, buffer, msgOneLength, msgTwoLength);
+        inOrder.verify(termBuffer, times(1)).putLong(frameTwoOffset + RESERVED_VALUE_OFFSET, RV, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(frameTwoOffset, frameTwoLength);
+    }
+
+    @Test
+    public void shouldPadLogWhenBatchDoesNotFitInRemainingCapacity()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 64;
+        final int alignedFrameLength = align(msgLength + HEADER_LENGTH, FRAME_ALIGNMENT);
+        final int tailValue = TERM_BUFFER_LENGTH - alignedFrameLength;
+        final DirectBufferVector[] messages = new DirectBufferVector[]
+        {
+            new DirectBufferVector(buffer, 0, msgLength),
+            new DirectBufferVector(buffer, 0, msgLength),
+        };
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tailValue));
+
+        assertThat(termAppender.appendUnfragmentedBatch(headerWriter, messages, alignedFrameLength * 2, RVS, TERM_ID),
+            is(FAILED));
+
+        final InOrder inOrder = inOrder(termBuffer, headerWriter);
+        inOrder.verify(headerWriter, times(1)).write(termBuffer, tailValue, alignedFrameLength, TERM_ID);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, alignedFrameLength);
+        verify(termBuffer, never()).putBytes(anyInt(), eq(buffer), anyInt(), anyInt());
+    }
+
     @Test(expected = AeronException.class)
     public void shouldDetectInvalidTerm()
     {
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.protocol;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class NakRangeListFlyweightTest
+{
+    private static final int SESSION_ID = 0x5E55101D;
+    private static final int STREAM_ID = 0x5400E;
+    private static final int TERM_ID = 0x7F003355;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(
+        new byte[NakRangeListFlyweight.computeFrameLength(NakRangeListFlyweight.MAX_RANGE_COUNT)]);
+    private final NakRangeListFlyweight encoder = new NakRangeListFlyweight();
+    private final NakRangeListFlyweight decoder = new NakRangeListFlyweight();
+
+    @Test
+    public void shouldComputeFrameLengthFromRangeCount()
+    {
+        assertThat(NakRangeListFlyweight.computeFrameLength(0), is(NakRangeListFlyweight.HEADER_LENGTH));
+        assertThat(NakRangeListFlyweight.computeFrameLength(1), is(NakRangeListFlyweight.HEADER_LENGTH + 12));
+        assertThat(
+            NakRangeListFlyweight.computeFrameLength(NakRangeListFlyweight.MAX_RANGE_COUNT),
+            is(NakRangeListFlyweight.HEADER_LENGTH + (NakRangeListFlyweight.MAX_RANGE_COUNT * 12)));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeRanges()
+    {
+        encoder.wrap(buffer);
+        encoder
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .rangeCount(3)
+            .range(0, TERM_ID, 0, 64)
+            .range(1, TERM_ID, 1024, 128)
+            .range(2, TERM_ID + 1, 32, 4096)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .headerType(HeaderFlyweight.HDR_TYPE_NAK_RANGE_LIST);
+
+        decoder.wrap(buffer, 0, NakRangeListFlyweight.computeFrameLength(3));
+
+        assertThat(decoder.frameLength(), is(NakRangeListFlyweight.computeFrameLength(3)));
+        assertThat(decoder.headerType(), is(HeaderFlyweight.HDR_TYPE_NAK_RANGE_LIST));
+        assertThat(decoder.sessionId(), is(SESSION_ID));
+        assertThat(decoder.streamId(), is(STREAM_ID));
+        assertThat(decoder.rangeCount(), is(3));
+
+        assertThat(decoder.termId(0), is(TERM_ID));
+        assertThat(decoder.termOffset(0), is(0));
+        assertThat(decoder.length(0), is(64));
+        assertThat(decoder.termId(1), is(TERM_ID));
+        assertThat(decoder.termOffset(1), is(1024));
+        assertThat(decoder.length(1), is(128));
+        assertThat(decoder.termId(2), is(TERM_ID + 1));
+        assertThat(decoder.termOffset(2), is(32));
+        assertThat(decoder.length(2), is(4096));
+
+        assertThat(decoder.toString(), containsString("range_count=3 ranges=[" +
+            TERM_ID + ":0:64 " + TERM_ID + ":1024:128 " + (TERM_ID + 1) + ":32:4096]"));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeMaxRangeCountWithinFrameLength()
+    {
+        final int maxRangeCount = NakRangeListFlyweight.MAX_RANGE_COUNT;
+
+        encoder.wrap(buffer);
+        encoder.sessionId(SESSION_ID).streamId(STREAM_ID).rangeCount(maxRangeCount);
+        for (int i = 0; i < maxRangeCount; i++)
+        {
+            encoder.range(i, TERM_ID, i * 1024, i + 1);
+        }
+
+        assertThat(encoder.frameLength(), is(buffer.capacity()));
+
+        decoder.wrap(buffer);
+        assertThat(decoder.rangeCount(), is(maxRangeCount));
+        for (int i = 0; i < maxRangeCount; i++)
+        {
+            assertThat(decoder.termId(i), is(TERM_ID));
+            assertThat(decoder.termOffset(i), is(i * 1024));
+            assertThat(decoder.length(i), is(i + 1));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldNotEncodeRangeBeyondMaxRangeCountFrameLength()
+    {
+        encoder.wrap(buffer);
+        encoder.range(NakRangeListFlyweight.MAX_RANGE_COUNT, TERM_ID, 0, 64);
+    }
+
+    @Test
+    public void shouldLimitRangesInToStringToMaxRangeCount()
+    {
+        encoder.wrap(buffer);
+        encoder.sessionId(SESSION_ID).streamId(STREAM_ID).rangeCount(Integer.MAX_VALUE);
+
+        assertThat(encoder.toString(), containsString("range_count=" + Integer.MAX_VALUE));
+    }
+}
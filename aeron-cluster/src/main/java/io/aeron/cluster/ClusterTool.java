@@ -27,9 +27,13 @@ import org.agrona.concurrent.AtomicBuffer;
 import java.io.File;
 import java.io.PrintStream;
 import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.function.Consumer;
 
+import static io.aeron.Aeron.NULL_VALUE;
+import static io.aeron.cluster.ConsensusModule.Configuration.SERVICE_ID;
+
 /**
  * Tool for investigating the state of a cluster node.
  * <pre>
@@ -39,6 +43,10 @@ import java.util.function.Consumer;
  *               pid: prints PID of cluster component.
  *     recovery-plan: [service count] prints recovery plan of cluster component.
  *     recording-log: prints recording log of cluster component.
+ *           compact: compacts the recording log to the latest snapshot, deletes earlier snapshot recordings and
+ *                    purges log segments before the snapshot from the archive. The node must be stopped.
+ *                    Members whose log position is behind the snapshot can no longer catch up by replaying the
+ *                    log from this node, so only compact when all members have reached the snapshot.
  *            errors: prints Aeron and cluster component error logs.
  * </pre>
  */
@@ -85,6 +93,10 @@ public class ClusterTool
                 recordingLog(System.out, clusterDir);
                 break;
 
+            case "compact":
+                compact(System.out, clusterDir);
+                break;
+
             case "errors":
                 errors(System.out, clusterDir);
                 break;
@@ -142,6 +154,35 @@ public class ClusterTool
         }
     }
 
+    public static void compact(final PrintStream out, final File clusterDir)
+    {
+        try (AeronArchive archive = AeronArchive.connect();
+            RecordingLog recordingLog = new RecordingLog(clusterDir))
+        {
+            final ArrayList<RecordingLog.Entry> removedEntries = new ArrayList<>();
+            final int removedCount = recordingLog.compact(removedEntries);
+            out.println("Removed " + removedCount + " entries from the recording log");
+
+            final RecordingExtent recordingExtent = new RecordingExtent();
+            for (final RecordingLog.Entry entry : removedEntries)
+            {
+                if (RecordingLog.ENTRY_TYPE_SNAPSHOT == entry.type &&
+                    archive.listRecording(entry.recordingId, recordingExtent) > 0 &&
+                    recordingExtent.stopPosition > recordingExtent.startPosition)
+                {
+                    archive.truncateRecording(entry.recordingId, recordingExtent.startPosition);
+                    out.println("Deleted snapshot recording " + entry.recordingId);
+                }
+            }
+
+            final RecordingLog.Entry snapshot = recordingLog.getLatestSnapshot(SERVICE_ID);
+            if (null != snapshot)
+            {
+                purgeLogSegments(out, archive, recordingLog.getTermEntry(snapshot.leadershipTermId), snapshot);
+            }
+        }
+    }
+
     public static void errors(final PrintStream out, final File clusterDir)
     {
         if (markFileExists(clusterDir) || TIMEOUT_MS > 0)
@@ -216,6 +257,31 @@ public class ClusterTool
         return clusterMarkFiles;
     }
 
+    private static void purgeLogSegments(
+        final PrintStream out,
+        final AeronArchive archive,
+        final RecordingLog.Entry termEntry,
+        final RecordingLog.Entry snapshot)
+    {
+        final RecordingExtent recordingExtent = new RecordingExtent();
+        if (NULL_VALUE == termEntry.recordingId || 0 == archive.listRecording(termEntry.recordingId, recordingExtent))
+        {
+            return;
+        }
+
+        final long startPosition = recordingExtent.startPosition;
+        final long startTermBasePosition = startPosition - (startPosition & (recordingExtent.termBufferLength - 1));
+        final long segmentFileLength = recordingExtent.segmentFileLength;
+        final long newStartPosition = startTermBasePosition +
+            (((snapshot.logPosition - startTermBasePosition) / segmentFileLength) * segmentFileLength);
+
+        if (newStartPosition > startPosition)
+        {
+            archive.purgeSegments(termEntry.recordingId, newStartPosition);
+            out.println("Purged log recording " + termEntry.recordingId + " to new start position " + newStartPosition);
+        }
+    }
+
     private static void printTypeAndActivityTimestamp(final PrintStream out, final ClusterMarkFile markFile)
     {
         out.print("Type: " + markFile.decoder().componentType() + " ");
@@ -257,6 +323,9 @@ public class ClusterTool
         out.println("  pid: prints PID of cluster component.");
         out.println("  recovery-plan: [service count] prints recovery plan of cluster component.");
         out.println("  recording-log: prints recording log of cluster component.");
+        out.println("  compact: compacts recording log and purges archived log before latest snapshot.");
+        out.println("           Only use once all members have reached the snapshot as the purged log cannot be");
+        out.println("           replayed to members which are behind.");
         out.println("  errors: prints Aeron and cluster component error logs.");
     }
 }
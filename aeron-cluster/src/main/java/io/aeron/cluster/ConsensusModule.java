@@ -220,7 +220,7 @@ public class ConsensusModule implements AutoCloseable
      */
     public static class Configuration
     {
-        static final int TIMER_POLL_LIMIT = 10;
+        static final int TIMER_BATCH_LIMIT = 1024;
 
         /**
          * Type of snapshot for this component.
@@ -493,6 +493,12 @@ public class ConsensusModule implements AutoCloseable
          */
         public static final int ERROR_BUFFER_LENGTH_DEFAULT = 1024 * 1024;
 
+        /**
+         * Should the {@link RecordingLog} be compacted once a snapshot has been acknowledged by all services so
+         * superseded snapshots are removed. Leadership term entries are retained for lagging members.
+         */
+        public static final String RECORDING_LOG_COMPACTION_PROP_NAME = "aeron.cluster.recording.log.compaction";
+
         public static final int LOG_PUBLICATION_SESSION_ID_TAG = 2;
         public static final String LOG_PUBLICATION_TAGS = "1," + LOG_PUBLICATION_SESSION_ID_TAG;
         public static final String LOG_SUBSCRIPTION_TAGS = "3,4";
@@ -689,6 +695,17 @@ public class ConsensusModule implements AutoCloseable
             return getSizeAsInt(ERROR_BUFFER_LENGTH_PROP_NAME, ERROR_BUFFER_LENGTH_DEFAULT);
         }
 
+        /**
+         * Should the {@link RecordingLog} be compacted after each snapshot.
+         *
+         * @return true if the {@link RecordingLog} should be compacted after each snapshot.
+         * @see #RECORDING_LOG_COMPACTION_PROP_NAME
+         */
+        public static boolean recordingLogCompaction()
+        {
+            return "true".equalsIgnoreCase(System.getProperty(RECORDING_LOG_COMPACTION_PROP_NAME, "false"));
+        }
+
         /**
          * The value {@link #AUTHENTICATOR_SUPPLIER_DEFAULT} or system property
          * {@link #AUTHENTICATOR_SUPPLIER_PROP_NAME} if set.
@@ -775,6 +792,7 @@ public class ConsensusModule implements AutoCloseable
         private int serviceCount = Configuration.serviceCount();
         private Counter[] serviceHeartbeatCounters;
         private int errorBufferLength = Configuration.errorBufferLength();
+        private boolean recordingLogCompaction = Configuration.recordingLogCompaction();
         private int maxConcurrentSessions = Configuration.maxConcurrentSessions();
         private long sessionTimeoutNs = Configuration.sessionTimeoutNs();
         private long leaderHeartbeatTimeoutNs = Configuration.leaderHeartbeatTimeoutNs();
@@ -2241,6 +2259,32 @@ public class ConsensusModule implements AutoCloseable
             return errorBufferLength;
         }
 
+        /**
+         * Should the {@link RecordingLog} be compacted once a snapshot has been acknowledged by all services. Earlier
+         * snapshots are removed from the log but their recordings remain in the archive. Leadership term entries are
+         * retained so members which lag behind the snapshot can still rejoin from their term.
+         *
+         * @param recordingLogCompaction true if the {@link RecordingLog} should be compacted after each snapshot.
+         * @return this for a fluent API.
+         * @see Configuration#RECORDING_LOG_COMPACTION_PROP_NAME
+         */
+        public Context recordingLogCompaction(final boolean recordingLogCompaction)
+        {
+            this.recordingLogCompaction = recordingLogCompaction;
+            return this;
+        }
+
+        /**
+         * Should the {@link RecordingLog} be compacted once a snapshot has been acknowledged by all services.
+         *
+         * @return true if the {@link RecordingLog} should be compacted after each snapshot.
+         * @see Configuration#RECORDING_LOG_COMPACTION_PROP_NAME
+         */
+        public boolean recordingLogCompaction()
+        {
+            return recordingLogCompaction;
+        }
+
         /**
          * Set the {@link DistinctErrorLog} in use.
          *
@@ -30,6 +30,8 @@ final class ConsensusModuleAdapter implements FragmentHandler, AutoCloseable
     private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
     private final ScheduleTimerDecoder scheduleTimerDecoder = new ScheduleTimerDecoder();
     private final CancelTimerDecoder cancelTimerDecoder = new CancelTimerDecoder();
+    private final ScheduleTimerBatchDecoder scheduleTimerBatchDecoder = new ScheduleTimerBatchDecoder();
+    private final CancelTimerBatchDecoder cancelTimerBatchDecoder = new CancelTimerBatchDecoder();
     private final ServiceAckDecoder serviceAckDecoder = new ServiceAckDecoder();
     private final CloseSessionDecoder closeSessionDecoder = new CloseSessionDecoder();
 
@@ -85,7 +87,33 @@ final class ConsensusModuleAdapter implements FragmentHandler, AutoCloseable
                     messageHeaderDecoder.blockLength(),
                     messageHeaderDecoder.version());
 
-                consensusModuleAgent.onCancelTimer(scheduleTimerDecoder.correlationId());
+                consensusModuleAgent.onCancelTimer(cancelTimerDecoder.correlationId());
+                break;
+
+            case ScheduleTimerBatchDecoder.TEMPLATE_ID:
+                scheduleTimerBatchDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                for (final ScheduleTimerBatchDecoder.TimersDecoder timer : scheduleTimerBatchDecoder.timers())
+                {
+                    consensusModuleAgent.onScheduleTimer(timer.correlationId(), timer.deadline());
+                }
+                break;
+
+            case CancelTimerBatchDecoder.TEMPLATE_ID:
+                cancelTimerBatchDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                for (final CancelTimerBatchDecoder.TimersDecoder timer : cancelTimerBatchDecoder.timers())
+                {
+                    consensusModuleAgent.onCancelTimer(timer.correlationId());
+                }
                 break;
 
             case ServiceAckDecoder.TEMPLATE_ID:
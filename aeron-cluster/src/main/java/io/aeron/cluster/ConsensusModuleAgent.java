@@ -379,9 +379,9 @@ class ConsensusModuleAgent implements Agent, MemberStatusListener
         }
     }
 
-    public boolean onTimerEvent(final long correlationId, final long nowMs)
+    public boolean onTimerEvents(final long[] correlationIds, final int count, final long nowMs)
     {
-        return Cluster.Role.LEADER != role || logPublisher.appendTimer(correlationId, nowMs);
+        return Cluster.Role.LEADER != role || logPublisher.appendTimers(correlationIds, count, nowMs);
     }
 
     public void onCanvassPosition(final long logLeadershipTermId, final long logPosition, final int followerMemberId)
@@ -1691,6 +1691,11 @@ class ConsensusModuleAgent implements Agent, MemberStatusListener
                     recordingId, leadershipTermId, termBaseLogPosition, logPosition, timestampMs, SERVICE_ID);
 
                 recordingLog.force();
+
+                if (ctx.recordingLogCompaction())
+                {
+                    recordingLog.compact(new ArrayList<>());
+                }
             }
             finally
             {
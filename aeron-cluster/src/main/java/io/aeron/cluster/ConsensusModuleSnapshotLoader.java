@@ -34,6 +34,7 @@ class ConsensusModuleSnapshotLoader implements ControlledFragmentHandler
     private final SnapshotMarkerDecoder snapshotMarkerDecoder = new SnapshotMarkerDecoder();
     private final ClusterSessionDecoder clusterSessionDecoder = new ClusterSessionDecoder();
     private final TimerDecoder timerDecoder = new TimerDecoder();
+    private final TimerBatchDecoder timerBatchDecoder = new TimerBatchDecoder();
     private final ConsensusModuleDecoder consensusModuleDecoder = new ConsensusModuleDecoder();
     private final Image image;
     private final ConsensusModuleAgent consensusModuleAgent;
@@ -121,6 +122,19 @@ class ConsensusModuleSnapshotLoader implements ControlledFragmentHandler
                 consensusModuleAgent.onScheduleTimer(timerDecoder.correlationId(), timerDecoder.deadline());
                 break;
 
+            case TimerBatchDecoder.TEMPLATE_ID:
+                timerBatchDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                for (final TimerBatchDecoder.TimersDecoder timer : timerBatchDecoder.timers())
+                {
+                    consensusModuleAgent.onScheduleTimer(timer.correlationId(), timer.deadline());
+                }
+                break;
+
             case ConsensusModuleDecoder.TEMPLATE_ID:
                 consensusModuleDecoder.wrap(
                     buffer,
@@ -23,17 +23,28 @@ import org.agrona.concurrent.IdleStrategy;
 
 class ConsensusModuleSnapshotTaker extends SnapshotTaker
 {
-    private static final int ENCODED_TIMER_LENGTH =
-        MessageHeaderEncoder.ENCODED_LENGTH + TimerEncoder.BLOCK_LENGTH;
+    private static final int TIMER_BATCH_HEADER_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH +
+        TimerBatchEncoder.BLOCK_LENGTH + TimerBatchEncoder.TimersEncoder.sbeHeaderSize();
+    private static final int MAX_TIMER_BATCH_COUNT = 0xFFFF;
 
     private final ClusterSessionEncoder clusterSessionEncoder = new ClusterSessionEncoder();
-    private final TimerEncoder timerEncoder = new TimerEncoder();
+    private final TimerBatchEncoder timerBatchEncoder = new TimerBatchEncoder();
     private final ConsensusModuleEncoder consensusModuleEncoder = new ConsensusModuleEncoder();
+    private final long[] timerCorrelationIds;
+    private final long[] timerDeadlines;
+    private int timerCount = 0;
 
     ConsensusModuleSnapshotTaker(
         final Publication publication, final IdleStrategy idleStrategy, final AgentInvoker aeronClientInvoker)
     {
         super(publication, idleStrategy, aeronClientInvoker);
+
+        final int timerEntryLength = TimerBatchEncoder.TimersEncoder.sbeBlockLength();
+        final int timerBatchCapacity = Math.min(
+            (publication.maxPayloadLength() - TIMER_BATCH_HEADER_LENGTH) / timerEntryLength, MAX_TIMER_BATCH_COUNT);
+
+        timerCorrelationIds = new long[timerBatchCapacity];
+        timerDeadlines = new long[timerBatchCapacity];
     }
 
     void snapshotSession(final ClusterSession session)
@@ -68,16 +79,38 @@ class ConsensusModuleSnapshotTaker extends SnapshotTaker
 
     void snapshotTimer(final long correlationId, final long deadline)
     {
+        timerCorrelationIds[timerCount] = correlationId;
+        timerDeadlines[timerCount] = deadline;
+
+        if (++timerCount == timerCorrelationIds.length)
+        {
+            flushTimers();
+        }
+    }
+
+    void flushTimers()
+    {
+        if (0 == timerCount)
+        {
+            return;
+        }
+
+        final int length = TIMER_BATCH_HEADER_LENGTH + (timerCount * TimerBatchEncoder.TimersEncoder.sbeBlockLength());
+
         idleStrategy.reset();
         while (true)
         {
-            final long result = publication.tryClaim(ENCODED_TIMER_LENGTH, bufferClaim);
+            final long result = publication.tryClaim(length, bufferClaim);
             if (result > 0)
             {
-                timerEncoder
+                final TimerBatchEncoder.TimersEncoder timersEncoder = timerBatchEncoder
                     .wrapAndApplyHeader(bufferClaim.buffer(), bufferClaim.offset(), messageHeaderEncoder)
-                    .correlationId(correlationId)
-                    .deadline(deadline);
+                    .timersCount(timerCount);
+
+                for (int i = 0; i < timerCount; i++)
+                {
+                    timersEncoder.next().correlationId(timerCorrelationIds[i]).deadline(timerDeadlines[i]);
+                }
 
                 bufferClaim.commit();
                 break;
@@ -85,6 +118,8 @@ class ConsensusModuleSnapshotTaker extends SnapshotTaker
 
             checkResultAndIdle(result);
         }
+
+        timerCount = 0;
     }
 
     void consensusModuleState(final long nextSessionId)
@@ -40,6 +40,7 @@ final class LogAdapter implements ControlledFragmentHandler, AutoCloseable
     private final SessionCloseEventDecoder sessionCloseEventDecoder = new SessionCloseEventDecoder();
     private final SessionHeaderDecoder sessionHeaderDecoder = new SessionHeaderDecoder();
     private final TimerEventDecoder timerEventDecoder = new TimerEventDecoder();
+    private final TimerEventBatchDecoder timerEventBatchDecoder = new TimerEventBatchDecoder();
     private final ClusterActionRequestDecoder clusterActionRequestDecoder = new ClusterActionRequestDecoder();
     private final NewLeadershipTermEventDecoder newLeadershipTermEventDecoder = new NewLeadershipTermEventDecoder();
 
@@ -110,15 +111,11 @@ final class LogAdapter implements ControlledFragmentHandler, AutoCloseable
         switch (templateId)
         {
             case TimerEventDecoder.TEMPLATE_ID:
-                timerEventDecoder.wrap(
-                    buffer,
-                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
-                    messageHeaderDecoder.blockLength(),
-                    messageHeaderDecoder.version());
+                onReplayTimerEvent(buffer, offset);
+                break;
 
-                consensusModuleAgent.onReplayTimerEvent(
-                    timerEventDecoder.correlationId(),
-                    timerEventDecoder.timestamp());
+            case TimerEventBatchDecoder.TEMPLATE_ID:
+                onReplayTimerEventBatch(buffer, offset);
                 break;
 
             case SessionOpenEventDecoder.TEMPLATE_ID:
@@ -183,4 +180,30 @@ final class LogAdapter implements ControlledFragmentHandler, AutoCloseable
 
         return Action.CONTINUE;
     }
+
+    private void onReplayTimerEvent(final DirectBuffer buffer, final int offset)
+    {
+        timerEventDecoder.wrap(
+            buffer,
+            offset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        consensusModuleAgent.onReplayTimerEvent(timerEventDecoder.correlationId(), timerEventDecoder.timestamp());
+    }
+
+    private void onReplayTimerEventBatch(final DirectBuffer buffer, final int offset)
+    {
+        timerEventBatchDecoder.wrap(
+            buffer,
+            offset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        final long timestamp = timerEventBatchDecoder.timestamp();
+        for (final TimerEventBatchDecoder.TimersDecoder timer : timerEventBatchDecoder.timers())
+        {
+            consensusModuleAgent.onReplayTimerEvent(timer.correlationId(), timestamp);
+        }
+    }
 }
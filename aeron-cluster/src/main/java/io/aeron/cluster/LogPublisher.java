@@ -31,6 +31,7 @@ class LogPublisher
     private final SessionOpenEventEncoder sessionOpenEventEncoder = new SessionOpenEventEncoder();
     private final SessionCloseEventEncoder sessionCloseEventEncoder = new SessionCloseEventEncoder();
     private final TimerEventEncoder timerEventEncoder = new TimerEventEncoder();
+    private final TimerEventBatchEncoder timerEventBatchEncoder = new TimerEventBatchEncoder();
     private final ClusterActionRequestEncoder clusterActionRequestEncoder = new ClusterActionRequestEncoder();
     private final NewLeadershipTermEventEncoder newLeadershipTermEventEncoder = new NewLeadershipTermEventEncoder();
     private final ExpandableArrayBuffer expandableArrayBuffer = new ExpandableArrayBuffer();
@@ -177,6 +178,41 @@ class LogPublisher
         return false;
     }
 
+    boolean appendTimers(final long[] correlationIds, final int count, final long nowMs)
+    {
+        if (1 == count)
+        {
+            return appendTimer(correlationIds[0], nowMs);
+        }
+
+        final TimerEventBatchEncoder.TimersEncoder timersEncoder = timerEventBatchEncoder
+            .wrapAndApplyHeader(expandableArrayBuffer, 0, messageHeaderEncoder)
+            .timestamp(nowMs)
+            .timersCount(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            timersEncoder.next().correlationId(correlationIds[i]);
+        }
+
+        final int length = MessageHeaderEncoder.ENCODED_LENGTH + timerEventBatchEncoder.encodedLength();
+
+        int attempts = SEND_ATTEMPTS;
+        do
+        {
+            final long result = publication.offer(expandableArrayBuffer, 0, length);
+            if (result > 0)
+            {
+                return true;
+            }
+
+            checkResult(result);
+        }
+        while (--attempts > 0);
+
+        return false;
+    }
+
     boolean appendClusterAction(
         final long leadershipTermId, final long logPosition, final long nowMs, final ClusterAction action)
     {
@@ -28,6 +28,7 @@ class RecordingExtent implements RecordingDescriptorConsumer
     public long startPosition;
     public long stopPosition;
     public int initialTermId;
+    public int segmentFileLength;
     public int termBufferLength;
     public int mtuLength;
     public int sessionId;
@@ -54,6 +55,7 @@ class RecordingExtent implements RecordingDescriptorConsumer
         this.startPosition = startPosition;
         this.stopPosition = stopPosition;
         this.initialTermId = initialTermId;
+        this.segmentFileLength = segmentFileLength;
         this.termBufferLength = termBufferLength;
         this.mtuLength = mtuLength;
         this.sessionId = sessionId;
@@ -66,6 +68,7 @@ class RecordingExtent implements RecordingDescriptorConsumer
             ", startPosition=" + startPosition +
             ", stopPosition=" + stopPosition +
             ", initialTermId=" + initialTermId +
+            ", segmentFileLength=" + segmentFileLength +
             ", termBufferLength=" + termBufferLength +
             ", mtuLength=" + mtuLength +
             ", sessionId=" + sessionId +
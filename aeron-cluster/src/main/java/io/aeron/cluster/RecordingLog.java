@@ -27,12 +27,15 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
 import static io.aeron.Aeron.NULL_VALUE;
 import static io.aeron.archive.client.AeronArchive.NULL_POSITION;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.*;
 import static org.agrona.BitUtil.*;
 
@@ -458,7 +461,8 @@ public class RecordingLog implements AutoCloseable
     private static final int ENTRY_LENGTH = BitUtil.align(ENTRY_TYPE_OFFSET + SIZE_OF_INT, CACHE_LINE_LENGTH);
 
     private int nextEntryIndex;
-    private final FileChannel fileChannel;
+    private FileChannel fileChannel;
+    private final File parentDir;
     private final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(4096).order(LITTLE_ENDIAN);
     private final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
     private final ArrayList<Entry> entries = new ArrayList<>();
@@ -471,6 +475,8 @@ public class RecordingLog implements AutoCloseable
      */
     public RecordingLog(final File parentDir)
     {
+        this.parentDir = parentDir;
+
         final File logFile = new File(parentDir, RECORDING_LOG_FILE_NAME);
         final boolean newFile = !logFile.exists();
 
@@ -841,6 +847,52 @@ public class RecordingLog implements AutoCloseable
         }
     }
 
+    /**
+     * Compact the log by removing snapshots which have been superseded by the latest snapshot.
+     * <p>
+     * Snapshots for earlier log positions and tombstoned entries are removed. Leadership term entries are retained,
+     * even for terms which ended before the latest snapshot, so a lagging member which canvasses from an earlier
+     * term can still be given the stop position of that term. The log is rewritten to a new file which atomically
+     * replaces the existing one and is then reloaded. If no snapshot exists then only tombstoned entries are removed.
+     *
+     * @param removedEntries into which the entries removed from the log will be added.
+     * @return the number of entries removed from the log including tombstoned entries.
+     */
+    public int compact(final List<Entry> removedEntries)
+    {
+        Entry latestSnapshot = null;
+        for (int i = entries.size() - 1; i >= 0; i--)
+        {
+            final Entry entry = entries.get(i);
+            if (ENTRY_TYPE_SNAPSHOT == entry.type)
+            {
+                latestSnapshot = entry;
+                break;
+            }
+        }
+
+        final ArrayList<Entry> retainedEntries = new ArrayList<>();
+        for (final Entry entry : entries)
+        {
+            if (null == latestSnapshot || !isSuperseded(entry, latestSnapshot))
+            {
+                retainedEntries.add(entry);
+            }
+            else
+            {
+                removedEntries.add(entry);
+            }
+        }
+
+        final int removedCount = nextEntryIndex - retainedEntries.size();
+        if (removedCount > 0)
+        {
+            rewrite(retainedEntries);
+        }
+
+        return removedCount;
+    }
+
     public String toString()
     {
         return "RecordingLog{" +
@@ -856,6 +908,37 @@ public class RecordingLog implements AutoCloseable
         final long logPosition,
         final long timestamp,
         final int serviceId)
+    {
+        writeEntry(
+            fileChannel,
+            entryType,
+            recordingId,
+            leadershipTermId,
+            termBaseLogPosition,
+            logPosition,
+            timestamp,
+            serviceId);
+
+        entries.add(new Entry(
+            recordingId,
+            leadershipTermId,
+            termBaseLogPosition,
+            logPosition,
+            timestamp,
+            serviceId,
+            entryType,
+            nextEntryIndex++));
+    }
+
+    private void writeEntry(
+        final FileChannel fileChannel,
+        final int entryType,
+        final long recordingId,
+        final long leadershipTermId,
+        final long termBaseLogPosition,
+        final long logPosition,
+        final long timestamp,
+        final int serviceId)
     {
         buffer.putLong(RECORDING_ID_OFFSET, recordingId, LITTLE_ENDIAN);
         buffer.putLong(LEADERSHIP_TERM_ID_OFFSET, leadershipTermId, LITTLE_ENDIAN);
@@ -878,16 +961,53 @@ public class RecordingLog implements AutoCloseable
         {
             LangUtil.rethrowUnchecked(ex);
         }
+    }
 
-        entries.add(new Entry(
-            recordingId,
-            leadershipTermId,
-            termBaseLogPosition,
-            logPosition,
-            timestamp,
-            serviceId,
-            entryType,
-            nextEntryIndex++));
+    private void rewrite(final ArrayList<Entry> retainedEntries)
+    {
+        final File logFile = new File(parentDir, RECORDING_LOG_FILE_NAME);
+        final File compactedFile = new File(parentDir, RECORDING_LOG_FILE_NAME + ".compact");
+
+        try
+        {
+            try (FileChannel compactedChannel = FileChannel.open(
+                compactedFile.toPath(), CREATE, TRUNCATE_EXISTING, WRITE))
+            {
+                for (final Entry entry : retainedEntries)
+                {
+                    writeEntry(
+                        compactedChannel,
+                        entry.type,
+                        entry.recordingId,
+                        entry.leadershipTermId,
+                        entry.termBaseLogPosition,
+                        entry.logPosition,
+                        entry.timestamp,
+                        entry.serviceId);
+                }
+
+                compactedChannel.force(true);
+            }
+
+            CloseHelper.close(fileChannel);
+            Files.move(compactedFile.toPath(), logFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            syncDirectory(parentDir);
+
+            fileChannel = FileChannel.open(logFile.toPath(), READ, WRITE);
+        }
+        catch (final IOException ex)
+        {
+            throw new ClusterException(ex);
+        }
+
+        reload();
+    }
+
+    private static boolean isSuperseded(final Entry entry, final Entry latestSnapshot)
+    {
+        return ENTRY_TYPE_SNAPSHOT == entry.type &&
+            (entry.leadershipTermId != latestSnapshot.leadershipTermId ||
+            entry.logPosition != latestSnapshot.logPosition);
     }
 
     private void captureEntriesFromBuffer(
@@ -20,13 +20,16 @@ import org.agrona.collections.Long2LongHashMap;
 
 import java.util.concurrent.TimeUnit;
 
-import static io.aeron.cluster.ConsensusModule.Configuration.TIMER_POLL_LIMIT;
+import static io.aeron.cluster.ConsensusModule.Configuration.TIMER_BATCH_LIMIT;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 class TimerService implements DeadlineTimerWheel.TimerHandler
 {
     private final ConsensusModuleAgent consensusModuleAgent;
     private final DeadlineTimerWheel timerWheel = new DeadlineTimerWheel(MILLISECONDS, 0, 1, 128);
+    private final long[] expiredCorrelationIds = new long[TIMER_BATCH_LIMIT];
+    private int expiredCount = 0;
+    private long expiredTimeMs;
     private Long2LongHashMap timerIdByCorrelationIdMap = new Long2LongHashMap(Long.MAX_VALUE);
     private Long2LongHashMap correlationIdByTimerIdMap = new Long2LongHashMap(Long.MAX_VALUE);
 
@@ -37,12 +40,26 @@ class TimerService implements DeadlineTimerWheel.TimerHandler
 
     int poll(final long nowMs)
     {
-        return timerWheel.poll(nowMs, this, TIMER_POLL_LIMIT);
+        int expired = 0;
+        int polled;
+        do
+        {
+            polled = timerWheel.poll(nowMs, this, TIMER_BATCH_LIMIT - expiredCount);
+            expired += polled;
+        }
+        while (polled > 0 && expiredCount < TIMER_BATCH_LIMIT);
+
+        if (expiredCount > 0 && consensusModuleAgent.onTimerEvents(expiredCorrelationIds, expiredCount, nowMs))
+        {
+            expiredCount = 0;
+        }
+
+        return expired;
     }
 
     long timerCount()
     {
-        return timerWheel.timerCount();
+        return timerWheel.timerCount() + expiredCount;
     }
 
     long currentTickTimeMs()
@@ -55,7 +72,10 @@ class TimerService implements DeadlineTimerWheel.TimerHandler
         final long correlationId = correlationIdByTimerIdMap.remove(timerId);
         timerIdByCorrelationIdMap.remove(correlationId);
 
-        return consensusModuleAgent.onTimerEvent(correlationId, now);
+        expiredCorrelationIds[expiredCount++] = correlationId;
+        expiredTimeMs = now;
+
+        return true;
     }
 
     void scheduleTimer(final long correlationId, final long deadlineMs)
@@ -78,22 +98,35 @@ class TimerService implements DeadlineTimerWheel.TimerHandler
             return true;
         }
 
-        return false;
+        return cancelExpiredTimer(correlationId);
     }
 
     void snapshot(final ConsensusModuleSnapshotTaker snapshotTaker)
     {
-        final Long2LongHashMap.EntryIterator iter =
-            (Long2LongHashMap.EntryIterator)timerIdByCorrelationIdMap.entrySet().iterator();
-
-        while (iter.hasNext())
+        for (int i = 0; i < expiredCount; i++)
         {
-            iter.next();
+            snapshotTaker.snapshotTimer(expiredCorrelationIds[i], expiredTimeMs);
+        }
+
+        timerWheel.forEach(
+            (deadline, timerId) -> snapshotTaker.snapshotTimer(correlationIdByTimerIdMap.get(timerId), deadline));
+
+        snapshotTaker.flushTimers();
+    }
 
-            final long correlationId = iter.getLongKey();
-            final long deadline = timerWheel.deadline(iter.getLongValue());
+    private boolean cancelExpiredTimer(final long correlationId)
+    {
+        for (int i = 0, lastIndex = expiredCount - 1; i <= lastIndex; i++)
+        {
+            if (expiredCorrelationIds[i] == correlationId)
+            {
+                System.arraycopy(expiredCorrelationIds, i + 1, expiredCorrelationIds, i, lastIndex - i);
+                expiredCount--;
 
-            snapshotTaker.snapshotTimer(correlationId, deadline);
+                return true;
+            }
         }
+
+        return false;
     }
 }
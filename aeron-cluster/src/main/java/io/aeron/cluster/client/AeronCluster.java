@@ -51,19 +51,25 @@ public final class AeronCluster implements AutoCloseable
     private static final int SEND_ATTEMPTS = 3;
     private static final int CONNECT_FRAGMENT_LIMIT = 1;
     private static final int SESSION_FRAGMENT_LIMIT = 10;
+    private static final int QUERY_HEADER_LENGTH =
+        MessageHeaderEncoder.ENCODED_LENGTH + QueryHeaderEncoder.BLOCK_LENGTH;
+    private static final Publication[] EMPTY_PUBLICATIONS = new Publication[0];
 
     private long lastCorrelationId = Aeron.NULL_VALUE;
     private final long clusterSessionId;
     private int leaderMemberId = Aeron.NULL_VALUE;
+    private int queryIndex = 0;
     private final boolean isUnicast;
     private final Context ctx;
     private final Aeron aeron;
     private final Subscription subscription;
     private Publication publication;
+    private Publication[] queryPublications = EMPTY_PUBLICATIONS;
     private final NanoClock nanoClock;
     private final IdleStrategy idleStrategy;
 
     private final Int2ObjectHashMap<String> endpointByMemberIdMap = new Int2ObjectHashMap<>();
+    private final Int2ObjectHashMap<Publication> queryPublicationByMemberIdMap = new Int2ObjectHashMap<>();
     private final BufferClaim bufferClaim = new BufferClaim();
     private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
     private final SessionKeepAliveRequestEncoder keepAliveRequestEncoder = new SessionKeepAliveRequestEncoder();
@@ -71,8 +77,12 @@ public final class AeronCluster implements AutoCloseable
     private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
     private final SessionHeaderDecoder sessionHeaderDecoder = new SessionHeaderDecoder();
     private final NewLeaderEventDecoder newLeaderEventDecoder = new NewLeaderEventDecoder();
+    private final SessionMessageBatchReader sessionMessageBatchReader = new SessionMessageBatchReader();
     private final DirectBufferVector[] vectors = new DirectBufferVector[2];
     private final DirectBufferVector messageBuffer = new DirectBufferVector();
+    private final QueryHeaderEncoder queryHeaderEncoder = new QueryHeaderEncoder();
+    private final DirectBufferVector[] queryVectors = new DirectBufferVector[2];
+    private final DirectBufferVector queryBuffer = new DirectBufferVector();
     private final FragmentAssembler fragmentAssembler = new FragmentAssembler(this::onFragment, 0, true);
     private final SessionMessageListener sessionMessageListener;
 
@@ -128,6 +138,16 @@ public final class AeronCluster implements AutoCloseable
 
             vectors[0] = new DirectBufferVector(headerBuffer, 0, SESSION_HEADER_LENGTH);
             vectors[1] = messageBuffer;
+
+            final UnsafeBuffer queryHeaderBuffer = new UnsafeBuffer(new byte[QUERY_HEADER_LENGTH]);
+            queryHeaderEncoder
+                .wrapAndApplyHeader(queryHeaderBuffer, 0, messageHeaderEncoder)
+                .clusterSessionId(clusterSessionId);
+
+            queryVectors[0] = new DirectBufferVector(queryHeaderBuffer, 0, QUERY_HEADER_LENGTH);
+            queryVectors[1] = queryBuffer;
+
+            addQueryPublications();
         }
         catch (final Exception ex)
         {
@@ -135,6 +155,7 @@ public final class AeronCluster implements AutoCloseable
             {
                 CloseHelper.quietClose(publication);
                 CloseHelper.quietClose(subscription);
+                closeQueryPublications();
             }
 
             CloseHelper.quietClose(ctx);
@@ -156,6 +177,7 @@ public final class AeronCluster implements AutoCloseable
         {
             CloseHelper.close(subscription);
             CloseHelper.close(publication);
+            closeQueryPublications();
         }
 
         ctx.close();
@@ -258,6 +280,82 @@ public final class AeronCluster implements AutoCloseable
         return publication.offer(vectors, null);
     }
 
+    /**
+     * Non-blocking publish of a read-only query plus query header to the next available member of the cluster in
+     * round-robin order so reads can be spread across members. The query is not appended to the log and is served
+     * by {@link io.aeron.cluster.service.ClusteredService#onQuery} with any response delivered via the egress.
+     * <p>
+     * <b>Note:</b> {@link Context#queryChannel()} must be set.
+     *
+     * @param correlationId to be used to identify the query and its response.
+     * @param consistency   required by the member before serving the query.
+     * @param buffer        containing query.
+     * @param offset        offset in the buffer at which the encoded query begins.
+     * @param length        in bytes of the encoded query.
+     * @return the same as {@link Publication#offer(DirectBuffer, int, int)} for the last member attempted.
+     */
+    public long offerQuery(
+        final long correlationId,
+        final QueryConsistency consistency,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        final Publication[] publications = queryPublications;
+        final int count = publications.length;
+        if (0 == count)
+        {
+            throw new ClusterException("query channel not configured");
+        }
+
+        long result = Publication.NOT_CONNECTED;
+        for (int i = 0; i < count; i++)
+        {
+            final int index = queryIndex;
+            queryIndex = index + 1 < count ? index + 1 : 0;
+
+            result = offerQuery(publications[index], correlationId, consistency, buffer, offset, length);
+            if (result > 0)
+            {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Non-blocking publish of a read-only query plus query header to a specific member of the cluster. The query is
+     * not appended to the log and is served by {@link io.aeron.cluster.service.ClusteredService#onQuery} with any
+     * response delivered via the egress.
+     * <p>
+     * <b>Note:</b> {@link Context#queryChannel()} and {@link Context#clusterMemberEndpoints()} must be set.
+     *
+     * @param memberId      of the member to which the query should be sent.
+     * @param correlationId to be used to identify the query and its response.
+     * @param consistency   required by the member before serving the query.
+     * @param buffer        containing query.
+     * @param offset        offset in the buffer at which the encoded query begins.
+     * @param length        in bytes of the encoded query.
+     * @return the same as {@link Publication#offer(DirectBuffer, int, int)}.
+     */
+    public long offerQuery(
+        final int memberId,
+        final long correlationId,
+        final QueryConsistency consistency,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        final Publication publication = queryPublicationByMemberIdMap.get(memberId);
+        if (null == publication)
+        {
+            throw new ClusterException("no query publication for memberId=" + memberId);
+        }
+
+        return offerQuery(publication, correlationId, consistency, buffer, offset, length);
+    }
+
     /**
      * Send a keep alive message to the cluster to keep this session open.
      *
@@ -338,9 +436,74 @@ public final class AeronCluster implements AutoCloseable
             final ChannelUri channelUri = ChannelUri.parse(ctx.ingressChannel());
             channelUri.put(CommonContext.ENDPOINT_PARAM_NAME, endpointByMemberIdMap.get(leaderMemberId));
             publication = addIngressPublication(channelUri.toString(), ctx.ingressStreamId());
+
+            closeQueryPublications();
+            addQueryPublications();
         }
     }
 
+    private long offerQuery(
+        final Publication publication,
+        final long correlationId,
+        final QueryConsistency consistency,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        queryHeaderEncoder
+            .correlationId(correlationId)
+            .consistency(consistency);
+
+        queryBuffer.reset(buffer, offset, length);
+
+        return publication.offer(queryVectors, null);
+    }
+
+    private void addQueryPublications()
+    {
+        final String queryChannel = ctx.queryChannel();
+        if (null == queryChannel)
+        {
+            return;
+        }
+
+        if (isUnicast)
+        {
+            final ChannelUri channelUri = ChannelUri.parse(queryChannel);
+            final Publication[] publications = new Publication[endpointByMemberIdMap.size()];
+            int i = 0;
+
+            for (final Map.Entry<Integer, String> entry : endpointByMemberIdMap.entrySet())
+            {
+                channelUri.put(CommonContext.ENDPOINT_PARAM_NAME, entry.getValue());
+                final Publication publication = aeron.addExclusivePublication(
+                    channelUri.toString(), ctx.queryStreamId());
+
+                publications[i++] = publication;
+                queryPublicationByMemberIdMap.put(entry.getKey(), publication);
+            }
+
+            queryPublications = publications;
+        }
+        else
+        {
+            queryPublications = new Publication[]{ aeron.addExclusivePublication(queryChannel, ctx.queryStreamId()) };
+        }
+
+        queryIndex = 0;
+    }
+
+    private void closeQueryPublications()
+    {
+        for (final Publication publication : queryPublications)
+        {
+            CloseHelper.close(publication);
+        }
+
+        queryPublications = EMPTY_PUBLICATIONS;
+        queryPublicationByMemberIdMap.clear();
+    }
+
     private void updateMemberEndpoints(final String memberEndpoints)
     {
         endpointByMemberIdMap.clear();
@@ -388,6 +551,13 @@ public final class AeronCluster implements AutoCloseable
                     header);
             }
         }
+        else if (SessionMessageBatchDecoder.TEMPLATE_ID == templateId)
+        {
+            if (sessionMessageBatchReader.wrap(buffer, offset, messageHeaderDecoder) == clusterSessionId)
+            {
+                sessionMessageBatchReader.forEachMessage(sessionMessageListener, header);
+            }
+        }
         else if (NewLeaderEventDecoder.TEMPLATE_ID == templateId)
         {
             newLeaderEventDecoder.wrap(
@@ -749,6 +919,28 @@ public final class AeronCluster implements AutoCloseable
          */
         public static final int EGRESS_STREAM_ID_DEFAULT = 102;
 
+        /**
+         * Channel for sending read-only queries directly to members of a cluster. When using unicast the endpoints
+         * from {@link #CLUSTER_MEMBER_ENDPOINTS_PROP_NAME} are substituted in the same way as for ingress. If not
+         * set then queries cannot be sent.
+         */
+        public static final String QUERY_CHANNEL_PROP_NAME = "aeron.cluster.query.channel";
+
+        /**
+         * Default channel for sending read-only queries which is null so queries are not enabled.
+         */
+        public static final String QUERY_CHANNEL_DEFAULT = null;
+
+        /**
+         * Stream id within a channel for sending read-only queries to a cluster.
+         */
+        public static final String QUERY_STREAM_ID_PROP_NAME = "aeron.cluster.query.stream.id";
+
+        /**
+         * Default stream id within a channel for sending read-only queries to a cluster.
+         */
+        public static final int QUERY_STREAM_ID_DEFAULT = 109;
+
         /**
          * The timeout in nanoseconds to wait for a message.
          *
@@ -820,6 +1012,30 @@ public final class AeronCluster implements AutoCloseable
         {
             return Integer.getInteger(EGRESS_STREAM_ID_PROP_NAME, EGRESS_STREAM_ID_DEFAULT);
         }
+
+        /**
+         * The value {@link #QUERY_CHANNEL_DEFAULT} or system property
+         * {@link #QUERY_CHANNEL_PROP_NAME} if set.
+         *
+         * @return {@link #QUERY_CHANNEL_DEFAULT} or system property
+         * {@link #QUERY_CHANNEL_PROP_NAME} if set.
+         */
+        public static String queryChannel()
+        {
+            return System.getProperty(QUERY_CHANNEL_PROP_NAME, QUERY_CHANNEL_DEFAULT);
+        }
+
+        /**
+         * The value {@link #QUERY_STREAM_ID_DEFAULT} or system property
+         * {@link #QUERY_STREAM_ID_PROP_NAME} if set.
+         *
+         * @return {@link #QUERY_STREAM_ID_DEFAULT} or system property
+         * {@link #QUERY_STREAM_ID_PROP_NAME} if set.
+         */
+        public static int queryStreamId()
+        {
+            return Integer.getInteger(QUERY_STREAM_ID_PROP_NAME, QUERY_STREAM_ID_DEFAULT);
+        }
     }
 
     /**
@@ -833,6 +1049,8 @@ public final class AeronCluster implements AutoCloseable
         private int ingressStreamId = Configuration.ingressStreamId();
         private String egressChannel = Configuration.egressChannel();
         private int egressStreamId = Configuration.egressStreamId();
+        private String queryChannel = Configuration.queryChannel();
+        private int queryStreamId = Configuration.queryStreamId();
         private IdleStrategy idleStrategy;
         private String aeronDirectoryName = CommonContext.getAeronDirectoryName();
         private Aeron aeron;
@@ -1048,6 +1266,57 @@ public final class AeronCluster implements AutoCloseable
             return egressStreamId;
         }
 
+        /**
+         * Set the channel parameter for sending read-only queries directly to members.
+         * <p>
+         * The endpoints representing members for use with unicast are substituted from the
+         * {@link #clusterMemberEndpoints()} for endpoints. A null value disables queries.
+         *
+         * @param channel parameter for sending read-only queries.
+         * @return this for a fluent API.
+         * @see Configuration#QUERY_CHANNEL_PROP_NAME
+         */
+        public Context queryChannel(final String channel)
+        {
+            queryChannel = channel;
+            return this;
+        }
+
+        /**
+         * Get the channel parameter for sending read-only queries directly to members.
+         *
+         * @return the channel parameter for sending read-only queries or null if queries are not enabled.
+         * @see Configuration#QUERY_CHANNEL_PROP_NAME
+         */
+        public String queryChannel()
+        {
+            return queryChannel;
+        }
+
+        /**
+         * Set the stream id for sending read-only queries.
+         *
+         * @param streamId for sending read-only queries.
+         * @return this for a fluent API
+         * @see Configuration#QUERY_STREAM_ID_PROP_NAME
+         */
+        public Context queryStreamId(final int streamId)
+        {
+            queryStreamId = streamId;
+            return this;
+        }
+
+        /**
+         * Get the stream id for sending read-only queries.
+         *
+         * @return the stream id for sending read-only queries.
+         * @see Configuration#QUERY_STREAM_ID_PROP_NAME
+         */
+        public int queryStreamId()
+        {
+            return queryStreamId;
+        }
+
         /**
          * Set the {@link IdleStrategy} used when waiting for responses.
          *
@@ -36,6 +36,7 @@ public class EgressAdapter implements FragmentHandler
     private final SessionEventDecoder sessionEventDecoder = new SessionEventDecoder();
     private final NewLeaderEventDecoder newLeaderEventDecoder = new NewLeaderEventDecoder();
     private final SessionHeaderDecoder sessionHeaderDecoder = new SessionHeaderDecoder();
+    private final SessionMessageBatchReader sessionMessageBatchReader = new SessionMessageBatchReader();
     private final FragmentAssembler fragmentAssembler = new FragmentAssembler(this);
     private final EgressListener listener;
     private final Subscription subscription;
@@ -87,6 +88,13 @@ public class EgressAdapter implements FragmentHandler
                 break;
             }
 
+            case SessionMessageBatchDecoder.TEMPLATE_ID:
+                if (sessionMessageBatchReader.wrap(buffer, offset, messageHeaderDecoder) == clusterSessionId)
+                {
+                    sessionMessageBatchReader.forEachMessage(listener, header);
+                }
+                break;
+
             case SessionEventDecoder.TEMPLATE_ID:
             {
                 sessionEventDecoder.wrap(
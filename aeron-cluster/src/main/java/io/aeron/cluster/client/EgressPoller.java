@@ -30,6 +30,7 @@ public class EgressPoller implements ControlledFragmentHandler
     private final SessionEventDecoder sessionEventDecoder = new SessionEventDecoder();
     private final NewLeaderEventDecoder newLeaderEventDecoder = new NewLeaderEventDecoder();
     private final SessionHeaderDecoder sessionHeaderDecoder = new SessionHeaderDecoder();
+    private final SessionMessageBatchReader sessionMessageBatchReader = new SessionMessageBatchReader();
     private final ChallengeDecoder challengeDecoder = new ChallengeDecoder();
     private final ControlledFragmentAssembler fragmentAssembler = new ControlledFragmentAssembler(this);
     private final Subscription subscription;
@@ -205,6 +206,10 @@ public class EgressPoller implements ControlledFragmentHandler
                 correlationId = sessionHeaderDecoder.correlationId();
                 break;
 
+            case SessionMessageBatchDecoder.TEMPLATE_ID:
+                clusterSessionId = sessionMessageBatchReader.wrap(buffer, offset, messageHeaderDecoder);
+                break;
+
             case ChallengeDecoder.TEMPLATE_ID:
                 challengeDecoder.wrap(
                     buffer,
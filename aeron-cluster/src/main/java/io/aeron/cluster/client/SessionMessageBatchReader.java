@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.client;
+
+import io.aeron.cluster.codecs.MessageHeaderDecoder;
+import io.aeron.cluster.codecs.SessionMessageBatchDecoder;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+/**
+ * Decodes a {@link SessionMessageBatchDecoder} egress message and splits it into the individual session messages
+ * which were coalesced by the cluster.
+ */
+final class SessionMessageBatchReader
+{
+    private final SessionMessageBatchDecoder sessionMessageBatchDecoder = new SessionMessageBatchDecoder();
+
+    /**
+     * Wrap a batch which follows the message header at an offset in a buffer.
+     *
+     * @param buffer               containing the batch.
+     * @param offset               at which the message header for the batch begins.
+     * @param messageHeaderDecoder which has been wrapped over the message header for the batch.
+     * @return the cluster session id to which the messages in the batch belong.
+     */
+    long wrap(final DirectBuffer buffer, final int offset, final MessageHeaderDecoder messageHeaderDecoder)
+    {
+        sessionMessageBatchDecoder.wrap(
+            buffer,
+            offset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        return sessionMessageBatchDecoder.clusterSessionId();
+    }
+
+    /**
+     * Deliver each message of the last wrapped batch, in the order they were offered, to a listener.
+     *
+     * @param listener to receive each message of the batch.
+     * @param header   of the fragment which contained the batch.
+     */
+    void forEachMessage(final SessionMessageListener listener, final Header header)
+    {
+        final long clusterSessionId = sessionMessageBatchDecoder.clusterSessionId();
+        final DirectBuffer buffer = sessionMessageBatchDecoder.buffer();
+
+        for (final SessionMessageBatchDecoder.MessagesDecoder messages : sessionMessageBatchDecoder.messages())
+        {
+            final long correlationId = messages.correlationId();
+            final long timestamp = messages.timestamp();
+            final int payloadLength = messages.payloadLength();
+            final int payloadOffset = sessionMessageBatchDecoder.limit() +
+                SessionMessageBatchDecoder.MessagesDecoder.payloadHeaderLength();
+            sessionMessageBatchDecoder.limit(payloadOffset + payloadLength);
+
+            listener.onMessage(
+                correlationId, clusterSessionId, timestamp, buffer, payloadOffset, payloadLength, header);
+        }
+    }
+}
@@ -40,6 +40,7 @@ final class BoundedLogAdapter implements ControlledFragmentHandler, AutoCloseabl
     private final SessionCloseEventDecoder closeEventDecoder = new SessionCloseEventDecoder();
     private final SessionHeaderDecoder sessionHeaderDecoder = new SessionHeaderDecoder();
     private final TimerEventDecoder timerEventDecoder = new TimerEventDecoder();
+    private final TimerEventBatchDecoder timerEventBatchDecoder = new TimerEventBatchDecoder();
     private final ClusterActionRequestDecoder actionRequestDecoder = new ClusterActionRequestDecoder();
     private final NewLeadershipTermEventDecoder newLeadershipTermEventDecoder = new NewLeadershipTermEventDecoder();
 
@@ -69,6 +70,11 @@ final class BoundedLogAdapter implements ControlledFragmentHandler, AutoCloseabl
         return image.position();
     }
 
+    public long commitPosition()
+    {
+        return upperBound.get();
+    }
+
     public boolean isConsumed(final CountersReader counters)
     {
         return image.position() >= CommitPos.getMaxLogPosition(counters, upperBound.counterId());
@@ -87,6 +93,20 @@ final class BoundedLogAdapter implements ControlledFragmentHandler, AutoCloseabl
 
         if (templateId == SessionHeaderDecoder.TEMPLATE_ID)
         {
+            final int sessionHeaderOffset = offset + MessageHeaderDecoder.ENCODED_LENGTH;
+            final long clusterSessionId = buffer.getLong(
+                sessionHeaderOffset + SessionHeaderDecoder.clusterSessionIdEncodingOffset(),
+                SessionHeaderDecoder.BYTE_ORDER);
+
+            if (!agent.isInPartition(clusterSessionId))
+            {
+                agent.onSkippedSessionMessage(buffer.getLong(
+                    sessionHeaderOffset + SessionHeaderDecoder.timestampEncodingOffset(),
+                    SessionHeaderDecoder.BYTE_ORDER));
+
+                return Action.CONTINUE;
+            }
+
             sessionHeaderDecoder.wrap(
                 buffer,
                 offset + MessageHeaderDecoder.ENCODED_LENGTH,
@@ -117,6 +137,20 @@ final class BoundedLogAdapter implements ControlledFragmentHandler, AutoCloseabl
                 agent.onTimerEvent(timerEventDecoder.correlationId(), timerEventDecoder.timestamp());
                 break;
 
+            case TimerEventBatchDecoder.TEMPLATE_ID:
+                timerEventBatchDecoder.wrap(
+                    buffer,
+                    offset + MessageHeaderDecoder.ENCODED_LENGTH,
+                    messageHeaderDecoder.blockLength(),
+                    messageHeaderDecoder.version());
+
+                final long timestamp = timerEventBatchDecoder.timestamp();
+                for (final TimerEventBatchDecoder.TimersDecoder timer : timerEventBatchDecoder.timers())
+                {
+                    agent.onTimerEvent(timer.correlationId(), timestamp);
+                }
+                break;
+
             case SessionOpenEventDecoder.TEMPLATE_ID:
                 openEventDecoder.wrap(
                     buffer,
@@ -18,9 +18,12 @@ package io.aeron.cluster.service;
 import io.aeron.Aeron;
 import io.aeron.DirectBufferVector;
 import io.aeron.Publication;
+import io.aeron.ReservedValueSupplier;
 import io.aeron.cluster.client.ClusterException;
 import io.aeron.cluster.codecs.MessageHeaderEncoder;
 import io.aeron.cluster.codecs.SessionHeaderEncoder;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -41,6 +44,14 @@ public class ClientSession
      */
     public static final long MOCKED_OFFER = 1;
 
+    /**
+     * Return value to indicate a message has been added to the egress batch for the session which will be sent
+     * when the batch is flushed.
+     */
+    public static final long COALESCED_OFFER = 2;
+
+    private static final DirectBufferVector EMPTY_VECTOR = new DirectBufferVector(new UnsafeBuffer(new byte[0]), 0, 0);
+
     private final long id;
     private long lastCorrelationId;
     private final int responseStreamId;
@@ -48,6 +59,10 @@ public class ClientSession
     private final byte[] encodedPrincipal;
     private final DirectBufferVector[] vectors = new DirectBufferVector[2];
     private final DirectBufferVector messageBuffer = new DirectBufferVector();
+    private DirectBufferVector[] gatherVectors = new DirectBufferVector[0];
+    private EgressBatch egressBatch;
+    private int egressBatchLimit;
+    private UnsafeBuffer mockClaimBuffer;
     private final SessionHeaderEncoder sessionHeaderEncoder = new SessionHeaderEncoder();
     private final ClusteredServiceAgent cluster;
     private Publication responsePublication;
@@ -145,7 +160,8 @@ public class ClientSession
      * @param offset        offset in the buffer at which the encoded message begins.
      * @param length        in bytes of the encoded message.
      * @return the same as {@link Publication#offer(DirectBuffer, int, int)} when in {@link Cluster.Role#LEADER}
-     * otherwise {@link #MOCKED_OFFER}.
+     * or responding to a query via {@link ClusteredService#onQuery}, otherwise {@link #MOCKED_OFFER}.
+     * {@link #COALESCED_OFFER} is returned if the message has been added to the egress batch for the session.
      */
     public long offer(
         final long correlationId,
@@ -153,23 +169,7 @@ public class ClientSession
         final int offset,
         final int length)
     {
-        if (cluster.role() != Cluster.Role.LEADER)
-        {
-            return MOCKED_OFFER;
-        }
-
-        if (null == responsePublication)
-        {
-            throw new ClusterException("session not connected id=" + id);
-        }
-
-        sessionHeaderEncoder
-            .correlationId(correlationId)
-            .timestamp(cluster.timeMs());
-
-        messageBuffer.reset(buffer, offset, length);
-
-        return responsePublication.offer(vectors, null);
+        return offer(correlationId, cluster.timeMs(), buffer, offset, length);
     }
 
     /**
@@ -181,7 +181,8 @@ public class ClientSession
      * @param offset        offset in the buffer at which the encoded message begins.
      * @param length        in bytes of the encoded message.
      * @return the same as {@link Publication#offer(DirectBuffer, int, int)} when in {@link Cluster.Role#LEADER}
-     * otherwise {@link #MOCKED_OFFER}.
+     * or responding to a query via {@link ClusteredService#onQuery}, otherwise {@link #MOCKED_OFFER}.
+     * {@link #COALESCED_OFFER} is returned if the message has been added to the egress batch for the session.
      */
     public long offer(
         final long correlationId,
@@ -190,14 +191,22 @@ public class ClientSession
         final int offset,
         final int length)
     {
-        if (cluster.role() != Cluster.Role.LEADER)
+        if (isMocked())
         {
             return MOCKED_OFFER;
         }
 
-        if (null == responsePublication)
+        if (cluster.isEgressCoalescing())
         {
-            throw new ClusterException("session not connected id=" + id);
+            final long result = prepareBatch(length);
+            if (result < 0)
+            {
+                return result;
+            }
+
+            egressBatch.append(correlationId, timestampMs, buffer, offset, length);
+
+            return COALESCED_OFFER;
         }
 
         sessionHeaderEncoder
@@ -209,11 +218,284 @@ public class ClientSession
         return responsePublication.offer(vectors, null);
     }
 
+    /**
+     * Non-blocking publish of a message which is gathered from a sequence of vectors.
+     *
+     * @param correlationId to be used to identify the message to the cluster.
+     * @param messageVectors which make up the message when concatenated.
+     * @return the same as {@link Publication#offer(DirectBufferVector[], ReservedValueSupplier)} when in
+     * {@link Cluster.Role#LEADER} or responding to a query via {@link ClusteredService#onQuery}, otherwise
+     * {@link #MOCKED_OFFER}. {@link #COALESCED_OFFER} is returned if the message has been added to the egress batch.
+     */
+    public long offer(final long correlationId, final DirectBufferVector[] messageVectors)
+    {
+        if (isMocked())
+        {
+            return MOCKED_OFFER;
+        }
+
+        final long timestampMs = cluster.timeMs();
+
+        if (cluster.isEgressCoalescing())
+        {
+            final long result = prepareBatch(DirectBufferVector.validateAndComputeLength(messageVectors));
+            if (result < 0)
+            {
+                return result;
+            }
+
+            egressBatch.append(correlationId, timestampMs, messageVectors);
+
+            return COALESCED_OFFER;
+        }
+
+        final int vectorCount = messageVectors.length + 1;
+        if (gatherVectors.length < vectorCount)
+        {
+            gatherVectors = new DirectBufferVector[vectorCount];
+            gatherVectors[0] = vectors[0];
+        }
+
+        System.arraycopy(messageVectors, 0, gatherVectors, 1, messageVectors.length);
+        for (int i = vectorCount; i < gatherVectors.length; i++)
+        {
+            gatherVectors[i] = EMPTY_VECTOR;
+        }
+
+        sessionHeaderEncoder
+            .correlationId(correlationId)
+            .timestamp(timestampMs);
+
+        return responsePublication.offer(gatherVectors, null);
+    }
+
+    /**
+     * Non-blocking publish of many messages, each contained in a vector, which share a correlation id. The messages
+     * are sent together in a single frame and are delivered to the client as individual messages. The batch, including
+     * the framing of each message, must fit within the {@link Publication#maxMessageLength()} of the response
+     * publication otherwise a {@link ClusterException} is thrown and nothing is sent.
+     *
+     * @param correlationId to be used to identify the messages to the cluster.
+     * @param messages      each of which will be delivered as a separate message.
+     * @return the same as {@link Publication#offer(DirectBuffer, int, int)} when in {@link Cluster.Role#LEADER}
+     * or responding to a query via {@link ClusteredService#onQuery}, otherwise {@link #MOCKED_OFFER}.
+     * {@link #COALESCED_OFFER} is returned if the messages have been added to the egress batch for the session.
+     */
+    public long offerBatch(final long correlationId, final DirectBufferVector[] messages)
+    {
+        if (isMocked())
+        {
+            return MOCKED_OFFER;
+        }
+
+        if (messages.length > EgressBatch.MAX_MESSAGE_COUNT)
+        {
+            throw new ClusterException("too many messages for batch: " + messages.length);
+        }
+
+        int batchLength = 0;
+        for (final DirectBufferVector message : messages)
+        {
+            batchLength += EgressBatch.entryLength(message.length());
+        }
+
+        checkBatchLength(batchLength);
+
+        final boolean isCoalescing = cluster.isEgressCoalescing();
+        if (null == egressBatch)
+        {
+            egressBatch = new EgressBatch(id);
+        }
+        else if (!isCoalescing || !hasBatchCapacity(batchLength, messages.length))
+        {
+            final long result = flushBatch();
+            if (result < 0)
+            {
+                return result;
+            }
+        }
+
+        if (egressBatch.isEmpty() && isCoalescing)
+        {
+            cluster.onEgressBatchPending(this);
+        }
+
+        final long timestampMs = cluster.timeMs();
+        for (final DirectBufferVector message : messages)
+        {
+            egressBatch.append(correlationId, timestampMs, message.buffer(), message.offset(), message.length());
+        }
+
+        if (isCoalescing)
+        {
+            return COALESCED_OFFER;
+        }
+
+        final long result = egressBatch.offer(responsePublication);
+        if (result < 0)
+        {
+            egressBatch.reset();
+        }
+
+        return result;
+    }
+
+    /**
+     * Try to claim a range in the egress publication into which a message can be written with zero copy semantics.
+     * The session header will be written and the message should be encoded from
+     * {@link BufferClaim#offset()} + {@link #SESSION_HEADER_LENGTH}. Once the message has been written then
+     * {@link BufferClaim#commit()} should be called.
+     * <p>
+     * When not the leader, or not responding to a query, the claim is made in a scratch buffer so the same code
+     * can be run on all members.
+     *
+     * @param correlationId to be used to identify the message to the cluster.
+     * @param length        of the range to claim for the message, not including the session header.
+     * @param bufferClaim   to be populated if the claim succeeds.
+     * @return the same as {@link Publication#tryClaim(int, BufferClaim)} when in {@link Cluster.Role#LEADER}
+     * or responding to a query via {@link ClusteredService#onQuery}, otherwise {@link #MOCKED_OFFER}.
+     */
+    public long tryClaim(final long correlationId, final int length, final BufferClaim bufferClaim)
+    {
+        final int claimLength = SESSION_HEADER_LENGTH + length;
+
+        if (isMocked())
+        {
+            final int frameLength = DataHeaderFlyweight.HEADER_LENGTH + claimLength;
+            if (null == mockClaimBuffer || mockClaimBuffer.capacity() < frameLength)
+            {
+                mockClaimBuffer = new UnsafeBuffer(new byte[frameLength]);
+            }
+
+            bufferClaim.wrap(mockClaimBuffer, 0, frameLength);
+
+            return MOCKED_OFFER;
+        }
+
+        if (null != egressBatch && !egressBatch.isEmpty())
+        {
+            final long result = flushBatch();
+            if (result < 0)
+            {
+                return result;
+            }
+        }
+
+        final long result = responsePublication.tryClaim(claimLength, bufferClaim);
+        if (result > 0)
+        {
+            sessionHeaderEncoder
+                .correlationId(correlationId)
+                .timestamp(cluster.timeMs());
+
+            bufferClaim.buffer().putBytes(bufferClaim.offset(), vectors[0].buffer(), 0, SESSION_HEADER_LENGTH);
+        }
+
+        return result;
+    }
+
+    /**
+     * Flush any coalesced messages in the egress batch for this session to the response publication.
+     * <p>
+     * This is called automatically by the cluster after each poll of the log when egress coalescing is enabled.
+     *
+     * @return true if the batch is now empty otherwise false if back pressured.
+     */
+    public boolean flushEgress()
+    {
+        if (null == egressBatch || egressBatch.isEmpty())
+        {
+            return true;
+        }
+
+        if (null == responsePublication)
+        {
+            egressBatch.reset();
+            return true;
+        }
+
+        return flushBatch() > 0;
+    }
+
+    private boolean isMocked()
+    {
+        if (cluster.role() != Cluster.Role.LEADER && !cluster.isServingQuery())
+        {
+            return true;
+        }
+
+        if (null == responsePublication)
+        {
+            throw new ClusterException("session not connected id=" + id);
+        }
+
+        return false;
+    }
+
+    private long prepareBatch(final int length)
+    {
+        checkBatchLength(EgressBatch.entryLength(length));
+
+        if (null == egressBatch)
+        {
+            egressBatch = new EgressBatch(id);
+        }
+        else if (!hasBatchCapacity(EgressBatch.entryLength(length), 1))
+        {
+            final long result = flushBatch();
+            if (result < 0)
+            {
+                return result;
+            }
+        }
+
+        if (egressBatch.isEmpty())
+        {
+            cluster.onEgressBatchPending(this);
+        }
+
+        return COALESCED_OFFER;
+    }
+
+    private boolean hasBatchCapacity(final int entriesLength, final int entryCount)
+    {
+        return egressBatch.length() + entriesLength <= egressBatchLimit &&
+            egressBatch.messageCount() + entryCount <= EgressBatch.MAX_MESSAGE_COUNT;
+    }
+
+    private void checkBatchLength(final int entriesLength)
+    {
+        final int batchLength = EgressBatch.batchLength(entriesLength);
+        final int maxMessageLength = responsePublication.maxMessageLength();
+        if (batchLength > maxMessageLength)
+        {
+            throw new ClusterException(
+                "egress batch length " + batchLength + " exceeds maxMessageLength=" + maxMessageLength +
+                " for session id=" + id);
+        }
+    }
+
+    private long flushBatch()
+    {
+        return egressBatch.isEmpty() ? COALESCED_OFFER : egressBatch.offer(responsePublication);
+    }
+
     void connect(final Aeron aeron)
     {
         if (null == responsePublication)
         {
             responsePublication = aeron.addPublication(responseChannel, responseStreamId);
+
+            final int egressBatchLength = cluster.egressCoalescingLength();
+            final int maxMessageLength = responsePublication.maxMessageLength();
+            if (egressBatchLength > maxMessageLength)
+            {
+                cluster.onError(new ClusterException(
+                    "egressBatchLength=" + egressBatchLength + " exceeds maxMessageLength=" + maxMessageLength +
+                    " of egress publication so is limited for session id=" + id));
+            }
+
+            egressBatchLimit = Math.min(egressBatchLength, maxMessageLength);
         }
     }
 
@@ -229,6 +511,11 @@ public class ClientSession
 
     void disconnect()
     {
+        if (null != egressBatch)
+        {
+            egressBatch.reset();
+        }
+
         CloseHelper.close(responsePublication);
         responsePublication = null;
     }
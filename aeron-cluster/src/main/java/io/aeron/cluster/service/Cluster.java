@@ -161,6 +161,34 @@ public interface Cluster
      */
     boolean cancelTimer(long correlationId);
 
+    /**
+     * Schedule a batch of timers so that many timers can be registered with far fewer messages than scheduling
+     * each individually. Each correlationId at an index is paired with the deadline at the same index.
+     * <p>
+     * If a correlationId is for an existing scheduled timer then it will be reschedule to the new deadline.
+     *
+     * @param correlationIds to identify the timers when they expire.
+     * @param deadlinesMs    Epoch time in milliseconds after which each timer will fire.
+     * @param offset         in the arrays of the first timer to schedule.
+     * @param length         of the batch of timers to schedule.
+     * @return the number of timers from offset which have been sent, which will be less than length if back
+     * pressure is applied.
+     * @see #scheduleTimer(long, long)
+     */
+    int scheduleTimers(long[] correlationIds, long[] deadlinesMs, int offset, int length);
+
+    /**
+     * Cancel a batch of previously scheduled timers.
+     *
+     * @param correlationIds for the timers provided when they were scheduled.
+     * @param offset         in the array of the first timer to cancel.
+     * @param length         of the batch of timers to cancel.
+     * @return the number of timers from offset which have been sent, which will be less than length if back
+     * pressure is applied.
+     * @see #cancelTimer(long)
+     */
+    int cancelTimers(long[] correlationIds, int offset, int length);
+
     /**
      * Should be called by the service when it experiences back pressure on egress, closing sessions, or making
      * timer requests.
@@ -71,6 +71,31 @@ public interface ClusteredService
         int length,
         Header header);
 
+    /**
+     * A read-only query has been received by this member directly from a client rather than via the log.
+     * <p>
+     * Queries can be served by any member of the cluster regardless of role and are not replicated, therefore the
+     * service must not change its state when processing them. Responses can be sent via
+     * {@link ClientSession#offer(long, DirectBuffer, int, int)} on the provided session from within this callback
+     * even when the member is not the leader.
+     *
+     * @param session       for the client which sent the query.
+     * @param correlationId to associate any response.
+     * @param timestampMs   of the last log entry applied to the service.
+     * @param buffer        containing the query.
+     * @param offset        in the buffer at which the query is encoded.
+     * @param length        of the encoded query.
+     * @param header        aeron header for the incoming query.
+     */
+    void onQuery(
+        ClientSession session,
+        long correlationId,
+        long timestampMs,
+        DirectBuffer buffer,
+        int offset,
+        int length,
+        Header header);
+
     /**
      * A scheduled timer has expired.
      *
@@ -20,15 +20,19 @@ import io.aeron.archive.client.AeronArchive;
 import io.aeron.archive.status.RecordingPos;
 import io.aeron.cluster.client.ClusterException;
 import io.aeron.cluster.codecs.*;
+import io.aeron.logbuffer.ControlledFragmentHandler;
 import io.aeron.logbuffer.Header;
 import io.aeron.status.ReadableCounter;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.ArrayListUtil;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.status.CountersReader;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 import static io.aeron.Aeron.NULL_VALUE;
@@ -44,14 +48,20 @@ class ClusteredServiceAgent implements Agent, Cluster
     private final ClusteredServiceContainer.Context ctx;
     private final Aeron aeron;
     private final Long2ObjectHashMap<ClientSession> sessionByIdMap = new Long2ObjectHashMap<>();
+    private final Long2LongHashMap queryPositionByImageSessionMap = new Long2LongHashMap(NULL_VALUE);
+    private final ArrayList<ClientSession> pendingEgressSessions = new ArrayList<>();
     private final Collection<ClientSession> readOnlyClientSessions = unmodifiableCollection(sessionByIdMap.values());
     private final ClusteredService service;
     private final ConsensusModuleProxy consensusModuleProxy;
     private final ServiceAdapter serviceAdapter;
+    private final QueryAdapter queryAdapter;
     private final IdleStrategy idleStrategy;
     private final EpochClock epochClock;
     private final ClusterMarkFile markFile;
+    private final int egressBatchLength;
+    private final int partitionCount;
 
+    private boolean isServingQuery;
     private long ackId = 0;
     private long clusterTimeMs;
     private long cachedTimeMs;
@@ -72,10 +82,16 @@ class ClusteredServiceAgent implements Agent, Cluster
         serviceId = ctx.serviceId();
         epochClock = ctx.epochClock();
         markFile = ctx.clusterMarkFile();
+        egressBatchLength = ctx.egressBatchLength();
+        partitionCount = ctx.partitionCount();
 
         final String channel = ctx.serviceControlChannel();
         consensusModuleProxy = new ConsensusModuleProxy(aeron.addPublication(channel, ctx.consensusModuleStreamId()));
         serviceAdapter = new ServiceAdapter(aeron.addSubscription(channel, ctx.serviceStreamId()), this);
+
+        final String queryChannel = ctx.queryChannel();
+        queryAdapter = null == queryChannel ?
+            null : new QueryAdapter(aeron.addSubscription(queryChannel, ctx.queryStreamId()), this);
     }
 
     public void onStart()
@@ -103,6 +119,7 @@ class ClusteredServiceAgent implements Agent, Cluster
             CloseHelper.close(logAdapter);
             CloseHelper.close(consensusModuleProxy);
             CloseHelper.close(serviceAdapter);
+            CloseHelper.close(queryAdapter);
 
             for (final ClientSession session : sessionByIdMap.values())
             {
@@ -142,6 +159,16 @@ class ClusteredServiceAgent implements Agent, Cluster
             workCount += polled;
         }
 
+        if (null != queryAdapter)
+        {
+            workCount += queryAdapter.poll();
+        }
+
+        if (!pendingEgressSessions.isEmpty())
+        {
+            workCount += flushEgressSessions();
+        }
+
         return workCount;
     }
 
@@ -207,6 +234,17 @@ class ClusteredServiceAgent implements Agent, Cluster
         return consensusModuleProxy.cancelTimer(correlationId);
     }
 
+    public int scheduleTimers(
+        final long[] correlationIds, final long[] deadlinesMs, final int offset, final int length)
+    {
+        return consensusModuleProxy.scheduleTimers(correlationIds, deadlinesMs, offset, length);
+    }
+
+    public int cancelTimers(final long[] correlationIds, final int offset, final int length)
+    {
+        return consensusModuleProxy.cancelTimers(correlationIds, offset, length);
+    }
+
     public void idle()
     {
         if (!checkForClockTick())
@@ -255,6 +293,86 @@ class ClusteredServiceAgent implements Agent, Cluster
         }
     }
 
+    ControlledFragmentHandler.Action onQuery(
+        final long clusterSessionId,
+        final long correlationId,
+        final QueryConsistency consistency,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final Header header)
+    {
+        if (QueryConsistency.LINEARIZABLE == consistency)
+        {
+            if (null == logAdapter)
+            {
+                return ControlledFragmentHandler.Action.ABORT;
+            }
+
+            final int imageSessionId = header.sessionId();
+            long queryPosition = queryPositionByImageSessionMap.get(imageSessionId);
+            if (NULL_VALUE == queryPosition)
+            {
+                queryPosition = logAdapter.commitPosition();
+            }
+
+            if (logAdapter.position() < queryPosition)
+            {
+                queryPositionByImageSessionMap.put(imageSessionId, queryPosition);
+                return ControlledFragmentHandler.Action.ABORT;
+            }
+
+            queryPositionByImageSessionMap.remove(imageSessionId);
+        }
+
+        final ClientSession clientSession = sessionByIdMap.get(clusterSessionId);
+        if (null == clientSession || clientSession.isClosing())
+        {
+            return ControlledFragmentHandler.Action.CONTINUE;
+        }
+
+        clientSession.connect(aeron);
+        isServingQuery = true;
+        try
+        {
+            service.onQuery(clientSession, correlationId, clusterTimeMs, buffer, offset, length, header);
+        }
+        finally
+        {
+            isServingQuery = false;
+        }
+
+        return ControlledFragmentHandler.Action.CONTINUE;
+    }
+
+    boolean isServingQuery()
+    {
+        return isServingQuery;
+    }
+
+    boolean isEgressCoalescing()
+    {
+        return egressBatchLength > 0;
+    }
+
+    int egressCoalescingLength()
+    {
+        return egressBatchLength;
+    }
+
+    void onError(final Throwable ex)
+    {
+        ctx.errorHandler().onError(ex);
+    }
+
+    void onEgressBatchPending(final ClientSession session)
+    {
+        if (egressBatchLength > 0)
+        {
+            pendingEgressSessions.add(session);
+        }
+    }
+
     void onTimerEvent(final long correlationId, final long timestampMs)
     {
         this.clusterTimeMs = timestampMs;
@@ -272,6 +390,11 @@ class ClusteredServiceAgent implements Agent, Cluster
     {
         this.clusterTimeMs = timestampMs;
 
+        if (!isInPartition(clusterSessionId))
+        {
+            return;
+        }
+
         final ClientSession session = new ClientSession(
             clusterSessionId, correlationId, responseStreamId, responseChannel, encodedPrincipal, this);
 
@@ -289,6 +412,12 @@ class ClusteredServiceAgent implements Agent, Cluster
         this.clusterTimeMs = timestampMs;
 
         final ClientSession session = sessionByIdMap.remove(clusterSessionId);
+        if (null == session)
+        {
+            return;
+        }
+
+        session.flushEgress();
         session.disconnect();
         service.onSessionClose(session, timestampMs, closeReason);
     }
@@ -312,6 +441,16 @@ class ClusteredServiceAgent implements Agent, Cluster
         this.clusterTimeMs = timestampMs;
     }
 
+    void onSkippedSessionMessage(final long timestampMs)
+    {
+        this.clusterTimeMs = timestampMs;
+    }
+
+    boolean isInPartition(final long clusterSessionId)
+    {
+        return 0 == partitionCount || serviceId == (int)(clusterSessionId % partitionCount);
+    }
+
     void addSession(
         final long clusterSessionId,
         final long lastCorrelationId,
@@ -319,6 +458,11 @@ class ClusteredServiceAgent implements Agent, Cluster
         final String responseChannel,
         final byte[] encodedPrincipal)
     {
+        if (!isInPartition(clusterSessionId))
+        {
+            return;
+        }
+
         sessionByIdMap.put(clusterSessionId, new ClientSession(
             clusterSessionId, lastCorrelationId, responseStreamId, responseChannel, encodedPrincipal, this));
     }
@@ -454,6 +598,22 @@ class ClusteredServiceAgent implements Agent, Cluster
         }
     }
 
+    private int flushEgressSessions()
+    {
+        int workCount = 0;
+
+        for (int lastIndex = pendingEgressSessions.size() - 1, i = lastIndex; i >= 0; i--)
+        {
+            if (pendingEgressSessions.get(i).flushEgress())
+            {
+                ArrayListUtil.fastUnorderedRemove(pendingEgressSessions, i, lastIndex--);
+                workCount++;
+            }
+        }
+
+        return workCount;
+    }
+
     private Image awaitImage(final int sessionId, final Subscription subscription)
     {
         idleStrategy.reset();
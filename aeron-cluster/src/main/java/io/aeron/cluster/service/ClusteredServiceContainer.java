@@ -37,6 +37,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 
 import static io.aeron.driver.status.SystemCounterDescriptor.SYSTEM_COUNTER_TYPE_ID;
+import static io.aeron.logbuffer.FrameDescriptor.computeMaxMessageLength;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MAX_LENGTH;
 import static org.agrona.SystemUtil.getSizeAsInt;
 import static org.agrona.SystemUtil.loadPropertiesFiles;
 
@@ -220,6 +222,58 @@ public final class ClusteredServiceContainer implements AutoCloseable
          */
         public static final int SNAPSHOT_STREAM_ID_DEFAULT = 106;
 
+        /**
+         * Channel on which read-only queries are received directly from clients, bypassing the log. Each member
+         * should set the endpoint to one reachable by clients. If not set then queries are not served.
+         */
+        public static final String QUERY_CHANNEL_PROP_NAME = "aeron.cluster.query.channel";
+
+        /**
+         * Default channel on which queries are received which is null so queries are not served.
+         */
+        public static final String QUERY_CHANNEL_DEFAULT = null;
+
+        /**
+         * Stream id within a channel for receiving read-only queries. Each service on a member should use a
+         * different stream id when more than one service is hosted.
+         */
+        public static final String QUERY_STREAM_ID_PROP_NAME = "aeron.cluster.query.stream.id";
+
+        /**
+         * Default stream id within a channel for receiving read-only queries.
+         */
+        public static final int QUERY_STREAM_ID_DEFAULT = 109;
+
+        /**
+         * Maximum length in bytes of responses to a session which are coalesced into a single egress message before
+         * being sent at the end of each poll of the log. A value of 0 disables coalescing. Batches for a session are
+         * further limited to the max message length of its response publication.
+         */
+        public static final String EGRESS_BATCH_LENGTH_PROP_NAME = "aeron.cluster.egress.batch.length";
+
+        /**
+         * Default length of responses to a session which are coalesced which is 0 so coalescing is disabled.
+         */
+        public static final int EGRESS_BATCH_LENGTH_DEFAULT = 0;
+
+        /**
+         * Maximum length of responses to a session which are coalesced, being the max message length of a
+         * publication with the longest term length.
+         */
+        public static final int MAX_EGRESS_BATCH_LENGTH = computeMaxMessageLength(TERM_MAX_LENGTH);
+
+        /**
+         * Number of partitions into which cluster sessions are divided so that each service applies only the log
+         * entries for its own partition. When set to more than 0 the service with id {@code n} is responsible for
+         * sessions where {@code clusterSessionId % partitionCount == n}. Typically set to the number of services.
+         */
+        public static final String PARTITION_COUNT_PROP_NAME = "aeron.cluster.service.partition.count";
+
+        /**
+         * Default number of partitions which is 0 so every service applies the whole log.
+         */
+        public static final int PARTITION_COUNT_DEFAULT = 0;
+
         /**
          * Directory to use for the aeron cluster.
          */
@@ -339,6 +393,48 @@ public final class ClusteredServiceContainer implements AutoCloseable
             return Integer.getInteger(SNAPSHOT_STREAM_ID_PROP_NAME, SNAPSHOT_STREAM_ID_DEFAULT);
         }
 
+        /**
+         * The value {@link #QUERY_CHANNEL_DEFAULT} or system property {@link #QUERY_CHANNEL_PROP_NAME} if set.
+         *
+         * @return {@link #QUERY_CHANNEL_DEFAULT} or system property {@link #QUERY_CHANNEL_PROP_NAME} if set.
+         */
+        public static String queryChannel()
+        {
+            return System.getProperty(QUERY_CHANNEL_PROP_NAME, QUERY_CHANNEL_DEFAULT);
+        }
+
+        /**
+         * The value {@link #QUERY_STREAM_ID_DEFAULT} or system property {@link #QUERY_STREAM_ID_PROP_NAME} if set.
+         *
+         * @return {@link #QUERY_STREAM_ID_DEFAULT} or system property {@link #QUERY_STREAM_ID_PROP_NAME} if set.
+         */
+        public static int queryStreamId()
+        {
+            return Integer.getInteger(QUERY_STREAM_ID_PROP_NAME, QUERY_STREAM_ID_DEFAULT);
+        }
+
+        /**
+         * The value {@link #EGRESS_BATCH_LENGTH_DEFAULT} or system property {@link #EGRESS_BATCH_LENGTH_PROP_NAME}
+         * if set.
+         *
+         * @return {@link #EGRESS_BATCH_LENGTH_DEFAULT} or system property {@link #EGRESS_BATCH_LENGTH_PROP_NAME}
+         * if set.
+         */
+        public static int egressBatchLength()
+        {
+            return Integer.getInteger(EGRESS_BATCH_LENGTH_PROP_NAME, EGRESS_BATCH_LENGTH_DEFAULT);
+        }
+
+        /**
+         * The value {@link #PARTITION_COUNT_DEFAULT} or system property {@link #PARTITION_COUNT_PROP_NAME} if set.
+         *
+         * @return {@link #PARTITION_COUNT_DEFAULT} or system property {@link #PARTITION_COUNT_PROP_NAME} if set.
+         */
+        public static int partitionCount()
+        {
+            return Integer.getInteger(PARTITION_COUNT_PROP_NAME, PARTITION_COUNT_DEFAULT);
+        }
+
         public static final String DEFAULT_IDLE_STRATEGY = "org.agrona.concurrent.BackoffIdleStrategy";
         public static final String CLUSTER_IDLE_STRATEGY_PROP_NAME = "aeron.cluster.idle.strategy";
 
@@ -390,6 +486,10 @@ public final class ClusteredServiceContainer implements AutoCloseable
         private int serviceStreamId = Configuration.serviceStreamId();
         private String snapshotChannel = Configuration.snapshotChannel();
         private int snapshotStreamId = Configuration.snapshotStreamId();
+        private String queryChannel = Configuration.queryChannel();
+        private int queryStreamId = Configuration.queryStreamId();
+        private int egressBatchLength = Configuration.egressBatchLength();
+        private int partitionCount = Configuration.partitionCount();
         private int errorBufferLength = Configuration.errorBufferLength();
 
         private ThreadFactory threadFactory;
@@ -436,6 +536,19 @@ public final class ClusteredServiceContainer implements AutoCloseable
                 throw new ConfigurationException("service id must be not be negative: " + serviceId);
             }
 
+            if (partitionCount < 0 || (partitionCount > 0 && serviceId >= partitionCount))
+            {
+                throw new ConfigurationException(
+                    "service id " + serviceId + " is not a valid partition of partition count " + partitionCount);
+            }
+
+            if (egressBatchLength < 0 || egressBatchLength > Configuration.MAX_EGRESS_BATCH_LENGTH)
+            {
+                throw new ConfigurationException(
+                    "egressBatchLength must be >= 0 and <= " + Configuration.MAX_EGRESS_BATCH_LENGTH + ": " +
+                    egressBatchLength);
+            }
+
             if (null == threadFactory)
             {
                 threadFactory = Thread::new;
@@ -768,6 +881,105 @@ public final class ClusteredServiceContainer implements AutoCloseable
             return snapshotStreamId;
         }
 
+        /**
+         * Set the channel parameter on which read-only queries are received directly from clients.
+         *
+         * @param channel parameter on which queries are received or null if queries are not to be served.
+         * @return this for a fluent API.
+         * @see Configuration#QUERY_CHANNEL_PROP_NAME
+         */
+        public Context queryChannel(final String channel)
+        {
+            queryChannel = channel;
+            return this;
+        }
+
+        /**
+         * Get the channel parameter on which read-only queries are received directly from clients.
+         *
+         * @return the channel parameter on which queries are received or null if queries are not served.
+         * @see Configuration#QUERY_CHANNEL_PROP_NAME
+         */
+        public String queryChannel()
+        {
+            return queryChannel;
+        }
+
+        /**
+         * Set the stream id on which read-only queries are received.
+         *
+         * @param streamId on which read-only queries are received.
+         * @return this for a fluent API
+         * @see Configuration#QUERY_STREAM_ID_PROP_NAME
+         */
+        public Context queryStreamId(final int streamId)
+        {
+            queryStreamId = streamId;
+            return this;
+        }
+
+        /**
+         * Get the stream id on which read-only queries are received.
+         *
+         * @return the stream id on which read-only queries are received.
+         * @see Configuration#QUERY_STREAM_ID_PROP_NAME
+         */
+        public int queryStreamId()
+        {
+            return queryStreamId;
+        }
+
+        /**
+         * Set the maximum length in bytes of responses to a session which are coalesced into a single egress message.
+         *
+         * @param length in bytes of responses to coalesce, 0 to disable coalescing.
+         * @return this for a fluent API
+         * @see Configuration#EGRESS_BATCH_LENGTH_PROP_NAME
+         */
+        public Context egressBatchLength(final int length)
+        {
+            egressBatchLength = length;
+            return this;
+        }
+
+        /**
+         * Get the maximum length in bytes of responses to a session which are coalesced into a single egress message.
+         *
+         * @return the length in bytes of responses to coalesce, 0 if coalescing is disabled.
+         * @see Configuration#EGRESS_BATCH_LENGTH_PROP_NAME
+         */
+        public int egressBatchLength()
+        {
+            return egressBatchLength;
+        }
+
+        /**
+         * Set the number of partitions into which cluster sessions are divided between services. The service with
+         * id {@code n} only applies log entries for sessions where {@code clusterSessionId % partitionCount == n}.
+         * <p>
+         * Timer events and cluster actions are applied by all services regardless of partition.
+         *
+         * @param partitionCount into which sessions are divided, 0 for every service to apply the whole log.
+         * @return this for a fluent API
+         * @see Configuration#PARTITION_COUNT_PROP_NAME
+         */
+        public Context partitionCount(final int partitionCount)
+        {
+            this.partitionCount = partitionCount;
+            return this;
+        }
+
+        /**
+         * Get the number of partitions into which cluster sessions are divided between services.
+         *
+         * @return the number of partitions into which sessions are divided, 0 if every service applies the whole log.
+         * @see Configuration#PARTITION_COUNT_PROP_NAME
+         */
+        public int partitionCount()
+        {
+            return partitionCount;
+        }
+
         /**
          * Get the thread factory used for creating threads.
          *
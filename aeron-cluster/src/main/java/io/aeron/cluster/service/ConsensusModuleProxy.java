@@ -26,11 +26,14 @@ import org.agrona.CloseHelper;
 final class ConsensusModuleProxy implements AutoCloseable
 {
     private static final int SEND_ATTEMPTS = 3;
+    private static final int MAX_BATCH_COUNT = 0xFFFF;
 
     private final BufferClaim bufferClaim = new BufferClaim();
     private final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
     private final ScheduleTimerEncoder scheduleTimerEncoder = new ScheduleTimerEncoder();
     private final CancelTimerEncoder cancelTimerEncoder = new CancelTimerEncoder();
+    private final ScheduleTimerBatchEncoder scheduleTimerBatchEncoder = new ScheduleTimerBatchEncoder();
+    private final CancelTimerBatchEncoder cancelTimerBatchEncoder = new CancelTimerBatchEncoder();
     private final ServiceAckEncoder serviceAckEncoder = new ServiceAckEncoder();
     private final CloseSessionEncoder closeSessionEncoder = new CloseSessionEncoder();
     private final Publication publication;
@@ -103,6 +106,103 @@ final class ConsensusModuleProxy implements AutoCloseable
         return false;
     }
 
+    public int scheduleTimers(
+        final long[] correlationIds, final long[] deadlinesMs, final int offset, final int length)
+    {
+        final int headerLength = MessageHeaderEncoder.ENCODED_LENGTH + ScheduleTimerBatchEncoder.BLOCK_LENGTH +
+            ScheduleTimerBatchEncoder.TimersEncoder.sbeHeaderSize();
+        final int entryLength = ScheduleTimerBatchEncoder.TimersEncoder.sbeBlockLength();
+        final int maxBatchCount = maxBatchCount(headerLength, entryLength);
+
+        int sentCount = 0;
+        while (sentCount < length)
+        {
+            final int batchCount = Math.min(length - sentCount, maxBatchCount);
+            final int batchLength = headerLength + (batchCount * entryLength);
+            final int batchOffset = offset + sentCount;
+
+            int attempts = SEND_ATTEMPTS;
+            do
+            {
+                final long result = publication.tryClaim(batchLength, bufferClaim);
+                if (result > 0)
+                {
+                    final ScheduleTimerBatchEncoder.TimersEncoder timersEncoder = scheduleTimerBatchEncoder
+                        .wrapAndApplyHeader(bufferClaim.buffer(), bufferClaim.offset(), messageHeaderEncoder)
+                        .timersCount(batchCount);
+
+                    for (int i = batchOffset, limit = batchOffset + batchCount; i < limit; i++)
+                    {
+                        timersEncoder.next().correlationId(correlationIds[i]).deadline(deadlinesMs[i]);
+                    }
+
+                    bufferClaim.commit();
+                    break;
+                }
+
+                checkResult(result);
+
+                if (--attempts <= 0)
+                {
+                    return sentCount;
+                }
+            }
+            while (true);
+
+            sentCount += batchCount;
+        }
+
+        return sentCount;
+    }
+
+    public int cancelTimers(final long[] correlationIds, final int offset, final int length)
+    {
+        final int headerLength = MessageHeaderEncoder.ENCODED_LENGTH + CancelTimerBatchEncoder.BLOCK_LENGTH +
+            CancelTimerBatchEncoder.TimersEncoder.sbeHeaderSize();
+        final int entryLength = CancelTimerBatchEncoder.TimersEncoder.sbeBlockLength();
+        final int maxBatchCount = maxBatchCount(headerLength, entryLength);
+
+        int sentCount = 0;
+        while (sentCount < length)
+        {
+            final int batchCount = Math.min(length - sentCount, maxBatchCount);
+            final int batchLength = headerLength + (batchCount * entryLength);
+            final int batchOffset = offset + sentCount;
+
+            int attempts = SEND_ATTEMPTS;
+            do
+            {
+                final long result = publication.tryClaim(batchLength, bufferClaim);
+                if (result > 0)
+                {
+                    final CancelTimerBatchEncoder.TimersEncoder timersEncoder = cancelTimerBatchEncoder
+                        .wrapAndApplyHeader(bufferClaim.buffer(), bufferClaim.offset(), messageHeaderEncoder)
+                        .timersCount(batchCount);
+
+                    for (int i = batchOffset, limit = batchOffset + batchCount; i < limit; i++)
+                    {
+                        timersEncoder.next().correlationId(correlationIds[i]);
+                    }
+
+                    bufferClaim.commit();
+                    break;
+                }
+
+                checkResult(result);
+
+                if (--attempts <= 0)
+                {
+                    return sentCount;
+                }
+            }
+            while (true);
+
+            sentCount += batchCount;
+        }
+
+        return sentCount;
+    }
+
     public void ack(final long logPosition, final long ackId, final int serviceId)
     {
         ack(logPosition, ackId, Aeron.NULL_VALUE, serviceId);
@@ -163,6 +263,11 @@ final class ConsensusModuleProxy implements AutoCloseable
         return false;
     }
 
+    private int maxBatchCount(final int headerLength, final int entryLength)
+    {
+        return Math.min((publication.maxPayloadLength() - headerLength) / entryLength, MAX_BATCH_COUNT);
+    }
+
     private static void checkResult(final long result)
     {
         if (result == Publication.NOT_CONNECTED ||
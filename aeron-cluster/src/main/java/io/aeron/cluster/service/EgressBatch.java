@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.service;
+
+import io.aeron.DirectBufferVector;
+import io.aeron.Publication;
+import io.aeron.cluster.codecs.GroupSizeEncodingEncoder;
+import io.aeron.cluster.codecs.MessageHeaderEncoder;
+import io.aeron.cluster.codecs.SessionMessageBatchEncoder;
+import io.aeron.cluster.codecs.SessionMessageBatchEncoder.MessagesEncoder;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+/**
+ * Accumulates response messages for a session so they can be sent to the egress as a single
+ * {@link SessionMessageBatchEncoder} message rather than paying the framing and offer cost per message.
+ */
+final class EgressBatch
+{
+    /**
+     * Maximum number of messages which can be contained in a batch.
+     */
+    static final int MAX_MESSAGE_COUNT = 0xFFFF;
+
+    private static final int GROUP_HEADER_OFFSET =
+        MessageHeaderEncoder.ENCODED_LENGTH + SessionMessageBatchEncoder.BLOCK_LENGTH;
+    private static final int FIRST_ENTRY_OFFSET = GROUP_HEADER_OFFSET + MessagesEncoder.sbeHeaderSize();
+    private static final int ENTRY_HEADER_LENGTH =
+        MessagesEncoder.sbeBlockLength() + MessagesEncoder.payloadHeaderLength();
+
+    private int limit = FIRST_ENTRY_OFFSET;
+    private int messageCount = 0;
+    private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(FIRST_ENTRY_OFFSET);
+    private final GroupSizeEncodingEncoder groupSizeEncoder = new GroupSizeEncodingEncoder();
+
+    EgressBatch(final long clusterSessionId)
+    {
+        new SessionMessageBatchEncoder()
+            .wrapAndApplyHeader(buffer, 0, new MessageHeaderEncoder())
+            .clusterSessionId(clusterSessionId)
+            .messagesCount(0);
+
+        groupSizeEncoder.wrap(buffer, GROUP_HEADER_OFFSET);
+    }
+
+    static int entryLength(final int payloadLength)
+    {
+        return ENTRY_HEADER_LENGTH + payloadLength;
+    }
+
+    static int batchLength(final int entriesLength)
+    {
+        return FIRST_ENTRY_OFFSET + entriesLength;
+    }
+
+    boolean isEmpty()
+    {
+        return 0 == messageCount;
+    }
+
+    int length()
+    {
+        return limit;
+    }
+
+    int messageCount()
+    {
+        return messageCount;
+    }
+
+    void append(
+        final long correlationId, final long timestampMs, final DirectBuffer src, final int offset, final int length)
+    {
+        final int payloadOffset = putEntryHeader(correlationId, timestampMs, length);
+        buffer.putBytes(payloadOffset, src, offset, length);
+        limit = payloadOffset + length;
+    }
+
+    void append(final long correlationId, final long timestampMs, final DirectBufferVector[] vectors)
+    {
+        int length = 0;
+        for (final DirectBufferVector vector : vectors)
+        {
+            length += vector.length();
+        }
+
+        int payloadOffset = putEntryHeader(correlationId, timestampMs, length);
+        for (final DirectBufferVector vector : vectors)
+        {
+            buffer.putBytes(payloadOffset, vector.buffer(), vector.offset(), vector.length());
+            payloadOffset += vector.length();
+        }
+
+        limit = payloadOffset;
+    }
+
+    long offer(final Publication publication)
+    {
+        groupSizeEncoder.numInGroup(messageCount);
+
+        final long result = publication.offer(buffer, 0, limit);
+        if (result > 0)
+        {
+            reset();
+        }
+
+        return result;
+    }
+
+    void reset()
+    {
+        limit = FIRST_ENTRY_OFFSET;
+        messageCount = 0;
+    }
+
+    private int putEntryHeader(final long correlationId, final long timestampMs, final int length)
+    {
+        final int entryOffset = limit;
+        buffer.putLong(entryOffset + MessagesEncoder.correlationIdEncodingOffset(), correlationId, LITTLE_ENDIAN);
+        buffer.putLong(entryOffset + MessagesEncoder.timestampEncodingOffset(), timestampMs, LITTLE_ENDIAN);
+        buffer.putInt(entryOffset + MessagesEncoder.sbeBlockLength(), length, LITTLE_ENDIAN);
+        messageCount++;
+
+        return entryOffset + ENTRY_HEADER_LENGTH;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.service;
+
+import io.aeron.ControlledFragmentAssembler;
+import io.aeron.Subscription;
+import io.aeron.cluster.codecs.MessageHeaderDecoder;
+import io.aeron.cluster.codecs.MessageHeaderEncoder;
+import io.aeron.cluster.codecs.QueryHeaderDecoder;
+import io.aeron.cluster.codecs.QueryHeaderEncoder;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+
+/**
+ * Adapter for read-only queries sent directly to a member by clients which bypass the log.
+ */
+final class QueryAdapter implements ControlledFragmentHandler, AutoCloseable
+{
+    /**
+     * Length of the query header that will be prepended to the query.
+     */
+    static final int QUERY_HEADER_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH + QueryHeaderEncoder.BLOCK_LENGTH;
+
+    private static final int FRAGMENT_LIMIT = 10;
+
+    private final ControlledFragmentAssembler fragmentAssembler = new ControlledFragmentAssembler(this);
+    private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
+    private final QueryHeaderDecoder queryHeaderDecoder = new QueryHeaderDecoder();
+    private final Subscription subscription;
+    private final ClusteredServiceAgent agent;
+
+    QueryAdapter(final Subscription subscription, final ClusteredServiceAgent agent)
+    {
+        this.subscription = subscription;
+        this.agent = agent;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(subscription);
+        fragmentAssembler.clear();
+    }
+
+    public int poll()
+    {
+        return subscription.controlledPoll(fragmentAssembler, FRAGMENT_LIMIT);
+    }
+
+    public Action onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        messageHeaderDecoder.wrap(buffer, offset);
+        if (QueryHeaderDecoder.TEMPLATE_ID != messageHeaderDecoder.templateId())
+        {
+            return Action.CONTINUE;
+        }
+
+        queryHeaderDecoder.wrap(
+            buffer,
+            offset + MessageHeaderDecoder.ENCODED_LENGTH,
+            messageHeaderDecoder.blockLength(),
+            messageHeaderDecoder.version());
+
+        return agent.onQuery(
+            queryHeaderDecoder.clusterSessionId(),
+            queryHeaderDecoder.correlationId(),
+            queryHeaderDecoder.consistency(),
+            buffer,
+            offset + QUERY_HEADER_LENGTH,
+            length - QUERY_HEADER_LENGTH,
+            header);
+    }
+}
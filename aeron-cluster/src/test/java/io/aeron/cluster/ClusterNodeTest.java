@@ -19,6 +19,7 @@ import io.aeron.archive.Archive;
 import io.aeron.archive.ArchiveThreadingMode;
 import io.aeron.cluster.client.AeronCluster;
 import io.aeron.cluster.client.SessionMessageListener;
+import io.aeron.cluster.codecs.QueryConsistency;
 import io.aeron.cluster.service.ClientSession;
 import io.aeron.cluster.service.ClusteredService;
 import io.aeron.cluster.service.ClusteredServiceContainer;
@@ -168,7 +169,101 @@ public class ClusterNodeTest
         }
     }
 
+    @Test(timeout = 10_000)
+    public void shouldServeQueryViaServiceWithoutLog()
+    {
+        final ExpandableArrayBuffer msgBuffer = new ExpandableArrayBuffer();
+        final String msg = "Hello Query!";
+        msgBuffer.putStringWithoutLengthAscii(0, msg);
+
+        final MutableLong msgCorrelationId = new MutableLong();
+        final MutableInteger messageCount = new MutableInteger();
+
+        final SessionMessageListener listener =
+            (correlationId, clusterSessionId, timestamp, buffer, offset, length, header) ->
+            {
+                assertThat(correlationId, is(msgCorrelationId.value));
+                assertThat(buffer.getStringWithoutLengthAscii(offset, length), is(msg + "-query"));
+
+                messageCount.value += 1;
+            };
+
+        container = launchQueryService();
+        aeronCluster = AeronCluster.connect(
+            new AeronCluster.Context()
+                .sessionMessageListener(listener)
+                .ingressChannel("aeron:udp")
+                .queryChannel("aeron:udp")
+                .clusterMemberEndpoints("0=localhost:9010"));
+
+        msgCorrelationId.value = aeronCluster.nextCorrelationId();
+
+        while (aeronCluster.offerQuery(
+            msgCorrelationId.value, QueryConsistency.LINEARIZABLE, msgBuffer, 0, msg.length()) < 0)
+        {
+            TestUtil.checkInterruptedStatus();
+            Thread.yield();
+        }
+
+        while (messageCount.get() == 0)
+        {
+            if (aeronCluster.pollEgress() <= 0)
+            {
+                TestUtil.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldEchoCoalescedMessagesViaService()
+    {
+        final ExpandableArrayBuffer msgBuffer = new ExpandableArrayBuffer();
+        final String msg = "Hello World!";
+        msgBuffer.putStringWithoutLengthAscii(0, msg);
+
+        final int messageCountToSend = 10;
+        final MutableInteger messageCount = new MutableInteger();
+
+        final SessionMessageListener listener =
+            (correlationId, clusterSessionId, timestamp, buffer, offset, length, header) ->
+            {
+                assertThat(buffer.getStringWithoutLengthAscii(offset, length), is(msg));
+
+                messageCount.value += 1;
+            };
+
+        container = launchEchoService(1024);
+        aeronCluster = connectToCluster(listener);
+
+        for (int i = 0; i < messageCountToSend; i++)
+        {
+            final long msgCorrelationId = aeronCluster.nextCorrelationId();
+            while (aeronCluster.offer(msgCorrelationId, msgBuffer, 0, msg.length()) < 0)
+            {
+                TestUtil.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+
+        while (messageCount.get() < messageCountToSend)
+        {
+            if (aeronCluster.pollEgress() <= 0)
+            {
+                TestUtil.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+
+        assertThat(messageCount.get(), is(messageCountToSend));
+    }
+
     private ClusteredServiceContainer launchEchoService()
+    {
+        return launchEchoService(0);
+    }
+
+    private ClusteredServiceContainer launchEchoService(final int egressBatchLength)
     {
         final ClusteredService echoService = new StubClusteredService()
         {
@@ -192,6 +287,7 @@ public class ClusterNodeTest
         return ClusteredServiceContainer.launch(
             new ClusteredServiceContainer.Context()
                 .clusteredService(echoService)
+                .egressBatchLength(egressBatchLength)
                 .errorHandler(Throwable::printStackTrace));
     }
 
@@ -242,6 +338,37 @@ public class ClusterNodeTest
                 .errorHandler(Throwable::printStackTrace));
     }
 
+    private ClusteredServiceContainer launchQueryService()
+    {
+        final ClusteredService queryService = new StubClusteredService()
+        {
+            public void onQuery(
+                final ClientSession session,
+                final long correlationId,
+                final long timestampMs,
+                final DirectBuffer buffer,
+                final int offset,
+                final int length,
+                final Header header)
+            {
+                final String responseMsg = buffer.getStringWithoutLengthAscii(offset, length) + "-query";
+                final ExpandableArrayBuffer responseBuffer = new ExpandableArrayBuffer();
+                responseBuffer.putStringWithoutLengthAscii(0, responseMsg);
+
+                while (session.offer(correlationId, responseBuffer, 0, responseMsg.length()) < 0)
+                {
+                    cluster.idle();
+                }
+            }
+        };
+
+        return ClusteredServiceContainer.launch(
+            new ClusteredServiceContainer.Context()
+                .clusteredService(queryService)
+                .queryChannel("aeron:udp?endpoint=localhost:9010")
+                .errorHandler(Throwable::printStackTrace));
+    }
+
     private AeronCluster connectToCluster(final SessionMessageListener sessionMessageListener)
     {
         return AeronCluster.connect(
@@ -444,6 +444,18 @@ public class ConsensusModuleHarness implements AutoCloseable, ClusteredService
         serviceOnMessageCounter.getAndIncrement();
     }
 
+    public void onQuery(
+        final ClientSession session,
+        final long correlationId,
+        final long timestampMs,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final Header header)
+    {
+        service.onQuery(session, correlationId, timestampMs, buffer, offset, length, header);
+    }
+
     public void onTimerEvent(final long correlationId, final long timestampMs)
     {
         service.onTimerEvent(correlationId, timestampMs);
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import io.aeron.archive.Archive;
+import io.aeron.archive.ArchiveThreadingMode;
+import io.aeron.cluster.client.AeronCluster;
+import io.aeron.cluster.client.SessionMessageListener;
+import io.aeron.cluster.service.ClientSession;
+import io.aeron.cluster.service.ClusteredService;
+import io.aeron.cluster.service.ClusteredServiceContainer;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.MutableInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class PartitionedServiceTest
+{
+    private static final long MAX_CATALOG_ENTRIES = 1024;
+    private static final int SERVICE_COUNT = 2;
+
+    private final AtomicIntegerArray messageCountByServiceId = new AtomicIntegerArray(SERVICE_COUNT);
+    private final ClusteredServiceContainer[] containers = new ClusteredServiceContainer[SERVICE_COUNT];
+    private final AeronCluster[] clients = new AeronCluster[SERVICE_COUNT];
+    private ClusteredMediaDriver clusteredMediaDriver;
+
+    @Before
+    public void before()
+    {
+        clusteredMediaDriver = ClusteredMediaDriver.launch(
+            new MediaDriver.Context()
+                .threadingMode(ThreadingMode.SHARED)
+                .termBufferSparseFile(true)
+                .errorHandler(Throwable::printStackTrace)
+                .dirDeleteOnStart(true),
+            new Archive.Context()
+                .maxCatalogEntries(MAX_CATALOG_ENTRIES)
+                .threadingMode(ArchiveThreadingMode.SHARED)
+                .deleteArchiveOnStart(true),
+            new ConsensusModule.Context()
+                .serviceCount(SERVICE_COUNT)
+                .errorHandler(Throwable::printStackTrace)
+                .deleteDirOnStart(true));
+
+        for (int i = 0; i < SERVICE_COUNT; i++)
+        {
+            containers[i] = launchPartitionedEchoService(i);
+        }
+    }
+
+    @After
+    public void after()
+    {
+        for (final AeronCluster client : clients)
+        {
+            CloseHelper.close(client);
+        }
+
+        for (final ClusteredServiceContainer container : containers)
+        {
+            CloseHelper.close(container);
+        }
+
+        CloseHelper.close(clusteredMediaDriver);
+
+        if (null != clusteredMediaDriver)
+        {
+            clusteredMediaDriver.consensusModule().context().deleteDirectory();
+            clusteredMediaDriver.archive().context().deleteArchiveDirectory();
+            clusteredMediaDriver.mediaDriver().context().deleteAeronDirectory();
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldApplySessionMessagesOnlyInServiceForPartition()
+    {
+        final ExpandableArrayBuffer msgBuffer = new ExpandableArrayBuffer();
+        final String msg = "Hello World!";
+        msgBuffer.putStringWithoutLengthAscii(0, msg);
+
+        final MutableInteger responseCount = new MutableInteger();
+        final SessionMessageListener listener =
+            (correlationId, clusterSessionId, timestamp, buffer, offset, length, header) -> responseCount.value++;
+
+        for (int i = 0; i < SERVICE_COUNT; i++)
+        {
+            clients[i] = connectToCluster(listener);
+        }
+
+        for (final AeronCluster client : clients)
+        {
+            while (client.offer(client.nextCorrelationId(), msgBuffer, 0, msg.length()) < 0)
+            {
+                TestUtil.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+
+        while (responseCount.get() < SERVICE_COUNT)
+        {
+            int workCount = 0;
+            for (final AeronCluster client : clients)
+            {
+                workCount += client.pollEgress();
+            }
+
+            if (0 == workCount)
+            {
+                TestUtil.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+
+        for (int i = 0; i < SERVICE_COUNT; i++)
+        {
+            assertThat(messageCountByServiceId.get(i), is(1));
+        }
+    }
+
+    private ClusteredServiceContainer launchPartitionedEchoService(final int serviceId)
+    {
+        final ClusteredService echoService = new StubClusteredService()
+        {
+            public void onSessionMessage(
+                final ClientSession session,
+                final long correlationId,
+                final long timestampMs,
+                final DirectBuffer buffer,
+                final int offset,
+                final int length,
+                final Header header)
+            {
+                assertThat((int)(session.id() % SERVICE_COUNT), is(serviceId));
+                messageCountByServiceId.incrementAndGet(serviceId);
+
+                while (session.offer(correlationId, buffer, offset, length) < 0)
+                {
+                    cluster.idle();
+                }
+            }
+        };
+
+        return ClusteredServiceContainer.launch(
+            new ClusteredServiceContainer.Context()
+                .serviceId(serviceId)
+                .partitionCount(SERVICE_COUNT)
+                .clusteredService(echoService)
+                .errorHandler(Throwable::printStackTrace));
+    }
+
+    private AeronCluster connectToCluster(final SessionMessageListener sessionMessageListener)
+    {
+        return AeronCluster.connect(
+            new AeronCluster.Context()
+                .sessionMessageListener(sessionMessageListener)
+                .ingressChannel("aeron:udp")
+                .clusterMemberEndpoints("0=localhost:9010,1=localhost:9011,2=localhost:9012"));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import org.agrona.IoUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.cluster.ConsensusModule.Configuration.SERVICE_ID;
+import static io.aeron.cluster.RecordingLog.ENTRY_TYPE_SNAPSHOT;
+import static io.aeron.cluster.RecordingLog.ENTRY_TYPE_TERM;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class RecordingLogTest
+{
+    private static final long LOG_RECORDING_ID = 0;
+
+    private final File parentDir = new File(IoUtil.tmpDirName(), "recording-log-test");
+
+    @Before
+    public void before()
+    {
+        IoUtil.delete(parentDir, true);
+        IoUtil.ensureDirectoryExists(parentDir, "recording log");
+    }
+
+    @After
+    public void after()
+    {
+        IoUtil.delete(parentDir, true);
+    }
+
+    @Test
+    public void shouldCompactToLatestSnapshot()
+    {
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            recordingLog.appendTerm(LOG_RECORDING_ID, 0, 0, 0);
+            recordingLog.appendSnapshot(1, 0, 0, 100, 10, 0);
+            recordingLog.appendSnapshot(2, 0, 0, 100, 10, SERVICE_ID);
+            recordingLog.commitLogPosition(0, 200);
+
+            recordingLog.appendTerm(LOG_RECORDING_ID, 1, 200, 20);
+            recordingLog.appendSnapshot(3, 1, 200, 300, 30, 0);
+            recordingLog.appendSnapshot(4, 1, 200, 300, 30, SERVICE_ID);
+
+            final ArrayList<RecordingLog.Entry> removedEntries = new ArrayList<>();
+            assertThat(recordingLog.compact(removedEntries), is(2));
+            assertThat(removedEntries.size(), is(2));
+            assertThat(removedEntries.get(0).recordingId, is(1L));
+            assertThat(removedEntries.get(1).recordingId, is(2L));
+
+            assertCompactedEntries(recordingLog.entries());
+            assertThat(recordingLog.getTermEntry(1).termBaseLogPosition, is(200L));
+            assertThat(recordingLog.getLatestSnapshot(SERVICE_ID).recordingId, is(4L));
+        }
+
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            assertCompactedEntries(recordingLog.entries());
+        }
+    }
+
+    @Test
+    public void shouldAppendAfterCompaction()
+    {
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            recordingLog.appendTerm(LOG_RECORDING_ID, 0, 0, 0);
+            recordingLog.appendSnapshot(1, 0, 0, 100, 10, SERVICE_ID);
+            recordingLog.appendSnapshot(2, 0, 0, 200, 20, SERVICE_ID);
+
+            assertThat(recordingLog.compact(new ArrayList<>()), is(1));
+            assertThat(recordingLog.nextEntryIndex(), is(2));
+
+            recordingLog.commitLogPosition(0, 300);
+            recordingLog.appendTerm(LOG_RECORDING_ID, 1, 300, 30);
+        }
+
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            final List<RecordingLog.Entry> entries = recordingLog.entries();
+            assertThat(entries.size(), is(3));
+            assertThat(entries.get(0).logPosition, is(300L));
+            assertThat(entries.get(1).recordingId, is(2L));
+            assertThat(entries.get(2).leadershipTermId, is(1L));
+            assertThat(entries.get(2).entryIndex, is(2));
+        }
+    }
+
+    @Test
+    public void shouldOnlyRemoveTombstonedEntriesWhenNoSnapshot()
+    {
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            recordingLog.appendTerm(LOG_RECORDING_ID, 0, 0, 0);
+            recordingLog.appendTerm(LOG_RECORDING_ID, 1, 100, 10);
+            recordingLog.tombstoneEntry(1, 1);
+        }
+
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            assertThat(recordingLog.compact(new ArrayList<>()), is(1));
+            assertThat(recordingLog.entries().size(), is(1));
+            assertThat(recordingLog.nextEntryIndex(), is(1));
+        }
+    }
+
+    @Test
+    public void shouldResolveStopPositionOfEarlierTermForLaggingMemberAfterCompaction()
+    {
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            recordingLog.appendTerm(LOG_RECORDING_ID, 0, 0, 0);
+            recordingLog.commitLogPosition(0, 200);
+            recordingLog.appendTerm(LOG_RECORDING_ID, 1, 200, 20);
+            recordingLog.commitLogPosition(1, 500);
+            recordingLog.appendTerm(LOG_RECORDING_ID, 2, 500, 50);
+            recordingLog.appendSnapshot(1, 2, 500, 600, 60, SERVICE_ID);
+            recordingLog.appendSnapshot(2, 2, 500, 700, 70, SERVICE_ID);
+
+            assertThat(recordingLog.compact(new ArrayList<>()), is(1));
+
+            // a follower which last saw term 0 canvasses and the leader must give it the stop position of term 0
+            assertThat(recordingLog.getTermEntry(0).logPosition, is(200L));
+            assertThat(recordingLog.getTermEntry(1).logPosition, is(500L));
+        }
+
+        try (RecordingLog recordingLog = new RecordingLog(parentDir))
+        {
+            assertThat(recordingLog.getTermEntry(0).logPosition, is(200L));
+            assertThat(recordingLog.getTermEntry(1).termBaseLogPosition, is(200L));
+            assertThat(recordingLog.getLatestSnapshot(SERVICE_ID).recordingId, is(2L));
+        }
+    }
+
+    private static void assertCompactedEntries(final List<RecordingLog.Entry> entries)
+    {
+        assertThat(entries.size(), is(4));
+        assertThat(entries.get(0).type, is(ENTRY_TYPE_TERM));
+        assertThat(entries.get(0).leadershipTermId, is(0L));
+        assertThat(entries.get(0).logPosition, is(200L));
+        assertThat(entries.get(0).entryIndex, is(0));
+        assertThat(entries.get(1).type, is(ENTRY_TYPE_TERM));
+        assertThat(entries.get(1).leadershipTermId, is(1L));
+        assertThat(entries.get(2).type, is(ENTRY_TYPE_SNAPSHOT));
+        assertThat(entries.get(2).recordingId, is(3L));
+        assertThat(entries.get(3).recordingId, is(4L));
+    }
+}
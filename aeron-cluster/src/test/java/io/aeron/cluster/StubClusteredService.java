@@ -52,6 +52,17 @@ public class StubClusteredService implements ClusteredService
     {
     }
 
+    public void onQuery(
+        final ClientSession session,
+        final long correlationId,
+        final long timestampMs,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final Header header)
+    {
+    }
+
     public void onTimerEvent(final long correlationId, final long timestampMs)
     {
     }
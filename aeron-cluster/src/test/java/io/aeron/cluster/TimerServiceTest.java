@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster;
+
+import org.agrona.collections.LongArrayList;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static io.aeron.cluster.ConsensusModule.Configuration.TIMER_BATCH_LIMIT;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class TimerServiceTest
+{
+    private static final int TICKS_PER_WHEEL = 128;
+
+    private final ConsensusModuleAgent mockAgent = mock(ConsensusModuleAgent.class);
+    private final LongArrayList expiredCorrelationIds = new LongArrayList();
+    private final TimerService timerService = new TimerService(mockAgent);
+
+    @Test
+    public void shouldAppendTimersWhichExpireTogetherAsOneBatch()
+    {
+        recordTimerEvents(true);
+
+        for (int i = 0; i < 100; i++)
+        {
+            timerService.scheduleTimer(i, 10);
+        }
+
+        assertThat(pollUntilExpiry(20), is(100));
+
+        verify(mockAgent, times(1)).onTimerEvents(any(long[].class), eq(100), eq(20L));
+        assertThat(expiredCorrelationIds.size(), is(100));
+        assertThat(timerService.timerCount(), is(0L));
+    }
+
+    @Test
+    public void shouldLimitBatchOfExpiredTimers()
+    {
+        recordTimerEvents(true);
+
+        final int timerCount = TIMER_BATCH_LIMIT + 10;
+        for (int i = 0; i < timerCount; i++)
+        {
+            timerService.scheduleTimer(i, 10);
+        }
+
+        assertThat(pollUntilExpiry(20), is(TIMER_BATCH_LIMIT));
+        assertThat(pollUntilExpiry(20), is(10));
+
+        verify(mockAgent).onTimerEvents(any(long[].class), eq(TIMER_BATCH_LIMIT), eq(20L));
+        verify(mockAgent).onTimerEvents(any(long[].class), eq(10), eq(20L));
+        assertThat(expiredCorrelationIds.size(), is(timerCount));
+    }
+
+    @Test
+    public void shouldRetainExpiredTimersWhenBackPressured()
+    {
+        recordTimerEvents(false);
+
+        timerService.scheduleTimer(1, 10);
+        timerService.scheduleTimer(2, 10);
+        timerService.scheduleTimer(3, 10);
+
+        pollUntilExpiry(20);
+
+        assertThat(timerService.timerCount(), is(3L));
+        assertTrue(timerService.cancelTimer(2));
+        assertFalse(timerService.cancelTimer(2));
+
+        recordTimerEvents(true);
+        timerService.poll(30);
+
+        verify(mockAgent).onTimerEvents(any(long[].class), eq(2), eq(30L));
+        assertThat(expiredCorrelationIds, containsInAnyOrder(1L, 3L));
+        assertThat(timerService.timerCount(), is(0L));
+    }
+
+    @Test
+    public void shouldSnapshotScheduledAndPendingTimers()
+    {
+        final ConsensusModuleSnapshotTaker mockSnapshotTaker = mock(ConsensusModuleSnapshotTaker.class);
+        when(mockAgent.onTimerEvents(any(long[].class), anyInt(), anyLong())).thenReturn(false);
+
+        timerService.scheduleTimer(1, 10);
+        timerService.scheduleTimer(2, 100);
+        pollUntilExpiry(20);
+
+        timerService.snapshot(mockSnapshotTaker);
+
+        final InOrder inOrder = inOrder(mockSnapshotTaker);
+        inOrder.verify(mockSnapshotTaker).snapshotTimer(1, 20);
+        inOrder.verify(mockSnapshotTaker).snapshotTimer(2, 100);
+        inOrder.verify(mockSnapshotTaker).flushTimers();
+    }
+
+    private int pollUntilExpiry(final long nowMs)
+    {
+        int expired = 0;
+        for (int i = 0; i < TICKS_PER_WHEEL && 0 == expired; i++)
+        {
+            expired = timerService.poll(nowMs);
+        }
+
+        return expired;
+    }
+
+    private void recordTimerEvents(final boolean result)
+    {
+        when(mockAgent.onTimerEvents(any(long[].class), anyInt(), anyLong())).thenAnswer(
+            (invocation) ->
+            {
+                if (result)
+                {
+                    final long[] correlationIds = invocation.getArgument(0);
+                    final int count = invocation.getArgument(1);
+                    for (int i = 0; i < count; i++)
+                    {
+                        expiredCorrelationIds.addLong(correlationIds[i]);
+                    }
+                }
+
+                return result;
+            });
+    }
+}
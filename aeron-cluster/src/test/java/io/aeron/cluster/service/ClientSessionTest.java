@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.cluster.service;
+
+import io.aeron.Aeron;
+import io.aeron.ConcurrentPublication;
+import io.aeron.DirectBufferVector;
+import io.aeron.cluster.client.ClusterException;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class ClientSessionTest
+{
+    private static final long SESSION_ID = 7;
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+    private static final int RESPONSE_STREAM_ID = 102;
+    private static final String RESPONSE_CHANNEL = "aeron:ipc";
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[2 * MAX_MESSAGE_LENGTH]);
+    private final ClusteredServiceAgent cluster = mock(ClusteredServiceAgent.class);
+    private final ConcurrentPublication publication = mock(ConcurrentPublication.class);
+    private final Aeron aeron = mock(Aeron.class);
+
+    @Before
+    public void before()
+    {
+        when(cluster.role()).thenReturn(Cluster.Role.LEADER);
+        when(cluster.isEgressCoalescing()).thenReturn(true);
+        when(cluster.egressCoalescingLength()).thenReturn(MAX_MESSAGE_LENGTH);
+        when(publication.maxMessageLength()).thenReturn(MAX_MESSAGE_LENGTH);
+        when(publication.offer(any(DirectBuffer.class), anyInt(), anyInt(), isNull())).thenReturn(1L);
+        when(aeron.addPublication(RESPONSE_CHANNEL, RESPONSE_STREAM_ID)).thenReturn(publication);
+    }
+
+    @Test
+    public void shouldRejectCoalescedMessageLongerThanMaxMessageLength()
+    {
+        final ClientSession session = newConnectedSession();
+
+        try
+        {
+            session.offer(1, buffer, 0, MAX_MESSAGE_LENGTH);
+            fail("expected ClusterException");
+        }
+        catch (final ClusterException ignore)
+        {
+        }
+
+        assertTrue(session.flushEgress());
+        verify(publication, never()).offer(any(DirectBuffer.class), anyInt(), anyInt(), isNull());
+    }
+
+    @Test
+    public void shouldRejectBatchLongerThanMaxMessageLength()
+    {
+        final ClientSession session = newConnectedSession();
+        final DirectBufferVector[] messages =
+        {
+            new DirectBufferVector(buffer, 0, MAX_MESSAGE_LENGTH / 2),
+            new DirectBufferVector(buffer, 0, MAX_MESSAGE_LENGTH / 2),
+        };
+
+        try
+        {
+            session.offerBatch(1, messages);
+            fail("expected ClusterException");
+        }
+        catch (final ClusterException ignore)
+        {
+        }
+
+        assertTrue(session.flushEgress());
+        verify(publication, never()).offer(any(DirectBuffer.class), anyInt(), anyInt(), isNull());
+    }
+
+    @Test
+    public void shouldLimitEgressBatchLengthToMaxMessageLengthOnConnect()
+    {
+        when(cluster.egressCoalescingLength()).thenReturn(4 * MAX_MESSAGE_LENGTH);
+        final ClientSession session = newConnectedSession();
+
+        verify(cluster).onError(isA(ClusterException.class));
+
+        final int length = MAX_MESSAGE_LENGTH / 2;
+        assertEquals(ClientSession.COALESCED_OFFER, session.offer(1, buffer, 0, length));
+        assertEquals(ClientSession.COALESCED_OFFER, session.offer(2, buffer, 0, length));
+        assertTrue(session.flushEgress());
+
+        verify(publication, times(2)).offer(
+            any(DirectBuffer.class), anyInt(), intThat(lessThanOrEqualTo(MAX_MESSAGE_LENGTH)::matches), isNull());
+    }
+
+    private ClientSession newConnectedSession()
+    {
+        final ClientSession session = new ClientSession(
+            SESSION_ID, 0, RESPONSE_STREAM_ID, RESPONSE_CHANNEL, new byte[0], cluster);
+        session.connect(aeron);
+
+        return session;
+    }
+}
@@ -24,6 +24,7 @@ import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.SendChannelEndpoint;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import org.agrona.BitUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.BackoffIdleStrategy;
@@ -452,6 +453,51 @@ public class Configuration
     public static final boolean SPIES_SIMULATE_CONNECTION =
         "true".equalsIgnoreCase(getProperty(SPIES_SIMULATE_CONNECTION_PROP_NAME, "false"));
 
+    /**
+     * Property name for if streams should measure RTT and adapt NAK delays, retransmit linger, and Status Message
+     * intervals to a smoothed estimate. Status Messages are only sent more often than the
+     * {@link #STATUS_MESSAGE_TIMEOUT_PROP_NAME} while data is flowing, idle streams keep to the configured timeout.
+     */
+    public static final String RTT_ADAPTIVE_PROP_NAME = "aeron.rtt.adaptive";
+
+    /**
+     * Should streams measure RTT and adapt feedback timing to a smoothed estimate. Default is false so timing is
+     * static.
+     */
+    public static final boolean RTT_ADAPTIVE = "true".equalsIgnoreCase(getProperty(RTT_ADAPTIVE_PROP_NAME, "false"));
+
+    /**
+     * Property name for the interval between RTT measurements when adaptive timing is enabled.
+     */
+    public static final String RTT_MEASUREMENT_INTERVAL_PROP_NAME = "aeron.rtt.measurement.interval";
+
+    /**
+     * Default interval between RTT measurements when adaptive timing is enabled.
+     */
+    public static final long RTT_MEASUREMENT_INTERVAL_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Property name for the lower bound of feedback delays derived from the RTT estimate.
+     */
+    public static final String RTT_ADAPTIVE_MIN_DELAY_PROP_NAME = "aeron.rtt.adaptive.min.delay";
+
+    /**
+     * Lower bound of feedback delays derived from the RTT estimate.
+     */
+    public static final long RTT_ADAPTIVE_MIN_DELAY_NS = getDurationInNanos(
+        RTT_ADAPTIVE_MIN_DELAY_PROP_NAME, TimeUnit.MILLISECONDS.toNanos(1));
+
+    /**
+     * Property name for the upper bound of feedback delays derived from the RTT estimate.
+     */
+    public static final String RTT_ADAPTIVE_MAX_DELAY_PROP_NAME = "aeron.rtt.adaptive.max.delay";
+
+    /**
+     * Upper bound of feedback delays derived from the RTT estimate.
+     */
+    public static final long RTT_ADAPTIVE_MAX_DELAY_NS = getDurationInNanos(
+        RTT_ADAPTIVE_MAX_DELAY_PROP_NAME, TimeUnit.SECONDS.toNanos(1));
+
     private static final String DEFAULT_IDLE_STRATEGY = "org.agrona.concurrent.BackoffIdleStrategy";
 
     /**
@@ -816,11 +862,73 @@ public class Configuration
     public static final FeedbackDelayGenerator RETRANSMIT_UNICAST_LINGER_GENERATOR =
         () -> RETRANSMIT_UNICAST_LINGER_DEFAULT_NS;
 
+    /**
+     * Property name for the maximum number of gaps a receiver will detect in a scan of an image and request the
+     * retransmit of in a single {@link io.aeron.protocol.NakRangeListFlyweight} message.
+     * <p>
+     * The default of 1 only NAKs the first gap with the original NAK frame which is understood by all senders.
+     */
+    public static final String NAK_MAX_GAPS_PROP_NAME = "aeron.rcv.nak.max.gaps";
+
+    /**
+     * Default maximum number of gaps a receiver will NAK in a single message.
+     */
+    public static final int NAK_MAX_GAPS_DEFAULT = 1;
+
+    /**
+     * Property name for the length of burst in bytes a paced network publication may send in one go after being
+     * idle. The publication MTU is used if greater.
+     *
+     * @see io.aeron.CommonContext#PACING_RATE_PARAM_NAME
+     */
+    public static final String PACING_BURST_LENGTH_PROP_NAME = "aeron.pacing.burst.length";
+
+    /**
+     * Default length of burst in bytes a paced network publication may send in one go.
+     */
+    public static final int PACING_BURST_LENGTH_DEFAULT = 16 * 1024;
+
+    /**
+     * Property name for the max number of active retransmissions per network publication. NAKs which cannot be
+     * coalesced into an active retransmission are dropped when this is reached.
+     */
+    public static final String MAX_RETRANSMITS_PROP_NAME = "aeron.retransmit.max.actions";
+
     /**
      * Default max number of active retransmissions per connected stream.
      */
     public static final int MAX_RETRANSMITS_DEFAULT = 16;
 
+    /**
+     * Property name for the longest interval in nanoseconds Status Messages will back off to when an image is idle,
+     * i.e. nothing has been received or consumed since the last Status Message. The interval doubles from
+     * {@link #STATUS_MESSAGE_TIMEOUT_PROP_NAME} with each idle Status Message and resets as soon as data flows.
+     * <p>
+     * This must be below the receiver timeout of the multicast flow control strategies, 2 seconds by default, and the
+     * {@link #PUBLICATION_CONNECTION_TIMEOUT_PROP_NAME} so idle receivers are not considered gone.
+     */
+    public static final String STATUS_MESSAGE_IDLE_TIMEOUT_PROP_NAME = "aeron.rcv.status.message.idle.timeout";
+
+    /**
+     * Default of 0 disables back off of Status Messages for idle images.
+     */
+    public static final long STATUS_MESSAGE_IDLE_TIMEOUT_DEFAULT_NS = 0;
+
+    /**
+     * Property name for if Status Messages for different images going to the same control address should be
+     * batched into a single datagram per duty cycle of the {@link Receiver}.
+     * <p>
+     * Senders from versions which only process the first frame in a control datagram will miss the batched frames
+     * so this should only be enabled when all senders are capable.
+     */
+    public static final String STATUS_MESSAGE_BATCH_PROP_NAME = "aeron.rcv.status.message.batch";
+
+    /**
+     * Should Status Messages to the same control address be batched into a single datagram. Default is false.
+     */
+    public static final boolean STATUS_MESSAGE_BATCH =
+        "true".equalsIgnoreCase(getProperty(STATUS_MESSAGE_BATCH_PROP_NAME, "false"));
+
     /**
      * How far ahead the publisher can get from the sender position.
      *
@@ -941,11 +1049,36 @@ public class Configuration
         return getSizeAsInt(INITIAL_WINDOW_LENGTH_PROP_NAME, INITIAL_WINDOW_LENGTH_DEFAULT);
     }
 
+    static int nakMaxGaps()
+    {
+        return getInteger(NAK_MAX_GAPS_PROP_NAME, NAK_MAX_GAPS_DEFAULT);
+    }
+
+    static int maxRetransmits()
+    {
+        return getInteger(MAX_RETRANSMITS_PROP_NAME, MAX_RETRANSMITS_DEFAULT);
+    }
+
+    static int pacingBurstLength()
+    {
+        return getSizeAsInt(PACING_BURST_LENGTH_PROP_NAME, PACING_BURST_LENGTH_DEFAULT);
+    }
+
+    static long rttMeasurementInterval()
+    {
+        return getDurationInNanos(RTT_MEASUREMENT_INTERVAL_PROP_NAME, RTT_MEASUREMENT_INTERVAL_DEFAULT_NS);
+    }
+
     static long statusMessageTimeout()
     {
         return getDurationInNanos(STATUS_MESSAGE_TIMEOUT_PROP_NAME, STATUS_MESSAGE_TIMEOUT_DEFAULT_NS);
     }
 
+    static long statusMessageIdleTimeout()
+    {
+        return getDurationInNanos(STATUS_MESSAGE_IDLE_TIMEOUT_PROP_NAME, STATUS_MESSAGE_IDLE_TIMEOUT_DEFAULT_NS);
+    }
+
     static int sendToStatusMessagePollRatio()
     {
         return getInteger(SEND_TO_STATUS_POLL_RATIO_PROP_NAME, SEND_TO_STATUS_POLL_RATIO_DEFAULT);
@@ -1105,6 +1238,75 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that the max number of active retransmissions allows at least one.
+     *
+     * @param maxRetransmits to be validated.
+     * @throws ConfigurationException if the max retransmits is not valid.
+     */
+    static void validateMaxRetransmits(final int maxRetransmits)
+    {
+        if (maxRetransmits < 1)
+        {
+            throw new ConfigurationException("maxRetransmits must be >= 1: " + maxRetransmits);
+        }
+    }
+
+    /**
+     * Validate that the maximum number of gaps to NAK in a single message can be carried in a
+     * {@link NakRangeListFlyweight}.
+     *
+     * @param nakMaxGaps to be validated.
+     * @throws ConfigurationException if the max gaps is not valid.
+     */
+    static void validateNakMaxGaps(final int nakMaxGaps)
+    {
+        if (nakMaxGaps < 1 || nakMaxGaps > NakRangeListFlyweight.MAX_RANGE_COUNT)
+        {
+            throw new ConfigurationException(
+                "nakMaxGaps must be >= 1 and <= " + NakRangeListFlyweight.MAX_RANGE_COUNT + ": " + nakMaxGaps);
+        }
+    }
+
+    /**
+     * Validate that the idle Status Message timeout is either disabled or at least the Status Message timeout and
+     * below both the publication connection timeout and the receiver timeout of the multicast flow control
+     * strategies, so an idle receiver is neither disconnected nor dropped from the minimum of a multicast group.
+     *
+     * @param idleTimeoutNs                to be validated.
+     * @param statusMessageTimeoutNs       set for the driver operation.
+     * @param connectionTimeoutNs          set for the driver operation.
+     * @param flowControlReceiverTimeoutNs after which multicast flow control stops tracking a silent receiver.
+     * @throws ConfigurationException if the idle timeout is not valid.
+     */
+    static void validateStatusMessageIdleTimeoutNs(
+        final long idleTimeoutNs,
+        final long statusMessageTimeoutNs,
+        final long connectionTimeoutNs,
+        final long flowControlReceiverTimeoutNs)
+    {
+        if (0 != idleTimeoutNs &&
+            (idleTimeoutNs < statusMessageTimeoutNs ||
+            idleTimeoutNs >= connectionTimeoutNs ||
+            idleTimeoutNs >= flowControlReceiverTimeoutNs))
+        {
+            throw new ConfigurationException(
+                "statusMessageIdleTimeoutNs must be 0 or >= statusMessageTimeoutNs and < " +
+                "publicationConnectionTimeoutNs and < flow control receiver timeout: " + idleTimeoutNs);
+        }
+    }
+
+    /**
+     * The shortest receiver timeout of the multicast flow control strategies, after which a receiver that has not
+     * sent a Status Message is no longer tracked.
+     *
+     * @return the shortest receiver timeout of the multicast flow control strategies in nanoseconds.
+     */
+    static long flowControlReceiverTimeoutNs()
+    {
+        return Math.min(MinMulticastFlowControl.RECEIVER_TIMEOUT, PreferredMulticastFlowControl.RECEIVER_TIMEOUT);
+    }
+
     /**
      * Validate the publication linger timeout is an appropriate value.
      *
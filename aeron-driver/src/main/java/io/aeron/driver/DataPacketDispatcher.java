@@ -18,19 +18,27 @@ package io.aeron.driver;
 import io.aeron.driver.exceptions.UnknownSubscriptionException;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
+import org.agrona.collections.Hashing;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.IntHashSet;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import static io.aeron.driver.DataPacketDispatcher.SessionState.*;
 
 /**
  * Handling of dispatching data packets to {@link PublicationImage}s streams.
  * <p>
+ * Data packets for active images are dispatched via a last hit cache, as packets tend to arrive in runs for the
+ * same image, then via a flat map keyed by stream and session id. The per stream maps of session interest are only
+ * consulted for sessions without an active image.
+ * <p>
  * All methods should be called from the {@link Receiver} thread.
  */
 public class DataPacketDispatcher
@@ -70,6 +78,10 @@ public class DataPacketDispatcher
     }
 
     private final Int2ObjectHashMap<StreamInterest> streamInterestByIdMap = new Int2ObjectHashMap<>();
+    private final Long2ObjectHashMap<PublicationImage> imageBySessionAndStreamIdMap = new Long2ObjectHashMap<>();
+    private long lastImageKey;
+    private PublicationImage lastImage;
+    private PublicationImage singleImage;
     private final DriverConductorProxy conductorProxy;
     private final Receiver receiver;
 
@@ -137,6 +149,7 @@ public class DataPacketDispatcher
             {
                 if (null != sessionInterest.image)
                 {
+                    removeImageIndex(sessionId, streamId);
                     sessionInterest.image.ifActiveGoInactive();
                 }
 
@@ -163,6 +176,7 @@ public class DataPacketDispatcher
         final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.remove(sessionId);
         if (null != sessionInterest && null != sessionInterest.image)
         {
+            removeImageIndex(sessionId, streamId);
             sessionInterest.image.ifActiveGoInactive();
         }
 
@@ -193,6 +207,9 @@ public class DataPacketDispatcher
         }
 
         sessionInterest.image = image;
+        removeImageIndex(sessionId, streamId);
+        imageBySessionAndStreamIdMap.put(Hashing.compoundKey(sessionId, streamId), image);
+        updateSingleImage();
 
         image.activate();
     }
@@ -212,6 +229,7 @@ public class DataPacketDispatcher
                 {
                     sessionInterest.state = ON_COOL_DOWN;
                     sessionInterest.image = null;
+                    removeImageIndex(sessionId, streamId);
                 }
             }
         }
@@ -254,23 +272,31 @@ public class DataPacketDispatcher
         final int transportIndex)
     {
         final int streamId = header.streamId();
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+        final int sessionId = header.sessionId();
+        final long imageKey = Hashing.compoundKey(sessionId, streamId);
+
+        PublicationImage image = lastImage;
+        if (null == image || imageKey != lastImageKey)
+        {
+            image = imageBySessionAndStreamIdMap.get(imageKey);
+            if (null != image)
+            {
+                lastImageKey = imageKey;
+                lastImage = image;
+            }
+        }
 
+        if (null != image)
+        {
+            return image.insertPacket(header.termId(), header.termOffset(), buffer, length, transportIndex, srcAddress);
+        }
+
+        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
         if (null != streamInterest)
         {
-            final int sessionId = header.sessionId();
-            final int termId = header.termId();
             final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
 
-            if (null != sessionInterest)
-            {
-                if (null != sessionInterest.image)
-                {
-                    return sessionInterest.image.insertPacket(
-                        termId, header.termOffset(), buffer, length, transportIndex, srcAddress);
-                }
-            }
-            else if (!DataHeaderFlyweight.isEndOfStream(buffer))
+            if (null == sessionInterest && !DataHeaderFlyweight.isEndOfStream(buffer))
             {
                 if (streamInterest.isForAllSessions || streamInterest.subscribedSessionIds.contains(sessionId))
                 {
@@ -384,11 +410,75 @@ public class DataPacketDispatcher
         }
     }
 
+    public void onFecPacket(
+        final FecFlyweight header,
+        final int length,
+        final UnsafeBuffer recoveryBuffer,
+        final InetSocketAddress srcAddress,
+        final int transportIndex)
+    {
+        final StreamInterest streamInterest = streamInterestByIdMap.get(header.streamId());
+
+        if (null != streamInterest)
+        {
+            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(header.sessionId());
+
+            if (null != sessionInterest && null != sessionInterest.image)
+            {
+                sessionInterest.image.onFecPacket(header, length, recoveryBuffer, transportIndex, srcAddress);
+            }
+        }
+    }
+
     public boolean shouldElicitSetupMessage()
     {
         return !streamInterestByIdMap.isEmpty();
     }
 
+    public ByteBuffer zeroCopyReceiveBuffer()
+    {
+        return null != singleImage ? singleImage.zeroCopyReceiveBuffer() : null;
+    }
+
+    public boolean onZeroCopyDataPacket(final int length, final InetSocketAddress srcAddress, final int transportIndex)
+    {
+        return singleImage.onZeroCopyDataPacket(length, transportIndex, srcAddress);
+    }
+
+    public void onZeroCopyRejected(final UnsafeBuffer buffer, final int length)
+    {
+        singleImage.onZeroCopyRejected(buffer, length);
+    }
+
+    public void onZeroCopyIdle()
+    {
+        if (null != singleImage)
+        {
+            singleImage.publishPendingFrame();
+        }
+    }
+
+    private void removeImageIndex(final int sessionId, final int streamId)
+    {
+        imageBySessionAndStreamIdMap.remove(Hashing.compoundKey(sessionId, streamId));
+        lastImage = null;
+        updateSingleImage();
+    }
+
+    private void updateSingleImage()
+    {
+        if (null != singleImage)
+        {
+            singleImage.publishPendingFrame();
+            singleImage = null;
+        }
+
+        if (1 == imageBySessionAndStreamIdMap.size())
+        {
+            singleImage = imageBySessionAndStreamIdMap.values().iterator().next();
+        }
+    }
+
     private void elicitSetupMessageFromSource(
         final ReceiveChannelEndpoint channelEndpoint,
         final int transportIndex,
@@ -45,6 +45,8 @@ import static io.aeron.ErrorCode.*;
 import static io.aeron.driver.Configuration.*;
 import static io.aeron.driver.PublicationParams.*;
 import static io.aeron.driver.status.SystemCounterDescriptor.ERRORS;
+import static io.aeron.driver.status.SystemCounterDescriptor.PACED_SENDS;
+import static io.aeron.driver.status.SystemCounterDescriptor.PACING_DELAY_NS;
 import static io.aeron.driver.status.SystemCounterDescriptor.UNBLOCKED_COMMANDS;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.protocol.DataHeaderFlyweight.createDefaultHeader;
@@ -226,6 +228,10 @@ public class DriverConductor implements Agent
                 context,
                 countersManager);
 
+            final RttEstimator rttEstimator = newRttEstimator(context.rttAdaptive());
+            final FeedbackDelayGenerator lossFeedbackDelayGenerator = newLossFeedbackDelayGenerator(
+                udpChannel.isMulticast(), rttEstimator);
+
             final PublicationImage image = new PublicationImage(
                 registrationId,
                 imageLivenessTimeoutNs,
@@ -238,7 +244,7 @@ public class DriverConductor implements Agent
                 activeTermId,
                 initialTermOffset,
                 rawLog,
-                udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR,
+                lossFeedbackDelayGenerator,
                 positionArray(subscriberPositions),
                 ReceiverHwm.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
                 ReceiverPos.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
@@ -249,7 +255,10 @@ public class DriverConductor implements Agent
                 sourceAddress,
                 congestionControl,
                 context.lossReport(),
-                subscriberPositions.get(0).subscription().isReliable());
+                subscriberPositions.get(0).subscription().isReliable(),
+                context.nakMaxGaps(),
+                rttEstimator,
+                context.statusMessageIdleTimeoutNs());
 
             publicationImages.add(image);
             receiverProxy.newPublicationImage(channelEndpoint, image);
@@ -996,11 +1005,13 @@ public class DriverConductor implements Agent
             senderPosition.setOrdered(position);
         }
 
+        final RttEstimator rttEstimator = newRttEstimator(context.rttAdaptive() || params.isPacingRateAuto);
         final RetransmitHandler retransmitHandler = new RetransmitHandler(
             cachedNanoClock,
             context.systemCounters(),
             RETRANSMIT_UNICAST_DELAY_GENERATOR,
-            RETRANSMIT_UNICAST_LINGER_GENERATOR);
+            newRetransmitLingerGenerator(context.rttAdaptive() ? rttEstimator : null),
+            context.maxRetransmits());
 
         final FlowControl flowControl = udpChannel.isMulticast() || udpChannel.hasExplicitControl() ?
             context.multicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId) :
@@ -1028,7 +1039,10 @@ public class DriverConductor implements Agent
             context.publicationConnectionTimeoutNs(),
             params.lingerTimeoutNs,
             isExclusive,
-            context.spiesSimulateConnection());
+            context.spiesSimulateConnection(),
+            rttEstimator,
+            newSendPacer(params),
+            params.fecGroupSize);
 
         channelEndpoint.incRef();
         networkPublications.add(publication);
@@ -1309,6 +1323,9 @@ public class DriverConductor implements Agent
                 ReceiveChannelStatus.allocate(tempBuffer, countersManager, udpChannel.originalUriString()),
                 context);
 
+            channelEndpoint.statusMessagesSentCounter(
+                ReceiveChannelStatusMessages.allocate(tempBuffer, countersManager, udpChannel.originalUriString()));
+
             receiveChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
             receiverProxy.registerReceiveChannelEndpoint(channelEndpoint);
         }
@@ -1562,4 +1579,57 @@ public class DriverConductor implements Agent
     {
         return address.getHostString() + ':' + address.getPort();
     }
+
+    private RttEstimator newRttEstimator(final boolean isRequired)
+    {
+        return isRequired ?
+            new RttEstimator(
+                nanoClock, context.rttMeasurementIntervalNs(), RTT_ADAPTIVE_MIN_DELAY_NS, RTT_ADAPTIVE_MAX_DELAY_NS) :
+            null;
+    }
+
+    private SendPacer newSendPacer(final PublicationParams params)
+    {
+        if (0 == params.pacingRate && !params.isPacingRateAuto)
+        {
+            return null;
+        }
+
+        final SystemCounters systemCounters = context.systemCounters();
+
+        return new SendPacer(
+            params.pacingRate,
+            params.isPacingRateAuto,
+            Math.max(params.mtuLength, context.pacingBurstLength()),
+            nanoClock.nanoTime(),
+            systemCounters.get(PACED_SENDS),
+            systemCounters.get(PACING_DELAY_NS));
+    }
+
+    private static FeedbackDelayGenerator newLossFeedbackDelayGenerator(
+        final boolean isMulticast, final RttEstimator rttEstimator)
+    {
+        final FeedbackDelayGenerator delayGenerator =
+            isMulticast ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR;
+
+        if (null == rttEstimator)
+        {
+            return delayGenerator;
+        }
+
+        final long referenceDelayNs = isMulticast ? NAK_MAX_BACKOFF_DEFAULT : NAK_UNICAST_DELAY_DEFAULT_NS;
+
+        return new RttAdaptiveDelayGenerator(delayGenerator, referenceDelayNs, rttEstimator);
+    }
+
+    private static FeedbackDelayGenerator newRetransmitLingerGenerator(final RttEstimator rttEstimator)
+    {
+        if (null == rttEstimator)
+        {
+            return RETRANSMIT_UNICAST_LINGER_GENERATOR;
+        }
+
+        return new RttAdaptiveDelayGenerator(
+            RETRANSMIT_UNICAST_LINGER_GENERATOR, RETRANSMIT_UNICAST_LINGER_DEFAULT_NS, rttEstimator);
+    }
 }
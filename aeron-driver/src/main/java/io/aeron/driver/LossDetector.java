@@ -19,32 +19,60 @@ import io.aeron.Aeron;
 import io.aeron.logbuffer.TermGapScanner;
 import org.agrona.concurrent.UnsafeBuffer;
 
-import static io.aeron.logbuffer.TermGapScanner.scanForGap;
+import static io.aeron.logbuffer.TermGapScanner.scanForGaps;
 
 /**
  * Detecting and handling of gaps in a message stream.
  * <p>
- * Each detector only notifies a single run of a gap in a message stream.
+ * Each detector notifies up to a maximum number of gaps found in a scan of a message stream so a burst of loss can
+ * be repaired in a single round trip. By default only the first gap is tracked.
  */
 public class LossDetector implements TermGapScanner.GapHandler
 {
     private final FeedbackDelayGenerator delayGenerator;
     private final LossHandler lossHandler;
-    private final Gap scannedGap = new Gap();
-    private final Gap activeGap = new Gap();
+    private final int maxGaps;
+    private final int[] scannedTermIds;
+    private final int[] scannedTermOffsets;
+    private final int[] scannedLengths;
+    private final int[] activeTermIds;
+    private final int[] activeTermOffsets;
+    private final int[] activeLengths;
+    private int scannedGapCount;
+    private int activeGapCount;
 
     private long deadlineNs = Aeron.NULL_VALUE;
 
     /**
-     * Create a loss detector for a channel.
+     * Create a loss detector for a channel which tracks the first gap only.
      *
      * @param delayGenerator to use for delay determination
      * @param lossHandler    to call when signalling a gap
      */
     public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler)
+    {
+        this(delayGenerator, lossHandler, 1);
+    }
+
+    /**
+     * Create a loss detector for a channel.
+     *
+     * @param delayGenerator to use for delay determination
+     * @param lossHandler    to call when signalling gaps
+     * @param maxGaps        to be tracked and signalled from a scan.
+     */
+    public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler, final int maxGaps)
     {
         this.delayGenerator = delayGenerator;
         this.lossHandler = lossHandler;
+        this.maxGaps = maxGaps;
+
+        scannedTermIds = new int[maxGaps];
+        scannedTermOffsets = new int[maxGaps];
+        scannedLengths = new int[maxGaps];
+        activeTermIds = new int[maxGaps];
+        activeTermOffsets = new int[maxGaps];
+        activeLengths = new int[maxGaps];
     }
 
     /**
@@ -82,12 +110,13 @@ public class LossDetector implements TermGapScanner.GapHandler
             final int hwmTermOffset = (int)hwmPosition & termLengthMask;
             final int limitOffset = rebuildTermCount == hwmTermCount ? hwmTermOffset : termBuffer.capacity();
 
-            rebuildOffset = scanForGap(termBuffer, rebuildTermId, rebuildOffset, limitOffset, this);
+            scannedGapCount = 0;
+            rebuildOffset = scanForGaps(termBuffer, rebuildTermId, rebuildOffset, limitOffset, maxGaps, this);
             if (rebuildOffset < limitOffset)
             {
-                if (!scannedGap.matches(activeGap))
+                if (!scannedGapsMatchActive())
                 {
-                    activateGap(nowNs, scannedGap);
+                    activateGaps(nowNs);
                     lossFound = true;
                 }
 
@@ -100,7 +129,10 @@ public class LossDetector implements TermGapScanner.GapHandler
 
     public void onGap(final int termId, final int offset, final int length)
     {
-        scannedGap.set(termId, offset, length);
+        final int index = scannedGapCount++;
+        scannedTermIds[index] = termId;
+        scannedTermOffsets[index] = offset;
+        scannedLengths[index] = length;
     }
 
     /**
@@ -137,9 +169,39 @@ public class LossDetector implements TermGapScanner.GapHandler
         return (int)(scanOutcome >>> 32);
     }
 
-    private void activateGap(final long nowNs, final Gap gap)
+    private boolean scannedGapsMatchActive()
+    {
+        if (scannedGapCount != activeGapCount)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < scannedGapCount; i++)
+        {
+            if (scannedTermIds[i] != activeTermIds[i] || scannedTermOffsets[i] != activeTermOffsets[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void activateGaps(final long nowNs)
     {
-        activeGap.set(gap.termId, gap.termOffset, gap.length);
+        final boolean isFirstGapActive = activeGapCount > 0 &&
+            scannedTermIds[0] == activeTermIds[0] &&
+            scannedTermOffsets[0] == activeTermOffsets[0];
+
+        System.arraycopy(scannedTermIds, 0, activeTermIds, 0, scannedGapCount);
+        System.arraycopy(scannedTermOffsets, 0, activeTermOffsets, 0, scannedGapCount);
+        System.arraycopy(scannedLengths, 0, activeLengths, 0, scannedGapCount);
+        activeGapCount = scannedGapCount;
+
+        if (isFirstGapActive)
+        {
+            return;
+        }
 
         if (delayGenerator.shouldFeedbackImmediately())
         {
@@ -155,27 +217,16 @@ public class LossDetector implements TermGapScanner.GapHandler
     {
         if (nowNs >= deadlineNs)
         {
-            lossHandler.onGapDetected(activeGap.termId, activeGap.termOffset, activeGap.length);
-            deadlineNs = nowNs + delayGenerator.generateDelay();
-        }
-    }
-
-    static final class Gap
-    {
-        int termId;
-        int termOffset = -1;
-        int length;
-
-        public void set(final int termId, final int termOffset, final int length)
-        {
-            this.termId = termId;
-            this.termOffset = termOffset;
-            this.length = length;
-        }
+            if (1 == activeGapCount)
+            {
+                lossHandler.onGapDetected(activeTermIds[0], activeTermOffsets[0], activeLengths[0]);
+            }
+            else
+            {
+                lossHandler.onGapsDetected(activeGapCount, activeTermIds, activeTermOffsets, activeLengths);
+            }
 
-        public boolean matches(final Gap other)
-        {
-            return other.termId == this.termId && other.termOffset == this.termOffset;
+            deadlineNs = nowNs + delayGenerator.generateDelay();
         }
     }
 }
@@ -29,4 +29,22 @@ public interface LossHandler
      * @param length     of the gap
      */
     void onGapDetected(int termId, int termOffset, int length);
+
+    /**
+     * Called when multiple gaps in the message stream have been detected in the same scan. By default each gap is
+     * signalled in turn via {@link #onGapDetected(int, int, int)}.
+     *
+     * @param gapCount    number of gaps detected which are valid in the arrays.
+     * @param termIds     for the gaps.
+     * @param termOffsets for the beginning of the gaps.
+     * @param lengths     of the gaps.
+     */
+    default void onGapsDetected(
+        final int gapCount, final int[] termIds, final int[] termOffsets, final int[] lengths)
+    {
+        for (int i = 0; i < gapCount; i++)
+        {
+            onGapDetected(termIds[i], termOffsets[i], lengths[i]);
+        }
+    }
 }
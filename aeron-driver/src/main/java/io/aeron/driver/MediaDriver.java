@@ -401,6 +401,8 @@ public final class MediaDriver implements AutoCloseable
         private boolean termBufferSparseFile = Configuration.TERM_BUFFER_SPARSE_FILE;
         private boolean performStorageChecks = Configuration.PERFORM_STORAGE_CHECKS;
         private boolean spiesSimulateConnection = Configuration.SPIES_SIMULATE_CONNECTION;
+        private boolean rttAdaptive = Configuration.RTT_ADAPTIVE;
+        private long rttMeasurementIntervalNs = Configuration.rttMeasurementInterval();
 
         private long timerIntervalNs = Configuration.TIMER_INTERVAL_NS;
         private long clientLivenessTimeoutNs = Configuration.CLIENT_LIVENESS_TIMEOUT_NS;
@@ -409,10 +411,15 @@ public final class MediaDriver implements AutoCloseable
         private long publicationConnectionTimeoutNs = Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS;
         private long publicationLingerTimeoutNs = Configuration.PUBLICATION_LINGER_NS;
         private long statusMessageTimeoutNs = Configuration.statusMessageTimeout();
+        private long statusMessageIdleTimeoutNs = Configuration.statusMessageIdleTimeout();
+        private boolean statusMessageBatch = Configuration.STATUS_MESSAGE_BATCH;
         private long counterFreeToReuseTimeoutNs = Configuration.counterFreeToReuseTimeout();
         private int publicationTermBufferLength = Configuration.termBufferLength();
         private int ipcPublicationTermBufferLength = Configuration.ipcTermBufferLength(publicationTermBufferLength);
         private int initialWindowLength = Configuration.initialWindowLength();
+        private int nakMaxGaps = Configuration.nakMaxGaps();
+        private int pacingBurstLength = Configuration.pacingBurstLength();
+        private int maxRetransmits = Configuration.maxRetransmits();
         private int mtuLength = Configuration.MTU_LENGTH;
         private int ipcMtuLength = Configuration.IPC_MTU_LENGTH;
         private int filePageSize = Configuration.FILE_PAGE_SIZE;
@@ -504,6 +511,13 @@ public final class MediaDriver implements AutoCloseable
                 LogBufferDescriptor.checkTermLength(ipcPublicationTermBufferLength);
 
                 Configuration.validateInitialWindowLength(initialWindowLength, mtuLength);
+                Configuration.validateNakMaxGaps(nakMaxGaps);
+                Configuration.validateMaxRetransmits(maxRetransmits);
+                Configuration.validateStatusMessageIdleTimeoutNs(
+                    statusMessageIdleTimeoutNs,
+                    statusMessageTimeoutNs,
+                    publicationConnectionTimeoutNs,
+                    Configuration.flowControlReceiverTimeoutNs());
 
                 cncByteBuffer = mapNewFile(
                     cncFile(),
@@ -824,6 +838,54 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Longest interval in nanoseconds that Status Messages will back off to for an idle image. 0 is disabled.
+         *
+         * @return longest interval in nanoseconds that Status Messages will back off to for an idle image.
+         * @see Configuration#STATUS_MESSAGE_IDLE_TIMEOUT_PROP_NAME
+         */
+        public long statusMessageIdleTimeoutNs()
+        {
+            return statusMessageIdleTimeoutNs;
+        }
+
+        /**
+         * Longest interval in nanoseconds that Status Messages will back off to for an idle image. 0 is disabled.
+         *
+         * @param statusMessageIdleTimeoutNs that Status Messages will back off to for an idle image.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_IDLE_TIMEOUT_PROP_NAME
+         */
+        public Context statusMessageIdleTimeoutNs(final long statusMessageIdleTimeoutNs)
+        {
+            this.statusMessageIdleTimeoutNs = statusMessageIdleTimeoutNs;
+            return this;
+        }
+
+        /**
+         * Should Status Messages to the same control address be batched into a single datagram.
+         *
+         * @return true if Status Messages to the same control address should be batched into a single datagram.
+         * @see Configuration#STATUS_MESSAGE_BATCH_PROP_NAME
+         */
+        public boolean statusMessageBatch()
+        {
+            return statusMessageBatch;
+        }
+
+        /**
+         * Should Status Messages to the same control address be batched into a single datagram.
+         *
+         * @param statusMessageBatch true if Status Messages to the same control address should be batched.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_BATCH_PROP_NAME
+         */
+        public Context statusMessageBatch(final boolean statusMessageBatch)
+        {
+            this.statusMessageBatch = statusMessageBatch;
+            return this;
+        }
+
         /**
          * Time in nanoseconds after which a freed counter may be reused.
          *
@@ -916,6 +978,56 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Should streams measure RTT and adapt NAK delays, retransmit linger, and Status Message intervals to a
+         * smoothed estimate rather than using static timing.
+         *
+         * @return true if streams should adapt feedback timing to the measured RTT.
+         * @see Configuration#RTT_ADAPTIVE_PROP_NAME
+         */
+        public boolean rttAdaptive()
+        {
+            return rttAdaptive;
+        }
+
+        /**
+         * Should streams measure RTT and adapt NAK delays, retransmit linger, and Status Message intervals to a
+         * smoothed estimate rather than using static timing.
+         *
+         * @param rttAdaptive true if streams should adapt feedback timing to the measured RTT.
+         * @return this for a fluent API.
+         * @see Configuration#RTT_ADAPTIVE_PROP_NAME
+         */
+        public Context rttAdaptive(final boolean rttAdaptive)
+        {
+            this.rttAdaptive = rttAdaptive;
+            return this;
+        }
+
+        /**
+         * Interval in nanoseconds between RTT measurements when adaptive timing is enabled.
+         *
+         * @return interval in nanoseconds between RTT measurements.
+         * @see Configuration#RTT_MEASUREMENT_INTERVAL_PROP_NAME
+         */
+        public long rttMeasurementIntervalNs()
+        {
+            return rttMeasurementIntervalNs;
+        }
+
+        /**
+         * Interval in nanoseconds between RTT measurements when adaptive timing is enabled.
+         *
+         * @param rttMeasurementIntervalNs between RTT measurements.
+         * @return this for a fluent API.
+         * @see Configuration#RTT_MEASUREMENT_INTERVAL_PROP_NAME
+         */
+        public Context rttMeasurementIntervalNs(final long rttMeasurementIntervalNs)
+        {
+            this.rttMeasurementIntervalNs = rttMeasurementIntervalNs;
+            return this;
+        }
+
         /**
          * Default length for a term buffer on a network publication.
          *
@@ -988,6 +1100,86 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * The maximum number of gaps a receiver will detect in an image and NAK in a single message so a burst of
+         * loss can be recovered in one round trip. Values greater than 1 require senders which understand
+         * {@link io.aeron.protocol.NakRangeListFlyweight} messages.
+         *
+         * @return the maximum number of gaps a receiver will NAK in a single message.
+         * @see Configuration#NAK_MAX_GAPS_PROP_NAME
+         */
+        public int nakMaxGaps()
+        {
+            return nakMaxGaps;
+        }
+
+        /**
+         * The maximum number of gaps a receiver will detect in an image and NAK in a single message so a burst of
+         * loss can be recovered in one round trip. Values greater than 1 require senders which understand
+         * {@link io.aeron.protocol.NakRangeListFlyweight} messages.
+         *
+         * @param nakMaxGaps the maximum number of gaps a receiver will NAK in a single message.
+         * @return this for a fluent API.
+         * @see Configuration#NAK_MAX_GAPS_PROP_NAME
+         */
+        public Context nakMaxGaps(final int nakMaxGaps)
+        {
+            this.nakMaxGaps = nakMaxGaps;
+            return this;
+        }
+
+        /**
+         * The max number of active retransmissions per network publication. NAKs which cannot be coalesced into an
+         * active retransmission are dropped when this is reached.
+         *
+         * @return the max number of active retransmissions per network publication.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
+         */
+        public int maxRetransmits()
+        {
+            return maxRetransmits;
+        }
+
+        /**
+         * The max number of active retransmissions per network publication. NAKs which cannot be coalesced into an
+         * active retransmission are dropped when this is reached.
+         *
+         * @param maxRetransmits the max number of active retransmissions per network publication.
+         * @return this for a fluent API.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
+         */
+        public Context maxRetransmits(final int maxRetransmits)
+        {
+            this.maxRetransmits = maxRetransmits;
+            return this;
+        }
+
+        /**
+         * Length of burst in bytes a paced network publication may send in one go after being idle.
+         *
+         * @return length of burst in bytes a paced network publication may send in one go.
+         * @see Configuration#PACING_BURST_LENGTH_PROP_NAME
+         * @see io.aeron.CommonContext#PACING_RATE_PARAM_NAME
+         */
+        public int pacingBurstLength()
+        {
+            return pacingBurstLength;
+        }
+
+        /**
+         * Length of burst in bytes a paced network publication may send in one go after being idle.
+         *
+         * @param pacingBurstLength in bytes a paced network publication may send in one go.
+         * @return this for a fluent API.
+         * @see Configuration#PACING_BURST_LENGTH_PROP_NAME
+         * @see io.aeron.CommonContext#PACING_RATE_PARAM_NAME
+         */
+        public Context pacingBurstLength(final int pacingBurstLength)
+        {
+            this.pacingBurstLength = pacingBurstLength;
+            return this;
+        }
+
         /**
          * MTU in bytes for datagrams sent to the network. Messages larger than this are fragmented.
          * <p>
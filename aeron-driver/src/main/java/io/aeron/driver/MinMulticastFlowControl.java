@@ -16,10 +16,8 @@
 package io.aeron.driver;
 
 import io.aeron.protocol.StatusMessageFlyweight;
-import org.agrona.collections.ArrayListUtil;
 
 import java.net.InetSocketAddress;
-import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
@@ -32,6 +30,9 @@ import static org.agrona.SystemUtil.getDurationInNanos;
  * <p>
  * Tracking of receivers is done as long as they continue to send Status Messages. Once SMs stop, the receiver tracking
  * for that receiver will timeout after a given number of nanoseconds.
+ * <p>
+ * Receivers are tracked in a {@link MulticastReceivers} so the cost of a Status Message is O(log n) in the number of
+ * receivers rather than a scan of all receivers.
  */
 public class MinMulticastFlowControl implements FlowControl
 {
@@ -45,10 +46,13 @@ public class MinMulticastFlowControl implements FlowControl
      */
     private static final long RECEIVER_TIMEOUT_DEFAULT = TimeUnit.SECONDS.toNanos(2);
 
-    private static final long RECEIVER_TIMEOUT = getDurationInNanos(
+    /**
+     * Timeout, in nanoseconds, until a receiver that has not sent a Status Message is no longer tracked.
+     */
+    static final long RECEIVER_TIMEOUT = getDurationInNanos(
         RECEIVER_TIMEOUT_PROP_NAME, RECEIVER_TIMEOUT_DEFAULT);
 
-    private final ArrayList<Receiver> receiverList = new ArrayList<>();
+    private final MulticastReceivers receivers = new MulticastReceivers();
 
     private volatile boolean shouldLinger = true;
 
@@ -77,34 +81,9 @@ public class MinMulticastFlowControl implements FlowControl
             initialTermId);
 
         final long windowLength = flyweight.receiverWindowLength();
-        final long receiverId = flyweight.receiverId();
-        boolean isExisting = false;
-        long minPosition = Long.MAX_VALUE;
-
-        final ArrayList<Receiver> receiverList = this.receiverList;
-        for (int i = 0, size = receiverList.size(); i < size; i++)
-        {
-            final Receiver receiver = receiverList.get(i);
-
-            if (receiverId == receiver.receiverId)
-            {
-                receiver.lastPosition = Math.max(position, receiver.lastPosition);
-                receiver.lastPositionPlusWindow = position + windowLength;
-                receiver.timeOfLastStatusMessageNs = timeNs;
-                isExisting = true;
-            }
-
-            minPosition = Math.min(minPosition, receiver.lastPositionPlusWindow);
-        }
-
-        if (!isExisting)
-        {
-            receiverList.add(new Receiver(
-                position, position + windowLength, timeNs, receiverId, receiverAddress));
-            minPosition = Math.min(minPosition, position + windowLength);
-        }
+        receivers.onStatusMessage(flyweight.receiverId(), position, position + windowLength, timeNs, receiverAddress);
 
-        return Math.max(senderLimit, minPosition);
+        return Math.max(senderLimit, receivers.minPositionPlusWindow());
     }
 
     /**
@@ -113,33 +92,18 @@ public class MinMulticastFlowControl implements FlowControl
     public long onIdle(
         final long timeNs, final long senderLimit, final long senderPosition, final boolean isEndOfStream)
     {
-        long minPosition = Long.MAX_VALUE;
-        long minLimitPosition = Long.MAX_VALUE;
-        final ArrayList<Receiver> receiverList = this.receiverList;
-
-        for (int lastIndex = receiverList.size() - 1, i = lastIndex; i >= 0; i--)
-        {
-            final Receiver receiver = receiverList.get(i);
-            if (timeNs > (receiver.timeOfLastStatusMessageNs + RECEIVER_TIMEOUT))
-            {
-                ArrayListUtil.fastUnorderedRemove(receiverList, i, lastIndex--);
-            }
-            else
-            {
-                minPosition = Math.min(minPosition, receiver.lastPosition);
-                minLimitPosition = Math.min(minLimitPosition, receiver.lastPositionPlusWindow);
-            }
-        }
+        final MulticastReceivers receivers = this.receivers;
+        receivers.removeTimedOut(timeNs, RECEIVER_TIMEOUT);
 
         if (isEndOfStream && shouldLinger)
         {
-            if (0 == receiverList.size() || minPosition >= senderPosition)
+            if (0 == receivers.size() || receivers.minPosition() >= senderPosition)
             {
                 shouldLinger = false;
             }
         }
 
-        return receiverList.size() > 0 ? minLimitPosition : senderLimit;
+        return receivers.size() > 0 ? receivers.minPositionPlusWindow() : senderLimit;
     }
 
     /**
@@ -149,27 +113,4 @@ public class MinMulticastFlowControl implements FlowControl
     {
         return shouldLinger;
     }
-
-    static class Receiver
-    {
-        long lastPosition;
-        long lastPositionPlusWindow;
-        long timeOfLastStatusMessageNs;
-        long receiverId;
-        InetSocketAddress address;
-
-        Receiver(
-            final long lastPosition,
-            final long lastPositionPlusWindow,
-            final long timeNs,
-            final long receiverId,
-            final InetSocketAddress receiverAddress)
-        {
-            this.lastPosition = lastPosition;
-            this.lastPositionPlusWindow = lastPositionPlusWindow;
-            this.timeOfLastStatusMessageNs = timeNs;
-            this.receiverId = receiverId;
-            this.address = receiverAddress;
-        }
-    }
-}
\ No newline at end of file
+}
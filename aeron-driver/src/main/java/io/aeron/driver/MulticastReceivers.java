@@ -0,0 +1,299 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.collections.ArrayUtil;
+import org.agrona.collections.Long2ObjectHashMap;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Tracking of the receivers of a multicast stream for the flow control strategies which need the minimum position
+ * across many receivers.
+ * <p>
+ * Receivers are indexed by receiver id, held in a min-heap ordered by position plus window so the minimum is
+ * available in O(1) and updated in O(log n) per Status Message, and linked in order of the last Status Message so
+ * timed out receivers can be removed from the head without scanning all receivers.
+ */
+final class MulticastReceivers
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Long2ObjectHashMap<Receiver> receiverByIdMap = new Long2ObjectHashMap<>();
+    private Receiver[] heap = new Receiver[INITIAL_CAPACITY];
+    private int size = 0;
+    private Receiver oldest;
+    private Receiver newest;
+
+    /**
+     * Number of receivers being tracked.
+     *
+     * @return number of receivers being tracked.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Record a Status Message from a receiver, adding the receiver if it is not already tracked.
+     *
+     * @param receiverId             of the receiver which sent the Status Message.
+     * @param position               consumed by the receiver.
+     * @param positionPlusWindow     limit to which the receiver can accept data.
+     * @param timeNs                 at which the Status Message was received.
+     * @param receiverAddress        from which the Status Message was received.
+     */
+    void onStatusMessage(
+        final long receiverId,
+        final long position,
+        final long positionPlusWindow,
+        final long timeNs,
+        final InetSocketAddress receiverAddress)
+    {
+        Receiver receiver = receiverByIdMap.get(receiverId);
+        if (null == receiver)
+        {
+            receiver = new Receiver(position, positionPlusWindow, timeNs, receiverId, receiverAddress);
+            receiverByIdMap.put(receiverId, receiver);
+            addToHeap(receiver);
+        }
+        else
+        {
+            receiver.lastPosition = Math.max(position, receiver.lastPosition);
+            receiver.timeOfLastStatusMessageNs = timeNs;
+
+            final long oldPositionPlusWindow = receiver.lastPositionPlusWindow;
+            receiver.lastPositionPlusWindow = positionPlusWindow;
+            if (positionPlusWindow < oldPositionPlusWindow)
+            {
+                siftUp(receiver.heapIndex);
+            }
+            else if (positionPlusWindow > oldPositionPlusWindow)
+            {
+                siftDown(receiver.heapIndex);
+            }
+
+            unlink(receiver);
+        }
+
+        linkAsNewest(receiver);
+    }
+
+    /**
+     * Minimum of position plus window across all tracked receivers.
+     *
+     * @return minimum of position plus window or {@link Long#MAX_VALUE} if no receivers are tracked.
+     */
+    long minPositionPlusWindow()
+    {
+        return size > 0 ? heap[0].lastPositionPlusWindow : Long.MAX_VALUE;
+    }
+
+    /**
+     * Minimum consumed position across all tracked receivers. This is O(n) so should only be used when draining.
+     *
+     * @return minimum consumed position or {@link Long#MAX_VALUE} if no receivers are tracked.
+     */
+    long minPosition()
+    {
+        long minPosition = Long.MAX_VALUE;
+        for (Receiver receiver = oldest; null != receiver; receiver = receiver.newer)
+        {
+            minPosition = Math.min(minPosition, receiver.lastPosition);
+        }
+
+        return minPosition;
+    }
+
+    /**
+     * Remove receivers which have not sent a Status Message within the timeout.
+     *
+     * @param timeNs    now in nanoseconds.
+     * @param timeoutNs after the last Status Message for a receiver to be removed.
+     * @return the number of receivers removed.
+     */
+    int removeTimedOut(final long timeNs, final long timeoutNs)
+    {
+        int removed = 0;
+        while (null != oldest && timeNs > (oldest.timeOfLastStatusMessageNs + timeoutNs))
+        {
+            final Receiver receiver = oldest;
+            unlink(receiver);
+            removeFromHeap(receiver.heapIndex);
+            receiverByIdMap.remove(receiver.receiverId);
+            removed++;
+        }
+
+        return removed;
+    }
+
+    private void addToHeap(final Receiver receiver)
+    {
+        if (size == heap.length)
+        {
+            heap = ArrayUtil.ensureCapacity(heap, size << 1);
+        }
+
+        heap[size] = receiver;
+        receiver.heapIndex = size;
+        siftUp(size++);
+    }
+
+    private void removeFromHeap(final int index)
+    {
+        final int lastIndex = --size;
+        final Receiver last = heap[lastIndex];
+        heap[lastIndex] = null;
+
+        if (index != lastIndex)
+        {
+            heap[index] = last;
+            last.heapIndex = index;
+            siftUp(index);
+            siftDown(last.heapIndex);
+        }
+    }
+
+    private void siftUp(final int startIndex)
+    {
+        final Receiver[] heap = this.heap;
+        final Receiver receiver = heap[startIndex];
+        final long value = receiver.lastPositionPlusWindow;
+        int index = startIndex;
+
+        while (index > 0)
+        {
+            final int parentIndex = (index - 1) >>> 1;
+            final Receiver parent = heap[parentIndex];
+            if (value >= parent.lastPositionPlusWindow)
+            {
+                break;
+            }
+
+            heap[index] = parent;
+            parent.heapIndex = index;
+            index = parentIndex;
+        }
+
+        heap[index] = receiver;
+        receiver.heapIndex = index;
+    }
+
+    private void siftDown(final int startIndex)
+    {
+        final Receiver[] heap = this.heap;
+        final int size = this.size;
+        final Receiver receiver = heap[startIndex];
+        final long value = receiver.lastPositionPlusWindow;
+        int index = startIndex;
+
+        while (true)
+        {
+            int childIndex = (index << 1) + 1;
+            if (childIndex >= size)
+            {
+                break;
+            }
+
+            final int rightIndex = childIndex + 1;
+            if (rightIndex < size && heap[rightIndex].lastPositionPlusWindow < heap[childIndex].lastPositionPlusWindow)
+            {
+                childIndex = rightIndex;
+            }
+
+            final Receiver child = heap[childIndex];
+            if (value <= child.lastPositionPlusWindow)
+            {
+                break;
+            }
+
+            heap[index] = child;
+            child.heapIndex = index;
+            index = childIndex;
+        }
+
+        heap[index] = receiver;
+        receiver.heapIndex = index;
+    }
+
+    private void linkAsNewest(final Receiver receiver)
+    {
+        receiver.older = newest;
+        receiver.newer = null;
+
+        if (null == newest)
+        {
+            oldest = receiver;
+        }
+        else
+        {
+            newest.newer = receiver;
+        }
+
+        newest = receiver;
+    }
+
+    private void unlink(final Receiver receiver)
+    {
+        if (null == receiver.older)
+        {
+            oldest = receiver.newer;
+        }
+        else
+        {
+            receiver.older.newer = receiver.newer;
+        }
+
+        if (null == receiver.newer)
+        {
+            newest = receiver.older;
+        }
+        else
+        {
+            receiver.newer.older = receiver.older;
+        }
+
+        receiver.older = null;
+        receiver.newer = null;
+    }
+
+    static final class Receiver
+    {
+        long lastPosition;
+        long lastPositionPlusWindow;
+        long timeOfLastStatusMessageNs;
+        long receiverId;
+        int heapIndex;
+        Receiver older;
+        Receiver newer;
+        InetSocketAddress address;
+
+        Receiver(
+            final long lastPosition,
+            final long lastPositionPlusWindow,
+            final long timeNs,
+            final long receiverId,
+            final InetSocketAddress receiverAddress)
+        {
+            this.lastPosition = lastPosition;
+            this.lastPositionPlusWindow = lastPositionPlusWindow;
+            this.timeOfLastStatusMessageNs = timeNs;
+            this.receiverId = receiverId;
+            this.address = receiverAddress;
+        }
+    }
+}
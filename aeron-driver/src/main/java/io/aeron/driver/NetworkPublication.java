@@ -21,6 +21,8 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.LogBufferUnblocker;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
@@ -41,6 +43,7 @@ import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.logbuffer.TermScanner.*;
 import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_AND_END_FLAGS;
 import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_END_AND_EOS_FLAGS;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
 
 class NetworkPublicationPadding1
 {
@@ -70,6 +73,8 @@ class NetworkPublicationSenderFields extends NetworkPublicationPadding2
     protected long timeOfLastSendOrHeartbeatNs;
     protected long timeOfLastSetupNs;
     protected long statusMessageDeadlineNs;
+    protected long fecGroupPosition;
+    protected int fecGroupFrameCount;
     protected boolean trackSenderLimits = true;
     protected boolean shouldSendSetupFrame = true;
 }
@@ -103,6 +108,7 @@ public class NetworkPublication
     private final int termLengthMask;
     private final int mtuLength;
     private final int termWindowLength;
+    private final int fecGroupSize;
     private final int sessionId;
     private final int streamId;
     private final boolean isExclusive;
@@ -127,9 +133,13 @@ public class NetworkPublication
     private final SetupFlyweight setupHeader;
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementHeader;
+    private final ByteBuffer fecBuffer;
+    private final FecFlyweight fecHeader;
     private final FlowControl flowControl;
     private final NanoClock nanoClock;
     private final RetransmitHandler retransmitHandler;
+    private final RttEstimator rttEstimator;
+    private final SendPacer sendPacer;
     private final UnsafeBuffer metaDataBuffer;
     private final RawLog rawLog;
     private final AtomicCounter heartbeatsSent;
@@ -137,6 +147,7 @@ public class NetworkPublication
     private final AtomicCounter senderFlowControlLimits;
     private final AtomicCounter shortSends;
     private final AtomicCounter unblockedPublications;
+    private final AtomicCounter fecFramesSent;
 
     public NetworkPublication(
         final long registrationId,
@@ -160,7 +171,10 @@ public class NetworkPublication
         final long connectionTimeoutNs,
         final long lingerTimeoutNs,
         final boolean isExclusive,
-        final boolean spiesSimulateConnection)
+        final boolean spiesSimulateConnection,
+        final RttEstimator rttEstimator,
+        final SendPacer sendPacer,
+        final int fecGroupSize)
     {
         this.registrationId = registrationId;
         this.unblockTimeoutNs = unblockTimeoutNs;
@@ -182,6 +196,9 @@ public class NetworkPublication
         this.streamId = streamId;
         this.isExclusive = isExclusive;
         this.spiesSimulateConnection = spiesSimulateConnection;
+        this.rttEstimator = rttEstimator;
+        this.sendPacer = sendPacer;
+        this.fecGroupSize = fecGroupSize;
 
         metaDataBuffer = rawLog.metaData();
         setupBuffer = threadLocals.setupBuffer();
@@ -190,12 +207,15 @@ public class NetworkPublication
         heartbeatDataHeader = threadLocals.heartbeatDataHeader();
         rttMeasurementBuffer = threadLocals.rttMeasurementBuffer();
         rttMeasurementHeader = threadLocals.rttMeasurementHeader();
+        fecBuffer = threadLocals.fecBuffer();
+        fecHeader = threadLocals.fecHeader();
 
         heartbeatsSent = systemCounters.get(HEARTBEATS_SENT);
         shortSends = systemCounters.get(SHORT_SENDS);
         retransmitsSent = systemCounters.get(RETRANSMITS_SENT);
         senderFlowControlLimits = systemCounters.get(SENDER_FLOW_CONTROL_LIMITS);
         unblockedPublications = systemCounters.get(UNBLOCKED_PUBLICATIONS);
+        fecFramesSent = systemCounters.get(FEC_FRAMES_SENT);
 
         termBuffers = rawLog.termBuffers();
         sendBuffers = rawLog.sliceTerms();
@@ -270,6 +290,11 @@ public class NetworkPublication
 
         int bytesSent = sendData(nowNs, senderPosition, termOffset);
 
+        if (fecGroupSize > 0)
+        {
+            fecGroupCheck(senderPosition, bytesSent);
+        }
+
         if (0 == bytesSent)
         {
             final boolean isEndOfStream = this.isEndOfStream;
@@ -290,6 +315,11 @@ public class NetworkPublication
         updateHasReceivers(nowNs);
         retransmitHandler.processTimeouts(nowNs, this);
 
+        if (null != rttEstimator && hasReceivers && rttEstimator.isMeasurementDue(nowNs))
+        {
+            sendRttMeasurementRequest(nowNs);
+        }
+
         return bytesSent;
     }
 
@@ -346,6 +376,11 @@ public class NetworkPublication
                     break;
                 }
 
+                if (null != sendPacer)
+                {
+                    sendPacer.onSent(available);
+                }
+
                 bytesSent = available + padding(scanOutcome);
                 remainingBytes -= bytesSent;
             }
@@ -387,6 +422,11 @@ public class NetworkPublication
         retransmitHandler.onNak(termId, termOffset, length, termBufferLength, this);
     }
 
+    public void onNakRangeList(final NakRangeListFlyweight msg)
+    {
+        retransmitHandler.onNakRangeList(msg, termBufferLength, this);
+    }
+
     public void onStatusMessage(final StatusMessageFlyweight msg, final InetSocketAddress srcAddress)
     {
         if (!hasReceivers)
@@ -407,6 +447,11 @@ public class NetworkPublication
 
         senderLimit.setOrdered(limit);
 
+        if (null != sendPacer && sendPacer.isAutoRate() && null != rttEstimator && rttEstimator.hasEstimate())
+        {
+            sendPacer.onRateEstimate(msg.receiverWindowLength(), rttEstimator.smoothedRttNs());
+        }
+
         if (!isConnected)
         {
             LogBufferDescriptor.isConnected(metaDataBuffer, true);
@@ -429,14 +474,38 @@ public class NetworkPublication
                 .streamId(streamId)
                 .flags((short)0x0);
 
+            rttMeasurementBuffer.clear();
             final int bytesSent = channelEndpoint.send(rttMeasurementBuffer);
             if (RttMeasurementFlyweight.HEADER_LENGTH != bytesSent)
             {
                 shortSends.increment();
             }
         }
+        else if (null != rttEstimator)
+        {
+            final long rttNs = rttEstimator.nanoTime() - msg.echoTimestampNs() - msg.receptionDelta();
+            rttEstimator.onRttMeasurement(rttNs);
+        }
+    }
 
-        // handling of RTT measurements would be done in an else clause here.
+    private void sendRttMeasurementRequest(final long nowNs)
+    {
+        rttMeasurementHeader
+            .receiverId(0)
+            .echoTimestampNs(rttEstimator.nanoTime())
+            .receptionDelta(0)
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .flags(RttMeasurementFlyweight.REPLY_FLAG);
+
+        rttMeasurementBuffer.clear();
+        final int bytesSent = channelEndpoint.send(rttMeasurementBuffer);
+        if (RttMeasurementFlyweight.HEADER_LENGTH != bytesSent)
+        {
+            shortSends.increment();
+        }
+
+        rttEstimator.onMeasurementSent(nowNs);
     }
 
     RawLog rawLog()
@@ -506,7 +575,7 @@ public class NetworkPublication
 
             final long scanOutcome = scanForAvailability(termBuffers[activeIndex], termOffset, scanLimit);
             final int available = available(scanOutcome);
-            if (available > 0)
+            if (available > 0 && (null == sendPacer || sendPacer.canSend(nowNs)))
             {
                 final ByteBuffer sendBuffer = sendBuffers[activeIndex];
                 sendBuffer.limit(termOffset + available).position(termOffset);
@@ -517,6 +586,11 @@ public class NetworkPublication
                     trackSenderLimits = true;
 
                     bytesSent = available;
+                    if (null != sendPacer)
+                    {
+                        sendPacer.onSent(available);
+                    }
+
                     this.senderPosition.setOrdered(senderPosition + bytesSent + padding(scanOutcome));
                 }
                 else
@@ -534,6 +608,70 @@ public class NetworkPublication
         return bytesSent;
     }
 
+    private void fecGroupCheck(final long senderPosition, final int bytesSent)
+    {
+        if (bytesSent > 0)
+        {
+            if (0 == fecGroupFrameCount)
+            {
+                fecGroupPosition = senderPosition;
+            }
+
+            final long newSenderPosition = this.senderPosition.get();
+            if (++fecGroupFrameCount >= fecGroupSize || 0 == ((int)newSenderPosition & termLengthMask))
+            {
+                sendFecFrame(newSenderPosition);
+            }
+        }
+        else if (fecGroupFrameCount > 0)
+        {
+            sendFecFrame(senderPosition);
+        }
+    }
+
+    private void sendFecFrame(final long groupEndPosition)
+    {
+        final long groupPosition = fecGroupPosition;
+        final int groupLength = (int)(groupEndPosition - groupPosition);
+        final int groupOffset = (int)groupPosition & termLengthMask;
+        final int parityLength = FecFlyweight.parityLength(groupLength, mtuLength);
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(groupPosition, positionBitsToShift)];
+
+        fecHeader.setMemory(FecFlyweight.HEADER_LENGTH, parityLength, (byte)0);
+        for (int stripeOffset = 0; stripeOffset < groupLength; stripeOffset += mtuLength)
+        {
+            final int stripeEnd = Math.min(mtuLength, groupLength - stripeOffset);
+            for (int i = 0; i < stripeEnd; i += SIZE_OF_LONG)
+            {
+                final int parityIndex = FecFlyweight.HEADER_LENGTH + i;
+                fecHeader.putLong(
+                    parityIndex, fecHeader.getLong(parityIndex) ^ termBuffer.getLong(groupOffset + stripeOffset + i));
+            }
+        }
+
+        final int frameLength = FecFlyweight.HEADER_LENGTH + parityLength;
+        fecHeader
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .termId(computeTermIdFromPosition(groupPosition, positionBitsToShift, initialTermId))
+            .termOffset(groupOffset)
+            .groupLength(groupLength)
+            .stripeLength(mtuLength)
+            .frameLength(frameLength);
+
+        fecBuffer.limit(frameLength).position(0);
+        if (frameLength == channelEndpoint.send(fecBuffer))
+        {
+            fecFramesSent.incrementOrdered();
+        }
+        else
+        {
+            shortSends.increment();
+        }
+
+        fecGroupFrameCount = 0;
+    }
+
     private void setupMessageCheck(final long nowNs, final int activeTermId, final int termOffset)
     {
         if (nowNs > (timeOfLastSetupNs + PUBLICATION_SETUP_TIMEOUT_NS))
@@ -16,6 +16,7 @@
 package io.aeron.driver;
 
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
@@ -32,6 +33,8 @@ public class NetworkPublicationThreadLocals
     private final SetupFlyweight setupHeader;
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementHeader;
+    private final ByteBuffer fecBuffer;
+    private final FecFlyweight fecHeader;
 
     public NetworkPublicationThreadLocals()
     {
@@ -49,6 +52,10 @@ public class NetworkPublicationThreadLocals
         rttMeasurementBuffer = byteBuffer.slice();
         rttMeasurementHeader = new RttMeasurementFlyweight(rttMeasurementBuffer);
 
+        fecBuffer = BufferUtil.allocateDirectAligned(
+            FecFlyweight.HEADER_LENGTH + Configuration.MAX_UDP_PAYLOAD_LENGTH, BitUtil.CACHE_LINE_LENGTH);
+        fecHeader = new FecFlyweight(fecBuffer);
+
         dataHeader
             .version(HeaderFlyweight.CURRENT_VERSION)
             .flags((byte)DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
@@ -64,6 +71,11 @@ public class NetworkPublicationThreadLocals
             .version(HeaderFlyweight.CURRENT_VERSION)
             .headerType(HeaderFlyweight.HDR_TYPE_RTTM)
             .frameLength(RttMeasurementFlyweight.HEADER_LENGTH);
+
+        fecHeader
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .headerType(HeaderFlyweight.HDR_TYPE_FEC)
+            .frameLength(FecFlyweight.HEADER_LENGTH);
     }
 
     public ByteBuffer heartbeatBuffer()
@@ -95,4 +107,14 @@ public class NetworkPublicationThreadLocals
     {
         return rttMeasurementHeader;
     }
+
+    public ByteBuffer fecBuffer()
+    {
+        return fecBuffer;
+    }
+
+    public FecFlyweight fecHeader()
+    {
+        return fecHeader;
+    }
 }
@@ -17,10 +17,8 @@ package io.aeron.driver;
 
 import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.BitUtil;
-import org.agrona.collections.ArrayListUtil;
 
 import java.net.InetSocketAddress;
-import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
@@ -47,7 +45,10 @@ public class PreferredMulticastFlowControl implements FlowControl
      */
     private static final long RECEIVER_TIMEOUT_DEFAULT = TimeUnit.SECONDS.toNanos(2);
 
-    private static final long RECEIVER_TIMEOUT = getDurationInNanos(
+    /**
+     * Timeout, in nanoseconds, until a receiver that has not sent a Status Message is no longer tracked.
+     */
+    static final long RECEIVER_TIMEOUT = getDurationInNanos(
         RECEIVER_TIMEOUT_PROP_NAME, RECEIVER_TIMEOUT_DEFAULT);
 
     /**
@@ -63,7 +64,7 @@ public class PreferredMulticastFlowControl implements FlowControl
     public static final String PREFERRED_ASF = getProperty(PREFERRED_ASF_PROP_NAME, PREFERRED_ASF_DEFAULT);
     public static final byte[] PREFERRED_ASF_BYTES = BitUtil.fromHex(PREFERRED_ASF);
 
-    private final ArrayList<Receiver> receiverList = new ArrayList<>();
+    private final MulticastReceivers receivers = new MulticastReceivers();
     private final byte[] smAsf = new byte[64];
 
     private volatile boolean shouldLinger = true;
@@ -86,35 +87,16 @@ public class PreferredMulticastFlowControl implements FlowControl
             initialTermId);
 
         final long windowLength = flyweight.receiverWindowLength();
-        final long receiverId = flyweight.receiverId();
-        final boolean isFromPreferred = isFromPreferred(flyweight);
         final long lastPositionPlusWindow = position + windowLength;
-        boolean isExisting = false;
-        long minPosition = Long.MAX_VALUE;
-
-        final ArrayList<Receiver> receiverList = this.receiverList;
-        for (int i = 0, size = receiverList.size(); i < size; i++)
-        {
-            final Receiver receiver = receiverList.get(i);
-            if (isFromPreferred && receiverId == receiver.receiverId)
-            {
-                receiver.lastPosition = Math.max(position, receiver.lastPosition);
-                receiver.lastPositionPlusWindow = lastPositionPlusWindow;
-                receiver.timeOfLastStatusMessageNs = timeNs;
-                isExisting = true;
-            }
-
-            minPosition = Math.min(minPosition, receiver.lastPositionPlusWindow);
-        }
 
-        if (isFromPreferred && !isExisting)
+        if (isFromPreferred(flyweight))
         {
-            receiverList.add(new Receiver(position, lastPositionPlusWindow, timeNs, receiverId, receiverAddress));
-            minPosition = Math.min(minPosition, lastPositionPlusWindow);
+            receivers.onStatusMessage(
+                flyweight.receiverId(), position, lastPositionPlusWindow, timeNs, receiverAddress);
         }
 
-        return receiverList.size() > 0 ?
-            Math.max(senderLimit, minPosition) :
+        return receivers.size() > 0 ?
+            Math.max(senderLimit, receivers.minPositionPlusWindow()) :
             Math.max(senderLimit, lastPositionPlusWindow);
     }
 
@@ -131,33 +113,18 @@ public class PreferredMulticastFlowControl implements FlowControl
     public long onIdle(
         final long timeNs, final long senderLimit, final long senderPosition, final boolean isEndOfStream)
     {
-        long minPosition = Long.MAX_VALUE;
-        long minLimitPosition = Long.MAX_VALUE;
-        final ArrayList<Receiver> receiverList = this.receiverList;
-
-        for (int lastIndex = receiverList.size() - 1, i = lastIndex; i >= 0; i--)
-        {
-            final Receiver receiver = receiverList.get(i);
-            if (timeNs > (receiver.timeOfLastStatusMessageNs + RECEIVER_TIMEOUT))
-            {
-                ArrayListUtil.fastUnorderedRemove(receiverList, i, lastIndex--);
-            }
-            else
-            {
-                minPosition = Math.min(minPosition, receiver.lastPosition);
-                minLimitPosition = Math.min(minLimitPosition, receiver.lastPositionPlusWindow);
-            }
-        }
+        final MulticastReceivers receivers = this.receivers;
+        receivers.removeTimedOut(timeNs, RECEIVER_TIMEOUT);
 
         if (isEndOfStream && shouldLinger)
         {
-            if (0 == receiverList.size() || minPosition >= senderPosition)
+            if (0 == receivers.size() || receivers.minPosition() >= senderPosition)
             {
                 shouldLinger = false;
             }
         }
 
-        return receiverList.size() > 0 ? minLimitPosition : senderLimit;
+        return receivers.size() > 0 ? receivers.minPositionPlusWindow() : senderLimit;
     }
 
     /**
@@ -187,27 +154,4 @@ public class PreferredMulticastFlowControl implements FlowControl
 
         return result;
     }
-
-    static class Receiver
-    {
-        long lastPosition;
-        long lastPositionPlusWindow;
-        long timeOfLastStatusMessageNs;
-        long receiverId;
-        InetSocketAddress address;
-
-        Receiver(
-            final long lastPosition,
-            final long lastPositionPlusWindow,
-            final long timeNs,
-            final long receiverId,
-            final InetSocketAddress receiverAddress)
-        {
-            this.lastPosition = lastPosition;
-            this.lastPositionPlusWindow = lastPositionPlusWindow;
-            this.timeOfLastStatusMessageNs = timeNs;
-            this.receiverId = receiverId;
-            this.address = receiverAddress;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -25,6 +25,7 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.TermRebuilder;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.EpochClock;
@@ -35,13 +36,21 @@ import org.agrona.concurrent.status.Position;
 import org.agrona.concurrent.status.ReadablePosition;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import static io.aeron.driver.LossDetector.lossFound;
 import static io.aeron.driver.LossDetector.rebuildOffset;
 import static io.aeron.driver.PublicationImage.State.ACTIVE;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.FrameDescriptor.frameType;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.logbuffer.TermGapFiller.tryFillGap;
+import static io.aeron.protocol.HeaderFlyweight.CURRENT_VERSION;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
 import static org.agrona.UnsafeAccess.UNSAFE;
 
 class PublicationImagePadding1
@@ -68,6 +77,9 @@ class PublicationImageReceiverFields extends PublicationImagePadding2
 {
     protected boolean isEndOfStream = false;
     protected long lastPacketTimestampNs;
+    protected long pendingFramePosition;
+    protected int pendingFrameLength;
+    protected int pendingDatagramLength;
     protected DestinationImageControlAddress[] controlAddresses = new DestinationImageControlAddress[1];
 }
 
@@ -95,9 +107,13 @@ public class PublicationImage
 
     private volatile long beginLossChange = Aeron.NULL_VALUE;
     private volatile long endLossChange = Aeron.NULL_VALUE;
-    private int lossTermId;
-    private int lossTermOffset;
-    private int lossLength;
+    private int lossGapCount;
+    private final int[] lossTermIds;
+    private final int[] lossTermOffsets;
+    private final int[] lossLengths;
+    private final int[] nakTermIds;
+    private final int[] nakTermOffsets;
+    private final int[] nakLengths;
 
     private volatile long beginSmChange = Aeron.NULL_VALUE;
     private volatile long endSmChange = Aeron.NULL_VALUE;
@@ -105,9 +121,11 @@ public class PublicationImage
     private int nextSmReceiverWindowLength;
 
     private long timeOfLastStatusMessageNs;
+    private long statusMessageIdleIntervalNs;
 
     private final long correlationId;
     private final long imageLivenessTimeoutNs;
+    private final long statusMessageIdleTimeoutNs;
     private final int sessionId;
     private final int streamId;
     private final int positionBitsToShift;
@@ -122,9 +140,11 @@ public class PublicationImage
     private final NanoClock cachedNanoClock;
     private final ReceiveChannelEndpoint channelEndpoint;
     private final UnsafeBuffer[] termBuffers;
+    private final ByteBuffer[] termReceiveBuffers;
     private final Position hwmPosition;
     private final LossDetector lossDetector;
     private final CongestionControl congestionControl;
+    private final RttEstimator rttEstimator;
     private final Position rebuildPosition;
     private final InetSocketAddress sourceAddress;
     private final AtomicCounter heartbeatsReceived;
@@ -133,6 +153,7 @@ public class PublicationImage
     private final AtomicCounter flowControlUnderRuns;
     private final AtomicCounter flowControlOverRuns;
     private final AtomicCounter lossGapFills;
+    private final AtomicCounter fecFramesRecovered;
     private final EpochClock cachedEpochClock;
     private final RawLog rawLog;
 
@@ -159,7 +180,10 @@ public class PublicationImage
         final InetSocketAddress sourceAddress,
         final CongestionControl congestionControl,
         final LossReport lossReport,
-        final boolean isReliable)
+        final boolean isReliable,
+        final int nakMaxGaps,
+        final RttEstimator rttEstimator,
+        final long statusMessageIdleTimeoutNs)
     {
         this.correlationId = correlationId;
         this.imageLivenessTimeoutNs = imageLivenessTimeoutNs;
@@ -175,6 +199,8 @@ public class PublicationImage
         this.congestionControl = congestionControl;
         this.lossReport = lossReport;
         this.isReliable = isReliable;
+        this.rttEstimator = rttEstimator;
+        this.statusMessageIdleTimeoutNs = statusMessageIdleTimeoutNs;
 
         heartbeatsReceived = systemCounters.get(HEARTBEATS_RECEIVED);
         statusMessagesSent = systemCounters.get(STATUS_MESSAGES_SENT);
@@ -182,6 +208,7 @@ public class PublicationImage
         flowControlUnderRuns = systemCounters.get(FLOW_CONTROL_UNDER_RUNS);
         flowControlOverRuns = systemCounters.get(FLOW_CONTROL_OVER_RUNS);
         lossGapFills = systemCounters.get(LOSS_GAP_FILLS);
+        fecFramesRecovered = systemCounters.get(FEC_FRAMES_RECOVERED);
 
         this.nanoClock = nanoClock;
         this.cachedNanoClock = cachedNanoClock;
@@ -194,7 +221,14 @@ public class PublicationImage
         controlAddresses[transportIndex] = new DestinationImageControlAddress(nowNs, controlAddress);
 
         termBuffers = rawLog.termBuffers();
-        lossDetector = new LossDetector(lossFeedbackDelayGenerator, this);
+        termReceiveBuffers = channelEndpoint.isZeroCopyReceive() ? rawLog.sliceTerms() : null;
+        lossDetector = new LossDetector(lossFeedbackDelayGenerator, this, nakMaxGaps);
+        lossTermIds = new int[nakMaxGaps];
+        lossTermOffsets = new int[nakMaxGaps];
+        lossLengths = new int[nakMaxGaps];
+        nakTermIds = new int[nakMaxGaps];
+        nakTermOffsets = new int[nakMaxGaps];
+        nakLengths = new int[nakMaxGaps];
 
         final int termLength = rawLog.termLength();
         termLengthMask = termLength - 1;
@@ -293,12 +327,42 @@ public class PublicationImage
 
         beginLossChange = changeNumber;
 
-        lossTermId = termId;
-        lossTermOffset = termOffset;
-        lossLength = length;
+        lossGapCount = 1;
+        lossTermIds[0] = termId;
+        lossTermOffsets[0] = termOffset;
+        lossLengths[0] = length;
 
         endLossChange = changeNumber;
 
+        recordLoss(length);
+    }
+
+    /**
+     * Called from the {@link LossDetector} when multiple gaps are detected by the {@link DriverConductor} thread.
+     *
+     * @see LossHandler
+     */
+    public void onGapsDetected(final int gapCount, final int[] termIds, final int[] termOffsets, final int[] lengths)
+    {
+        final long changeNumber = beginLossChange + 1;
+
+        beginLossChange = changeNumber;
+
+        lossGapCount = gapCount;
+        System.arraycopy(termIds, 0, lossTermIds, 0, gapCount);
+        System.arraycopy(termOffsets, 0, lossTermOffsets, 0, gapCount);
+        System.arraycopy(lengths, 0, lossLengths, 0, gapCount);
+
+        endLossChange = changeNumber;
+
+        for (int i = 0; i < gapCount; i++)
+        {
+            recordLoss(lengths[i]);
+        }
+    }
+
+    private void recordLoss(final int length)
+    {
         if (null != reportEntry)
         {
             reportEntry.recordObservation(length, cachedEpochClock.time());
@@ -452,11 +516,18 @@ public class PublicationImage
 
         final int window = CongestionControlUtil.receiverWindowLength(ccOutcome);
         final long threshold = CongestionControlUtil.positionThreshold(window);
+        final boolean isIdle = minSubscriberPosition == nextSmPosition && hwmPosition == nextSmPosition;
+        final long intervalNs = isIdle ?
+            Math.max(statusMessageTimeoutNs, statusMessageIdleIntervalNs) :
+            statusMessageIntervalNs(statusMessageTimeoutNs);
 
         if (CongestionControlUtil.shouldForceStatusMessage(ccOutcome) ||
-            (nowNs > (timeOfLastStatusMessageNs + statusMessageTimeoutNs)) ||
+            (nowNs > (timeOfLastStatusMessageNs + intervalNs)) ||
             (minSubscriberPosition > (nextSmPosition + threshold)))
         {
+            statusMessageIdleIntervalNs = isIdle && statusMessageIdleTimeoutNs > 0 ?
+                Math.min(intervalNs << 1, statusMessageIdleTimeoutNs) : 0;
+
             scheduleStatusMessage(nowNs, minSubscriberPosition, window);
             cleanBufferTo(minSubscriberPosition - (termLengthMask + 1));
         }
@@ -495,6 +566,8 @@ public class PublicationImage
         final int transportIndex,
         final InetSocketAddress srcAddress)
     {
+        publishPendingFrame();
+
         final boolean isHeartbeat = DataHeaderFlyweight.isHeartbeat(buffer, length);
         final long packetPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
         final long proposedPosition = isHeartbeat ? packetPosition : packetPosition + length;
@@ -503,6 +576,7 @@ public class PublicationImage
         if (!isFlowControlUnderRun(windowPosition, packetPosition) &&
             !isFlowControlOverRun(windowPosition, proposedPosition))
         {
+            boolean isPending = false;
             if (isHeartbeat)
             {
                 if (!isEndOfStream && DataHeaderFlyweight.isEndOfStream(buffer))
@@ -516,17 +590,146 @@ public class PublicationImage
             else
             {
                 final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
-                TermRebuilder.insert(termBuffer, termOffset, buffer, length);
+                if (null != termReceiveBuffers && packetPosition == hwmPosition.get() &&
+                    HDR_TYPE_DATA == frameType(buffer, 0) && 0 == termBuffer.getInt(termOffset))
+                {
+                    termBuffer.putBytes(termOffset + SIZE_OF_INT, buffer, SIZE_OF_INT, length - SIZE_OF_INT);
+                    holdPendingFrame(packetPosition, buffer.getInt(0), length);
+                    isPending = true;
+                }
+                else
+                {
+                    TermRebuilder.insert(termBuffer, termOffset, buffer, length);
+                }
             }
 
             lastPacketTimestampNs = cachedNanoClock.nanoTime();
-            hwmPosition.proposeMaxOrdered(proposedPosition);
+            if (!isPending)
+            {
+                hwmPosition.proposeMaxOrdered(proposedPosition);
+            }
             updateControlAddress(transportIndex, srcAddress, lastPacketTimestampNs);
         }
 
         return length;
     }
 
+    /**
+     * Buffer for receiving the next datagram directly into the term at the position following a frame which has
+     * been inserted in order but is held back from subscribers. Holding back the preceding frame means subscribers
+     * cannot observe the frame while the datagram is being received into the term.
+     * <p>
+     * If the next datagram may not fit in the term then any pending frame is published and the copy path is used.
+     *
+     * @return buffer positioned at the expected offset for the next datagram or null if not possible.
+     */
+    ByteBuffer zeroCopyReceiveBuffer()
+    {
+        if (0 == pendingFrameLength)
+        {
+            return null;
+        }
+
+        final long expectedPosition = pendingFramePosition + pendingDatagramLength;
+        final int termOffset = (int)expectedPosition & termLengthMask;
+        final int termLength = termLengthMask + 1;
+
+        if ((termOffset + Configuration.MAX_UDP_PAYLOAD_LENGTH) > termLength)
+        {
+            publishPendingFrame();
+            return null;
+        }
+
+        final ByteBuffer termBuffer = termReceiveBuffers[indexByPosition(expectedPosition, positionBitsToShift)];
+        termBuffer.limit(termOffset + Configuration.MAX_UDP_PAYLOAD_LENGTH).position(termOffset);
+
+        return termBuffer;
+    }
+
+    /**
+     * Called from the {@link Receiver} after a datagram has been received into the buffer from
+     * {@link #zeroCopyReceiveBuffer()}. The datagram is accepted in place if it is the expected next data for this
+     * image, in which case it becomes the pending frame and the previous pending frame is published.
+     *
+     * @param length         of the datagram received.
+     * @param transportIndex on which the datagram was received.
+     * @param srcAddress     of the datagram.
+     * @return true if accepted otherwise the datagram must be copied out with {@link #onZeroCopyRejected}.
+     */
+    boolean onZeroCopyDataPacket(final int length, final int transportIndex, final InetSocketAddress srcAddress)
+    {
+        final long packetPosition = pendingFramePosition + pendingDatagramLength;
+        final int termOffset = (int)packetPosition & termLengthMask;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
+        final int frameLength = termBuffer.getInt(termOffset);
+
+        if (length < DataHeaderFlyweight.HEADER_LENGTH ||
+            frameLength < DataHeaderFlyweight.HEADER_LENGTH ||
+            frameLength > length ||
+            (length & (FRAME_ALIGNMENT - 1)) != 0 ||
+            HDR_TYPE_DATA != frameType(termBuffer, termOffset) ||
+            termBuffer.getByte(termOffset + DataHeaderFlyweight.VERSION_FIELD_OFFSET) != CURRENT_VERSION ||
+            termBuffer.getInt(termOffset + DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET) != sessionId ||
+            termBuffer.getInt(termOffset + DataHeaderFlyweight.STREAM_ID_FIELD_OFFSET) != streamId ||
+            termBuffer.getInt(termOffset + DataHeaderFlyweight.TERM_OFFSET_FIELD_OFFSET) != termOffset ||
+            termBuffer.getInt(termOffset + DataHeaderFlyweight.TERM_ID_FIELD_OFFSET) !=
+            computeTermIdFromPosition(packetPosition, positionBitsToShift, initialTermId) ||
+            isFlowControlOverRun(nextSmPosition, packetPosition + length))
+        {
+            return false;
+        }
+
+        termBuffer.putInt(termOffset, 0);
+        publishPendingFrame();
+        holdPendingFrame(packetPosition, frameLength, length);
+
+        lastPacketTimestampNs = cachedNanoClock.nanoTime();
+        updateControlAddress(transportIndex, srcAddress, lastPacketTimestampNs);
+
+        return true;
+    }
+
+    /**
+     * Copy out a datagram not accepted by {@link #onZeroCopyDataPacket} and clear it from the term so it can be
+     * dispatched via the copy path.
+     *
+     * @param buffer into which the datagram is copied.
+     * @param length of the datagram.
+     */
+    void onZeroCopyRejected(final UnsafeBuffer buffer, final int length)
+    {
+        final long packetPosition = pendingFramePosition + pendingDatagramLength;
+        final int termOffset = (int)packetPosition & termLengthMask;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
+
+        buffer.putBytes(0, termBuffer, termOffset, length);
+        termBuffer.setMemory(termOffset, length, (byte)0);
+    }
+
+    /**
+     * Publish the frame held back from subscribers, if any, so it can be consumed and counted in the high-water mark.
+     */
+    void publishPendingFrame()
+    {
+        final int frameLength = pendingFrameLength;
+        if (0 != frameLength)
+        {
+            final long position = pendingFramePosition;
+            final UnsafeBuffer termBuffer = termBuffers[indexByPosition(position, positionBitsToShift)];
+
+            pendingFrameLength = 0;
+            termBuffer.putIntOrdered((int)position & termLengthMask, frameLength);
+            hwmPosition.proposeMaxOrdered(position + pendingDatagramLength);
+        }
+    }
+
+    private void holdPendingFrame(final long position, final int frameLength, final int datagramLength)
+    {
+        pendingFramePosition = position;
+        pendingFrameLength = frameLength;
+        pendingDatagramLength = datagramLength;
+    }
+
     /**
      * To be called from the {@link Receiver} to see if a image should be retained.
      *
@@ -598,26 +801,30 @@ public class PublicationImage
 
         if (changeNumber != lastLossChangeNumber)
         {
-            final int termId = lossTermId;
-            final int termOffset = lossTermOffset;
-            final int length = lossLength;
+            final int gapCount = Math.min(lossGapCount, nakTermIds.length);
+            System.arraycopy(lossTermIds, 0, nakTermIds, 0, gapCount);
+            System.arraycopy(lossTermOffsets, 0, nakTermOffsets, 0, gapCount);
+            System.arraycopy(lossLengths, 0, nakLengths, 0, gapCount);
 
             UNSAFE.loadFence(); // LoadLoad required so previous loads don't move past version check below.
 
             if (changeNumber == beginLossChange)
             {
-                if (isReliable)
+                if (!isReliable)
                 {
-                    channelEndpoint.sendNakMessage(controlAddresses, sessionId, streamId, termId, termOffset, length);
+                    fillGaps(gapCount);
+                }
+                else if (1 == gapCount)
+                {
+                    channelEndpoint.sendNakMessage(
+                        controlAddresses, sessionId, streamId, nakTermIds[0], nakTermOffsets[0], nakLengths[0]);
                     nakMessagesSent.incrementOrdered();
                 }
                 else
                 {
-                    final UnsafeBuffer termBuffer = termBuffers[indexByTerm(initialTermId, termId)];
-                    if (tryFillGap(rawLog.metaData(), termBuffer, termId, termOffset, length))
-                    {
-                        lossGapFills.incrementOrdered();
-                    }
+                    channelEndpoint.sendNakRangeListMessage(
+                        controlAddresses, sessionId, streamId, gapCount, nakTermIds, nakTermOffsets, nakLengths);
+                    nakMessagesSent.incrementOrdered();
                 }
 
                 lastLossChangeNumber = changeNumber;
@@ -629,6 +836,25 @@ public class PublicationImage
         return workCount;
     }
 
+    private void fillGaps(final int gapCount)
+    {
+        for (int i = 0; i < gapCount; i++)
+        {
+            final int termId = nakTermIds[i];
+            final UnsafeBuffer termBuffer = termBuffers[indexByTerm(initialTermId, termId)];
+            if (tryFillGap(rawLog.metaData(), termBuffer, termId, nakTermOffsets[i], nakLengths[i]))
+            {
+                lossGapFills.incrementOrdered();
+            }
+        }
+    }
+
+    private long statusMessageIntervalNs(final long statusMessageTimeoutNs)
+    {
+        return null == rttEstimator ?
+            statusMessageTimeoutNs : rttEstimator.statusMessageIntervalNs(statusMessageTimeoutNs);
+    }
+
     /**
      * Called from the {@link Receiver} thread to check for initiating an RTT measurement.
      *
@@ -639,13 +865,18 @@ public class PublicationImage
     {
         int workCount = 0;
 
-        if (congestionControl.shouldMeasureRtt(nowNs))
+        if (congestionControl.shouldMeasureRtt(nowNs) || (null != rttEstimator && rttEstimator.isMeasurementDue(nowNs)))
         {
             final long preciseTimeNs = nanoClock.nanoTime();
 
             channelEndpoint.sendRttMeasurement(controlAddresses, sessionId, streamId, preciseTimeNs, 0, true);
             congestionControl.onRttMeasurementSent(preciseTimeNs);
 
+            if (null != rttEstimator)
+            {
+                rttEstimator.onMeasurementSent(nowNs);
+            }
+
             workCount = 1;
         }
 
@@ -666,6 +897,120 @@ public class PublicationImage
         final long rttInNs = nowNs - header.echoTimestampNs() - header.receptionDelta();
 
         congestionControl.onRttMeasurement(nowNs, rttInNs, srcAddress);
+
+        if (null != rttEstimator)
+        {
+            rttEstimator.onRttMeasurement(rttInNs);
+        }
+    }
+
+    /**
+     * Called from the {@link Receiver} upon receiving an FEC frame of XOR parity over a group of data sent so that
+     * a single loss of up to a stripe length within the group can be reconstructed without waiting on a NAK.
+     * <p>
+     * The parity byte for column j is the XOR of the bytes at j, j + stripeLength, j + 2 * stripeLength, ... within
+     * the group and so recovery is only possible when all missing bytes fall in distinct columns.
+     *
+     * @param header         of the FEC frame with parity following the header.
+     * @param length         of the FEC frame received.
+     * @param recoveryBuffer for reconstructing the missing frames before insertion.
+     * @param transportIndex that the FEC frame came in on.
+     * @param srcAddress     from the sender of the FEC frame.
+     */
+    void onFecPacket(
+        final FecFlyweight header,
+        final int length,
+        final UnsafeBuffer recoveryBuffer,
+        final int transportIndex,
+        final InetSocketAddress srcAddress)
+    {
+        publishPendingFrame();
+
+        final int termId = header.termId();
+        final int termOffset = header.termOffset();
+        final int groupLength = header.groupLength();
+        final int stripeLength = header.stripeLength();
+
+        if (groupLength <= 0 || stripeLength <= 0 || (stripeLength & (FRAME_ALIGNMENT - 1)) != 0 ||
+            stripeLength > recoveryBuffer.capacity() || termOffset < 0 ||
+            (termOffset & (FRAME_ALIGNMENT - 1)) != 0 || groupLength > (termLengthMask + 1 - termOffset) ||
+            header.frameLength() != FecFlyweight.HEADER_LENGTH + FecFlyweight.parityLength(groupLength, stripeLength) ||
+            length < header.frameLength())
+        {
+            return;
+        }
+
+        final long groupPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        final long rebuildPosition = this.rebuildPosition.get();
+        if ((groupPosition + groupLength) <= rebuildPosition || groupPosition < (rebuildPosition - termLengthMask))
+        {
+            return;
+        }
+
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(groupPosition, positionBitsToShift)];
+        final int groupEnd = termOffset + groupLength;
+        int firstMissing = -1;
+        int lastMissingEnd = -1;
+        int offset = termOffset;
+
+        while (offset < groupEnd)
+        {
+            final int frameLength = termBuffer.getIntVolatile(offset);
+            if (frameLength > 0)
+            {
+                offset += align(frameLength, FRAME_ALIGNMENT);
+            }
+            else
+            {
+                if (-1 == firstMissing)
+                {
+                    firstMissing = offset;
+                }
+
+                offset += FRAME_ALIGNMENT;
+                lastMissingEnd = offset;
+            }
+        }
+
+        if (-1 == firstMissing || offset != groupEnd || (lastMissingEnd - firstMissing) > stripeLength)
+        {
+            return;
+        }
+
+        for (int stripeOffset = 0; stripeOffset < groupLength; stripeOffset += stripeLength)
+        {
+            final int stripeEnd = Math.min(stripeLength, groupLength - stripeOffset);
+            for (int i = 0; i < stripeEnd; i += SIZE_OF_LONG)
+            {
+                final int parityIndex = FecFlyweight.HEADER_LENGTH + i;
+                header.putLong(
+                    parityIndex, header.getLong(parityIndex) ^ termBuffer.getLong(termOffset + stripeOffset + i));
+            }
+        }
+
+        offset = firstMissing;
+        while (offset < lastMissingEnd)
+        {
+            if (termBuffer.getInt(offset) > 0)
+            {
+                offset += align(termBuffer.getInt(offset), FRAME_ALIGNMENT);
+                continue;
+            }
+
+            int regionEnd = offset + FRAME_ALIGNMENT;
+            while (regionEnd < lastMissingEnd && 0 == termBuffer.getInt(regionEnd))
+            {
+                regionEnd += FRAME_ALIGNMENT;
+            }
+
+            if (!recoverRegion(termId, offset, regionEnd - offset, termOffset, stripeLength, header, recoveryBuffer))
+            {
+                return;
+            }
+
+            insertPacket(termId, offset, recoveryBuffer, regionEnd - offset, transportIndex, srcAddress);
+            offset = regionEnd;
+        }
     }
 
     /**
@@ -732,6 +1077,53 @@ public class PublicationImage
         return true;
     }
 
+    private boolean recoverRegion(
+        final int termId,
+        final int regionOffset,
+        final int regionLength,
+        final int groupOffset,
+        final int stripeLength,
+        final UnsafeBuffer parity,
+        final UnsafeBuffer recoveryBuffer)
+    {
+        for (int i = 0; i < regionLength; i++)
+        {
+            final int column = (regionOffset + i - groupOffset) % stripeLength;
+            recoveryBuffer.putByte(i, parity.getByte(FecFlyweight.HEADER_LENGTH + column));
+        }
+
+        int frameCount = 0;
+        int frameOffset = 0;
+        while (frameOffset < regionLength)
+        {
+            final int frameLength = recoveryBuffer.getInt(frameOffset + DataHeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET);
+            final int frameType = recoveryBuffer.getShort(frameOffset + DataHeaderFlyweight.TYPE_FIELD_OFFSET) & 0xFFFF;
+
+            if (frameLength < DataHeaderFlyweight.HEADER_LENGTH ||
+                (DataHeaderFlyweight.HDR_TYPE_DATA != frameType && DataHeaderFlyweight.HDR_TYPE_PAD != frameType) ||
+                recoveryBuffer.getInt(frameOffset + DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET) != sessionId ||
+                recoveryBuffer.getInt(frameOffset + DataHeaderFlyweight.STREAM_ID_FIELD_OFFSET) != streamId ||
+                recoveryBuffer.getInt(frameOffset + DataHeaderFlyweight.TERM_ID_FIELD_OFFSET) != termId ||
+                recoveryBuffer.getInt(frameOffset + DataHeaderFlyweight.TERM_OFFSET_FIELD_OFFSET) !=
+                (regionOffset + frameOffset))
+            {
+                return false;
+            }
+
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            frameCount++;
+        }
+
+        if (frameOffset != regionLength)
+        {
+            return false;
+        }
+
+        fecFramesRecovered.getAndAddOrdered(frameCount);
+
+        return true;
+    }
+
     private boolean isFlowControlUnderRun(final long windowPosition, final long packetPosition)
     {
         final boolean isFlowControlUnderRun = packetPosition < windowPosition;
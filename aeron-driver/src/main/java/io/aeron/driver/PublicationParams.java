@@ -19,6 +19,7 @@ import io.aeron.driver.buffer.RawLog;
 import io.aeron.ChannelUri;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.FecFlyweight;
 import org.agrona.SystemUtil;
 
 import static io.aeron.ChannelUri.INVALID_TAG;
@@ -27,6 +28,7 @@ import static io.aeron.CommonContext.*;
 final class PublicationParams
 {
     long lingerTimeoutNs;
+    long pacingRate = 0;
     long tag = ChannelUri.INVALID_TAG;
     int termLength;
     int mtuLength;
@@ -34,9 +36,11 @@ final class PublicationParams
     int termId = 0;
     int termOffset = 0;
     int sessionId = 0;
+    int fecGroupSize = 0;
     boolean isReplay = false;
     boolean hasSessionId = false;
     boolean isSessionIdTagged = false;
+    boolean isPacingRateAuto = false;
 
     private PublicationParams(final MediaDriver.Context context, final boolean isIpc)
     {
@@ -90,6 +94,49 @@ final class PublicationParams
         }
     }
 
+    private void getPacingRate(final ChannelUri channelUri)
+    {
+        final String pacingRateParam = channelUri.get(PACING_RATE_PARAM_NAME);
+        if (null != pacingRateParam)
+        {
+            if (PACING_RATE_AUTO.equals(pacingRateParam))
+            {
+                isPacingRateAuto = true;
+            }
+            else
+            {
+                pacingRate = SystemUtil.parseSize(PACING_RATE_PARAM_NAME, pacingRateParam);
+                if (pacingRate <= 0)
+                {
+                    throw new IllegalArgumentException(
+                        PACING_RATE_PARAM_NAME + "=" + pacingRateParam + " must be greater than 0 or auto");
+                }
+            }
+        }
+    }
+
+    private void getFecGroupSize(final ChannelUri channelUri)
+    {
+        final String fecParam = channelUri.get(FEC_GROUP_SIZE_PARAM_NAME);
+        if (null != fecParam)
+        {
+            final int fecGroupSize = Integer.parseInt(fecParam);
+            if (fecGroupSize < 1)
+            {
+                throw new IllegalArgumentException(FEC_GROUP_SIZE_PARAM_NAME + "=" + fecParam + " must be >= 1");
+            }
+
+            if (mtuLength > (Configuration.MAX_UDP_PAYLOAD_LENGTH - FecFlyweight.HEADER_LENGTH))
+            {
+                throw new IllegalArgumentException(
+                    "MTU too large for FEC parity frames: mtu=" + mtuLength + " maxMtu=" +
+                    (Configuration.MAX_UDP_PAYLOAD_LENGTH - FecFlyweight.HEADER_LENGTH));
+            }
+
+            this.fecGroupSize = fecGroupSize;
+        }
+    }
+
     private void getSessionId(final ChannelUri channelUri, final DriverConductor driverConductor)
     {
         final String sessionIdStr = channelUri.get(SESSION_ID_PARAM_NAME);
@@ -204,6 +251,8 @@ final class PublicationParams
         params.getTermBufferLength(channelUri);
         params.getMtuLength(channelUri);
         params.getLingerTimeoutNs(channelUri);
+        params.getPacingRate(channelUri);
+        params.getFecGroupSize(channelUri);
 
         if (isExclusive)
         {
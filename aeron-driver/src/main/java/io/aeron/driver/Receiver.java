@@ -90,6 +90,8 @@ public class Receiver implements Agent
             }
         }
 
+        workCount += dataTransportPoller.sendBatchedStatusMessages();
+        dataTransportPoller.publishIdleZeroCopyFrames();
         checkPendingSetupMessages(nowNs);
 
         return workCount + bytesReceived;
@@ -17,32 +17,46 @@ package io.aeron.driver;
 
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import org.agrona.collections.BiInt2ObjectMap;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.NanoClock;
 
+import java.util.Arrays;
+
 import static io.aeron.driver.Configuration.MAX_RETRANSMITS_DEFAULT;
 import static io.aeron.driver.RetransmitHandler.State.DELAYED;
 import static io.aeron.driver.RetransmitHandler.State.LINGERING;
 import static io.aeron.driver.status.SystemCounterDescriptor.INVALID_PACKETS;
+import static io.aeron.driver.status.SystemCounterDescriptor.NAKS_COALESCED;
+import static io.aeron.driver.status.SystemCounterDescriptor.RETRANSMIT_OVERFLOWS;
 
 /**
  * Tracking and handling of retransmit request, NAKs, for senders, and receivers.
  * <p>
- * A max number of retransmits is permitted by {@link Configuration#MAX_RETRANSMITS_DEFAULT}. Additional received NAKs
- * will be ignored if this maximum is reached.
+ * NAKs for ranges which overlap, or are adjacent to, a retransmit which is delayed are coalesced into it so a single
+ * retransmit covers the union. Ranges already covered by an active retransmit, such as from multiple multicast
+ * receivers NAKing the same loss, are trimmed or ignored.
+ * <p>
+ * A max number of retransmits is permitted by {@link Configuration#MAX_RETRANSMITS_PROP_NAME}. Additional received NAKs
+ * which cannot be coalesced will be ignored if this maximum is reached.
  */
 public class RetransmitHandler
 {
+    private static final int INITIAL_POOL_SIZE = MAX_RETRANSMITS_DEFAULT;
+
     private final BiInt2ObjectMap<RetransmitAction> activeRetransmitsMap = new BiInt2ObjectMap<>();
-    private final RetransmitAction[] retransmitActionPool = new RetransmitAction[MAX_RETRANSMITS_DEFAULT];
+    private RetransmitAction[] retransmitActionPool;
+    private final int maxRetransmits;
     private final NanoClock nanoClock;
     private final FeedbackDelayGenerator delayGenerator;
     private final FeedbackDelayGenerator lingerTimeoutGenerator;
     private final AtomicCounter invalidPackets;
+    private final AtomicCounter naksCoalesced;
+    private final AtomicCounter retransmitOverflows;
 
     /**
-     * Create a retransmit handler.
+     * Create a retransmit handler with the default max number of active retransmits.
      *
      * @param nanoClock              used to determine time
      * @param systemCounters         for recording significant events.
@@ -54,16 +68,36 @@ public class RetransmitHandler
         final SystemCounters systemCounters,
         final FeedbackDelayGenerator delayGenerator,
         final FeedbackDelayGenerator lingerTimeoutGenerator)
+    {
+        this(nanoClock, systemCounters, delayGenerator, lingerTimeoutGenerator, MAX_RETRANSMITS_DEFAULT);
+    }
+
+    /**
+     * Create a retransmit handler.
+     *
+     * @param nanoClock              used to determine time
+     * @param systemCounters         for recording significant events.
+     * @param delayGenerator         to use for delay determination
+     * @param lingerTimeoutGenerator to use for linger timeout
+     * @param maxRetransmits         which can be active at any one time and bounds the growth of the action pool.
+     */
+    public RetransmitHandler(
+        final NanoClock nanoClock,
+        final SystemCounters systemCounters,
+        final FeedbackDelayGenerator delayGenerator,
+        final FeedbackDelayGenerator lingerTimeoutGenerator,
+        final int maxRetransmits)
     {
         this.nanoClock = nanoClock;
         this.invalidPackets = systemCounters.get(INVALID_PACKETS);
+        this.naksCoalesced = systemCounters.get(NAKS_COALESCED);
+        this.retransmitOverflows = systemCounters.get(RETRANSMIT_OVERFLOWS);
         this.delayGenerator = delayGenerator;
         this.lingerTimeoutGenerator = lingerTimeoutGenerator;
+        this.maxRetransmits = maxRetransmits;
 
-        for (int i = 0; i < MAX_RETRANSMITS_DEFAULT; i++)
-        {
-            retransmitActionPool[i] = new RetransmitAction();
-        }
+        retransmitActionPool = new RetransmitAction[Math.min(maxRetransmits, INITIAL_POOL_SIZE)];
+        fillPool(0);
     }
 
     /**
@@ -84,30 +118,67 @@ public class RetransmitHandler
     {
         if (!isInvalid(termOffset, termLength))
         {
-            if (null == activeRetransmitsMap.get(termId, termOffset) &&
-                activeRetransmitsMap.size() < MAX_RETRANSMITS_DEFAULT)
-            {
-                final RetransmitAction action = assignRetransmitAction();
-                action.termId = termId;
-                action.termOffset = termOffset;
-                action.length = Math.min(length, termLength - termOffset);
+            final int nakEnd = termOffset + Math.min(length, termLength - termOffset);
+            final int start = trimStart(termId, termOffset, nakEnd);
+            final int end = trimEnd(termId, start, nakEnd);
+            boolean isCoalesced = start != termOffset || end != nakEnd;
 
-                final long delay = determineRetransmitDelay();
-                if (0 == delay)
+            if (start < end)
+            {
+                if (coalesceWithDelayed(termId, start, end))
                 {
-                    retransmitSender.resend(termId, termOffset, action.length);
-                    action.linger(determineLingerTimeout(), nanoClock.nanoTime());
+                    isCoalesced = true;
+                }
+                else if (activeRetransmitsMap.size() < maxRetransmits)
+                {
+                    final RetransmitAction action = assignRetransmitAction();
+                    action.termId = termId;
+                    action.termOffset = start;
+                    action.length = end - start;
+
+                    final long delay = determineRetransmitDelay();
+                    if (0 == delay)
+                    {
+                        retransmitSender.resend(termId, start, action.length);
+                        action.linger(determineLingerTimeout(), nanoClock.nanoTime());
+                    }
+                    else
+                    {
+                        action.delay(delay, nanoClock.nanoTime());
+                    }
+
+                    activeRetransmitsMap.put(termId, start, action);
                 }
                 else
                 {
-                    action.delay(delay, nanoClock.nanoTime());
+                    retransmitOverflows.incrementOrdered();
                 }
+            }
 
-                activeRetransmitsMap.put(termId, termOffset, action);
+            if (isCoalesced)
+            {
+                naksCoalesced.incrementOrdered();
             }
         }
     }
 
+    /**
+     * Called on reception of a NAK carrying a list of ranges to start retransmits handling for all of the ranges in
+     * a single pass so a burst of loss can be repaired in one round trip.
+     *
+     * @param msg              carrying the ranges of missing data.
+     * @param termLength       of the term buffer.
+     * @param retransmitSender to call if an immediate retransmit is required
+     */
+    public void onNakRangeList(
+        final NakRangeListFlyweight msg, final int termLength, final RetransmitSender retransmitSender)
+    {
+        for (int i = 0, rangeCount = msg.rangeCount(); i < rangeCount; i++)
+        {
+            onNak(msg.termId(i), msg.termOffset(i), msg.length(i), termLength, retransmitSender);
+        }
+    }
+
     /**
      * Called to indicate a retransmission is received that may obviate the need to send one ourselves.
      * <p>
@@ -154,6 +225,97 @@ public class RetransmitHandler
         }
     }
 
+    private int trimStart(final int termId, final int start, final int end)
+    {
+        int trimmedStart = start;
+        boolean isTrimmed;
+        do
+        {
+            isTrimmed = false;
+            for (final RetransmitAction action : retransmitActionPool)
+            {
+                if (action.isActive(termId) && action.termOffset <= trimmedStart && trimmedStart < action.end())
+                {
+                    trimmedStart = action.end();
+                    isTrimmed = true;
+                }
+            }
+        }
+        while (isTrimmed && trimmedStart < end);
+
+        return Math.min(trimmedStart, end);
+    }
+
+    private int trimEnd(final int termId, final int start, final int end)
+    {
+        int trimmedEnd = end;
+        boolean isTrimmed;
+        do
+        {
+            isTrimmed = false;
+            for (final RetransmitAction action : retransmitActionPool)
+            {
+                if (action.isActive(termId) &&
+                    action.termOffset > start &&
+                    action.termOffset < trimmedEnd &&
+                    trimmedEnd <= action.end())
+                {
+                    trimmedEnd = action.termOffset;
+                    isTrimmed = true;
+                }
+            }
+        }
+        while (isTrimmed);
+
+        return trimmedEnd;
+    }
+
+    private boolean coalesceWithDelayed(final int termId, final int start, final int end)
+    {
+        RetransmitAction coalesced = null;
+        for (final RetransmitAction action : retransmitActionPool)
+        {
+            if (DELAYED == action.state && action.termId == termId && action.isOverlapOrAdjacent(start, end))
+            {
+                coalesced = action;
+                break;
+            }
+        }
+
+        if (null == coalesced)
+        {
+            return false;
+        }
+
+        int unionStart = Math.min(coalesced.termOffset, start);
+        int unionEnd = Math.max(coalesced.end(), end);
+
+        for (final RetransmitAction action : retransmitActionPool)
+        {
+            if (action != coalesced &&
+                DELAYED == action.state &&
+                action.termId == termId &&
+                action.isOverlapOrAdjacent(unionStart, unionEnd))
+            {
+                unionStart = Math.min(action.termOffset, unionStart);
+                unionEnd = Math.max(action.end(), unionEnd);
+                activeRetransmitsMap.remove(termId, action.termOffset);
+                action.cancel();
+            }
+        }
+
+        if (unionStart != coalesced.termOffset)
+        {
+            activeRetransmitsMap.remove(termId, coalesced.termOffset);
+            coalesced.termOffset = unionStart;
+            activeRetransmitsMap.put(termId, unionStart, coalesced);
+        }
+
+        coalesced.length = unionEnd - unionStart;
+
+        return true;
+    }
+
     private boolean isInvalid(final int termOffset, final int termLength)
     {
         final boolean isInvalid = (termOffset > (termLength - DataHeaderFlyweight.HEADER_LENGTH)) || (termOffset < 0);
@@ -186,9 +348,26 @@ public class RetransmitHandler
             }
         }
 
+        final int poolSize = retransmitActionPool.length;
+        if (poolSize < maxRetransmits)
+        {
+            retransmitActionPool = Arrays.copyOf(retransmitActionPool, Math.min(maxRetransmits, poolSize * 2));
+            fillPool(poolSize);
+
+            return retransmitActionPool[poolSize];
+        }
+
         throw new IllegalStateException("Maximum number of active RetransmitActions reached");
     }
 
+    private void fillPool(final int fromIndex)
+    {
+        for (int i = fromIndex; i < retransmitActionPool.length; i++)
+        {
+            retransmitActionPool[i] = new RetransmitAction();
+        }
+    }
+
     enum State
     {
         DELAYED,
@@ -204,6 +383,21 @@ public class RetransmitHandler
         int length;
         State state = State.INACTIVE;
 
+        boolean isActive(final int termId)
+        {
+            return State.INACTIVE != state && this.termId == termId;
+        }
+
+        int end()
+        {
+            return termOffset + length;
+        }
+
+        boolean isOverlapOrAdjacent(final int start, final int end)
+        {
+            return start <= end() && termOffset <= end;
+        }
+
         public void delay(final long delayNs, final long nowNs)
         {
             state = DELAYED;
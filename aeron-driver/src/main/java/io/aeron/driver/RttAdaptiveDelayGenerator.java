@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+/**
+ * Delay generator which scales the delays of another generator, configured for a reference RTT, to the estimated
+ * RTT of a stream so feedback is quicker on low RTT paths and does not storm on high RTT paths.
+ */
+public class RttAdaptiveDelayGenerator implements FeedbackDelayGenerator
+{
+    private final FeedbackDelayGenerator delegate;
+    private final long referenceDelayNs;
+    private final RttEstimator rttEstimator;
+
+    /**
+     * Create a generator which scales the delays of another generator by the RTT estimate.
+     *
+     * @param delegate         generator which is configured for the reference delay.
+     * @param referenceDelayNs the delegate is configured for.
+     * @param rttEstimator     for the stream.
+     */
+    public RttAdaptiveDelayGenerator(
+        final FeedbackDelayGenerator delegate, final long referenceDelayNs, final RttEstimator rttEstimator)
+    {
+        this.delegate = delegate;
+        this.referenceDelayNs = referenceDelayNs;
+        this.rttEstimator = rttEstimator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long generateDelay()
+    {
+        return rttEstimator.scaleDelay(delegate.generateDelay(), referenceDelayNs);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean shouldFeedbackImmediately()
+    {
+        return delegate.shouldFeedbackImmediately();
+    }
+}
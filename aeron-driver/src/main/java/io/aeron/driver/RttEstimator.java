@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.NanoClock;
+
+/**
+ * Smoothed round trip time estimate for a stream, as per RFC 6298, from RTT Measurement frames.
+ * <p>
+ * Measurements are initiated and recorded on the thread which owns the transport of a stream, the estimate can be
+ * read from other threads to adapt feedback delays and Status Message intervals to the RTT of the path.
+ */
+public class RttEstimator
+{
+    private final NanoClock nanoClock;
+    private final long measurementIntervalNs;
+    private final long minDelayNs;
+    private final long maxDelayNs;
+    private long nextMeasurementDeadlineNs;
+    private volatile long smoothedRttNs;
+    private volatile long rttVarianceNs;
+
+    /**
+     * Construct a new estimator for a stream.
+     *
+     * @param nanoClock             with sufficient precision to time measurements.
+     * @param measurementIntervalNs between initiating RTT measurements.
+     * @param minDelayNs            lower bound for any delay derived from the estimate.
+     * @param maxDelayNs            upper bound for any delay derived from the estimate.
+     */
+    public RttEstimator(
+        final NanoClock nanoClock, final long measurementIntervalNs, final long minDelayNs, final long maxDelayNs)
+    {
+        this.nanoClock = nanoClock;
+        this.measurementIntervalNs = measurementIntervalNs;
+        this.minDelayNs = minDelayNs;
+        this.maxDelayNs = maxDelayNs;
+    }
+
+    /**
+     * Precise time to be used for timestamps in RTT measurements.
+     *
+     * @return precise time in nanoseconds.
+     */
+    public long nanoTime()
+    {
+        return nanoClock.nanoTime();
+    }
+
+    /**
+     * Is it time to initiate a new RTT measurement?
+     *
+     * @param nowNs current time.
+     * @return true if a measurement should be initiated.
+     */
+    public boolean isMeasurementDue(final long nowNs)
+    {
+        return nowNs >= nextMeasurementDeadlineNs;
+    }
+
+    /**
+     * Record that a measurement has been initiated so the next one is due after the interval.
+     *
+     * @param nowNs current time.
+     */
+    public void onMeasurementSent(final long nowNs)
+    {
+        nextMeasurementDeadlineNs = nowNs + measurementIntervalNs;
+    }
+
+    /**
+     * Update the estimate with a new RTT sample.
+     *
+     * @param rttNs sample of round trip time in nanoseconds.
+     */
+    public void onRttMeasurement(final long rttNs)
+    {
+        if (rttNs <= 0)
+        {
+            return;
+        }
+
+        final long smoothedRttNs = this.smoothedRttNs;
+        if (0 == smoothedRttNs)
+        {
+            rttVarianceNs = rttNs >> 1;
+            this.smoothedRttNs = rttNs;
+        }
+        else
+        {
+            rttVarianceNs = ((rttVarianceNs * 3) + Math.abs(smoothedRttNs - rttNs)) >> 2;
+            this.smoothedRttNs = ((smoothedRttNs * 7) + rttNs) >> 3;
+        }
+    }
+
+    /**
+     * Has a sample been taken so the estimate is valid?
+     *
+     * @return true if a sample has been taken.
+     */
+    public boolean hasEstimate()
+    {
+        return 0 != smoothedRttNs;
+    }
+
+    /**
+     * Smoothed round trip time.
+     *
+     * @return smoothed round trip time in nanoseconds or 0 if no sample has been taken.
+     */
+    public long smoothedRttNs()
+    {
+        return smoothedRttNs;
+    }
+
+    /**
+     * Variation in round trip time.
+     *
+     * @return variation in round trip time in nanoseconds.
+     */
+    public long rttVarianceNs()
+    {
+        return rttVarianceNs;
+    }
+
+    /**
+     * Timeout after which data which has not been acknowledged should be considered lost, bounded by the min and max
+     * delay.
+     *
+     * @return timeout after which data should be considered lost.
+     */
+    public long retransmitTimeoutNs()
+    {
+        return clamp(smoothedRttNs + (rttVarianceNs << 2), minDelayNs, maxDelayNs);
+    }
+
+    /**
+     * Scale a delay which was configured for a reference RTT to the estimated RTT for the stream so the shape of any
+     * randomisation is kept. If no estimate exists then the delay is returned unchanged.
+     *
+     * @param delayNs          which has been generated for the reference.
+     * @param referenceDelayNs the delay generation was configured for.
+     * @return delay scaled to the estimated RTT.
+     */
+    public long scaleDelay(final long delayNs, final long referenceDelayNs)
+    {
+        if (!hasEstimate() || referenceDelayNs <= 0)
+        {
+            return delayNs;
+        }
+
+        final double scale = (double)retransmitTimeoutNs() / referenceDelayNs;
+
+        return clamp((long)(delayNs * scale), 0, maxDelayNs);
+    }
+
+    /**
+     * Interval for sending Status Messages while data is flowing which is no more than once per smoothed RTT and no
+     * longer than the configured timeout. When a stream is idle the configured timeout should be used so a low RTT
+     * does not result in a Status Message every RTT for streams with nothing to acknowledge.
+     *
+     * @param statusMessageTimeoutNs configured for sending Status Messages when data is flowing slowly.
+     * @return interval for sending Status Messages.
+     */
+    public long statusMessageIntervalNs(final long statusMessageTimeoutNs)
+    {
+        if (!hasEstimate())
+        {
+            return statusMessageTimeoutNs;
+        }
+
+        return clamp(smoothedRttNs, Math.min(minDelayNs, statusMessageTimeoutNs), statusMessageTimeoutNs);
+    }
+
+    private static long clamp(final long value, final long min, final long max)
+    {
+        return Math.min(Math.max(value, min), max);
+    }
+}
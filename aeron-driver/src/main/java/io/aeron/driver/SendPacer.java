@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.status.AtomicCounter;
+
+/**
+ * Token bucket which paces the sending of data by a {@link NetworkPublication} so a window is spread across duty
+ * cycles of the {@link Sender} rather than sent as a burst which can overflow switch and receiver socket buffers.
+ * <p>
+ * The bucket is allowed to go into deficit by a frame so a send is never blocked waiting for a whole MTU of tokens.
+ * A rate of zero disables pacing, such as when the rate is derived and no estimate is yet available.
+ */
+final class SendPacer
+{
+    /**
+     * Gain applied to the receiver window over RTT when deriving a rate so pacing is not the bottleneck.
+     */
+    static final double AUTO_RATE_GAIN = 1.25;
+
+    private static final double SECOND_IN_NS = 1_000_000_000d;
+
+    private final boolean isAutoRate;
+    private final long burstLength;
+    private final AtomicCounter pacedSends;
+    private final AtomicCounter pacingDelayNs;
+    private long rateBytesPerSecond;
+    private long tokens;
+    private long timeOfLastRefillNs;
+    private long timeOfDelayStartNs;
+    private boolean isDelayed;
+
+    SendPacer(
+        final long rateBytesPerSecond,
+        final boolean isAutoRate,
+        final long burstLength,
+        final long nowNs,
+        final AtomicCounter pacedSends,
+        final AtomicCounter pacingDelayNs)
+    {
+        this.rateBytesPerSecond = rateBytesPerSecond;
+        this.isAutoRate = isAutoRate;
+        this.burstLength = burstLength;
+        this.pacedSends = pacedSends;
+        this.pacingDelayNs = pacingDelayNs;
+        this.tokens = burstLength;
+        this.timeOfLastRefillNs = nowNs;
+    }
+
+    /**
+     * Is the rate derived from the receiver window and RTT rather than being fixed.
+     *
+     * @return true if the rate is derived from the receiver window and RTT.
+     */
+    boolean isAutoRate()
+    {
+        return isAutoRate;
+    }
+
+    /**
+     * Rate in bytes per second at which sends are paced.
+     *
+     * @return rate in bytes per second at which sends are paced or 0 if not pacing.
+     */
+    long rate()
+    {
+        return rateBytesPerSecond;
+    }
+
+    /**
+     * Update the rate when derived from the receiver window and RTT.
+     *
+     * @param receiverWindowLength advertised by the receiver in its last Status Message.
+     * @param rttNs                estimated for the stream.
+     */
+    void onRateEstimate(final int receiverWindowLength, final long rttNs)
+    {
+        if (rttNs > 0)
+        {
+            rateBytesPerSecond = (long)((receiverWindowLength * SECOND_IN_NS * AUTO_RATE_GAIN) / rttNs);
+        }
+    }
+
+    /**
+     * Can data be sent now or should the send be delayed until tokens have accumulated.
+     *
+     * @param nowNs current time.
+     * @return true if data can be sent.
+     */
+    boolean canSend(final long nowNs)
+    {
+        if (rateBytesPerSecond <= 0)
+        {
+            return true;
+        }
+
+        refill(nowNs);
+
+        if (tokens > 0)
+        {
+            if (isDelayed)
+            {
+                isDelayed = false;
+                pacingDelayNs.getAndAddOrdered(nowNs - timeOfDelayStartNs);
+            }
+
+            return true;
+        }
+
+        if (!isDelayed)
+        {
+            isDelayed = true;
+            timeOfDelayStartNs = nowNs;
+            pacedSends.incrementOrdered();
+        }
+
+        return false;
+    }
+
+    /**
+     * Consume tokens for bytes which have been sent, including retransmits which are not delayed.
+     *
+     * @param length of the data sent.
+     */
+    void onSent(final int length)
+    {
+        if (rateBytesPerSecond > 0)
+        {
+            tokens -= length;
+        }
+    }
+
+    private void refill(final long nowNs)
+    {
+        final long elapsedNs = nowNs - timeOfLastRefillNs;
+        final long newTokens = (long)((elapsedNs * (double)rateBytesPerSecond) / SECOND_IN_NS);
+
+        if (newTokens > 0)
+        {
+            tokens = Math.min(burstLength, tokens + newTokens);
+            timeOfLastRefillNs = nowNs;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.Aeron;
+import io.aeron.driver.CongestionControl;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.PerImageIndicator;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.CongestionControlUtil.packOutcome;
+
+/**
+ * BBR style congestion control manipulation of the receiver window length based on estimates of bottleneck
+ * bandwidth and minimum RTT rather than loss.
+ * <p>
+ * <a target="_blank" href="https://queue.acm.org/detail.cfm?id=3022184">
+ *     https://queue.acm.org/detail.cfm?id=3022184</a>
+ * <p>
+ * Bottleneck bandwidth is the windowed max of the rate at which the image is rebuilt, sampled once per round of
+ * min RTT, and min RTT is the windowed min of RTT measurements to the sender. The window is sized to the bandwidth
+ * delay product multiplied by a gain for the current phase:
+ * <ul>
+ *     <li>STARTUP: high gain to find the bottleneck bandwidth quickly until it stops growing.</li>
+ *     <li>DRAIN: unity gain for a round to drain any queue built in startup.</li>
+ *     <li>PROBE_BW: cycle of gains which probe for more bandwidth then drain the queue from probing.</li>
+ *     <li>PROBE_RTT: minimum window for a short duration when the min RTT has not been seen for a while.</li>
+ * </ul>
+ * As the receiver window rather than a pacing rate limits the sender, the window has headroom over the pacing gain
+ * so Status Messages, which are sent as the window is consumed, do not starve the sender.
+ */
+public class BbrCongestionControl implements CongestionControl
+{
+    private static final long INITIAL_RTT_NS = BbrCongestionControlConfiguration.INITIAL_RTT_NS;
+    private static final long RTT_MEASUREMENT_INTERVAL_NS =
+        BbrCongestionControlConfiguration.RTT_MEASUREMENT_INTERVAL_NS;
+    private static final long MIN_RTT_WINDOW_NS = BbrCongestionControlConfiguration.MIN_RTT_WINDOW_NS;
+
+    private static final long SECOND_IN_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RTT_MAX_TIMEOUT_NS = SECOND_IN_NS;
+    private static final long MIN_ROUND_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PROBE_RTT_DURATION_NS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final int STARTUP = 0;
+    private static final int DRAIN = 1;
+    private static final int PROBE_BW = 2;
+    private static final int PROBE_RTT = 3;
+
+    private static final double HIGH_GAIN = 2.885;
+    private static final double WINDOW_HEADROOM = 1.25;
+    private static final double[] PROBE_BW_GAINS = { 1.25, 0.75, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0 };
+    private static final double FULL_BANDWIDTH_GROWTH = 1.25;
+    private static final int FULL_BANDWIDTH_ROUNDS = 3;
+    private static final int BANDWIDTH_FILTER_ROUNDS = 10;
+    private static final int MIN_WINDOW_MTUS = 4;
+    private static final int INITIAL_WINDOW_MTUS = 10;
+
+    private final int mtu;
+    private final int minWindow;
+    private final int maxWindow;
+    private final long[] bandwidthSamples = new long[BANDWIDTH_FILTER_ROUNDS];
+
+    private int state = STARTUP;
+    private int window;
+    private int bandwidthSampleIndex;
+    private int probeBwCycleIndex;
+    private int fullBandwidthRounds;
+    private long fullBandwidth;
+    private long bottleneckBandwidth;
+    private long stateTimestampNs;
+    private long lastSampleTimestampNs;
+    private long lastSamplePosition = Aeron.NULL_VALUE;
+    private long lastRttTimestampNs;
+    private boolean isRttMeasurementOutstanding;
+    private long minRttNs = INITIAL_RTT_NS;
+    private long minRttTimestampNs;
+
+    private final AtomicCounter rttIndicator;
+    private final AtomicCounter bandwidthIndicator;
+    private final AtomicCounter windowIndicator;
+
+    BbrCongestionControl(
+        final long registrationId,
+        final UdpChannel udpChannel,
+        final int streamId,
+        final int sessionId,
+        final int termLength,
+        final int senderMtuLength,
+        final NanoClock clock,
+        final MediaDriver.Context context,
+        final CountersManager countersManager)
+    {
+        mtu = senderMtuLength;
+        maxWindow = Math.max(senderMtuLength, Math.min(termLength / 2, context.initialWindowLength()));
+        minWindow = Math.min(maxWindow, MIN_WINDOW_MTUS * senderMtuLength);
+        window = Math.min(maxWindow, INITIAL_WINDOW_MTUS * senderMtuLength);
+
+        final String channel = udpChannel.originalUriString();
+        rttIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-rtt", countersManager, registrationId, sessionId, streamId, channel);
+        bandwidthIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-bw", countersManager, registrationId, sessionId, streamId, channel);
+        windowIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-wnd", countersManager, registrationId, sessionId, streamId, channel);
+
+        rttIndicator.setOrdered(0);
+        bandwidthIndicator.setOrdered(0);
+        windowIndicator.setOrdered(window);
+
+        final long nowNs = clock.nanoTime();
+        stateTimestampNs = nowNs;
+        lastSampleTimestampNs = nowNs;
+        minRttTimestampNs = nowNs;
+    }
+
+    public boolean shouldMeasureRtt(final long nowNs)
+    {
+        return nowNs > (lastRttTimestampNs + RTT_MAX_TIMEOUT_NS) ||
+            (!isRttMeasurementOutstanding && nowNs > (lastRttTimestampNs + RTT_MEASUREMENT_INTERVAL_NS));
+    }
+
+    public void onRttMeasurementSent(final long nowNs)
+    {
+        lastRttTimestampNs = nowNs;
+        isRttMeasurementOutstanding = true;
+    }
+
+    public void onRttMeasurement(final long nowNs, final long rttNs, final InetSocketAddress srcAddress)
+    {
+        isRttMeasurementOutstanding = false;
+        lastRttTimestampNs = nowNs;
+
+        if (rttNs > 0 && (rttNs <= minRttNs || nowNs > (minRttTimestampNs + MIN_RTT_WINDOW_NS)))
+        {
+            minRttNs = rttNs;
+            minRttTimestampNs = nowNs;
+            rttIndicator.setOrdered(rttNs);
+        }
+    }
+
+    public long onTrackRebuild(
+        final long nowNs,
+        final long newConsumptionPosition,
+        final long lastSmPosition,
+        final long hwmPosition,
+        final long startingRebuildPosition,
+        final long endingRebuildPosition,
+        final boolean lossOccurred)
+    {
+        final int previousState = state;
+        final long minRttNs = this.minRttNs;
+        final long sampleDurationNs = nowNs - lastSampleTimestampNs;
+
+        if (Aeron.NULL_VALUE == lastSamplePosition)
+        {
+            lastSamplePosition = startingRebuildPosition;
+            lastSampleTimestampNs = nowNs;
+        }
+        else if (sampleDurationNs >= Math.max(minRttNs, MIN_ROUND_INTERVAL_NS))
+        {
+            final long deliveredBytes = Math.max(0, endingRebuildPosition - lastSamplePosition);
+            final long bandwidth = (long)((double)deliveredBytes * SECOND_IN_NS / sampleDurationNs);
+            final boolean isAppLimited = hwmPosition < (lastSmPosition + window - mtu);
+
+            onRound(nowNs, bandwidth, isAppLimited);
+
+            lastSamplePosition = endingRebuildPosition;
+            lastSampleTimestampNs = nowNs;
+        }
+
+        if (PROBE_RTT != state && nowNs > (minRttTimestampNs + MIN_RTT_WINDOW_NS))
+        {
+            enterState(PROBE_RTT, nowNs);
+        }
+
+        window = computeWindow(minRttNs);
+        windowIndicator.setOrdered(window);
+
+        return packOutcome(window, previousState != state && (PROBE_RTT == state || PROBE_RTT == previousState));
+    }
+
+    public int initialWindowLength()
+    {
+        return window;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(rttIndicator);
+        CloseHelper.close(bandwidthIndicator);
+        CloseHelper.close(windowIndicator);
+    }
+
+    private void onRound(final long nowNs, final long bandwidth, final boolean isAppLimited)
+    {
+        if (!isAppLimited || bandwidth > bottleneckBandwidth)
+        {
+            bandwidthSamples[bandwidthSampleIndex] = bandwidth;
+            bandwidthSampleIndex = (bandwidthSampleIndex + 1) % BANDWIDTH_FILTER_ROUNDS;
+
+            long maxBandwidth = 0;
+            for (final long sample : bandwidthSamples)
+            {
+                maxBandwidth = Math.max(maxBandwidth, sample);
+            }
+
+            bottleneckBandwidth = maxBandwidth;
+            bandwidthIndicator.setOrdered(maxBandwidth);
+        }
+
+        switch (state)
+        {
+            case STARTUP:
+                if (bottleneckBandwidth >= (long)(fullBandwidth * FULL_BANDWIDTH_GROWTH))
+                {
+                    fullBandwidth = bottleneckBandwidth;
+                    fullBandwidthRounds = 0;
+                }
+                else if (!isAppLimited && ++fullBandwidthRounds >= FULL_BANDWIDTH_ROUNDS)
+                {
+                    enterState(DRAIN, nowNs);
+                }
+                break;
+
+            case DRAIN:
+                enterState(PROBE_BW, nowNs);
+                probeBwCycleIndex = 2;
+                break;
+
+            case PROBE_BW:
+                probeBwCycleIndex = (probeBwCycleIndex + 1) % PROBE_BW_GAINS.length;
+                break;
+
+            case PROBE_RTT:
+                if (nowNs > (stateTimestampNs + PROBE_RTT_DURATION_NS))
+                {
+                    minRttTimestampNs = Math.max(minRttTimestampNs, nowNs);
+                    enterState(fullBandwidth > 0 && fullBandwidthRounds >= FULL_BANDWIDTH_ROUNDS ?
+                        PROBE_BW : STARTUP, nowNs);
+                }
+                break;
+        }
+    }
+
+    private void enterState(final int newState, final long nowNs)
+    {
+        state = newState;
+        stateTimestampNs = nowNs;
+    }
+
+    private int computeWindow(final long minRttNs)
+    {
+        if (PROBE_RTT == state)
+        {
+            return minWindow;
+        }
+
+        final double bdp = (double)bottleneckBandwidth * minRttNs / SECOND_IN_NS;
+        final double gain;
+        switch (state)
+        {
+            case STARTUP:
+                gain = HIGH_GAIN;
+                break;
+
+            case DRAIN:
+                gain = 1.0;
+                break;
+
+            default:
+                gain = PROBE_BW_GAINS[probeBwCycleIndex];
+                break;
+        }
+
+        final long target = (long)(bdp * gain * WINDOW_HEADROOM);
+        final long alignedTarget = ((target + mtu - 1) / mtu) * mtu;
+        final long newWindow = STARTUP == state ? Math.max(window, alignedTarget) : alignedTarget;
+
+        return (int)Math.min(maxWindow, Math.max(minWindow, newWindow));
+    }
+}
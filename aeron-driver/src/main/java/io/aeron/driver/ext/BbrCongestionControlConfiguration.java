@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.SystemUtil.getDurationInNanos;
+
+/**
+ * Configuration options to be applied when {@link BbrCongestionControl} is loaded.
+ */
+public class BbrCongestionControlConfiguration
+{
+    /**
+     * Property name for initial RTT estimate in nanoseconds used until a measurement has been taken.
+     */
+    public static final String INITIAL_RTT_NS_PROP_NAME = "aeron.BbrCongestionControl.initialRtt";
+
+    /**
+     * Default initial RTT estimate in nanoseconds.
+     */
+    public static final long INITIAL_RTT_NS_DEFAULT = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Property name for the interval between RTT measurements in nanoseconds.
+     */
+    public static final String RTT_MEASUREMENT_INTERVAL_PROP_NAME = "aeron.BbrCongestionControl.rttMeasurementInterval";
+
+    /**
+     * Default interval between RTT measurements in nanoseconds.
+     */
+    public static final long RTT_MEASUREMENT_INTERVAL_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Property name for the duration over which the minimum RTT is tracked before the window is drained to probe
+     * for a new minimum.
+     */
+    public static final String MIN_RTT_WINDOW_PROP_NAME = "aeron.BbrCongestionControl.minRttWindow";
+
+    /**
+     * Default duration over which the minimum RTT is tracked.
+     */
+    public static final long MIN_RTT_WINDOW_DEFAULT_NS = TimeUnit.SECONDS.toNanos(10);
+
+    public static final long INITIAL_RTT_NS = Long.getLong(INITIAL_RTT_NS_PROP_NAME, INITIAL_RTT_NS_DEFAULT);
+    public static final long RTT_MEASUREMENT_INTERVAL_NS = getDurationInNanos(
+        RTT_MEASUREMENT_INTERVAL_PROP_NAME, RTT_MEASUREMENT_INTERVAL_DEFAULT_NS);
+    public static final long MIN_RTT_WINDOW_NS = getDurationInNanos(
+        MIN_RTT_WINDOW_PROP_NAME, MIN_RTT_WINDOW_DEFAULT_NS);
+}
@@ -19,6 +19,7 @@ import io.aeron.driver.MediaDriver;
 import io.aeron.driver.media.UdpChannel;
 import io.aeron.driver.media.SendChannelEndpoint;
 import io.aeron.protocol.NakFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -97,6 +98,18 @@ public class DebugSendChannelEndpoint extends SendChannelEndpoint
         }
     }
 
+    public void onNakRangeListMessage(
+        final NakRangeListFlyweight msg,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        if (!controlLossGenerator.shouldDropFrame(srcAddress, msg, msg.frameLength()))
+        {
+            super.onNakRangeListMessage(msg, buffer, length, srcAddress);
+        }
+    }
+
     public void onRttMeasurement(
         final RttMeasurementFlyweight msg,
         final UnsafeBuffer buffer,
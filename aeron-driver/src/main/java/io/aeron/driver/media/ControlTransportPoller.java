@@ -17,6 +17,7 @@ package io.aeron.driver.media;
 
 import io.aeron.driver.Configuration;
 import io.aeron.protocol.NakFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.LangUtil;
@@ -31,6 +32,7 @@ import java.nio.channels.SelectionKey;
 
 import static io.aeron.logbuffer.FrameDescriptor.frameType;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_NAK;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_NAK_RANGE_LIST;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_RTTM;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_SM;
 import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
@@ -43,7 +45,9 @@ public class ControlTransportPoller extends UdpTransportPoller
     private final ByteBuffer byteBuffer;
     private final UnsafeBuffer unsafeBuffer;
     private final NakFlyweight nakMessage;
+    private final NakRangeListFlyweight nakRangeListMessage;
     private final StatusMessageFlyweight statusMessage;
+    private final StatusMessageFlyweight batchedStatusMessage = new StatusMessageFlyweight();
     private final RttMeasurementFlyweight rttMeasurement;
     private SendChannelEndpoint[] transports = new SendChannelEndpoint[0];
 
@@ -53,6 +57,7 @@ public class ControlTransportPoller extends UdpTransportPoller
             Configuration.MAX_UDP_PAYLOAD_LENGTH, CACHE_LINE_LENGTH * 2);
         unsafeBuffer = new UnsafeBuffer(byteBuffer);
         nakMessage = new NakFlyweight(unsafeBuffer);
+        nakRangeListMessage = new NakRangeListFlyweight(unsafeBuffer);
         statusMessage = new StatusMessageFlyweight(unsafeBuffer);
         rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
     }
@@ -150,15 +155,46 @@ public class ControlTransportPoller extends UdpTransportPoller
                 }
                 else if (HDR_TYPE_SM == frameType)
                 {
-                    channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, byteReceived, srcAddress);
+                    onStatusMessages(channelEndpoint, byteReceived, srcAddress);
                 }
                 else if (HDR_TYPE_RTTM == frameType)
                 {
                     channelEndpoint.onRttMeasurement(rttMeasurement, unsafeBuffer, byteReceived, srcAddress);
                 }
+                else if (HDR_TYPE_NAK_RANGE_LIST == frameType)
+                {
+                    channelEndpoint.onNakRangeListMessage(nakRangeListMessage, unsafeBuffer, byteReceived, srcAddress);
+                }
             }
         }
 
         return byteReceived;
     }
+
+    private void onStatusMessages(
+        final SendChannelEndpoint channelEndpoint, final int length, final InetSocketAddress srcAddress)
+    {
+        channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, length, srcAddress);
+
+        int offset = statusMessage.frameLength();
+        if (offset < StatusMessageFlyweight.HEADER_LENGTH)
+        {
+            return;
+        }
+
+        while ((offset + StatusMessageFlyweight.HEADER_LENGTH) <= length)
+        {
+            batchedStatusMessage.wrap(unsafeBuffer, offset, length - offset);
+            final int frameLength = batchedStatusMessage.frameLength();
+            if (HDR_TYPE_SM != batchedStatusMessage.headerType() ||
+                frameLength < StatusMessageFlyweight.HEADER_LENGTH ||
+                (offset + frameLength) > length)
+            {
+                break;
+            }
+
+            channelEndpoint.onStatusMessage(batchedStatusMessage, unsafeBuffer, length - offset, srcAddress);
+            offset += frameLength;
+        }
+    }
 }
@@ -17,6 +17,7 @@ package io.aeron.driver.media;
 
 import io.aeron.driver.Configuration;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.LangUtil;
@@ -43,6 +44,7 @@ public class DataTransportPoller extends UdpTransportPoller
     private final DataHeaderFlyweight dataMessage;
     private final SetupFlyweight setupMessage;
     private final RttMeasurementFlyweight rttMeasurement;
+    private final FecFlyweight fecMessage;
     private ChannelAndTransport[] channelAndTransports = new ChannelAndTransport[0];
 
     public DataTransportPoller()
@@ -53,6 +55,7 @@ public class DataTransportPoller extends UdpTransportPoller
         dataMessage = new DataHeaderFlyweight(unsafeBuffer);
         setupMessage = new SetupFlyweight(unsafeBuffer);
         rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
+        fecMessage = new FecFlyweight(unsafeBuffer);
     }
 
     public void close()
@@ -99,6 +102,43 @@ public class DataTransportPoller extends UdpTransportPoller
         return bytesReceived;
     }
 
+    /**
+     * Send any Status Messages which have been batched up by the channel endpoints during the duty cycle.
+     *
+     * @return number of datagrams sent.
+     */
+    public int sendBatchedStatusMessages()
+    {
+        int workCount = 0;
+
+        for (final ChannelAndTransport channelAndTransport : channelAndTransports)
+        {
+            workCount += channelAndTransport.channelEndpoint.sendBatchedStatusMessages();
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Publish any frames held back for a zero copy receive by channel endpoints which did not receive a datagram
+     * during the duty cycle. This is needed when only ready transports are polled via the selector, as idle
+     * transports are then not polled to publish their pending frame.
+     */
+    public void publishIdleZeroCopyFrames()
+    {
+        for (final ChannelAndTransport channelAndTransport : channelAndTransports)
+        {
+            if (channelAndTransport.hasReceived)
+            {
+                channelAndTransport.hasReceived = false;
+            }
+            else if (channelAndTransport.channelEndpoint.isZeroCopyReceive())
+            {
+                channelAndTransport.channelEndpoint.onZeroCopyIdle();
+            }
+        }
+    }
+
     public SelectionKey registerForRead(final UdpChannelTransport transport)
     {
         return registerForRead((ReceiveChannelEndpoint)transport, transport, 0);
@@ -153,13 +193,40 @@ public class DataTransportPoller extends UdpTransportPoller
     {
         int bytesReceived = 0;
         final ReceiveChannelEndpoint channelEndpoint = channelAndTransport.channelEndpoint;
-        final InetSocketAddress srcAddress = channelAndTransport.transport.receive(byteBuffer);
         final int transportIndex = channelAndTransport.transportIndex;
+        final ByteBuffer termBuffer = channelEndpoint.isZeroCopyReceive() ?
+            channelEndpoint.zeroCopyReceiveBuffer() : null;
+        final InetSocketAddress srcAddress;
+        final int length;
 
-        if (null != srcAddress)
+        if (null != termBuffer)
         {
-            final int length = byteBuffer.position();
+            final int termOffset = termBuffer.position();
+            srcAddress = channelAndTransport.transport.receiveAtPosition(termBuffer);
+            if (null == srcAddress)
+            {
+                channelEndpoint.onZeroCopyIdle();
+                return 0;
+            }
 
+            channelAndTransport.hasReceived = true;
+            length = termBuffer.position() - termOffset;
+            if (channelEndpoint.onZeroCopyDataPacket(length, srcAddress, transportIndex))
+            {
+                return length;
+            }
+
+            channelEndpoint.onZeroCopyRejected(unsafeBuffer, length);
+        }
+        else
+        {
+            srcAddress = channelAndTransport.transport.receive(byteBuffer);
+            length = byteBuffer.position();
+        }
+
+        if (null != srcAddress)
+        {
+            channelAndTransport.hasReceived = true;
             if (channelEndpoint.isValidFrame(unsafeBuffer, length))
             {
                 channelEndpoint.receiveHook(unsafeBuffer, length, srcAddress);
@@ -180,6 +247,10 @@ public class DataTransportPoller extends UdpTransportPoller
                     channelEndpoint.onRttMeasurement(
                         rttMeasurement, unsafeBuffer, length, srcAddress, transportIndex);
                 }
+                else if (HDR_TYPE_FEC == frameType)
+                {
+                    channelEndpoint.onFecPacket(fecMessage, unsafeBuffer, length, srcAddress, transportIndex);
+                }
             }
         }
 
@@ -191,6 +262,7 @@ public class DataTransportPoller extends UdpTransportPoller
         private final ReceiveChannelEndpoint channelEndpoint;
         private final UdpChannelTransport transport;
         private final int transportIndex;
+        private boolean hasReceived;
 
         ChannelAndTransport(
             final ReceiveChannelEndpoint channelEndpoint, final UdpChannelTransport transport, final int transportIndex)
@@ -37,6 +37,7 @@ import java.util.concurrent.TimeUnit;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.protocol.StatusMessageFlyweight.SEND_SETUP_FLAG;
 import static io.aeron.status.ChannelEndpointStatus.status;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Aggregator of multiple subscriptions onto a single transport channel for receiving of data and setup frames
@@ -51,16 +52,25 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     private final StatusMessageFlyweight statusMessageFlyweight;
     private final ByteBuffer nakBuffer;
     private final NakFlyweight nakFlyweight;
+    private final ByteBuffer nakRangeListBuffer;
+    private final NakRangeListFlyweight nakRangeListFlyweight;
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementFlyweight;
+    private final UnsafeBuffer fecRecoveryBuffer;
+    private final ByteBuffer smBatchBuffer;
+    private final UnsafeBuffer smBatchUnsafeBuffer;
     private final AtomicCounter shortSends;
     private final AtomicCounter possibleTtlAsymmetry;
     private final AtomicCounter statusIndicator;
     private final Int2IntCounterMap refCountByStreamIdMap = new Int2IntCounterMap(0);
     private final Long2LongCounterMap refCountByStreamIdAndSessionIdMap = new Long2LongCounterMap(0);
     private final MultiRcvDestination multiRcvDestination;
+    private final boolean isZeroCopyReceive;
 
     private final long receiverId;
+    private int smBatchLength;
+    private InetSocketAddress smBatchAddress;
+    private AtomicCounter statusMessagesSent;
 
     public ReceiveChannelEndpoint(
         final UdpChannel udpChannel,
@@ -87,8 +97,11 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         statusMessageFlyweight = threadLocals.statusMessageFlyweight();
         nakBuffer = threadLocals.nakBuffer();
         nakFlyweight = threadLocals.nakFlyweight();
+        nakRangeListBuffer = threadLocals.nakRangeListBuffer();
+        nakRangeListFlyweight = threadLocals.nakRangeListFlyweight();
         rttMeasurementBuffer = threadLocals.rttMeasurementBuffer();
         rttMeasurementFlyweight = threadLocals.rttMeasurementFlyweight();
+        fecRecoveryBuffer = threadLocals.fecRecoveryBuffer();
         receiverId = threadLocals.receiverId();
 
         final String mode = udpChannel.channelUri().get(CommonContext.MDC_CONTROL_MODE_PARAM_NAME);
@@ -100,6 +113,20 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         {
             this.multiRcvDestination = null;
         }
+
+        isZeroCopyReceive = null == multiRcvDestination && !udpChannel.isMulticast() &&
+            "true".equals(udpChannel.channelUri().get(CommonContext.RECEIVE_ZERO_COPY_PARAM_NAME));
+
+        if (context.statusMessageBatch() && null == multiRcvDestination)
+        {
+            smBatchBuffer = NetworkUtil.allocateDirectAlignedAndPadded(context.mtuLength(), CACHE_LINE_LENGTH);
+            smBatchUnsafeBuffer = new UnsafeBuffer(smBatchBuffer);
+        }
+        else
+        {
+            smBatchBuffer = null;
+            smBatchUnsafeBuffer = null;
+        }
     }
 
     /**
@@ -151,6 +178,17 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         statusIndicator.setOrdered(ChannelEndpointStatus.ACTIVE);
     }
 
+    /**
+     * Counter for the number of Status Messages sent from this endpoint which is closed along with the
+     * status indicator.
+     *
+     * @param statusMessagesSent counter for the number of Status Messages sent from this endpoint.
+     */
+    public void statusMessagesSentCounter(final AtomicCounter statusMessagesSent)
+    {
+        this.statusMessagesSent = statusMessagesSent;
+    }
+
     public void closeStatusIndicator()
     {
         if (!statusIndicator.isClosed())
@@ -158,6 +196,11 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
             statusIndicator.setOrdered(ChannelEndpointStatus.CLOSING);
             statusIndicator.close();
         }
+
+        if (null != statusMessagesSent)
+        {
+            statusMessagesSent.close();
+        }
     }
 
     public void closeMultiRcvDestination()
@@ -386,6 +429,69 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    /**
+     * Is data received directly into the term buffer of a single image when it arrives in order.
+     *
+     * @return true if data is received directly into the term buffer of a single image.
+     */
+    public boolean isZeroCopyReceive()
+    {
+        return isZeroCopyReceive;
+    }
+
+    /**
+     * Buffer positioned at the expected offset in the term of a single image into which the next datagram should be
+     * received, if possible.
+     *
+     * @return buffer positioned for the next datagram or null if it should be received via the copy path.
+     */
+    public ByteBuffer zeroCopyReceiveBuffer()
+    {
+        return dispatcher.zeroCopyReceiveBuffer();
+    }
+
+    /**
+     * Called after a datagram has been received into the buffer from {@link #zeroCopyReceiveBuffer()}.
+     *
+     * @param length         of the datagram received.
+     * @param srcAddress     of the datagram.
+     * @param transportIndex on which the datagram was received.
+     * @return true if the datagram was accepted in place otherwise it must be copied out and dispatched.
+     */
+    public boolean onZeroCopyDataPacket(final int length, final InetSocketAddress srcAddress, final int transportIndex)
+    {
+        return dispatcher.onZeroCopyDataPacket(length, srcAddress, transportIndex);
+    }
+
+    /**
+     * Copy out a datagram which was not accepted in place so it can be dispatched via the copy path.
+     *
+     * @param buffer into which the datagram is copied.
+     * @param length of the datagram.
+     */
+    public void onZeroCopyRejected(final UnsafeBuffer buffer, final int length)
+    {
+        dispatcher.onZeroCopyRejected(buffer, length);
+    }
+
+    /**
+     * Called when no datagram was available so any frame held back from a zero copy receive is made available.
+     */
+    public void onZeroCopyIdle()
+    {
+        dispatcher.onZeroCopyIdle();
+    }
+
+    public void onFecPacket(
+        final FecFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress,
+        final int transportIndex)
+    {
+        dispatcher.onFecPacket(header, length, fecRecoveryBuffer, srcAddress, transportIndex);
+    }
+
     public void sendSetupElicitingStatusMessage(
         final int transportIndex, final InetSocketAddress controlAddress, final int sessionId, final int streamId)
     {
@@ -447,7 +553,66 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .receiverWindowLength(window)
                 .flags(flags);
 
-            send(smBuffer, StatusMessageFlyweight.HEADER_LENGTH, controlAddresses);
+            if (null != smBatchBuffer)
+            {
+                batchStatusMessage(controlAddresses[0].address);
+            }
+            else
+            {
+                send(smBuffer, StatusMessageFlyweight.HEADER_LENGTH, controlAddresses);
+            }
+
+            if (null != statusMessagesSent)
+            {
+                statusMessagesSent.incrementOrdered();
+            }
+        }
+    }
+
+    /**
+     * Send any Status Messages which have been batched up for a control address in a single datagram.
+     *
+     * @return number of datagrams sent.
+     */
+    public int sendBatchedStatusMessages()
+    {
+        int workCount = 0;
+
+        if (smBatchLength > 0)
+        {
+            if (!isClosed)
+            {
+                smBatchBuffer.clear().limit(smBatchLength);
+                send(smBatchBuffer, smBatchLength, 0, smBatchAddress);
+                workCount = 1;
+            }
+
+            smBatchLength = 0;
+            smBatchAddress = null;
+        }
+
+        return workCount;
+    }
+
+    private void batchStatusMessage(final InetSocketAddress controlAddress)
+    {
+        final int frameLength = statusMessageFlyweight.frameLength();
+
+        if (smBatchLength > 0 &&
+            (!controlAddress.equals(smBatchAddress) || (smBatchLength + frameLength) > smBatchBuffer.capacity()))
+        {
+            sendBatchedStatusMessages();
+        }
+
+        if (frameLength > smBatchBuffer.capacity())
+        {
+            send(smBuffer, frameLength, 0, controlAddress);
+        }
+        else
+        {
+            smBatchUnsafeBuffer.putBytes(smBatchLength, smBuffer, 0, frameLength);
+            smBatchLength += frameLength;
+            smBatchAddress = controlAddress;
         }
     }
 
@@ -473,6 +638,34 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    public void sendNakRangeListMessage(
+        final DestinationImageControlAddress[] controlAddresses,
+        final int sessionId,
+        final int streamId,
+        final int rangeCount,
+        final int[] termIds,
+        final int[] termOffsets,
+        final int[] lengths)
+    {
+        if (!isClosed)
+        {
+            final int frameLength = NakRangeListFlyweight.computeFrameLength(rangeCount);
+
+            nakRangeListBuffer.clear().limit(frameLength);
+            nakRangeListFlyweight
+                .streamId(streamId)
+                .sessionId(sessionId)
+                .rangeCount(rangeCount);
+
+            for (int i = 0; i < rangeCount; i++)
+            {
+                nakRangeListFlyweight.range(i, termIds[i], termOffsets[i], lengths[i]);
+            }
+
+            send(nakRangeListBuffer, frameLength, controlAddresses);
+        }
+    }
+
     public void sendRttMeasurement(
         final DestinationImageControlAddress[] controlAddresses,
         final int sessionId,
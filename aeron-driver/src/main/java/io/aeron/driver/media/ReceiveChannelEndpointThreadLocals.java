@@ -15,12 +15,15 @@
  */
 package io.aeron.driver.media;
 
+import io.aeron.driver.Configuration;
 import io.aeron.driver.MediaDriver;
 import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.protocol.NakFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
 
 import java.nio.ByteBuffer;
 import java.util.UUID;
@@ -37,18 +40,23 @@ public class ReceiveChannelEndpointThreadLocals
     private final StatusMessageFlyweight statusMessageFlyweight;
     private final ByteBuffer nakBuffer;
     private final NakFlyweight nakFlyweight;
+    private final ByteBuffer nakRangeListBuffer;
+    private final NakRangeListFlyweight nakRangeListFlyweight;
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementFlyweight;
+    private final UnsafeBuffer fecRecoveryBuffer;
     private final long receiverId;
 
     public ReceiveChannelEndpointThreadLocals(final MediaDriver.Context context)
     {
         final byte[] applicationSpecificFeedback = context.applicationSpecificFeedback();
         final int smLength = StatusMessageFlyweight.HEADER_LENGTH + applicationSpecificFeedback.length;
+        final int nakRangeListLength = NakRangeListFlyweight.computeFrameLength(NakRangeListFlyweight.MAX_RANGE_COUNT);
         final int bufferLength =
             BitUtil.align(smLength, CACHE_LINE_LENGTH) +
             BitUtil.align(NakFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH) +
-            BitUtil.align(RttMeasurementFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH);
+            BitUtil.align(RttMeasurementFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH) +
+            BitUtil.align(nakRangeListLength, CACHE_LINE_LENGTH);
 
         final UUID uuid = UUID.randomUUID();
         receiverId = (uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
@@ -69,6 +77,14 @@ public class ReceiveChannelEndpointThreadLocals
         rttMeasurementBuffer = byteBuffer.slice();
         rttMeasurementFlyweight = new RttMeasurementFlyweight(rttMeasurementBuffer);
 
+        final int nakRangeListOffset = rttMeasurementOffset + BitUtil.align(RttMeasurementFlyweight.HEADER_LENGTH, 32);
+        byteBuffer.limit(nakRangeListOffset + nakRangeListLength).position(nakRangeListOffset);
+        nakRangeListBuffer = byteBuffer.slice();
+        nakRangeListFlyweight = new NakRangeListFlyweight(nakRangeListBuffer);
+
+        fecRecoveryBuffer = new UnsafeBuffer(
+            NetworkUtil.allocateDirectAlignedAndPadded(Configuration.MAX_UDP_PAYLOAD_LENGTH, CACHE_LINE_LENGTH));
+
         statusMessageFlyweight
             .applicationSpecificFeedback(applicationSpecificFeedback, 0, applicationSpecificFeedback.length)
             .receiverId(receiverId)
@@ -86,6 +102,11 @@ public class ReceiveChannelEndpointThreadLocals
             .version(HeaderFlyweight.CURRENT_VERSION)
             .headerType(HeaderFlyweight.HDR_TYPE_RTTM)
             .frameLength(RttMeasurementFlyweight.HEADER_LENGTH);
+
+        nakRangeListFlyweight
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .headerType(HeaderFlyweight.HDR_TYPE_NAK_RANGE_LIST)
+            .frameLength(NakRangeListFlyweight.HEADER_LENGTH);
     }
 
     public ByteBuffer smBuffer()
@@ -108,6 +129,16 @@ public class ReceiveChannelEndpointThreadLocals
         return nakFlyweight;
     }
 
+    public ByteBuffer nakRangeListBuffer()
+    {
+        return nakRangeListBuffer;
+    }
+
+    public NakRangeListFlyweight nakRangeListFlyweight()
+    {
+        return nakRangeListFlyweight;
+    }
+
     public ByteBuffer rttMeasurementBuffer()
     {
         return rttMeasurementBuffer;
@@ -118,6 +149,11 @@ public class ReceiveChannelEndpointThreadLocals
         return rttMeasurementFlyweight;
     }
 
+    public UnsafeBuffer fecRecoveryBuffer()
+    {
+        return fecRecoveryBuffer;
+    }
+
     public long receiverId()
     {
         return receiverId;
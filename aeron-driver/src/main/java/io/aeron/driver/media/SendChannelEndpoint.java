@@ -19,6 +19,7 @@ import io.aeron.CommonContext;
 import io.aeron.driver.*;
 import io.aeron.status.ChannelEndpointStatus;
 import io.aeron.protocol.NakFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.collections.BiInt2ObjectMap;
@@ -266,6 +267,28 @@ public class SendChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    public void onNakRangeListMessage(
+        final NakRangeListFlyweight msg,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        final int rangeCount = msg.rangeCount();
+        if (rangeCount < 0 || rangeCount > NakRangeListFlyweight.MAX_RANGE_COUNT ||
+            length < NakRangeListFlyweight.computeFrameLength(rangeCount))
+        {
+            return;
+        }
+
+        final NetworkPublication publication = publicationBySessionAndStreamId.get(msg.sessionId(), msg.streamId());
+
+        if (null != publication)
+        {
+            publication.onNakRangeList(msg);
+            nakMessagesReceived.incrementOrdered();
+        }
+    }
+
     public void onRttMeasurement(
         final RttMeasurementFlyweight msg,
         final UnsafeBuffer buffer,
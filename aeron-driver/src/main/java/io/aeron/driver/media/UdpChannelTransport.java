@@ -297,6 +297,18 @@ public abstract class UdpChannelTransport implements AutoCloseable
     {
         buffer.clear();
 
+        return receiveAtPosition(buffer);
+    }
+
+    /**
+     * Receive a datagram from the media layer into a buffer between its current position and limit, such as a region
+     * of a term buffer, rather than clearing the buffer first.
+     *
+     * @param buffer into which the datagram will be received from its position.
+     * @return the source address of the datagram if one is available otherwise false.
+     */
+    public InetSocketAddress receiveAtPosition(final ByteBuffer buffer)
+    {
         InetSocketAddress address = null;
         try
         {
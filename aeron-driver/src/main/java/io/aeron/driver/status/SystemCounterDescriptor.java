@@ -45,7 +45,13 @@ public enum SystemCounterDescriptor
     UNBLOCKED_COMMANDS(20, "Unblocked Control Commands"),
     POSSIBLE_TTL_ASYMMETRY(21, "Possible TTL Asymmetry"),
     CONTROLLABLE_IDLE_STRATEGY(22, "ControllableIdleStrategy status"),
-    LOSS_GAP_FILLS(23, "Loss gap fills");
+    LOSS_GAP_FILLS(23, "Loss gap fills"),
+    PACED_SENDS(24, "Sends delayed by pacing"),
+    PACING_DELAY_NS(25, "Time sends delayed by pacing in ns"),
+    NAKS_COALESCED(26, "NAKs coalesced into retransmits"),
+    RETRANSMIT_OVERFLOWS(27, "Retransmit overflows"),
+    FEC_FRAMES_SENT(28, "FEC frames sent"),
+    FEC_FRAMES_RECOVERED(29, "Frames recovered by FEC");
 
     /**
      * All system counters have the same type id, i.e. system counters are the same type. Other types can exist.
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.exceptions.ConfigurationException;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+
+public class ConfigurationTest
+{
+    private static final long SM_TIMEOUT_NS = MILLISECONDS.toNanos(200);
+    private static final long CONNECTION_TIMEOUT_NS = SECONDS.toNanos(5);
+    private static final long FLOW_CONTROL_RECEIVER_TIMEOUT_NS = SECONDS.toNanos(2);
+
+    @Test
+    public void shouldAcceptDisabledOrBoundedStatusMessageIdleTimeout()
+    {
+        validate(0);
+        validate(SM_TIMEOUT_NS);
+        validate(FLOW_CONTROL_RECEIVER_TIMEOUT_NS - 1);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldRejectStatusMessageIdleTimeoutBelowStatusMessageTimeout()
+    {
+        validate(SM_TIMEOUT_NS - 1);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldRejectStatusMessageIdleTimeoutAtFlowControlReceiverTimeout()
+    {
+        validate(FLOW_CONTROL_RECEIVER_TIMEOUT_NS);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldRejectStatusMessageIdleTimeoutAtConnectionTimeout()
+    {
+        final long connectionTimeoutNs = FLOW_CONTROL_RECEIVER_TIMEOUT_NS / 2;
+
+        Configuration.validateStatusMessageIdleTimeoutNs(
+            connectionTimeoutNs, SM_TIMEOUT_NS, connectionTimeoutNs, FLOW_CONTROL_RECEIVER_TIMEOUT_NS);
+    }
+
+    @Test
+    public void shouldUseDefaultMulticastFlowControlReceiverTimeout()
+    {
+        assertEquals(FLOW_CONTROL_RECEIVER_TIMEOUT_NS, Configuration.flowControlReceiverTimeoutNs());
+    }
+
+    private static void validate(final long idleTimeoutNs)
+    {
+        Configuration.validateStatusMessageIdleTimeoutNs(
+            idleTimeoutNs, SM_TIMEOUT_NS, CONNECTION_TIMEOUT_NS, FLOW_CONTROL_RECEIVER_TIMEOUT_NS);
+    }
+}
@@ -210,6 +210,44 @@ public class DataPacketDispatcherTest
         verify(mockImage).insertPacket(ACTIVE_TERM_ID, TERM_OFFSET, mockBuffer, LENGTH, 0, SRC_ADDRESS);
     }
 
+    @Test
+    public void shouldDispatchInterleavedDataToCorrectImages()
+    {
+        final int otherSessionId = SESSION_ID + 1;
+        final PublicationImage mockOtherImage = mock(PublicationImage.class);
+        final DataHeaderFlyweight mockOtherHeader = mock(DataHeaderFlyweight.class);
+
+        when(mockOtherImage.sessionId()).thenReturn(otherSessionId);
+        when(mockOtherImage.streamId()).thenReturn(STREAM_ID);
+        when(mockOtherHeader.sessionId()).thenReturn(otherSessionId);
+        when(mockOtherHeader.streamId()).thenReturn(STREAM_ID);
+        when(mockOtherHeader.termId()).thenReturn(ACTIVE_TERM_ID);
+        when(mockOtherHeader.termOffset()).thenReturn(TERM_OFFSET);
+
+        dispatcher.addSubscription(STREAM_ID);
+        dispatcher.addPublicationImage(mockImage);
+        dispatcher.addPublicationImage(mockOtherImage);
+        dispatcher.onDataPacket(mockChannelEndpoint, mockHeader, mockBuffer, LENGTH, SRC_ADDRESS, 0);
+        dispatcher.onDataPacket(mockChannelEndpoint, mockOtherHeader, mockBuffer, LENGTH, SRC_ADDRESS, 0);
+        dispatcher.onDataPacket(mockChannelEndpoint, mockHeader, mockBuffer, LENGTH, SRC_ADDRESS, 0);
+
+        verify(mockImage, times(2)).insertPacket(ACTIVE_TERM_ID, TERM_OFFSET, mockBuffer, LENGTH, 0, SRC_ADDRESS);
+        verify(mockOtherImage).insertPacket(ACTIVE_TERM_ID, TERM_OFFSET, mockBuffer, LENGTH, 0, SRC_ADDRESS);
+    }
+
+    @Test
+    public void shouldNotDispatchDataToImageAfterRemovedWhenPreviouslyDispatched()
+    {
+        dispatcher.addSubscription(STREAM_ID);
+        dispatcher.addPublicationImage(mockImage);
+        dispatcher.onDataPacket(mockChannelEndpoint, mockHeader, mockBuffer, LENGTH, SRC_ADDRESS, 0);
+        dispatcher.removePublicationImage(mockImage);
+        dispatcher.onDataPacket(mockChannelEndpoint, mockHeader, mockBuffer, LENGTH, SRC_ADDRESS, 0);
+
+        verify(mockImage, times(1)).insertPacket(ACTIVE_TERM_ID, TERM_OFFSET, mockBuffer, LENGTH, 0, SRC_ADDRESS);
+        verifyZeroInteractions(mockConductorProxy);
+    }
+
     @Test
     public void shouldNotRemoveNewPublicationImageFromOldRemovePublicationImageAfterRemoveSubscription()
     {
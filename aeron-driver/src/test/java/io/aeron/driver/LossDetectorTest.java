@@ -292,6 +292,28 @@ public class LossDetectorTest
         verifyNoMoreInteractions(lossHandler);
     }
 
+    @Test
+    public void shouldNakMultipleGapsTogetherWhenMaxGapsGreaterThanOne()
+    {
+        lossDetector = new LossDetector(DELAY_GENERATOR_WITH_IMMEDIATE, lossHandler, 4);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 5);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        verify(lossHandler).onGapsDetected(
+            2,
+            new int[]{ TERM_ID, TERM_ID, 0, 0 },
+            new int[]{ offsetOfMessage(1), offsetOfMessage(3), 0, 0 },
+            new int[]{ gapLength(), gapLength(), 0, 0 });
+        verifyNoMoreInteractions(lossHandler);
+    }
+
     private LossDetector getLossHandlerWithImmediate()
     {
         return new LossDetector(DELAY_GENERATOR_WITH_IMMEDIATE, lossHandler);
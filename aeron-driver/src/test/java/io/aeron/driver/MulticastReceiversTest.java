@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MulticastReceiversTest
+{
+    private static final long TIMEOUT_NS = 100;
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    private final MulticastReceivers receivers = new MulticastReceivers();
+
+    @Test
+    public void shouldBeEmptyWithNoStatusMessages()
+    {
+        assertThat(receivers.size(), is(0));
+        assertThat(receivers.minPositionPlusWindow(), is(Long.MAX_VALUE));
+        assertThat(receivers.minPosition(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldTrackMinimumAsReceiversAdvance()
+    {
+        receivers.onStatusMessage(1, 100, 200, 0, ADDRESS);
+        receivers.onStatusMessage(2, 50, 150, 0, ADDRESS);
+        receivers.onStatusMessage(3, 300, 400, 0, ADDRESS);
+
+        assertThat(receivers.size(), is(3));
+        assertThat(receivers.minPositionPlusWindow(), is(150L));
+        assertThat(receivers.minPosition(), is(50L));
+
+        receivers.onStatusMessage(2, 250, 350, 1, ADDRESS);
+        assertThat(receivers.size(), is(3));
+        assertThat(receivers.minPositionPlusWindow(), is(200L));
+        assertThat(receivers.minPosition(), is(100L));
+
+        receivers.onStatusMessage(3, 300, 120, 2, ADDRESS);
+        assertThat(receivers.minPositionPlusWindow(), is(120L));
+    }
+
+    @Test
+    public void shouldRemoveOnlyTimedOutReceivers()
+    {
+        receivers.onStatusMessage(1, 100, 200, 0, ADDRESS);
+        receivers.onStatusMessage(2, 50, 150, 10, ADDRESS);
+        receivers.onStatusMessage(3, 300, 400, 20, ADDRESS);
+        receivers.onStatusMessage(1, 100, 200, 30, ADDRESS);
+
+        assertThat(receivers.removeTimedOut(115, TIMEOUT_NS), is(1));
+        assertThat(receivers.size(), is(2));
+        assertThat(receivers.minPositionPlusWindow(), is(200L));
+
+        assertThat(receivers.removeTimedOut(200, TIMEOUT_NS), is(2));
+        assertThat(receivers.size(), is(0));
+        assertThat(receivers.minPositionPlusWindow(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldMatchLinearScanForManyReceivers()
+    {
+        final int receiverCount = 1000;
+        final long[] positionPlusWindows = new long[receiverCount];
+        final Random random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            final int receiverId = random.nextInt(receiverCount);
+            final long positionPlusWindow = random.nextInt(1_000_000) + 1;
+            positionPlusWindows[receiverId] = positionPlusWindow;
+            receivers.onStatusMessage(receiverId, 0, positionPlusWindow, i, ADDRESS);
+
+            if (0 == (i & 1023))
+            {
+                long expected = Long.MAX_VALUE;
+                for (final long value : positionPlusWindows)
+                {
+                    if (0 != value)
+                    {
+                        expected = Math.min(expected, value);
+                    }
+                }
+
+                assertThat(receivers.minPositionPlusWindow(), is(expected));
+            }
+        }
+    }
+}
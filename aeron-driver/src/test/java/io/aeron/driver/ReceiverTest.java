@@ -29,12 +29,15 @@ import org.junit.*;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
 
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static org.agrona.BitUtil.align;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 
 public class ReceiverTest
@@ -196,7 +199,10 @@ public class ReceiverTest
             SOURCE_ADDRESS,
             congestionControl,
             lossReport,
-            true);
+            true,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            null,
+            0);
 
         final int messagesRead = toConductorQueue.drain((e) ->
         {
@@ -268,7 +274,10 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                Configuration.NAK_MAX_GAPS_DEFAULT,
+                null,
+                0);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -301,6 +310,214 @@ public class ReceiverTest
         assertThat(readOutcome, is(1));
     }
 
+    @Test
+    public void shouldRecoverLostDataFrameFromFecFrame()
+    {
+        receiverProxy.registerReceiveChannelEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        fillSetupFrame(setupHeader);
+        receiveChannelEndpoint.onSetupMessage(setupHeader, setupBuffer, SetupFlyweight.HEADER_LENGTH, senderAddress, 0);
+
+        final int commandsRead = toConductorQueue.drain((e) ->
+        {
+            final PublicationImage image = new PublicationImage(
+                CORRELATION_ID,
+                Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+                receiveChannelEndpoint,
+                0,
+                senderAddress,
+                SESSION_ID,
+                STREAM_ID,
+                INITIAL_TERM_ID,
+                ACTIVE_TERM_ID,
+                INITIAL_TERM_OFFSET,
+                rawLog,
+                mockFeedbackDelayGenerator,
+                POSITIONS,
+                mockHighestReceivedPosition,
+                mockRebuildPosition,
+                nanoClock,
+                nanoClock,
+                epochClock,
+                mockSystemCounters,
+                SOURCE_ADDRESS,
+                congestionControl,
+                lossReport,
+                true,
+                Configuration.NAK_MAX_GAPS_DEFAULT,
+                null,
+                0);
+
+            receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
+        });
+
+        assertThat(commandsRead, is(1));
+
+        receiver.doWork();
+
+        final int alignedFrameLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FRAME_ALIGNMENT);
+        final int groupFrameCount = 3;
+        final UnsafeBuffer fecBuffer = new UnsafeBuffer(
+            ByteBuffer.allocateDirect(FecFlyweight.HEADER_LENGTH + alignedFrameLength));
+
+        for (int i = 0; i < groupFrameCount; i++)
+        {
+            fillDataFrame(dataHeader, i * alignedFrameLength, FAKE_PAYLOAD);
+            for (int j = 0; j < alignedFrameLength; j++)
+            {
+                final int parityIndex = FecFlyweight.HEADER_LENGTH + j;
+                fecBuffer.putByte(parityIndex, (byte)(fecBuffer.getByte(parityIndex) ^ dataBuffer.getByte(j)));
+            }
+
+            if (1 != i)
+            {
+                receiveChannelEndpoint.onDataPacket(
+                    dataHeader, dataBuffer, dataHeader.frameLength(), senderAddress, 0);
+            }
+        }
+
+        final FecFlyweight fecHeader = new FecFlyweight(fecBuffer);
+        fecHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(ACTIVE_TERM_ID)
+            .termOffset(0)
+            .groupLength(groupFrameCount * alignedFrameLength)
+            .stripeLength(alignedFrameLength)
+            .frameLength(fecBuffer.capacity())
+            .headerType(HeaderFlyweight.HDR_TYPE_FEC)
+            .version(HeaderFlyweight.CURRENT_VERSION);
+
+        receiveChannelEndpoint.onFecPacket(fecHeader, fecBuffer, fecBuffer.capacity(), senderAddress, 0);
+
+        final int readOutcome = TermReader.read(
+            termBuffers[ACTIVE_INDEX],
+            INITIAL_TERM_OFFSET,
+            (buffer, offset, length, header) ->
+            {
+                assertThat(header.type(), is(HeaderFlyweight.HDR_TYPE_DATA));
+                assertThat(header.termId(), is(ACTIVE_TERM_ID));
+                assertThat(header.frameLength(), is(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length));
+            },
+            Integer.MAX_VALUE,
+            header,
+            mockErrorHandler,
+            0,
+            mockSubscriberPosition);
+
+        assertThat(readOutcome, is(groupFrameCount));
+    }
+
+    @Test
+    public void shouldHoldBackInOrderFrameUntilIdleWhenReceivingZeroCopy()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context().systemCounters(mockSystemCounters);
+        context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
+
+        final ReceiveChannelEndpoint zeroCopyEndpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse("aeron:udp?endpoint=localhost:45680|rcv-zero-copy=true"),
+            new DataPacketDispatcher(mock(DriverConductorProxy.class), receiver),
+            mock(AtomicCounter.class),
+            context);
+
+        try
+        {
+            receiverProxy.registerReceiveChannelEndpoint(zeroCopyEndpoint);
+            receiverProxy.addSubscription(zeroCopyEndpoint, STREAM_ID);
+
+            receiver.doWork();
+
+            receiverProxy.newPublicationImage(zeroCopyEndpoint, newZeroCopyImage(zeroCopyEndpoint));
+            receiver.doWork();
+
+            assertThat(zeroCopyEndpoint.isZeroCopyReceive(), is(true));
+
+            fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);
+            final int alignedFrameLength = align(dataHeader.frameLength(), FRAME_ALIGNMENT);
+            zeroCopyEndpoint.onDataPacket(dataHeader, dataBuffer, alignedFrameLength, senderAddress, 0);
+
+            assertThat(readTerm(), is(0));
+            assertThat(mockHighestReceivedPosition.get(), is(0L));
+
+            zeroCopyEndpoint.onZeroCopyIdle();
+
+            assertThat(readTerm(), is(1));
+            assertThat(mockHighestReceivedPosition.get(), is((long)alignedFrameLength));
+
+            fillDataFrame(dataHeader, alignedFrameLength, FAKE_PAYLOAD);
+            zeroCopyEndpoint.onDataPacket(dataHeader, dataBuffer, alignedFrameLength, senderAddress, 0);
+
+            assertThat(readTerm(), is(1));
+
+            // minimum term length leaves no room to receive a max length datagram ahead so the copy path is used
+            assertNull(zeroCopyEndpoint.zeroCopyReceiveBuffer());
+            assertThat(readTerm(), is(2));
+        }
+        finally
+        {
+            zeroCopyEndpoint.close();
+        }
+    }
+
+    @Test
+    public void shouldPublishHeldBackFrameWhenIdleWithMoreTransportsThanIterationThreshold()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context().systemCounters(mockSystemCounters);
+        context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
+
+        final DataTransportPoller dataTransportPoller = new DataTransportPoller();
+        final ReceiveChannelEndpoint zeroCopyEndpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse("aeron:udp?endpoint=localhost:45680|rcv-zero-copy=true"),
+            new DataPacketDispatcher(mock(DriverConductorProxy.class), receiver),
+            mock(AtomicCounter.class),
+            context);
+
+        try
+        {
+            receiverProxy.registerReceiveChannelEndpoint(zeroCopyEndpoint);
+            receiverProxy.addSubscription(zeroCopyEndpoint, STREAM_ID);
+            receiver.doWork();
+
+            receiverProxy.newPublicationImage(zeroCopyEndpoint, newZeroCopyImage(zeroCopyEndpoint));
+            receiver.doWork();
+
+            zeroCopyEndpoint.registerForRead(dataTransportPoller);
+            // one more transport than the iteration threshold of 5 so only transports selected as ready are polled
+            for (int i = 0; i < 5; i++)
+            {
+                final ReceiveChannelEndpoint endpoint = new ReceiveChannelEndpoint(
+                    UdpChannel.parse("aeron:udp?endpoint=localhost:" + (45681 + i)),
+                    new DataPacketDispatcher(mock(DriverConductorProxy.class), receiver),
+                    mock(AtomicCounter.class),
+                    context);
+
+                endpoint.openChannel(mock(DriverConductorProxy.class));
+                endpoint.registerForRead(dataTransportPoller);
+            }
+
+            fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);
+            final int alignedFrameLength = align(dataHeader.frameLength(), FRAME_ALIGNMENT);
+            zeroCopyEndpoint.onDataPacket(dataHeader, dataBuffer, alignedFrameLength, senderAddress, 0);
+
+            dataTransportPoller.pollTransports();
+
+            assertThat(readTerm(), is(0));
+
+            dataTransportPoller.publishIdleZeroCopyFrames();
+
+            assertThat(readTerm(), is(1));
+            assertThat(mockHighestReceivedPosition.get(), is((long)alignedFrameLength));
+        }
+        finally
+        {
+            dataTransportPoller.close();
+            zeroCopyEndpoint.close();
+        }
+    }
+
     @Test
     public void shouldNotOverwriteDataFrameWithHeartbeat()
     {
@@ -338,7 +555,10 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                Configuration.NAK_MAX_GAPS_DEFAULT,
+                null,
+                0);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -411,7 +631,10 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                Configuration.NAK_MAX_GAPS_DEFAULT,
+                null,
+                0);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -488,7 +711,10 @@ public class ReceiverTest
                 SOURCE_ADDRESS,
                 congestionControl,
                 lossReport,
-                true);
+                true,
+                Configuration.NAK_MAX_GAPS_DEFAULT,
+                null,
+                0);
 
             receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
         });
@@ -571,6 +797,227 @@ public class ReceiverTest
         verify(mockImage, never()).removeFromDispatcher();
     }
 
+    @Test
+    public void shouldBackOffStatusMessagesWhileImageIsIdle()
+    {
+        receiverProxy.registerReceiveChannelEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        fillSetupFrame(setupHeader);
+        receiveChannelEndpoint.onSetupMessage(setupHeader, setupBuffer, SetupFlyweight.HEADER_LENGTH, senderAddress, 0);
+
+        final PublicationImage image = new PublicationImage(
+            CORRELATION_ID,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            receiveChannelEndpoint,
+            0,
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            rawLog,
+            mockFeedbackDelayGenerator,
+            POSITIONS,
+            mockHighestReceivedPosition,
+            mockRebuildPosition,
+            nanoClock,
+            nanoClock,
+            epochClock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            congestionControl,
+            lossReport,
+            true,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            null,
+            4 * STATUS_MESSAGE_TIMEOUT);
+
+        toConductorQueue.drain((e) -> receiverProxy.newPublicationImage(receiveChannelEndpoint, image));
+        receiver.doWork();
+
+        long nowNs = currentTime + STATUS_MESSAGE_TIMEOUT + 1;
+        image.trackRebuild(nowNs, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(1));
+
+        image.trackRebuild(nowNs + STATUS_MESSAGE_TIMEOUT + 1, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(0));
+
+        nowNs += (2 * STATUS_MESSAGE_TIMEOUT) + 1;
+        image.trackRebuild(nowNs, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(1));
+
+        image.trackRebuild(nowNs + (3 * STATUS_MESSAGE_TIMEOUT), STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(0));
+
+        mockHighestReceivedPosition.setOrdered(mockHighestReceivedPosition.get() + FRAME_ALIGNMENT);
+        image.trackRebuild(nowNs + STATUS_MESSAGE_TIMEOUT + 1, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(1));
+    }
+
+    @Test
+    public void shouldOnlySendStatusMessagesEachRttWhileDataIsFlowing()
+    {
+        receiverProxy.registerReceiveChannelEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        fillSetupFrame(setupHeader);
+        receiveChannelEndpoint.onSetupMessage(setupHeader, setupBuffer, SetupFlyweight.HEADER_LENGTH, senderAddress, 0);
+
+        final long rttNs = TimeUnit.MILLISECONDS.toNanos(2);
+        final RttEstimator rttEstimator = new RttEstimator(
+            nanoClock, Configuration.RTT_MEASUREMENT_INTERVAL_DEFAULT_NS, TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.SECONDS.toNanos(1));
+        rttEstimator.onRttMeasurement(rttNs);
+
+        final PublicationImage image = new PublicationImage(
+            CORRELATION_ID,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            receiveChannelEndpoint,
+            0,
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            rawLog,
+            mockFeedbackDelayGenerator,
+            POSITIONS,
+            mockHighestReceivedPosition,
+            mockRebuildPosition,
+            nanoClock,
+            nanoClock,
+            epochClock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            congestionControl,
+            lossReport,
+            true,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            rttEstimator,
+            0);
+
+        toConductorQueue.drain((e) -> receiverProxy.newPublicationImage(receiveChannelEndpoint, image));
+        receiver.doWork();
+
+        long nowNs = currentTime + STATUS_MESSAGE_TIMEOUT + 1;
+        image.trackRebuild(nowNs, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(1));
+
+        image.trackRebuild(nowNs + (2 * rttNs), STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(0));
+
+        nowNs += STATUS_MESSAGE_TIMEOUT + 1;
+        image.trackRebuild(nowNs, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(1));
+
+        mockHighestReceivedPosition.setOrdered(mockHighestReceivedPosition.get() + FRAME_ALIGNMENT);
+        image.trackRebuild(nowNs + rttNs + 1, STATUS_MESSAGE_TIMEOUT);
+        assertThat(image.sendPendingStatusMessage(), is(1));
+    }
+
+    @Test
+    public void shouldBatchStatusMessagesToSameControlAddressIntoOneDatagram() throws Exception
+    {
+        receiveChannelEndpoint.close();
+
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .systemCounters(mockSystemCounters)
+            .statusMessageBatch(true);
+        context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse(URI),
+            new DataPacketDispatcher(mock(DriverConductorProxy.class), receiver),
+            mock(AtomicCounter.class),
+            context);
+
+        final AtomicCounter statusMessagesSent = mock(AtomicCounter.class);
+        receiveChannelEndpoint.statusMessagesSentCounter(statusMessagesSent);
+        receiverProxy.registerReceiveChannelEndpoint(receiveChannelEndpoint);
+        receiver.doWork();
+
+        final DestinationImageControlAddress[] controlAddresses =
+            { new DestinationImageControlAddress(currentTime, senderAddress) };
+        receiveChannelEndpoint.sendStatusMessage(
+            controlAddresses, SESSION_ID, STREAM_ID, ACTIVE_TERM_ID, 0, INITIAL_WINDOW_LENGTH, (short)0);
+        receiveChannelEndpoint.sendStatusMessage(
+            controlAddresses, SESSION_ID + 1, STREAM_ID, ACTIVE_TERM_ID, 0, INITIAL_WINDOW_LENGTH, (short)0);
+
+        final ByteBuffer rcvBuffer = ByteBuffer.allocateDirect(256);
+        assertNull(senderChannel.receive(rcvBuffer));
+        assertThat(receiveChannelEndpoint.sendBatchedStatusMessages(), is(1));
+        assertThat(receiveChannelEndpoint.sendBatchedStatusMessages(), is(0));
+
+        while (null == senderChannel.receive(rcvBuffer))
+        {
+            Thread.yield();
+        }
+
+        assertThat(rcvBuffer.position(), is(2 * StatusMessageFlyweight.HEADER_LENGTH));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(rcvBuffer);
+        statusHeader.wrap(buffer, 0, StatusMessageFlyweight.HEADER_LENGTH);
+        assertThat(statusHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SM));
+        assertThat(statusHeader.sessionId(), is(SESSION_ID));
+
+        statusHeader.wrap(buffer, StatusMessageFlyweight.HEADER_LENGTH, StatusMessageFlyweight.HEADER_LENGTH);
+        assertThat(statusHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SM));
+        assertThat(statusHeader.sessionId(), is(SESSION_ID + 1));
+
+        verify(statusMessagesSent, times(2)).incrementOrdered();
+    }
+
+    private PublicationImage newZeroCopyImage(final ReceiveChannelEndpoint zeroCopyEndpoint)
+    {
+        return new PublicationImage(
+            CORRELATION_ID,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            zeroCopyEndpoint,
+            0,
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            rawLog,
+            mockFeedbackDelayGenerator,
+            POSITIONS,
+            mockHighestReceivedPosition,
+            mockRebuildPosition,
+            nanoClock,
+            nanoClock,
+            epochClock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            congestionControl,
+            lossReport,
+            true,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            null,
+            0);
+    }
+
+    private int readTerm()
+    {
+        return TermReader.read(
+            termBuffers[ACTIVE_INDEX],
+            INITIAL_TERM_OFFSET,
+            (buffer, offset, length, header) -> {},
+            Integer.MAX_VALUE,
+            header,
+            mockErrorHandler,
+            0,
+            mockSubscriberPosition);
+    }
+
     private void fillDataFrame(final DataHeaderFlyweight header, final int termOffset, final byte[] payload)
     {
         header.wrap(dataBuffer);
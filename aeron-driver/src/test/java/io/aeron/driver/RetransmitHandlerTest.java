@@ -30,12 +30,16 @@ import io.aeron.logbuffer.TermAppender;
 import io.aeron.logbuffer.TermRebuilder;
 import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.protocol.HeaderFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
 
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
+import static io.aeron.driver.status.SystemCounterDescriptor.NAKS_COALESCED;
+import static io.aeron.driver.status.SystemCounterDescriptor.RETRANSMIT_OVERFLOWS;
 import static java.nio.ByteBuffer.allocateDirect;
 import static org.mockito.Mockito.*;
 import static org.agrona.BitUtil.align;
@@ -69,16 +73,22 @@ public class RetransmitHandlerTest
 
     private final RetransmitSender retransmitSender = mock(RetransmitSender.class);
     private final SystemCounters systemCounters = mock(SystemCounters.class);
+    private final AtomicCounter naksCoalesced = mock(AtomicCounter.class);
+    private final AtomicCounter retransmitOverflows = mock(AtomicCounter.class);
 
     private final HeaderWriter headerWriter = HeaderWriter.newInstance(
         DataHeaderFlyweight.createDefaultHeader(0, 0, 0));
 
-    private RetransmitHandler handler = new RetransmitHandler(
-        () -> currentTime, systemCounters, DELAY_GENERATOR, LINGER_GENERATOR);
+    private RetransmitHandler handler;
 
     @Before
     public void before()
     {
+        when(systemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+        when(systemCounters.get(NAKS_COALESCED)).thenReturn(naksCoalesced);
+        when(systemCounters.get(RETRANSMIT_OVERFLOWS)).thenReturn(retransmitOverflows);
+        handler = new RetransmitHandler(() -> currentTime, systemCounters, DELAY_GENERATOR, LINGER_GENERATOR);
+
         LogBufferDescriptor.rawTail(metaDataBuffer, 0, LogBufferDescriptor.packTail(TERM_ID, 0));
     }
 
@@ -136,13 +146,102 @@ public class RetransmitHandlerTest
     {
         createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        verifyZeroInteractions(naksCoalesced);
+    }
+
+    @Theory
+    public void shouldCoalesceAdjacentNaksIntoOneRetransmit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3);
+        verifyNoMoreInteractions(retransmitSender);
+        verify(naksCoalesced, times(2)).incrementOrdered();
+    }
+
+    @Theory
+    public void shouldCoalesceOverlappingNaksIntoUnion(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(3), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 4);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldOnlyRetransmitUncoveredRangeWhileInLinger(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newZeroDelayRetransmitHandler();
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3, TERM_BUFFER_LENGTH, retransmitSender);
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        inOrder.verifyNoMoreInteractions();
+        verify(naksCoalesced, times(2)).incrementOrdered();
+    }
+
+    @Theory
+    public void shouldRetransmitEachRangeOfNakRangeList(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 6);
+        final NakRangeListFlyweight nakRangeList = new NakRangeListFlyweight(
+            new UnsafeBuffer(new byte[NakRangeListFlyweight.computeFrameLength(3)]));
+        nakRangeList
+            .rangeCount(3)
+            .range(0, TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH)
+            .range(1, TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2)
+            .range(2, TERM_ID, offsetOfFrame(5), ALIGNED_FRAME_LENGTH);
+
+        handler.onNakRangeList(nakRangeList, TERM_BUFFER_LENGTH, retransmitSender);
         currentTime = TimeUnit.MILLISECONDS.toNanos(100);
         handler.processTimeouts(currentTime, retransmitSender);
 
         final InOrder inOrder = inOrder(retransmitSender);
         inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
-        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(5), ALIGNED_FRAME_LENGTH);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Theory
+    public void shouldGrowPoolUpToMaxRetransmitsThenCountOverflows(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        final int maxRetransmits = Configuration.MAX_RETRANSMITS_DEFAULT * 2;
+        createTermBuffer(creator, (maxRetransmits + 1) * 2);
+        handler = new RetransmitHandler(
+            () -> currentTime, systemCounters, ZERO_DELAY_GENERATOR, LINGER_GENERATOR, maxRetransmits);
+
+        for (int i = 0; i <= maxRetransmits; i++)
+        {
+            handler.onNak(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        }
+
+        verify(retransmitSender, times(maxRetransmits)).resend(anyInt(), anyInt(), anyInt());
+        verify(retransmitOverflows).incrementOrdered();
     }
 
     @Theory
@@ -185,12 +284,12 @@ public class RetransmitHandlerTest
     {
         createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
-        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
         handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0));
         currentTime = TimeUnit.MILLISECONDS.toNanos(100);
         handler.processTimeouts(currentTime, retransmitSender);
 
-        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
     }
 
     @Theory
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class RttEstimatorTest
+{
+    private static final long INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MIN_DELAY_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_DELAY_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final long STATUS_MESSAGE_TIMEOUT_NS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final RttEstimator rttEstimator = new RttEstimator(
+        System::nanoTime, INTERVAL_NS, MIN_DELAY_NS, MAX_DELAY_NS);
+
+    @Test
+    public void shouldUseConfiguredTimingWithoutEstimate()
+    {
+        assertFalse(rttEstimator.hasEstimate());
+        assertThat(rttEstimator.scaleDelay(60, 60), is(60L));
+        assertThat(rttEstimator.statusMessageIntervalNs(STATUS_MESSAGE_TIMEOUT_NS), is(STATUS_MESSAGE_TIMEOUT_NS));
+    }
+
+    @Test
+    public void shouldScheduleMeasurementsAtInterval()
+    {
+        assertTrue(rttEstimator.isMeasurementDue(0));
+
+        rttEstimator.onMeasurementSent(0);
+        assertFalse(rttEstimator.isMeasurementDue(INTERVAL_NS - 1));
+        assertTrue(rttEstimator.isMeasurementDue(INTERVAL_NS));
+    }
+
+    @Test
+    public void shouldSmoothSamples()
+    {
+        final long rttNs = TimeUnit.MILLISECONDS.toNanos(8);
+
+        rttEstimator.onRttMeasurement(rttNs);
+        assertThat(rttEstimator.smoothedRttNs(), is(rttNs));
+        assertThat(rttEstimator.rttVarianceNs(), is(rttNs / 2));
+        assertThat(rttEstimator.retransmitTimeoutNs(), is(rttNs * 3));
+
+        rttEstimator.onRttMeasurement(rttNs * 9);
+        assertThat(rttEstimator.smoothedRttNs(), is(rttNs * 2));
+        assertThat(rttEstimator.rttVarianceNs(), is(((rttNs / 2 * 3) + (rttNs * 8)) / 4));
+    }
+
+    @Test
+    public void shouldIgnoreInvalidSamples()
+    {
+        rttEstimator.onRttMeasurement(-1);
+        rttEstimator.onRttMeasurement(0);
+
+        assertFalse(rttEstimator.hasEstimate());
+    }
+
+    @Test
+    public void shouldAdaptDelaysToLowRtt()
+    {
+        final long rttNs = TimeUnit.MICROSECONDS.toNanos(100);
+        rttEstimator.onRttMeasurement(rttNs);
+
+        final long referenceDelayNs = TimeUnit.MILLISECONDS.toNanos(60);
+        assertThat(rttEstimator.scaleDelay(referenceDelayNs, referenceDelayNs), is(MIN_DELAY_NS));
+        assertThat(rttEstimator.statusMessageIntervalNs(STATUS_MESSAGE_TIMEOUT_NS), is(MIN_DELAY_NS));
+    }
+
+    @Test
+    public void shouldAdaptDelaysToHighRtt()
+    {
+        final long rttNs = TimeUnit.MILLISECONDS.toNanos(150);
+        rttEstimator.onRttMeasurement(rttNs);
+
+        final long referenceDelayNs = TimeUnit.MILLISECONDS.toNanos(60);
+        assertThat(rttEstimator.scaleDelay(referenceDelayNs, referenceDelayNs), is(rttNs * 3));
+        assertThat(rttEstimator.scaleDelay(referenceDelayNs / 2, referenceDelayNs), is(rttNs * 3 / 2));
+        assertThat(rttEstimator.statusMessageIntervalNs(STATUS_MESSAGE_TIMEOUT_NS), is(rttNs));
+    }
+}
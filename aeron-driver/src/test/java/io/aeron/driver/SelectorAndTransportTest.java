@@ -23,6 +23,7 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.protocol.HeaderFlyweight;
+import io.aeron.protocol.NakRangeListFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.BitUtil;
 import org.agrona.concurrent.status.AtomicCounter;
@@ -54,6 +55,7 @@ public class SelectorAndTransportTest
 
     private final DataHeaderFlyweight encodeDataHeader = new DataHeaderFlyweight();
     private final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight();
+    private final NakRangeListFlyweight nakRangeList = new NakRangeListFlyweight();
 
     private final InetSocketAddress rcvRemoteAddress = new InetSocketAddress("localhost", SRC_PORT);
 
@@ -287,6 +289,77 @@ public class SelectorAndTransportTest
         verify(mockStatusMessagesReceivedCounter, times(1)).incrementOrdered();
     }
 
+    @Test(timeout = 1000)
+    public void shouldHandleNakRangeListFrameFromReceiverToSenderAndDropInvalidRangeCounts()
+    {
+        final AtomicInteger nakRangeListsReceived = new AtomicInteger(0);
+        final int[] receivedTermOffsets = new int[NakRangeListFlyweight.MAX_RANGE_COUNT];
+        final int[] receivedRangeCount = new int[1];
+
+        doAnswer(
+            (invocation) ->
+            {
+                final NakRangeListFlyweight msg = invocation.getArgument(0);
+                receivedRangeCount[0] = msg.rangeCount();
+                for (int i = 0; i < msg.rangeCount(); i++)
+                {
+                    receivedTermOffsets[i] = msg.termOffset(i);
+                }
+                nakRangeListsReceived.incrementAndGet();
+                return null;
+            })
+            .when(mockPublication).onNakRangeList(any());
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+        sendChannelEndpoint.registerForSend(mockPublication);
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        nakRangeList.wrap(buffer);
+        nakRangeList
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .rangeCount(3)
+            .range(0, TERM_ID, 0, FRAME_LENGTH)
+            .range(1, TERM_ID, 1024, FRAME_LENGTH)
+            .range(2, TERM_ID, 4096, FRAME_LENGTH)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((short)0)
+            .headerType(HeaderFlyweight.HDR_TYPE_NAK_RANGE_LIST);
+
+        processLoop(dataTransportPoller, 5);
+
+        byteBuffer.position(0).limit(NakRangeListFlyweight.computeFrameLength(2));
+        receiveChannelEndpoint.sendTo(byteBuffer, rcvRemoteAddress);
+
+        nakRangeList.rangeCount(NakRangeListFlyweight.MAX_RANGE_COUNT + 1);
+        byteBuffer.position(0).limit(NakRangeListFlyweight.computeFrameLength(3));
+        receiveChannelEndpoint.sendTo(byteBuffer, rcvRemoteAddress);
+
+        nakRangeList.rangeCount(3);
+        byteBuffer.position(0).limit(nakRangeList.frameLength());
+        receiveChannelEndpoint.sendTo(byteBuffer, rcvRemoteAddress);
+
+        while (nakRangeListsReceived.get() < 1)
+        {
+            processLoop(controlTransportPoller, 1);
+        }
+
+        processLoop(controlTransportPoller, 5);
+
+        assertThat(nakRangeListsReceived.get(), is(1));
+        assertThat(receivedRangeCount[0], is(3));
+        assertThat(receivedTermOffsets[0], is(0));
+        assertThat(receivedTermOffsets[1], is(1024));
+        assertThat(receivedTermOffsets[2], is(4096));
+        verify(mockStatusMessagesReceivedCounter, times(1)).incrementOrdered();
+    }
+
     private void processLoop(final UdpTransportPoller transportPoller, final int iterations)
     {
         for (int i = 0; i < iterations; i++)
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class SendPacerTest
+{
+    private static final int MTU_LENGTH = 1408;
+    private static final int BURST_LENGTH = 4 * MTU_LENGTH;
+    private static final long RATE_BYTES_PER_SECOND = 1_000_000_000L;
+
+    private final AtomicCounter pacedSends = mock(AtomicCounter.class);
+    private final AtomicCounter pacingDelayNs = mock(AtomicCounter.class);
+
+    @Test
+    public void shouldAllowBurstThenDelayUntilTokensAccumulate()
+    {
+        final SendPacer pacer = new SendPacer(
+            RATE_BYTES_PER_SECOND, false, BURST_LENGTH, 0, pacedSends, pacingDelayNs);
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(pacer.canSend(0));
+            pacer.onSent(MTU_LENGTH);
+        }
+
+        assertFalse(pacer.canSend(0));
+        assertFalse(pacer.canSend(0));
+        verify(pacedSends, times(1)).incrementOrdered();
+
+        assertTrue(pacer.canSend(10));
+        verify(pacingDelayNs).getAndAddOrdered(10);
+    }
+
+    @Test
+    public void shouldNotAccumulateMoreThanBurstWhenIdle()
+    {
+        final SendPacer pacer = new SendPacer(
+            RATE_BYTES_PER_SECOND, false, BURST_LENGTH, 0, pacedSends, pacingDelayNs);
+
+        final long nowNs = 1_000_000_000L;
+        int sent = 0;
+        while (pacer.canSend(nowNs))
+        {
+            pacer.onSent(MTU_LENGTH);
+            sent += MTU_LENGTH;
+        }
+
+        assertThat(sent, is(BURST_LENGTH));
+    }
+
+    @Test
+    public void shouldNotPaceAutoRateUntilEstimateThenDeriveRateFromWindowAndRtt()
+    {
+        final SendPacer pacer = new SendPacer(0, true, BURST_LENGTH, 0, pacedSends, pacingDelayNs);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertTrue(pacer.canSend(0));
+            pacer.onSent(MTU_LENGTH);
+        }
+
+        pacer.onRateEstimate(128 * 1024, 1_000_000);
+        assertThat(pacer.rate(), is((long)(128 * 1024 * 1000 * SendPacer.AUTO_RATE_GAIN)));
+    }
+}
@@ -154,7 +154,10 @@ public class SenderTest
             Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS,
             Configuration.PUBLICATION_LINGER_NS,
             false,
-            false);
+            false,
+            null,
+            null,
+            0);
 
         senderCommandQueue.offer(() -> sender.onNewNetworkPublication(publication));
     }
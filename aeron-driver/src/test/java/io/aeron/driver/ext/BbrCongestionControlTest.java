@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.CongestionControlUtil.receiverWindowLength;
+import static io.aeron.driver.CongestionControlUtil.shouldForceStatusMessage;
+import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BbrCongestionControlTest
+{
+    private static final int BUFFER_LENGTH = 16 * 1024;
+    private static final int TERM_LENGTH = 1024 * 1024;
+    private static final int MTU = 4096;
+    private static final int INITIAL_WINDOW = 10 * MTU;
+    private static final int MIN_WINDOW = 4 * MTU;
+    private static final int MAX_WINDOW = 128 * 1024;
+    private static final long MIN_RTT_NS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long ROUND_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PROBE_RTT_DURATION_NS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    // delivered per 1ms round so the bandwidth delay product with a 50us min RTT is 8 MTUs
+    private static final long BYTES_PER_ROUND = 20 * 8 * MTU;
+    private static final int BDP = 8 * MTU;
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH * 2)),
+        new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH)),
+        StandardCharsets.US_ASCII);
+
+    private long nowNs = 0;
+    private long position = 0;
+    private BbrCongestionControl congestionControl;
+
+    @Before
+    public void setUp()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .tempBuffer(new UnsafeBuffer(new byte[METADATA_LENGTH]))
+            .initialWindowLength(MAX_WINDOW);
+
+        congestionControl = new BbrCongestionControl(
+            1,
+            UdpChannel.parse("aeron:udp?endpoint=localhost:40124"),
+            1001,
+            7,
+            TERM_LENGTH,
+            MTU,
+            () -> nowNs,
+            context,
+            countersManager);
+
+        congestionControl.onRttMeasurement(nowNs, MIN_RTT_NS, null);
+    }
+
+    @After
+    public void tearDown()
+    {
+        congestionControl.close();
+    }
+
+    @Test
+    public void shouldStartWithInitialWindow()
+    {
+        assertThat(congestionControl.initialWindowLength(), is(INITIAL_WINDOW));
+    }
+
+    @Test
+    public void shouldNotCountJoinPositionAsDeliveredInFirstRound()
+    {
+        position = 1024L * TERM_LENGTH;
+
+        final long outcome = round(0);
+
+        assertThat(receiverWindowLength(outcome), is(INITIAL_WINDOW));
+        assertThat(receiverWindowLength(round(BYTES_PER_ROUND)), is(alignedWindow(BDP * 2.885 * 1.25)));
+    }
+
+    @Test
+    public void shouldSizeWindowForEachStateWhenBandwidthStopsGrowing()
+    {
+        round(0);
+
+        final int startupWindow = alignedWindow(BDP * 2.885 * 1.25);
+        assertThat(receiverWindowLength(round(BYTES_PER_ROUND)), is(startupWindow));
+        assertThat(receiverWindowLength(round(BYTES_PER_ROUND)), is(startupWindow));
+        assertThat(receiverWindowLength(round(BYTES_PER_ROUND)), is(startupWindow));
+
+        final int unityGainWindow = alignedWindow(BDP * 1.25);
+        assertThat("drain", receiverWindowLength(round(BYTES_PER_ROUND)), is(unityGainWindow));
+
+        for (int i = 0; i < 6; i++)
+        {
+            assertThat("probe bw cruise", receiverWindowLength(round(BYTES_PER_ROUND)), is(unityGainWindow));
+        }
+
+        assertThat("probe bw up", receiverWindowLength(round(BYTES_PER_ROUND)), is(alignedWindow(BDP * 1.25 * 1.25)));
+        assertThat("probe bw down", receiverWindowLength(round(BYTES_PER_ROUND)), is(alignedWindow(BDP * 0.75 * 1.25)));
+        assertThat(receiverWindowLength(round(BYTES_PER_ROUND)), is(unityGainWindow));
+    }
+
+    @Test
+    public void shouldProbeRttWithMinWindowWhenMinRttHasExpired()
+    {
+        round(0);
+        for (int i = 0; i < 5; i++)
+        {
+            round(BYTES_PER_ROUND);
+        }
+
+        nowNs = BbrCongestionControlConfiguration.MIN_RTT_WINDOW_NS;
+        long outcome = round(BYTES_PER_ROUND);
+        assertThat(receiverWindowLength(outcome), is(MIN_WINDOW));
+        assertTrue(shouldForceStatusMessage(outcome));
+
+        outcome = round(BYTES_PER_ROUND);
+        assertThat(receiverWindowLength(outcome), is(MIN_WINDOW));
+        assertFalse(shouldForceStatusMessage(outcome));
+
+        nowNs += PROBE_RTT_DURATION_NS;
+        outcome = round(BYTES_PER_ROUND);
+        assertThat(receiverWindowLength(outcome), is(alignedWindow(BDP * 1.25)));
+        assertTrue(shouldForceStatusMessage(outcome));
+    }
+
+    private long round(final long deliveredBytes)
+    {
+        nowNs += ROUND_NS;
+        final long startingPosition = position;
+        position += deliveredBytes;
+
+        return congestionControl.onTrackRebuild(
+            nowNs, position, position, position + MAX_WINDOW, startingPosition, position, false);
+    }
+
+    private static int alignedWindow(final double length)
+    {
+        final int aligned = (((int)length + MTU - 1) / MTU) * MTU;
+
+        return Math.min(MAX_WINDOW, Math.max(MIN_WINDOW, aligned));
+    }
+}
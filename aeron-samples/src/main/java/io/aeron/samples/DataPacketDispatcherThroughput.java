@@ -0,0 +1,267 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.driver.*;
+import io.aeron.driver.buffer.RawLog;
+import io.aeron.driver.media.ReceiveChannelEndpoint;
+import io.aeron.driver.media.ReceiveChannelEndpointThreadLocals;
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.reports.LossReport;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.CachedEpochClock;
+import org.agrona.concurrent.CachedNanoClock;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicLongPosition;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.ReadablePosition;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.LOG_META_DATA_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.PARTITION_COUNT;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
+
+/**
+ * Benchmark of the cost per data packet of {@link DataPacketDispatcher#onDataPacket} dispatching to the
+ * {@link PublicationImage}s of a stream with 1, 100, and 10,000 sessions, with packets interleaved across sessions or
+ * arriving in bursts per session.
+ * <p>
+ * Each packet is a duplicate of a frame already in the term so the cost measured is the dispatch and the receive
+ * path of the image without the copy into the term.
+ */
+public class DataPacketDispatcherThroughput
+{
+    private static final int[] SESSION_COUNTS = { 1, 100, 10_000 };
+    private static final int ITERATIONS = Integer.getInteger("aeron.sample.dispatch.iterations", 10_000_000);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("aeron.sample.dispatch.warmup", 3);
+    private static final int BURST_LENGTH = Integer.getInteger("aeron.sample.dispatch.burst.length", 16);
+    private static final int STREAM_ID = 1001;
+    private static final int INITIAL_TERM_ID = 0;
+    private static final int TERM_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int MTU_LENGTH = 1408;
+    private static final int PACKET_LENGTH = DataHeaderFlyweight.HEADER_LENGTH + 64;
+    private static final int COUNTER_COUNT = 128;
+    private static final String CHANNEL = "aeron:udp?endpoint=localhost:40124";
+    private static final InetSocketAddress SOURCE_ADDRESS = new InetSocketAddress("localhost", 40125);
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        final UnsafeBuffer metaDataBuffer = new UnsafeBuffer(
+            ByteBuffer.allocateDirect(COUNTER_COUNT * METADATA_LENGTH));
+        final UnsafeBuffer valuesBuffer = new UnsafeBuffer(
+            ByteBuffer.allocateDirect(COUNTER_COUNT * CountersManager.COUNTER_LENGTH));
+        final CountersManager countersManager = new CountersManager(metaDataBuffer, valuesBuffer);
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .systemCounters(new SystemCounters(countersManager));
+        ctx.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(ctx));
+
+        final UdpChannel udpChannel = UdpChannel.parse(CHANNEL);
+        final ReceiveChannelEndpoint channelEndpoint = new ReceiveChannelEndpoint(
+            udpChannel, null, countersManager.newCounter("rcv-channel"), ctx);
+
+        try
+        {
+            for (final int sessionCount : SESSION_COUNTS)
+            {
+                run("interleaved", ctx, countersManager, channelEndpoint, sessionCount, 1);
+                run("burst=" + BURST_LENGTH, ctx, countersManager, channelEndpoint, sessionCount, BURST_LENGTH);
+            }
+        }
+        finally
+        {
+            CloseHelper.close(channelEndpoint);
+        }
+    }
+
+    private static void run(
+        final String name,
+        final MediaDriver.Context ctx,
+        final CountersManager countersManager,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final int sessionCount,
+        final int burstLength)
+    {
+        final DataPacketDispatcher dispatcher = newDispatcher(ctx, countersManager, channelEndpoint, sessionCount);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            measure(dispatcher, channelEndpoint, sessionCount, burstLength);
+        }
+
+        final long durationNs = measure(dispatcher, channelEndpoint, sessionCount, burstLength);
+
+        System.out.format(
+            "%s sessions=%,d %,d packets/sec %.1fns/packet%n",
+            name,
+            sessionCount,
+            (ITERATIONS * TimeUnit.SECONDS.toNanos(1)) / durationNs,
+            (double)durationNs / ITERATIONS);
+    }
+
+    private static long measure(
+        final DataPacketDispatcher dispatcher,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final int sessionCount,
+        final int burstLength)
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(PACKET_LENGTH));
+        final DataHeaderFlyweight header = new DataHeaderFlyweight(buffer);
+        header
+            .sessionId(0)
+            .streamId(STREAM_ID)
+            .termId(INITIAL_TERM_ID)
+            .termOffset(0)
+            .version(DataHeaderFlyweight.CURRENT_VERSION)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(DataHeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(PACKET_LENGTH);
+
+        long checksum = 0;
+
+        final long startNs = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            header.sessionId((i / burstLength) % sessionCount);
+            checksum += dispatcher.onDataPacket(channelEndpoint, header, buffer, PACKET_LENGTH, SOURCE_ADDRESS, 0);
+        }
+        final long durationNs = System.nanoTime() - startNs;
+
+        if (0 == checksum)
+        {
+            System.out.println("unexpected checksum");
+        }
+
+        return durationNs;
+    }
+
+    private static DataPacketDispatcher newDispatcher(
+        final MediaDriver.Context ctx,
+        final CountersManager countersManager,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final int sessionCount)
+    {
+        final DataPacketDispatcher dispatcher = new DataPacketDispatcher(null, null);
+        final RawLog rawLog = new SharedRawLog();
+        final LossReport lossReport = new LossReport(new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024)));
+        final NanoClock nanoClock = System::nanoTime;
+        final CachedNanoClock cachedNanoClock = new CachedNanoClock();
+        final CachedEpochClock cachedEpochClock = new CachedEpochClock();
+
+        dispatcher.addSubscription(STREAM_ID);
+
+        for (int sessionId = 0; sessionId < sessionCount; sessionId++)
+        {
+            final CongestionControl congestionControl = new StaticWindowCongestionControl(
+                sessionId,
+                channelEndpoint.udpChannel(),
+                STREAM_ID,
+                sessionId,
+                TERM_LENGTH,
+                MTU_LENGTH,
+                nanoClock,
+                ctx,
+                countersManager);
+
+            dispatcher.addPublicationImage(new PublicationImage(
+                sessionId,
+                Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+                channelEndpoint,
+                0,
+                SOURCE_ADDRESS,
+                sessionId,
+                STREAM_ID,
+                INITIAL_TERM_ID,
+                INITIAL_TERM_ID,
+                0,
+                rawLog,
+                new StaticDelayGenerator(0, true),
+                new ReadablePosition[0],
+                new AtomicLongPosition(),
+                new AtomicLongPosition(),
+                nanoClock,
+                cachedNanoClock,
+                cachedEpochClock,
+                ctx.systemCounters(),
+                SOURCE_ADDRESS,
+                congestionControl,
+                lossReport,
+                true,
+                Configuration.NAK_MAX_GAPS_DEFAULT,
+                null,
+                0));
+        }
+
+        return dispatcher;
+    }
+
+    /**
+     * Terms shared by all the images of a run which would otherwise need a mapped file each.
+     */
+    static final class SharedRawLog implements RawLog
+    {
+        private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
+        private final ByteBuffer[] slicedTerms = new ByteBuffer[PARTITION_COUNT];
+        private final UnsafeBuffer metaData = new UnsafeBuffer(ByteBuffer.allocateDirect(LOG_META_DATA_LENGTH));
+
+        SharedRawLog()
+        {
+            for (int i = 0; i < PARTITION_COUNT; i++)
+            {
+                slicedTerms[i] = ByteBuffer.allocateDirect(TERM_LENGTH);
+                termBuffers[i] = new UnsafeBuffer(slicedTerms[i]);
+            }
+        }
+
+        public int termLength()
+        {
+            return TERM_LENGTH;
+        }
+
+        public UnsafeBuffer[] termBuffers()
+        {
+            return termBuffers;
+        }
+
+        public UnsafeBuffer metaData()
+        {
+            return metaData;
+        }
+
+        public ByteBuffer[] sliceTerms()
+        {
+            return slicedTerms;
+        }
+
+        public String fileName()
+        {
+            return "shared";
+        }
+
+        public void close()
+        {
+        }
+    }
+}
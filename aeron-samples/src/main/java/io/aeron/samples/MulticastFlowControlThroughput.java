@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.driver.FlowControl;
+import io.aeron.driver.MinMulticastFlowControl;
+import io.aeron.driver.PreferredMulticastFlowControl;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Benchmark of the rate at which the multicast flow control strategies can process Status Messages and idle checks
+ * with 10, 100, and 1000 receivers tracked for a stream.
+ */
+public class MulticastFlowControlThroughput
+{
+    private static final int[] RECEIVER_COUNTS = { 10, 100, 1000 };
+    private static final int ITERATIONS = Integer.getInteger("aeron.sample.flow.control.iterations", 10_000_000);
+    private static final int WARMUP_ROUNDS = Integer.getInteger("aeron.sample.flow.control.warmup", 3);
+    private static final int TERM_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int INITIAL_TERM_ID = 0;
+    private static final int WINDOW_LENGTH = TERM_LENGTH / 2;
+    private static final int POSITION_BITS_TO_SHIFT = LogBufferDescriptor.positionBitsToShift(TERM_LENGTH);
+    private static final InetSocketAddress RECEIVER_ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        run("MinMulticastFlowControl", MinMulticastFlowControl::new, false);
+        run("PreferredMulticastFlowControl", PreferredMulticastFlowControl::new, true);
+    }
+
+    private static void run(final String name, final Supplier<FlowControl> supplier, final boolean isPreferred)
+    {
+        for (final int receiverCount : RECEIVER_COUNTS)
+        {
+            for (int i = 0; i < WARMUP_ROUNDS; i++)
+            {
+                measure(supplier.get(), receiverCount, isPreferred);
+            }
+
+            final long durationNs = measure(supplier.get(), receiverCount, isPreferred);
+
+            System.out.format(
+                "%s receivers=%,d %,d SMs/sec %.1fns/SM%n",
+                name,
+                receiverCount,
+                (ITERATIONS * TimeUnit.SECONDS.toNanos(1)) / durationNs,
+                (double)durationNs / ITERATIONS);
+        }
+    }
+
+    private static long measure(final FlowControl flowControl, final int receiverCount, final boolean isPreferred)
+    {
+        final StatusMessageFlyweight flyweight = new StatusMessageFlyweight(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(StatusMessageFlyweight.HEADER_LENGTH + 4)));
+
+        if (isPreferred)
+        {
+            flyweight.applicationSpecificFeedback(PreferredMulticastFlowControl.PREFERRED_ASF_BYTES, 0, 4);
+        }
+
+        flowControl.initialize(INITIAL_TERM_ID, TERM_LENGTH);
+
+        final long[] positions = new long[receiverCount];
+        long senderLimit = 0;
+        long timeNs = System.nanoTime();
+        long checksum = 0;
+
+        final long startNs = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final int receiverIndex = i % receiverCount;
+            final long position = positions[receiverIndex] + 64;
+            positions[receiverIndex] = position;
+
+            flyweight
+                .receiverId(receiverIndex)
+                .consumptionTermId(INITIAL_TERM_ID + (int)(position >>> POSITION_BITS_TO_SHIFT))
+                .consumptionTermOffset((int)position & (TERM_LENGTH - 1))
+                .receiverWindowLength(WINDOW_LENGTH);
+
+            timeNs += 10;
+            senderLimit = flowControl.onStatusMessage(
+                flyweight, RECEIVER_ADDRESS, senderLimit, INITIAL_TERM_ID, POSITION_BITS_TO_SHIFT, timeNs);
+            checksum += flowControl.onIdle(timeNs, senderLimit, position, false);
+        }
+        final long durationNs = System.nanoTime() - startNs;
+
+        if (0 == checksum)
+        {
+            System.out.println("unexpected checksum");
+        }
+
+        return durationNs;
+    }
+}
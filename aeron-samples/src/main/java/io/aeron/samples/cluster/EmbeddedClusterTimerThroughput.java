@@ -0,0 +1,300 @@
+/*
+ * Copyright 2014-2018 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples.cluster;
+
+import io.aeron.Image;
+import io.aeron.Publication;
+import io.aeron.archive.Archive;
+import io.aeron.archive.ArchiveThreadingMode;
+import io.aeron.cluster.ClusteredMediaDriver;
+import io.aeron.cluster.ConsensusModule;
+import io.aeron.cluster.client.AeronCluster;
+import io.aeron.cluster.codecs.CloseReason;
+import io.aeron.cluster.service.ClientSession;
+import io.aeron.cluster.service.Cluster;
+import io.aeron.cluster.service.ClusteredService;
+import io.aeron.cluster.service.ClusteredServiceContainer;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.console.ContinueBarrier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Throughput test for scheduling and expiring a large number of concurrently active timers in a single node
+ * cluster. The service schedules the timers in batches upon receiving a request, then responds once the last
+ * timer has expired with how long the scheduling took and the maximum lag in cluster time between a deadline
+ * and the timer event.
+ */
+public class EmbeddedClusterTimerThroughput
+{
+    private static final int TIMER_COUNT = Integer.getInteger("aeron.sample.cluster.timers", 1_000_000);
+    private static final int TIMER_BATCH_LENGTH = Integer.getInteger("aeron.sample.cluster.timer.batch", 1024);
+    private static final int DEADLINE_WINDOW_MS = Integer.getInteger("aeron.sample.cluster.timer.window", 2000);
+    private static final int DEADLINE_DELAY_MS = Integer.getInteger("aeron.sample.cluster.timer.delay", 5000);
+
+    private static final long KEEP_ALIVE_INTERVAL_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile boolean isComplete;
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        final ClusteredMediaDriver clusteredMediaDriver = ClusteredMediaDriver.launch(
+            new MediaDriver.Context()
+            .threadingMode(ThreadingMode.SHARED)
+            .termBufferSparseFile(true)
+            .errorHandler(Throwable::printStackTrace)
+            .dirDeleteOnStart(true),
+            new Archive.Context()
+            .threadingMode(ArchiveThreadingMode.SHARED)
+            .deleteArchiveOnStart(true),
+            new ConsensusModule.Context()
+            .errorHandler(Throwable::printStackTrace)
+            .deleteDirOnStart(true));
+
+        final ClusteredServiceContainer container = ClusteredServiceContainer.launch(
+            new ClusteredServiceContainer.Context()
+            .clusteredService(new TimerService())
+            .errorHandler(Throwable::printStackTrace));
+
+        final AeronCluster aeronCluster = AeronCluster.connect(
+            new AeronCluster.Context()
+            .sessionMessageListener(EmbeddedClusterTimerThroughput::onResult)
+            .ingressChannel("aeron:udp")
+            .clusterMemberEndpoints("0=localhost:9010"));
+
+        try
+        {
+            final UnsafeBuffer buffer = new UnsafeBuffer(new byte[8]);
+            final ContinueBarrier barrier = new ContinueBarrier("Execute again?");
+
+            do
+            {
+                System.out.format(
+                    "%nScheduling %,d timers in batches of %,d over a window of %,dms%n",
+                    TIMER_COUNT, TIMER_BATCH_LENGTH, DEADLINE_WINDOW_MS);
+
+                isComplete = false;
+                buffer.putInt(0, TIMER_COUNT);
+                buffer.putInt(4, TIMER_BATCH_LENGTH);
+
+                while (aeronCluster.offer(aeronCluster.nextCorrelationId(), buffer, 0, buffer.capacity()) < 0)
+                {
+                    Thread.yield();
+                }
+
+                long keepAliveDeadlineNs = System.nanoTime() + KEEP_ALIVE_INTERVAL_NS;
+                while (!isComplete)
+                {
+                    if (aeronCluster.pollEgress() <= 0)
+                    {
+                        Thread.yield();
+                    }
+
+                    final long nowNs = System.nanoTime();
+                    if (nowNs >= keepAliveDeadlineNs && aeronCluster.sendKeepAlive())
+                    {
+                        keepAliveDeadlineNs = nowNs + KEEP_ALIVE_INTERVAL_NS;
+                    }
+                }
+            }
+            while (barrier.await());
+        }
+        finally
+        {
+            CloseHelper.close(aeronCluster);
+            CloseHelper.close(container);
+            CloseHelper.close(clusteredMediaDriver);
+
+            clusteredMediaDriver.consensusModule().context().deleteDirectory();
+            clusteredMediaDriver.archive().context().deleteArchiveDirectory();
+            clusteredMediaDriver.mediaDriver().context().deleteAeronDirectory();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void onResult(
+        final long correlationId,
+        final long clusterSessionId,
+        final long timestamp,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final Header header)
+    {
+        final long scheduleNs = buffer.getLong(offset);
+        final long expiryNs = buffer.getLong(offset + 8);
+        final long maxLagMs = buffer.getLong(offset + 16);
+
+        System.out.format(
+            "Scheduled at %,d timers/sec, expired at %,d timers/sec once due, max lag after deadline %,dms%n",
+            ratePerSecond(TIMER_COUNT, scheduleNs),
+            ratePerSecond(TIMER_COUNT, expiryNs),
+            maxLagMs);
+
+        isComplete = true;
+    }
+
+    private static long ratePerSecond(final long count, final long durationNs)
+    {
+        return (count * TimeUnit.SECONDS.toNanos(1)) / Math.max(durationNs, 1);
+    }
+
+    static class TimerService implements ClusteredService
+    {
+        private final UnsafeBuffer responseBuffer = new UnsafeBuffer(new byte[24]);
+        private Cluster cluster;
+        private long[] correlationIds;
+        private long[] deadlines;
+        private long clusterSessionId;
+        private long responseCorrelationId;
+        private long nextCorrelationId;
+        private long baseCorrelationId;
+        private long baseDeadlineMs;
+        private int timerCount;
+        private int expiredCount;
+        private long scheduleNs;
+        private long firstExpiryNs;
+        private long maxLagMs;
+
+        public void onStart(final Cluster cluster)
+        {
+            this.cluster = cluster;
+        }
+
+        public void onSessionOpen(final ClientSession session, final long timestampMs)
+        {
+        }
+
+        public void onSessionClose(final ClientSession session, final long timestampMs, final CloseReason closeReason)
+        {
+        }
+
+        public void onSessionMessage(
+            final ClientSession session,
+            final long correlationId,
+            final long timestampMs,
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final Header header)
+        {
+            timerCount = buffer.getInt(offset);
+            final int batchLength = buffer.getInt(offset + 4);
+
+            clusterSessionId = session.id();
+            responseCorrelationId = correlationId;
+            baseCorrelationId = nextCorrelationId;
+            baseDeadlineMs = timestampMs + DEADLINE_DELAY_MS;
+            expiredCount = 0;
+            maxLagMs = 0;
+
+            if (null == correlationIds || correlationIds.length != batchLength)
+            {
+                correlationIds = new long[batchLength];
+                deadlines = new long[batchLength];
+            }
+
+            final long startNs = System.nanoTime();
+            for (int scheduled = 0; scheduled < timerCount; )
+            {
+                final int count = Math.min(batchLength, timerCount - scheduled);
+                for (int i = 0; i < count; i++)
+                {
+                    final long id = nextCorrelationId++;
+                    correlationIds[i] = id;
+                    deadlines[i] = deadline(id);
+                }
+
+                int sent = 0;
+                while (sent < count)
+                {
+                    final int result = cluster.scheduleTimers(correlationIds, deadlines, sent, count - sent);
+                    if (0 == result)
+                    {
+                        cluster.idle();
+                    }
+
+                    sent += result;
+                }
+
+                scheduled += count;
+            }
+
+            scheduleNs = System.nanoTime() - startNs;
+        }
+
+        public void onQuery(
+            final ClientSession session,
+            final long correlationId,
+            final long timestampMs,
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final Header header)
+        {
+        }
+
+        public void onTimerEvent(final long correlationId, final long timestampMs)
+        {
+            if (0 == expiredCount)
+            {
+                firstExpiryNs = System.nanoTime();
+            }
+
+            maxLagMs = Math.max(maxLagMs, timestampMs - deadline(correlationId));
+
+            if (++expiredCount == timerCount)
+            {
+                responseBuffer.putLong(0, scheduleNs);
+                responseBuffer.putLong(8, System.nanoTime() - firstExpiryNs);
+                responseBuffer.putLong(16, maxLagMs);
+
+                final ClientSession session = cluster.getClientSession(clusterSessionId);
+                final int length = responseBuffer.capacity();
+                while (null != session && session.offer(responseCorrelationId, responseBuffer, 0, length) < 0)
+                {
+                    cluster.idle();
+                }
+            }
+        }
+
+        public void onTakeSnapshot(final Publication snapshotPublication)
+        {
+        }
+
+        public void onLoadSnapshot(final Image snapshotImage)
+        {
+        }
+
+        public void onRoleChange(final Cluster.Role newRole)
+        {
+        }
+
+        private long deadline(final long correlationId)
+        {
+            return baseDeadlineMs + (((correlationId - baseCorrelationId) * DEADLINE_WINDOW_MS) / timerCount);
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.aeron.archive;
 
 import io.aeron.*;
 import io.aeron.archive.client.AeronArchive;
+import io.aeron.archive.client.ArchiveException;
 import io.aeron.archive.client.RecordingDescriptorConsumer;
 import io.aeron.archive.status.RecordingPos;
 import io.aeron.driver.MediaDriver;
@@ -27,6 +28,7 @@ import org.agrona.ExpandableArrayBuffer;
 import org.agrona.IoUtil;
 import org.agrona.collections.MutableInteger;
 import org.agrona.collections.MutableLong;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.CountersReader;
 import org.junit.After;
 import org.junit.Before;
@@ -41,6 +43,8 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class BasicArchiveTest
 {
@@ -83,6 +87,7 @@ public class BasicArchiveTest
                 .aeronDirectoryName(aeronDirectoryName)
                 .deleteArchiveOnStart(true)
                 .archiveDir(new File(IoUtil.tmpDirName(), "archive"))
+                .segmentFileLength(TERM_BUFFER_LENGTH)
                 .fileSyncLevel(0)
                 .threadingMode(ArchiveThreadingMode.SHARED));
 
@@ -219,6 +224,130 @@ public class BasicArchiveTest
         aeronArchive.stopReplay(replaySessionId);
     }
 
+    @Test(timeout = 10_000)
+    public void shouldPurgeSegmentsAndReplayFromNewStartPosition()
+    {
+        final MutableLong recordingId = new MutableLong();
+        final long stopPosition = recordMessages(recordingId);
+        final FragmentHandler fragmentHandler = (msg, offset, length, header) -> {};
+
+        final long newStartPosition = 2L * TERM_BUFFER_LENGTH;
+        assertThat(stopPosition, greaterThan(newStartPosition));
+
+        aeronArchive.purgeSegments(recordingId.get(), newStartPosition);
+
+        assertThat(queryStartPosition(recordingId.get()), is(newStartPosition));
+
+        try (Subscription subscription = aeronArchive.replay(
+            recordingId.get(), newStartPosition, stopPosition - newStartPosition, REPLAY_CHANNEL, REPLAY_STREAM_ID))
+        {
+            while (subscription.imageCount() == 0 || subscription.imageAtIndex(0).position() < stopPosition)
+            {
+                if (0 == subscription.poll(fragmentHandler, FRAGMENT_LIMIT))
+                {
+                    SystemTest.checkInterruptedStatus();
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldLeaveRecordingIntactWhenPurgeOfSegmentsFails()
+    {
+        final MutableLong recordingId = new MutableLong();
+        final long stopPosition = recordMessages(recordingId);
+        final long newStartPosition = 2L * TERM_BUFFER_LENGTH;
+        assertThat(stopPosition, greaterThan(newStartPosition));
+
+        final File archiveDir = archivingMediaDriver.archive().context().archiveDir();
+        final int segmentCount = (int)(stopPosition / TERM_BUFFER_LENGTH) + 1;
+        final File blockingDir = new File(archiveDir, Archive.segmentFileName(recordingId.get(), 1) + ".purged");
+        assertTrue(new File(blockingDir, "blocking").mkdirs());
+
+        try
+        {
+            aeronArchive.purgeSegments(recordingId.get(), newStartPosition);
+            fail("expected purge to fail");
+        }
+        catch (final ArchiveException ignore)
+        {
+        }
+
+        assertThat(queryStartPosition(recordingId.get()), is(0L));
+        for (int i = 0; i < segmentCount; i++)
+        {
+            assertTrue(new File(archiveDir, Archive.segmentFileName(recordingId.get(), i)).exists());
+        }
+    }
+
+    private long recordMessages(final MutableLong recordingId)
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[1000]);
+        final int messageCount = 200;
+        final MutableInteger received = new MutableInteger();
+        final FragmentHandler fragmentHandler = (msg, offset, length, header) -> received.value++;
+        final long stopPosition;
+
+        final long subscriptionId = aeronArchive.startRecording(RECORDING_CHANNEL, RECORDING_STREAM_ID, LOCAL);
+
+        try (Publication publication = aeron.addPublication(RECORDING_CHANNEL, RECORDING_STREAM_ID);
+            Subscription subscription = aeron.addSubscription(RECORDING_CHANNEL, RECORDING_STREAM_ID))
+        {
+            final CountersReader counters = aeron.countersReader();
+            final int counterId = getRecordingCounterId(publication.sessionId(), counters);
+            recordingId.set(RecordingPos.getRecordingId(counters, counterId));
+
+            for (int i = 0; i < messageCount; i++)
+            {
+                while (publication.offer(buffer) <= 0)
+                {
+                    subscription.poll(fragmentHandler, FRAGMENT_LIMIT);
+                    SystemTest.checkInterruptedStatus();
+                    Thread.yield();
+                }
+            }
+
+            stopPosition = publication.position();
+
+            while (received.value < messageCount || counters.getCounterValue(counterId) < stopPosition)
+            {
+                subscription.poll(fragmentHandler, FRAGMENT_LIMIT);
+                SystemTest.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+
+        aeronArchive.stopRecording(subscriptionId);
+
+        return stopPosition;
+    }
+
+    private long queryStartPosition(final long recordingId)
+    {
+        final MutableLong startPosition = new MutableLong();
+        aeronArchive.listRecording(
+            recordingId,
+            (controlSessionId,
+            correlationId,
+            id,
+            startTimestamp,
+            stopTimestamp,
+            start,
+            stop,
+            initialTermId,
+            segmentFileLength,
+            termBufferLength,
+            mtuLength,
+            sessionId,
+            streamId,
+            strippedChannel,
+            originalChannel,
+            sourceIdentity) -> startPosition.set(start));
+
+        return startPosition.get();
+    }
+
     private int getRecordingCounterId(final int sessionId, final CountersReader counters)
     {
         int counterId;